@@ -25,6 +25,7 @@ import no.unit.nva.publication.s3imports.ApplicationConstants;
 import no.unit.nva.publication.s3imports.FileContentsEvent;
 import no.unit.nva.publication.s3imports.FileEntriesEventEmitter;
 import no.unit.nva.publication.s3imports.ImportResult;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
@@ -82,13 +83,16 @@ public class CristinEntryEventConsumer extends EventHandler<EventReference, Publ
     protected Publication processInput(EventReference input,
                                        AwsEventBridgeEvent<EventReference> event,
                                        Context context) {
-        
-        validateEvent(event);
-        var eventBody = readEventBody(input);
-        return attempt(() -> parseCristinObject(eventBody))
-                   .map(CristinObject::toPublication)
-                   .flatMap(this::persistInDatabase)
-                   .orElseThrow(fail -> handleSavingError(fail, eventBody));
+        try {
+            validateEvent(event);
+            var eventBody = readEventBody(input);
+            return attempt(() -> parseCristinObject(eventBody))
+                       .map(CristinObject::toPublication)
+                       .flatMap(this::persistInDatabase)
+                       .orElseThrow(fail -> handleSavingError(fail, eventBody));
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     private FileContentsEvent<JsonNode> readEventBody(EventReference input) {
@@ -5,6 +5,8 @@ import java.net.URI;
 import java.util.Set;
 import no.unit.nva.expansion.model.ExpandedDataEntry;
 import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
 import nva.commons.apigateway.exceptions.NotFoundException;
 
 public interface ResourceExpansionService {
@@ -12,4 +14,16 @@ public interface ResourceExpansionService {
     ExpandedDataEntry expandEntry(Entity dataEntry) throws JsonProcessingException, NotFoundException;
     
     Set<URI> getOrganizationIds(Entity dataEntry) throws NotFoundException;
+    
+    /**
+     * Returns the organization ids of a ticket whose Resource has already been fetched.
+     *
+     * @param ticket   the ticket.
+     * @param resource the Resource of the ticket.
+     * @return the organization ids.
+     * @throws NotFoundException when the Resource of the ticket does not exist.
+     */
+    default Set<URI> getOrganizationIds(TicketEntry ticket, Resource resource) throws NotFoundException {
+        return getOrganizationIds(ticket);
+    }
 }
@@ -36,7 +36,10 @@ public class ResourceExpansionServiceImpl implements ResourceExpansionService {
         if (dataEntry instanceof Resource) {
             return ExpandedResource.fromPublication(dataEntry.toPublication(resourceService));
         } else if (dataEntry instanceof TicketEntry) {
-            return ExpandedTicket.create((TicketEntry) dataEntry, resourceService, this, ticketService);
+            var ticket = (TicketEntry) dataEntry;
+            var resourceAggregate = resourceService.fetchResourceAggregate(ticket.getCustomerId(),
+                ticket.extractPublicationIdentifier());
+            return ExpandedTicket.create(ticket, resourceAggregate, this);
         } else if (dataEntry instanceof Message) {
             var message = (Message) dataEntry;
             var ticket = ticketService.fetchTicketByIdentifier(message.getTicketIdentifier());
@@ -51,16 +54,20 @@ public class ResourceExpansionServiceImpl implements ResourceExpansionService {
         if (dataEntry instanceof TicketEntry) {
             var resourceIdentifier = ((TicketEntry) dataEntry).extractPublicationIdentifier();
             var resource = resourceService.getResourceByIdentifier(resourceIdentifier);
-            return Optional.ofNullable(resource.getResourceOwner().getOwnerAffiliation())
-                       .stream()
-                       .map(
-                           this::retrieveAllHigherLevelOrgsInTheFutureWhenResourceOwnerAffiliationIsNotAlwaysTopLevelOrg)
-                       .flatMap(Collection::stream)
-                       .collect(Collectors.toSet());
+            return getOrganizationIds((TicketEntry) dataEntry, resource);
         }
         return Collections.emptySet();
     }
     
+    @Override
+    public Set<URI> getOrganizationIds(TicketEntry ticket, Resource resource) {
+        return Optional.ofNullable(resource.getResourceOwner().getOwnerAffiliation())
+                   .stream()
+                   .map(this::retrieveAllHigherLevelOrgsInTheFutureWhenResourceOwnerAffiliationIsNotAlwaysTopLevelOrg)
+                   .flatMap(Collection::stream)
+                   .collect(Collectors.toSet());
+    }
+    
     private List<URI> retrieveAllHigherLevelOrgsInTheFutureWhenResourceOwnerAffiliationIsNotAlwaysTopLevelOrg(
         URI affiliation) {
         return List.of(affiliation);
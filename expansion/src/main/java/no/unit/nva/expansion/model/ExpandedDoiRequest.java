@@ -9,13 +9,13 @@ import java.util.Set;
 import no.unit.nva.expansion.ResourceExpansionService;
 import no.unit.nva.expansion.WithOrganizationScope;
 import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Publication;
 import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.business.DoiRequest;
 import no.unit.nva.publication.model.business.PublicationDetails;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.User;
-import no.unit.nva.publication.service.impl.ResourceService;
-import no.unit.nva.publication.service.impl.TicketService;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
 
@@ -43,13 +43,13 @@ public final class ExpandedDoiRequest extends ExpandedTicket implements WithOrga
     private Set<URI> organizationIds;
     
     public static ExpandedDoiRequest createEntry(DoiRequest doiRequest,
-                                                 ResourceExpansionService expansionService,
-                                                 ResourceService resourceService,
-                                                 TicketService ticketService)
+                                                 ResourceAggregate resourceAggregate,
+                                                 ResourceExpansionService expansionService)
         throws NotFoundException {
-        var expandedDoiRequest = ExpandedDoiRequest.fromDoiRequest(doiRequest, resourceService);
-        expandedDoiRequest.setOrganizationIds(fetchOrganizationIdsForViewingScope(doiRequest, expansionService));
-        expandedDoiRequest.setMessages(doiRequest.fetchMessages(ticketService));
+        var resource = resourceAggregate.getResource();
+        var expandedDoiRequest = ExpandedDoiRequest.fromDoiRequest(doiRequest, resource.toPublication());
+        expandedDoiRequest.setOrganizationIds(expansionService.getOrganizationIds(doiRequest, resource));
+        expandedDoiRequest.setMessages(resourceAggregate.getMessagesOfTicket(doiRequest));
         return expandedDoiRequest;
     }
     
@@ -145,15 +145,9 @@ public final class ExpandedDoiRequest extends ExpandedTicket implements WithOrga
         return extractIdentifier(getId());
     }
     
-    private static Set<URI> fetchOrganizationIdsForViewingScope(DoiRequest doiRequest,
-                                                                ResourceExpansionService resourceExpansionService)
-        throws NotFoundException {
-        return resourceExpansionService.getOrganizationIds(doiRequest);
-    }
-    
     // should not become public. An ExpandedDoiRequest needs an Expansion service to be complete
-    private static ExpandedDoiRequest fromDoiRequest(DoiRequest doiRequest, ResourceService resourceService) {
-        var publicationSummary = PublicationSummary.create(doiRequest.toPublication(resourceService));
+    private static ExpandedDoiRequest fromDoiRequest(DoiRequest doiRequest, Publication publication) {
+        var publicationSummary = PublicationSummary.create(publication);
         ExpandedDoiRequest request = new ExpandedDoiRequest();
         request.setPublication(publicationSummary);
         request.setCreatedDate(doiRequest.getCreatedDate());
@@ -7,12 +7,11 @@ import java.util.Set;
 import no.unit.nva.expansion.ResourceExpansionService;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.business.GeneralSupportRequest;
 import no.unit.nva.publication.model.business.PublicationDetails;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.User;
-import no.unit.nva.publication.service.impl.ResourceService;
-import no.unit.nva.publication.service.impl.TicketService;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.paths.UriWrapper;
 
@@ -28,21 +27,21 @@ public class ExpandedGeneralSupportRequest extends ExpandedTicket {
     private TicketStatus status;
     private User owner;
     
-    public static ExpandedDataEntry createEntry(GeneralSupportRequest dataEntry, ResourceService resourceService,
-                                                ResourceExpansionService resourceExpansionService,
-                                                TicketService ticketService) throws NotFoundException {
-        var publication = resourceService.getPublicationByIdentifier(dataEntry.extractPublicationIdentifier());
+    public static ExpandedDataEntry createEntry(GeneralSupportRequest dataEntry, ResourceAggregate resourceAggregate,
+                                                ResourceExpansionService resourceExpansionService)
+        throws NotFoundException {
+        var resource = resourceAggregate.getResource();
         var entry = new ExpandedGeneralSupportRequest();
-        var publicationSummary = PublicationSummary.create(publication);
+        var publicationSummary = PublicationSummary.create(resource.toPublication());
         entry.setPublication(publicationSummary);
-        entry.setOrganizationIds(resourceExpansionService.getOrganizationIds(dataEntry));
+        entry.setOrganizationIds(resourceExpansionService.getOrganizationIds(dataEntry, resource));
         entry.setStatus(dataEntry.getStatus());
         entry.setOwner(dataEntry.getOwner());
         entry.setModifiedDate(dataEntry.getModifiedDate());
         entry.setCreatedDate(dataEntry.getCreatedDate());
         entry.setCustomerId(dataEntry.getCustomerId());
         entry.setId(generateId(publicationSummary.getPublicationId(), dataEntry.getIdentifier()));
-        entry.setMessages(dataEntry.fetchMessages(ticketService));
+        entry.setMessages(resourceAggregate.getMessagesOfTicket(dataEntry));
         entry.setViewedBy(dataEntry.getViewedBy());
         return entry;
     }
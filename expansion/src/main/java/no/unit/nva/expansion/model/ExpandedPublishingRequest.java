@@ -1,7 +1,6 @@
 package no.unit.nva.expansion.model;
 
 import static java.util.Objects.nonNull;
-import static nva.commons.core.attempt.Try.attempt;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.net.URI;
 import java.time.Instant;
@@ -12,14 +11,13 @@ import no.unit.nva.expansion.ResourceExpansionService;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
 import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.business.Message;
 import no.unit.nva.publication.model.business.PublicationDetails;
 import no.unit.nva.publication.model.business.PublishingRequestCase;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.User;
-import no.unit.nva.publication.service.impl.ResourceService;
-import no.unit.nva.publication.service.impl.TicketService;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
 
@@ -42,15 +40,14 @@ public class ExpandedPublishingRequest extends ExpandedTicket {
     }
     
     public static ExpandedPublishingRequest createEntry(PublishingRequestCase publishingRequestCase,
-                                                        ResourceService resourceService,
-                                                        ResourceExpansionService resourceExpansionService,
-                                                        TicketService ticketService)
+                                                        ResourceAggregate resourceAggregate,
+                                                        ResourceExpansionService resourceExpansionService)
         throws NotFoundException {
         
-        var publication = fetchPublication(publishingRequestCase, resourceService);
-        var organizationIds = resourceExpansionService.getOrganizationIds(publishingRequestCase);
-        var messages = publishingRequestCase.fetchMessages(ticketService);
-        return createRequest(publishingRequestCase, publication, organizationIds, messages);
+        var resource = resourceAggregate.getResource();
+        var organizationIds = resourceExpansionService.getOrganizationIds(publishingRequestCase, resource);
+        var messages = resourceAggregate.getMessagesOfTicket(publishingRequestCase);
+        return createRequest(publishingRequestCase, resource.toPublication(), organizationIds, messages);
     }
     
     @JacocoGenerated
@@ -145,10 +142,4 @@ public class ExpandedPublishingRequest extends ExpandedTicket {
         entry.setViewedBy(dataEntry.getViewedBy());
         return entry;
     }
-    
-    private static Publication fetchPublication(PublishingRequestCase publishingRequestCase,
-                                                ResourceService resourceService) {
-        return attempt(() -> resourceService.getPublicationByIdentifier(
-            publishingRequestCase.extractPublicationIdentifier())).orElseThrow();
-    }
 }
@@ -11,6 +11,7 @@ import no.unit.nva.expansion.ResourceExpansionService;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.PublicationServiceConfig;
 import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.business.DoiRequest;
 import no.unit.nva.publication.model.business.GeneralSupportRequest;
 import no.unit.nva.publication.model.business.Message;
@@ -18,8 +19,6 @@ import no.unit.nva.publication.model.business.PublishingRequestCase;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.User;
-import no.unit.nva.publication.service.impl.ResourceService;
-import no.unit.nva.publication.service.impl.TicketService;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.paths.UriWrapper;
 
@@ -47,29 +46,25 @@ public abstract class ExpandedTicket implements ExpandedDataEntry {
     private PublicationSummary publication;
     
     public static ExpandedDataEntry create(TicketEntry ticketEntry,
-                                           ResourceService resourceService,
-                                           ResourceExpansionService expansionService,
-                                           TicketService ticketService) throws NotFoundException {
+                                           ResourceAggregate resourceAggregate,
+                                           ResourceExpansionService expansionService) throws NotFoundException {
         
         if (ticketEntry instanceof DoiRequest) {
             return ExpandedDoiRequest.createEntry((DoiRequest) ticketEntry,
-                expansionService,
-                resourceService,
-                ticketService);
+                resourceAggregate,
+                expansionService);
         }
         if (ticketEntry instanceof PublishingRequestCase) {
             return ExpandedPublishingRequest.createEntry(
                 (PublishingRequestCase) ticketEntry,
-                resourceService,
-                expansionService,
-                ticketService);
+                resourceAggregate,
+                expansionService);
         }
         if (ticketEntry instanceof GeneralSupportRequest) {
             return ExpandedGeneralSupportRequest.createEntry(
                 (GeneralSupportRequest) ticketEntry,
-                resourceService,
-                expansionService,
-                ticketService
+                resourceAggregate,
+                expansionService
             );
         }
         throw new UnsupportedOperationException();
@@ -19,6 +19,7 @@ import no.unit.nva.expansion.ResourceExpansionService;
 import no.unit.nva.expansion.ResourceExpansionServiceImpl;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.business.DoiRequest;
 import no.unit.nva.publication.model.business.GeneralSupportRequest;
 import no.unit.nva.publication.model.business.PublicationDetails;
@@ -90,7 +91,8 @@ class ExpandedDataEntryTest extends ResourcesLocalTest {
         var publication = createPublicationWithoutDoi();
         var doiRequest = createDoiRequest(publication);
         var expandedResource =
-            ExpandedDoiRequest.createEntry(doiRequest, resourceExpansionService, resourceService, ticketService);
+            ExpandedDoiRequest.createEntry(doiRequest, fetchResourceAggregate(resourceService, doiRequest),
+                resourceExpansionService);
         var json = objectMapper.convertValue(expandedResource, ObjectNode.class);
         assertThat(json.get(TYPE).textValue(), is(equalTo(ExpandedDoiRequest.TYPE)));
     }
@@ -118,12 +120,17 @@ class ExpandedDataEntryTest extends ResourcesLocalTest {
         var doiRequest = (DoiRequest) TicketEntry.requestNewTicket(publication, DoiRequest.class)
                                           .persistNewTicket(ticketService);
         messageService.createMessage(doiRequest, userInstance, randomString());
-        return attempt(() -> ExpandedDoiRequest.createEntry(doiRequest, resourceExpansionService,
-            resourceService,
-            ticketService))
+        return attempt(() -> ExpandedDoiRequest.createEntry(doiRequest,
+            fetchResourceAggregate(resourceService, doiRequest),
+            resourceExpansionService))
                    .orElseThrow();
     }
     
+    private static ResourceAggregate fetchResourceAggregate(ResourceService resourceService, TicketEntry ticket)
+        throws NotFoundException {
+        return resourceService.fetchResourceAggregate(ticket.getCustomerId(), ticket.extractPublicationIdentifier());
+    }
+    
     private static Publication randomPublicationWithoutDoi() {
         return randomPublication().copy().withDoi(null).build();
     }
@@ -180,13 +187,11 @@ class ExpandedDataEntryTest extends ResourcesLocalTest {
             } else if (expandedDataEntryClass.equals(ExpandedPublishingRequest.class)) {
                 return new ExpandedDataEntryWithAssociatedPublication(createExpandedPublishingRequest(publication,
                     resourceService,
-                    resourceExpansionService,
-                    ticketService));
+                    resourceExpansionService));
             } else if (expandedDataEntryClass.equals(ExpandedGeneralSupportRequest.class)) {
                 return new ExpandedDataEntryWithAssociatedPublication(createExpandedGeneralSupportRequest(publication,
                     resourceService,
-                    resourceExpansionService,
-                    ticketService));
+                    resourceExpansionService));
             } else {
                 throw new UnsupportedOperationException();
             }
@@ -199,11 +204,10 @@ class ExpandedDataEntryTest extends ResourcesLocalTest {
         private static ExpandedDataEntry createExpandedGeneralSupportRequest(
             Publication publication,
             ResourceService resourceService,
-            ResourceExpansionService resourceExpansionService,
-            TicketService ticketService) throws NotFoundException {
+            ResourceExpansionService resourceExpansionService) throws NotFoundException {
             var request = (GeneralSupportRequest) GeneralSupportRequest.fromPublication(publication);
-            return
-                ExpandedGeneralSupportRequest.create(request, resourceService, resourceExpansionService, ticketService);
+            return ExpandedGeneralSupportRequest.create(request, fetchResourceAggregate(resourceService, request),
+                resourceExpansionService);
         }
     
         private static Publication createPublication(ResourceService resourceService) {
@@ -221,13 +225,11 @@ class ExpandedDataEntryTest extends ResourcesLocalTest {
         private static ExpandedDataEntry createExpandedPublishingRequest(
             Publication publication,
             ResourceService resourceService,
-            ResourceExpansionService resourceExpansionService,
-            TicketService ticketService) throws NotFoundException {
+            ResourceExpansionService resourceExpansionService) throws NotFoundException {
             PublishingRequestCase requestCase = createPublishingRequestCase(publication);
             return ExpandedPublishingRequest.create(requestCase,
-                resourceService,
-                resourceExpansionService,
-                ticketService);
+                fetchResourceAggregate(resourceService, requestCase),
+                resourceExpansionService);
         }
     
         private static PublishingRequestCase createPublishingRequestCase(Publication publication) {
@@ -11,8 +11,10 @@ import no.unit.nva.publication.messages.model.NewMessageDto;
 import no.unit.nva.publication.model.business.Message;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.MessageService;
 import no.unit.nva.publication.service.impl.TicketService;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import nva.commons.apigateway.AccessRight;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
@@ -23,6 +25,7 @@ import nva.commons.core.JacocoGenerated;
 
 public class NewCreateMessageHandler extends ApiGatewayHandler<CreateMessageRequest, Void> {
     
+    public static final String CREATE_MESSAGE_OPERATION = "CreateMessage";
     private final MessageService messageService;
     private final TicketService ticketService;
     
@@ -40,14 +43,20 @@ public class NewCreateMessageHandler extends ApiGatewayHandler<CreateMessageRequ
     @Override
     protected Void processInput(CreateMessageRequest input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        var ticketIdentifier = extractTicketIdentifier(requestInfo);
-        var user = UserInstance.fromRequestInfo(requestInfo);
-        var ticket = fetchTicketForUser(requestInfo, ticketIdentifier, user);
+        try {
+            var start = EmbeddedMetrics.STANDARD_OUTPUT.now();
+            var ticketIdentifier = extractTicketIdentifier(requestInfo);
+            var user = UserInstance.fromRequestInfo(requestInfo);
+            var ticket = fetchTicketForUser(requestInfo, ticketIdentifier, user);
         
-        var message = messageService.createMessage(ticket, user, input.getMessage());
-    
-        addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, createLocationHeader(message)));
-        return null;
+            var message = messageService.createMessage(ticket, user, input.getMessage());
+        
+            addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, createLocationHeader(message)));
+            EmbeddedMetrics.STANDARD_OUTPUT.putLatencySince(CREATE_MESSAGE_OPERATION, start);
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
@@ -0,0 +1,68 @@
+package no.unit.nva.publication.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.model.Publication;
+import no.unit.nva.publication.s3imports.BatchEventEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+
+/**
+ * Packing the entries of an imported file into PutEvents requests, which are limited both in the number of entries and
+ * in size. Large entries make the emitter split the requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchEventEmitterBenchmark {
+    
+    public static final int NUMBER_OF_EVENTS = 1000;
+    public static final String EVENT_SOURCE = "publication.benchmarks";
+    public static final String INVOKING_FUNCTION_ARN = "arn:aws:lambda:eu-west-1:123456789012:function:benchmark";
+    
+    @Param({"SMALL", "LARGE"})
+    private ResourceSize resourceSize;
+    
+    private List<Publication> eventDetails;
+    
+    @Setup
+    public void createEventDetails() {
+        eventDetails = Stream.generate(resourceSize::randomPublication)
+                           .limit(NUMBER_OF_EVENTS)
+                           .collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public List<PutEventsRequest> packRequests() {
+        var emitter = new RequestPackingEmitter();
+        emitter.addEvents(eventDetails);
+        return emitter.packedRequests();
+    }
+    
+    // Exposes the packed requests instead of sending them. The EventBridge client is used only for sending.
+    private static final class RequestPackingEmitter extends BatchEventEmitter<Publication> {
+        
+        private RequestPackingEmitter() {
+            super(EVENT_SOURCE, INVOKING_FUNCTION_ARN, null);
+        }
+        
+        private List<PutEventsRequest> packedRequests() {
+            return getPutEventsRequests();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package no.unit.nva.publication.benchmarks;
+
+import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.cristin.mapper.CristinObject;
+import no.unit.nva.model.Publication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping Cristin entries to Publications, which is done for every entry of a Cristin import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CristinObjectBenchmark {
+    
+    public static final String CRISTIN_ENTRY = "cristin_monograph_entry.json";
+    public static final String PUBLICATIONS_OWNER = "someOwner@unit.no";
+    
+    private CristinObject cristinObject;
+    
+    @Setup
+    public void readCristinEntry() throws JsonProcessingException {
+        var json = dtoObjectMapper.readTree(stringFromResources(Path.of(CRISTIN_ENTRY)));
+        cristinObject = CristinObject.fromJson(json);
+        cristinObject.hardcodePublicationOwner(PUBLICATIONS_OWNER);
+    }
+    
+    @Benchmark
+    public Publication toPublication() {
+        return cristinObject.toPublication();
+    }
+}
@@ -0,0 +1,61 @@
+package no.unit.nva.publication.benchmarks;
+
+import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.storage.Dao;
+import no.unit.nva.publication.model.storage.ResourceDao;
+import no.unit.nva.publication.service.impl.CorrectParsingErrors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converting Resources to and from the format they are stored in, which is done for every Resource that is written to
+ * or read from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+    
+    @Param({"SMALL", "LARGE"})
+    private ResourceSize resourceSize;
+    
+    private Dao dao;
+    private Map<String, AttributeValue> item;
+    
+    @Setup
+    public void createResource() {
+        dao = Resource.fromPublication(resourceSize.randomPublication()).toDao();
+        item = dao.toDynamoFormat();
+    }
+    
+    @Benchmark
+    public Map<String, AttributeValue> toDynamoFormat() {
+        return dao.toDynamoFormat();
+    }
+    
+    @Benchmark
+    public ResourceDao parseAttributeValues() {
+        return parseAttributeValuesMap(item, ResourceDao.class);
+    }
+    
+    @Benchmark
+    public Map<String, AttributeValue> correctParsingErrors() {
+        return CorrectParsingErrors.apply(item);
+    }
+}
@@ -0,0 +1,53 @@
+package no.unit.nva.publication.benchmarks;
+
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.objectMapper;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.publication.events.handlers.fanout.DynamodbStreamRecordDaoMapper;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing the images of DynamoDB stream records, which is done twice (old and new image) for every update of an entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamodbStreamRecordDaoMapperBenchmark {
+    
+    @Param({"SMALL", "LARGE"})
+    private ResourceSize resourceSize;
+    
+    private Map<String, AttributeValue> recordImage;
+    
+    @Setup
+    public void createRecordImage() throws JsonProcessingException {
+        var item = Resource.fromPublication(resourceSize.randomPublication()).toDao().toDynamoFormat();
+        var javaType = objectMapper.getTypeFactory()
+                           .constructParametricType(Map.class, String.class, AttributeValue.class);
+        recordImage = objectMapper.readValue(objectMapper.writeValueAsString(item), javaType);
+    }
+    
+    @Benchmark
+    public Optional<Entity> toEntity() throws IOException {
+        return DynamodbStreamRecordDaoMapper.toEntity(recordImage);
+    }
+}
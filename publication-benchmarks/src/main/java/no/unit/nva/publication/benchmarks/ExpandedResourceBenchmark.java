@@ -0,0 +1,62 @@
+package no.unit.nva.publication.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.expansion.model.ExpandedResource;
+import no.unit.nva.expansion.utils.UriRetriever;
+import no.unit.nva.model.Publication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Expanding Publications for the search index. The publication channels are returned by a stub, so that the benchmark
+ * measures the framing of the JSON-LD document and not the latency of the publication channels API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpandedResourceBenchmark {
+    
+    @Param({"SMALL", "LARGE"})
+    private ResourceSize resourceSize;
+    
+    private Publication publication;
+    private UriRetriever uriRetriever;
+    
+    @Setup
+    public void createPublication() {
+        publication = resourceSize.randomPublication();
+        uriRetriever = new PublicationChannelStub();
+    }
+    
+    @Benchmark
+    public ExpandedResource fromPublication() throws JsonProcessingException {
+        return ExpandedResource.fromPublication(uriRetriever, publication);
+    }
+    
+    private static final class PublicationChannelStub extends UriRetriever {
+        
+        private static final String PUBLICATION_CHANNEL_TEMPLATE =
+            "{\"@context\": {\"@vocab\": \"https://nva.sikt.no/ontology/publication#\", \"id\": \"@id\", "
+            + "\"type\": \"@type\"}, \"id\": \"%s\", \"type\": \"Publisher\", \"name\": \"Some publisher\"}";
+        
+        @Override
+        public Optional<String> getRawContent(URI uri, String mediaType) {
+            return Optional.of(String.format(PUBLICATION_CHANNEL_TEMPLATE, uri));
+        }
+    }
+}
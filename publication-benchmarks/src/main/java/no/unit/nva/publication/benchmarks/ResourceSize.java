@@ -0,0 +1,40 @@
+package no.unit.nva.publication.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.model.Contributor;
+import no.unit.nva.model.Publication;
+import no.unit.nva.publication.TestDataSource;
+
+/**
+ * The sizes of the Publications that the benchmarks are run with. A small Publication is a random Publication of
+ * {@link TestDataSource}. A large Publication is a random Publication with as many contributors as the largest
+ * imported publications (e.g. publications of research collaborations) have.
+ */
+public enum ResourceSize {
+    
+    SMALL(1),
+    LARGE(500);
+    
+    private static final TestDataSource TEST_DATA_SOURCE = new TestDataSource();
+    private final int contributorCopies;
+    
+    ResourceSize(int contributorCopies) {
+        this.contributorCopies = contributorCopies;
+    }
+    
+    public Publication randomPublication() {
+        var publication = TEST_DATA_SOURCE.publicationWithIdentifier();
+        var entityDescription = publication.getEntityDescription();
+        entityDescription.setContributors(copies(entityDescription.getContributors()));
+        return publication;
+    }
+    
+    private List<Contributor> copies(List<Contributor> contributors) {
+        return Collections.nCopies(contributorCopies, contributors)
+                   .stream()
+                   .flatMap(List::stream)
+                   .collect(Collectors.toList());
+    }
+}
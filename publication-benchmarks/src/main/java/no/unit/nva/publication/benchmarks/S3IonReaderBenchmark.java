@@ -0,0 +1,55 @@
+package no.unit.nva.publication.benchmarks;
+
+import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.publication.s3imports.S3IonReader;
+import nva.commons.core.attempt.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading the entries of an imported file, which contains one Ion (or JSON) object per entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S3IonReaderBenchmark {
+    
+    public static final String ENTRY_SEPARATOR = System.lineSeparator();
+    
+    @Param({"100", "1000"})
+    private int numberOfEntries;
+    
+    private String content;
+    
+    @Setup
+    public void createFileContent() {
+        content = Stream.generate(ResourceSize.SMALL::randomPublication)
+                      .limit(numberOfEntries)
+                      .map(attempt(publication -> dtoObjectMapper.writeValueAsString(publication)))
+                      .map(Try::orElseThrow)
+                      .collect(Collectors.joining(ENTRY_SEPARATOR));
+    }
+    
+    @Benchmark
+    public List<JsonNode> extractJsonNodesFromIonContent() {
+        return S3IonReader.extractJsonNodesFromIonContent(content).collect(Collectors.toList());
+    }
+}
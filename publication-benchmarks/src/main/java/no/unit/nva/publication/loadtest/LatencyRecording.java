@@ -0,0 +1,65 @@
+package no.unit.nva.publication.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the executions of an operation. A recording is written by a single thread, and the recordings of
+ * all threads are merged when the load test is over.
+ */
+public class LatencyRecording {
+    
+    public static final int INITIAL_CAPACITY = 1024;
+    public static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+    
+    private long[] latencies;
+    private int size;
+    private long failures;
+    
+    public LatencyRecording() {
+        latencies = new long[INITIAL_CAPACITY];
+    }
+    
+    public void record(long latencyInNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, 2 * size);
+        }
+        latencies[size++] = latencyInNanos;
+    }
+    
+    public void recordFailure() {
+        failures++;
+    }
+    
+    public LatencyRecording merge(LatencyRecording other) {
+        var merged = new LatencyRecording();
+        merged.latencies = Arrays.copyOf(latencies, size + other.size);
+        System.arraycopy(other.latencies, 0, merged.latencies, size, other.size);
+        merged.size = size + other.size;
+        merged.failures = failures + other.failures;
+        return merged;
+    }
+    
+    public int getCount() {
+        return size;
+    }
+    
+    public long getFailures() {
+        return failures;
+    }
+    
+    /**
+     * Returns a percentile of the latencies.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in milliseconds, or 0 when there are no latencies.
+     */
+    public double percentileInMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        var sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        var rank = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.max(0, rank)] / NANOS_PER_MILLISECOND;
+    }
+}
@@ -0,0 +1,137 @@
+package no.unit.nva.publication.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import nva.commons.core.Environment;
+
+/**
+ * The size and skew of the synthetic dataset and the mix of the workload of a load test, read from the environment.
+ *
+ * <p>The operation mix is a list of weights, e.g. {@code CREATE=5,UPDATE=10,FETCH=50,LIST_BY_OWNER=20,LIST_TICKETS=15}.
+ * The skew of customers, owners, tickets and messages is the exponent of a Zipf distribution, where 0 is uniform and
+ * larger values concentrate the entries in a few customers or owners.
+ */
+public class LoadTestConfiguration {
+    
+    public static final Environment ENVIRONMENT = new Environment();
+    public static final String DEFAULT_OPERATION_MIX = "CREATE=5,UPDATE=10,FETCH=50,LIST_BY_OWNER=20,LIST_TICKETS=15";
+    public static final String WEIGHT_SEPARATOR = "=";
+    public static final String OPERATION_SEPARATOR = ",";
+    
+    private final int numberOfResources;
+    private final int numberOfCustomers;
+    private final int numberOfOwners;
+    private final double customerSkew;
+    private final double ownerSkew;
+    private final int maxTicketsPerResource;
+    private final double ticketSkew;
+    private final int maxMessagesPerTicket;
+    private final double messageSkew;
+    private final int numberOfThreads;
+    private final int numberOfOperations;
+    private final int pageSize;
+    private final Map<Operation, Integer> operationMix;
+    private final long seed;
+    
+    public LoadTestConfiguration() {
+        numberOfResources = readInt("LOAD_TEST_RESOURCES", 1_000_000);
+        numberOfCustomers = readInt("LOAD_TEST_CUSTOMERS", 100);
+        numberOfOwners = readInt("LOAD_TEST_OWNERS", 20_000);
+        customerSkew = readDouble("LOAD_TEST_CUSTOMER_SKEW", 1.2);
+        ownerSkew = readDouble("LOAD_TEST_OWNER_SKEW", 1.1);
+        maxTicketsPerResource = readInt("LOAD_TEST_MAX_TICKETS_PER_RESOURCE", 200);
+        ticketSkew = readDouble("LOAD_TEST_TICKET_SKEW", 2.0);
+        maxMessagesPerTicket = readInt("LOAD_TEST_MAX_MESSAGES_PER_TICKET", 50);
+        messageSkew = readDouble("LOAD_TEST_MESSAGE_SKEW", 2.0);
+        numberOfThreads = readInt("LOAD_TEST_THREADS", 32);
+        numberOfOperations = readInt("LOAD_TEST_OPERATIONS", 100_000);
+        pageSize = readInt("LOAD_TEST_PAGE_SIZE", 100);
+        operationMix = parseOperationMix(ENVIRONMENT.readEnvOpt("LOAD_TEST_OPERATION_MIX")
+                                             .orElse(DEFAULT_OPERATION_MIX));
+        seed = Long.parseLong(ENVIRONMENT.readEnvOpt("LOAD_TEST_SEED").orElse("42"));
+    }
+    
+    public int getNumberOfResources() {
+        return numberOfResources;
+    }
+    
+    public int getNumberOfCustomers() {
+        return numberOfCustomers;
+    }
+    
+    public int getNumberOfOwners() {
+        return numberOfOwners;
+    }
+    
+    public double getCustomerSkew() {
+        return customerSkew;
+    }
+    
+    public double getOwnerSkew() {
+        return ownerSkew;
+    }
+    
+    public int getMaxTicketsPerResource() {
+        return maxTicketsPerResource;
+    }
+    
+    public double getTicketSkew() {
+        return ticketSkew;
+    }
+    
+    public int getMaxMessagesPerTicket() {
+        return maxMessagesPerTicket;
+    }
+    
+    public double getMessageSkew() {
+        return messageSkew;
+    }
+    
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+    
+    public int getNumberOfOperations() {
+        return numberOfOperations;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public Map<Operation, Integer> getOperationMix() {
+        return operationMix;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("resources=%d, customers=%d (skew %.2f), owners=%d (skew %.2f), "
+                             + "tickets per resource<=%d (skew %.2f), messages per ticket<=%d (skew %.2f), "
+                             + "threads=%d, operations=%d, page size=%d, mix=%s, seed=%d",
+            numberOfResources, numberOfCustomers, customerSkew, numberOfOwners, ownerSkew, maxTicketsPerResource,
+            ticketSkew, maxMessagesPerTicket, messageSkew, numberOfThreads, numberOfOperations, pageSize,
+            operationMix, seed);
+    }
+    
+    private static int readInt(String variable, int defaultValue) {
+        return ENVIRONMENT.readEnvOpt(variable).map(Integer::parseInt).orElse(defaultValue);
+    }
+    
+    private static double readDouble(String variable, double defaultValue) {
+        return ENVIRONMENT.readEnvOpt(variable).map(Double::parseDouble).orElse(defaultValue);
+    }
+    
+    private static Map<Operation, Integer> parseOperationMix(String operationMix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        Arrays.stream(operationMix.split(OPERATION_SEPARATOR))
+            .map(String::strip)
+            .map(weight -> weight.split(WEIGHT_SEPARATOR))
+            .forEach(weight -> weights.put(Operation.valueOf(weight[0].strip()), Integer.parseInt(weight[1].strip())));
+        return weights;
+    }
+}
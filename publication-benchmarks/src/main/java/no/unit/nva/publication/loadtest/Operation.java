@@ -0,0 +1,54 @@
+package no.unit.nva.publication.loadtest;
+
+import java.util.Random;
+import no.unit.nva.publication.model.business.TicketStatus;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+
+/**
+ * The operations of the workload of a load test. Every operation is one call of a service, as it is made by the
+ * handler that serves the corresponding request, on an entry chosen with the skew of the dataset.
+ */
+public enum Operation {
+    
+    CREATE {
+        @Override
+        public void execute(Workload workload, Random random) {
+            var dataset = workload.getDataset();
+            workload.getResourceService()
+                .resourceCallsCreatePublication(dataset.randomOwner(random), dataset.randomTemplate(random));
+        }
+    },
+    UPDATE {
+        @Override
+        public void execute(Workload workload, Random random) throws ApiGatewayException {
+            var resourceService = workload.getResourceService();
+            var publication = resourceService.getPublicationByIdentifier(workload.getDataset().randomResource(random));
+            publication.getEntityDescription().setMainTitle(workload.randomTitle(random));
+            resourceService.updatePublication(publication);
+        }
+    },
+    FETCH {
+        @Override
+        public void execute(Workload workload, Random random) throws ApiGatewayException {
+            workload.getResourceService().getPublicationByIdentifier(workload.getDataset().randomResource(random));
+        }
+    },
+    LIST_BY_OWNER {
+        @Override
+        public void execute(Workload workload, Random random) throws ApiGatewayException {
+            workload.getResourceService()
+                .getPublicationSummariesByOwner(workload.getDataset().randomOwner(random), workload.getPageSize(),
+                    null);
+        }
+    },
+    LIST_TICKETS {
+        @Override
+        public void execute(Workload workload, Random random) {
+            workload.getTicketService()
+                .listTicketsByCustomerAndStatus(workload.getDataset().randomCustomer(random), TicketStatus.PENDING,
+                    null, workload.getPageSize(), null);
+        }
+    };
+    
+    public abstract void execute(Workload workload, Random random) throws ApiGatewayException;
+}
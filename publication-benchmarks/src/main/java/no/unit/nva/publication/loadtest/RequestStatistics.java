@@ -0,0 +1,117 @@
+package no.unit.nva.publication.loadtest;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.ITEM_COUNT_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.READ_CAPACITY_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.REQUESTS_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.REQUEST_DIMENSION;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.THROTTLES_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.WRITE_CAPACITY_METRIC;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+
+/**
+ * Aggregates the metrics of the DynamoDB requests that {@link InstrumentedDynamoDbClient} reports, per service
+ * operation, instead of writing them to the log. The client reports sums, so the statistics are complete once the
+ * client has been flushed.
+ */
+public class RequestStatistics extends EmbeddedMetrics {
+    
+    private static final Set<String> READ_REQUESTS = Set.of("GetItem", "Query", "Scan", "BatchGetItem",
+        "TransactGetItems");
+    private final Map<String, OperationRequests> operations = new ConcurrentHashMap<>();
+    
+    public RequestStatistics() {
+        super(new PrintStream(OutputStream.nullOutputStream()), Clock.systemDefaultZone());
+    }
+    
+    @Override
+    public void put(Map<String, String> dimensions, List<Metric> metrics) {
+        var requestType = dimensions.get(REQUEST_DIMENSION);
+        if (isNull(requestType)) {
+            return;
+        }
+        var operationRequests = operations.computeIfAbsent(dimensions.get(OPERATION_DIMENSION),
+            operation -> new OperationRequests());
+        for (var metric : metrics) {
+            operationRequests.add(READ_REQUESTS.contains(requestType), metric);
+        }
+    }
+    
+    public SortedMap<String, OperationRequests> getOperations() {
+        return new TreeMap<>(operations);
+    }
+    
+    public static final class OperationRequests {
+        
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder readRequests = new LongAdder();
+        private final LongAdder itemsRead = new LongAdder();
+        private final DoubleAdder readCapacityUnits = new DoubleAdder();
+        private final DoubleAdder writeCapacityUnits = new DoubleAdder();
+        private final LongAdder throttles = new LongAdder();
+        
+        public long getRequests() {
+            return requests.sum();
+        }
+        
+        public long getItemsRead() {
+            return itemsRead.sum();
+        }
+        
+        public double getItemsReadPerReadRequest() {
+            var reads = readRequests.sum();
+            return reads == 0 ? 0 : (double) itemsRead.sum() / reads;
+        }
+        
+        public double getReadCapacityUnits() {
+            return readCapacityUnits.sum();
+        }
+        
+        public double getWriteCapacityUnits() {
+            return writeCapacityUnits.sum();
+        }
+        
+        public long getThrottles() {
+            return throttles.sum();
+        }
+        
+        private void add(boolean isRead, Metric metric) {
+            switch (metric.getName()) {
+                case REQUESTS_METRIC:
+                    requests.add((long) metric.getValue());
+                    if (isRead) {
+                        readRequests.add((long) metric.getValue());
+                    }
+                    break;
+                case ITEM_COUNT_METRIC:
+                    if (isRead) {
+                        itemsRead.add((long) metric.getValue());
+                    }
+                    break;
+                case READ_CAPACITY_METRIC:
+                    readCapacityUnits.add(metric.getValue());
+                    break;
+                case WRITE_CAPACITY_METRIC:
+                    writeCapacityUnits.add(metric.getValue());
+                    break;
+                case THROTTLES_METRIC:
+                    throttles.add((long) metric.getValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
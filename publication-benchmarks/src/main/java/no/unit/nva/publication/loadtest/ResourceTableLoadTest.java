@@ -0,0 +1,153 @@
+package no.unit.nva.publication.loadtest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import no.unit.nva.publication.service.ResourcesLocalTest;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
+import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.publication.service.impl.TicketService;
+
+/**
+ * Load test of the design of the Resources table, on the table with all its indexes in DynamoDB Local (see
+ * {@link ResourcesLocalTest}).
+ *
+ * <p>The load test writes a synthetic dataset with a realistic skew (see {@link SyntheticDataset}) and then runs a mix
+ * of operations (see {@link Operation}) from many threads. It reports the throughput and the p50 and p99 latencies of
+ * every operation, and the DynamoDB requests, items read and consumed capacity of every service operation. The
+ * dataset and the workload are configured by the environment (see {@link LoadTestConfiguration}) and are the same in
+ * every run with the same seed, so that runs before and after a change of the access patterns can be compared.
+ *
+ * <p>Usage: ./gradlew :publication-benchmarks:loadTest
+ */
+public class ResourceTableLoadTest extends ResourcesLocalTest {
+    
+    public static final String OPERATION_HEADER = String.format("%-15s %10s %10s %12s %10s %10s",
+        "Operation", "Count", "Failures", "Ops/second", "p50 (ms)", "p99 (ms)");
+    public static final String OPERATION_ROW = "%-15s %10d %10d %12.1f %10.2f %10.2f%n";
+    public static final String REQUEST_HEADER = String.format("%-45s %10s %12s %14s %12s %12s %10s",
+        "Service operation", "Requests", "Items read", "Items/read", "RCU", "WCU", "Throttles");
+    public static final String REQUEST_ROW = "%-45s %10d %12d %14.1f %12.1f %12.1f %10d%n";
+    
+    private final LoadTestConfiguration configuration;
+    
+    public ResourceTableLoadTest(LoadTestConfiguration configuration) {
+        super();
+        this.configuration = configuration;
+    }
+    
+    public static void main(String... args) throws InterruptedException, ExecutionException {
+        var loadTest = new ResourceTableLoadTest(new LoadTestConfiguration());
+        loadTest.init();
+        try {
+            loadTest.run();
+        } finally {
+            loadTest.shutdown();
+        }
+    }
+    
+    public void run() throws InterruptedException, ExecutionException {
+        System.out.println("Load test configuration: " + configuration);
+        var seedingStart = System.nanoTime();
+        var dataset = SyntheticDataset.generate(configuration, client);
+        var seedingTime = Duration.ofNanos(System.nanoTime() - seedingStart);
+        System.out.printf("Written %d resources, %d tickets and %d messages in %s%n", dataset.getNumberOfResources(),
+            dataset.getNumberOfTickets(), dataset.getNumberOfMessages(), seedingTime);
+        
+        var requestStatistics = new RequestStatistics();
+        var instrumentedClient = InstrumentedDynamoDbClient.create(client, requestStatistics);
+        var workload = new Workload(new ResourceService(instrumentedClient, Clock.systemDefaultZone()),
+            new TicketService(instrumentedClient), dataset, configuration.getPageSize());
+        
+        var start = System.nanoTime();
+        var recordings = runOperations(workload);
+        var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        InstrumentedDynamoDbClient.flush(instrumentedClient);
+        report(recordings, requestStatistics, elapsedSeconds);
+    }
+    
+    private Map<Operation, LatencyRecording> runOperations(Workload workload)
+        throws InterruptedException, ExecutionException {
+        var executor = Executors.newFixedThreadPool(configuration.getNumberOfThreads());
+        try {
+            var threadResults = new ArrayList<Future<Map<Operation, LatencyRecording>>>();
+            var operationsPerThread = configuration.getNumberOfOperations() / configuration.getNumberOfThreads();
+            for (int thread = 0; thread < configuration.getNumberOfThreads(); thread++) {
+                var random = new Random(configuration.getSeed() + thread);
+                threadResults.add(executor.submit(() -> runThread(workload, random, operationsPerThread)));
+            }
+            return mergeRecordings(threadResults);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private Map<Operation, LatencyRecording> runThread(Workload workload, Random random, int numberOfOperations) {
+        var operations = weightedOperations();
+        var recordings = new EnumMap<Operation, LatencyRecording>(Operation.class);
+        for (int count = 0; count < numberOfOperations; count++) {
+            var operation = operations.get(random.nextInt(operations.size()));
+            var recording = recordings.computeIfAbsent(operation, ignored -> new LatencyRecording());
+            var start = System.nanoTime();
+            try {
+                operation.execute(workload, random);
+                recording.record(System.nanoTime() - start);
+            } catch (Exception exception) {
+                recording.recordFailure();
+            }
+        }
+        return recordings;
+    }
+    
+    // Every operation appears as many times as its weight, so that a uniformly chosen element follows the mix.
+    private List<Operation> weightedOperations() {
+        var operations = new ArrayList<Operation>();
+        configuration.getOperationMix().forEach((operation, weight) -> {
+            for (int copy = 0; copy < weight; copy++) {
+                operations.add(operation);
+            }
+        });
+        return operations;
+    }
+    
+    private static Map<Operation, LatencyRecording> mergeRecordings(
+        List<Future<Map<Operation, LatencyRecording>>> threadResults) throws InterruptedException, ExecutionException {
+        var merged = new EnumMap<Operation, LatencyRecording>(Operation.class);
+        for (var threadResult : threadResults) {
+            threadResult.get().forEach((operation, recording) -> merged.merge(operation, recording,
+                LatencyRecording::merge));
+        }
+        return merged;
+    }
+    
+    private static void report(Map<Operation, LatencyRecording> recordings, RequestStatistics requestStatistics,
+                               double elapsedSeconds) {
+        System.out.println();
+        System.out.println(OPERATION_HEADER);
+        var total = new LatencyRecording();
+        for (var entry : recordings.entrySet()) {
+            printOperation(entry.getKey().name(), entry.getValue(), elapsedSeconds);
+            total = total.merge(entry.getValue());
+        }
+        printOperation("TOTAL", total, elapsedSeconds);
+        
+        System.out.println();
+        System.out.println(REQUEST_HEADER);
+        requestStatistics.getOperations()
+            .forEach((operation, requests) -> System.out.printf(REQUEST_ROW, operation, requests.getRequests(),
+                requests.getItemsRead(), requests.getItemsReadPerReadRequest(), requests.getReadCapacityUnits(),
+                requests.getWriteCapacityUnits(), requests.getThrottles()));
+    }
+    
+    private static void printOperation(String name, LatencyRecording recording, double elapsedSeconds) {
+        System.out.printf(OPERATION_ROW, name, recording.getCount(), recording.getFailures(),
+            recording.getCount() / elapsedSeconds, recording.percentileInMillis(50), recording.percentileInMillis(99));
+    }
+}
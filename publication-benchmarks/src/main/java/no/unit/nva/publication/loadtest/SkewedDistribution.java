@@ -0,0 +1,31 @@
+package no.unit.nva.publication.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples the ranks 0..n-1 from a Zipf distribution, where the probability of rank k is proportional to 1/(k+1)^s.
+ * Rank 0 is the most frequent one. An exponent of 0 gives the uniform distribution.
+ */
+public class SkewedDistribution {
+    
+    private final double[] cumulativeProbabilities;
+    
+    public SkewedDistribution(int numberOfRanks, double exponent) {
+        cumulativeProbabilities = new double[numberOfRanks];
+        double sum = 0;
+        for (int rank = 0; rank < numberOfRanks; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < numberOfRanks; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+    
+    public int sample(Random random) {
+        var position = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        var rank = position >= 0 ? position : -position - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
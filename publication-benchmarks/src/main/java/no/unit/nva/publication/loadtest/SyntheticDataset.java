@@ -0,0 +1,190 @@
+package no.unit.nva.publication.loadtest;
+
+import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Organization;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+import no.unit.nva.publication.TestDataSource;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
+import no.unit.nva.publication.model.business.Message;
+import no.unit.nva.publication.model.business.Owner;
+import no.unit.nva.publication.model.business.PublishingRequestCase;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.model.business.TicketStatus;
+import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.BatchWriter;
+
+/**
+ * A synthetic dataset of Resources with their tickets and messages. The Resources are spread over customers and owners
+ * by Zipf distributions, so that a few customers and owners have most of the Resources, and the number of tickets of a
+ * Resource and of messages of a ticket follow Zipf distributions, so that most Resources have no or few tickets and a
+ * few have very many.
+ *
+ * <p>The Resources are copies of a small set of random Publications of {@link TestDataSource}, as generating millions
+ * of random Publications would take longer than the load test itself. The dataset keeps only what the workload needs
+ * for choosing the entries it reads and writes.
+ */
+public final class SyntheticDataset {
+    
+    public static final int NUMBER_OF_TEMPLATES = 1_000;
+    public static final int RESOURCES_PER_WRITE = 5_000;
+    public static final String CUSTOMER_URI_TEMPLATE = "https://api.dev.nva.aws.unit.no/customer/%d";
+    public static final String OWNER_TEMPLATE = "owner%d@unit.no";
+    public static final String MESSAGE_TEXT = "Could you please have a look at this?";
+    private static final List<Class<? extends TicketEntry>> TICKET_TYPES =
+        List.of(DoiRequest.class, PublishingRequestCase.class, GeneralSupportRequest.class);
+    private static final List<TicketStatus> TICKET_STATUSES =
+        List.of(TicketStatus.PENDING, TicketStatus.COMPLETED, TicketStatus.COMPLETED, TicketStatus.CLOSED);
+    
+    private final List<Publication> templates;
+    private final URI[] customers;
+    private final int[] ownerCustomers;
+    private final SortableIdentifier[] resourceIdentifiers;
+    private final SkewedDistribution customerDistribution;
+    private final SkewedDistribution ownerDistribution;
+    private long numberOfTickets;
+    private long numberOfMessages;
+    
+    private SyntheticDataset(LoadTestConfiguration configuration, Random random) {
+        var testDataSource = new TestDataSource();
+        templates = Stream.generate(testDataSource::publicationWithIdentifier)
+                        .limit(NUMBER_OF_TEMPLATES)
+                        .collect(Collectors.toList());
+        customers = new URI[configuration.getNumberOfCustomers()];
+        for (int customer = 0; customer < customers.length; customer++) {
+            customers[customer] = URI.create(String.format(CUSTOMER_URI_TEMPLATE, customer));
+        }
+        customerDistribution = new SkewedDistribution(customers.length, configuration.getCustomerSkew());
+        ownerDistribution = new SkewedDistribution(configuration.getNumberOfOwners(), configuration.getOwnerSkew());
+        ownerCustomers = new int[configuration.getNumberOfOwners()];
+        for (int owner = 0; owner < ownerCustomers.length; owner++) {
+            ownerCustomers[owner] = customerDistribution.sample(random);
+        }
+        resourceIdentifiers = new SortableIdentifier[configuration.getNumberOfResources()];
+    }
+    
+    /**
+     * Generates the dataset and writes it to the Resources table.
+     *
+     * @param configuration the size and the skew of the dataset.
+     * @param client        the client of the database.
+     * @return the dataset.
+     */
+    public static SyntheticDataset generate(LoadTestConfiguration configuration, AmazonDynamoDB client) {
+        var random = new Random(configuration.getSeed());
+        var dataset = new SyntheticDataset(configuration, random);
+        var batchWriter = new BatchWriter(client, RESOURCES_TABLE_NAME);
+        var ticketDistribution = new SkewedDistribution(configuration.getMaxTicketsPerResource() + 1,
+            configuration.getTicketSkew());
+        var messageDistribution = new SkewedDistribution(configuration.getMaxMessagesPerTicket() + 1,
+            configuration.getMessageSkew());
+        for (int first = 0; first < configuration.getNumberOfResources(); first += RESOURCES_PER_WRITE) {
+            var last = Math.min(first + RESOURCES_PER_WRITE, configuration.getNumberOfResources());
+            var entries = new ArrayList<Entity>();
+            for (int index = first; index < last; index++) {
+                var resource = dataset.createResource(index, random);
+                entries.add(resource);
+                entries.addAll(dataset.createTickets(resource, ticketDistribution.sample(random),
+                    messageDistribution, random));
+            }
+            batchWriter.write(entries.stream().map(SyntheticDataset::toWriteRequest).collect(Collectors.toList()));
+            System.out.printf("Written %d of %d resources%n", last, configuration.getNumberOfResources());
+        }
+        return dataset;
+    }
+    
+    public int getNumberOfResources() {
+        return resourceIdentifiers.length;
+    }
+    
+    public long getNumberOfTickets() {
+        return numberOfTickets;
+    }
+    
+    public long getNumberOfMessages() {
+        return numberOfMessages;
+    }
+    
+    public SortableIdentifier randomResource(Random random) {
+        return resourceIdentifiers[random.nextInt(resourceIdentifiers.length)];
+    }
+    
+    public UserInstance randomOwner(Random random) {
+        var owner = ownerDistribution.sample(random);
+        return UserInstance.create(ownerName(owner), customers[ownerCustomers[owner]]);
+    }
+    
+    public URI randomCustomer(Random random) {
+        return customers[customerDistribution.sample(random)];
+    }
+    
+    public Publication randomTemplate(Random random) {
+        return templates.get(random.nextInt(templates.size()));
+    }
+    
+    private Resource createResource(int index, Random random) {
+        var owner = randomOwner(random);
+        var now = Instant.now();
+        var resource = Resource.fromPublication(randomTemplate(random));
+        resource.setIdentifier(SortableIdentifier.next());
+        resource.setResourceOwner(new Owner(owner.getUsername(), owner.getOrganizationUri()));
+        resource.setPublisher(new Organization.Builder().withId(owner.getOrganizationUri()).build());
+        resource.setCreatedDate(now);
+        resource.setModifiedDate(now);
+        resource.setPublishedDate(now);
+        resource.setStatus(PublicationStatus.PUBLISHED);
+        resourceIdentifiers[index] = resource.getIdentifier();
+        return resource;
+    }
+    
+    private List<Entity> createTickets(Resource resource, int numberOfTickets,
+                                       SkewedDistribution messageDistribution, Random random) {
+        var publication = resource.toPublication();
+        var sender = UserInstance.fromPublication(publication);
+        var entries = new ArrayList<Entity>();
+        for (int ticketIndex = 0; ticketIndex < numberOfTickets; ticketIndex++) {
+            var ticket = createTicket(publication, random);
+            entries.add(ticket);
+            var numberOfTicketMessages = messageDistribution.sample(random);
+            for (int messageIndex = 0; messageIndex < numberOfTicketMessages; messageIndex++) {
+                entries.add(Message.create(ticket, sender, MESSAGE_TEXT));
+            }
+            this.numberOfMessages += numberOfTicketMessages;
+        }
+        this.numberOfTickets += numberOfTickets;
+        return entries;
+    }
+    
+    private static TicketEntry createTicket(Publication publication, Random random) {
+        var now = Instant.now();
+        var ticketType = TICKET_TYPES.get(random.nextInt(TICKET_TYPES.size()));
+        var ticket = TicketEntry.requestNewTicket(publication, ticketType);
+        ticket.setIdentifier(SortableIdentifier.next());
+        ticket.setCreatedDate(now);
+        ticket.setModifiedDate(now);
+        ticket.setStatus(TICKET_STATUSES.get(random.nextInt(TICKET_STATUSES.size())));
+        return ticket;
+    }
+    
+    private static WriteRequest toWriteRequest(Entity entity) {
+        return new WriteRequest().withPutRequest(new PutRequest().withItem(entity.toDao().toDynamoFormat()));
+    }
+    
+    private static String ownerName(int owner) {
+        return String.format(OWNER_TEMPLATE, owner);
+    }
+}
@@ -0,0 +1,44 @@
+package no.unit.nva.publication.loadtest;
+
+import java.util.Random;
+import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.publication.service.impl.TicketService;
+
+/**
+ * The services and the dataset that the operations of a load test are run against.
+ */
+public class Workload {
+    
+    private final ResourceService resourceService;
+    private final TicketService ticketService;
+    private final SyntheticDataset dataset;
+    private final int pageSize;
+    
+    public Workload(ResourceService resourceService, TicketService ticketService, SyntheticDataset dataset,
+                    int pageSize) {
+        this.resourceService = resourceService;
+        this.ticketService = ticketService;
+        this.dataset = dataset;
+        this.pageSize = pageSize;
+    }
+    
+    public ResourceService getResourceService() {
+        return resourceService;
+    }
+    
+    public TicketService getTicketService() {
+        return ticketService;
+    }
+    
+    public SyntheticDataset getDataset() {
+        return dataset;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public String randomTitle(Random random) {
+        return "Updated title " + random.nextLong();
+    }
+}
@@ -5,7 +5,12 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.paths.UriWrapper;
@@ -22,24 +27,46 @@ public final class PublicationServiceConfig {
     
     public static final String PUBLICATION_IDENTIFIER_PATH_PARAMETER_NAME = "publicationIdentifier";
     public static final String AWS_REGION = ENVIRONMENT.readEnv("AWS_REGION");
-    public static final AmazonDynamoDB DEFAULT_DYNAMODB_CLIENT = defaultDynamoDbClient();
+    // Read before the default client is created, since the client is only instrumented when it is enabled.
+    public static final boolean DYNAMODB_REQUEST_METRICS = readDynamoDbRequestMetrics();
+    public static final AmazonDynamoDB DEFAULT_DYNAMODB_CLIENT =
+        InstrumentedDynamoDbClient.instrument(defaultDynamoDbClient());
     public static final ObjectMapper dtoObjectMapper = JsonUtils.dtoObjectMapper;
     public static final String TICKET_PATH = "ticket";
     
     private static final int DEFAULT_RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES = 200;
     public static final Integer RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES = readDynamoDbQueryResultsPageSize();
+    public static final boolean STORE_COMPRESSED_RESOURCE_DATA = readStoreCompressedResourceData();
+    private static final int DEFAULT_QUERY_PREFETCH_DEPTH = 0;
+    public static final Integer QUERY_PREFETCH_DEPTH = readQueryPrefetchDepth();
+    private static final int DEFAULT_MAX_CONCURRENT_DATABASE_REQUESTS = 16;
+    public static final Integer MAX_CONCURRENT_DATABASE_REQUESTS = readMaxConcurrentDatabaseRequests();
+    public static final Integer RESOURCE_CACHE_SIZE = readResourceCacheSize();
+    private static final long DEFAULT_RESOURCE_CACHE_TTL_SECONDS = 60;
+    public static final Duration RESOURCE_CACHE_TTL = readResourceCacheTimeToLive();
+    public static final boolean READ_BACK_CREATED_ENTRIES = readReadBackCreatedEntries();
+    private static final int DEFAULT_MAX_TICKETS_UPDATED_IN_TRANSACTION = 24;
+    public static final Integer MAX_TICKETS_UPDATED_IN_TRANSACTION = readMaxTicketsUpdatedInTransaction();
+    public static final Set<String> SHARDED_OWNERS = readShardedOwners();
+    private static final int DEFAULT_OWNER_PARTITION_SHARDS = 10;
+    public static final Integer OWNER_PARTITION_SHARDS = readOwnerPartitionShards();
+    public static final Integer BY_TYPE_CUSTOMER_STATUS_INDEX_SHARDS = readByTypeCustomerStatusIndexShards();
     
     private PublicationServiceConfig() {
     
     }
     
+    // Attempts are only counted when the requests are instrumented, as only the instrumentation reads the count.
     @JacocoGenerated
     public static AmazonDynamoDB defaultDynamoDbClient() {
-        return AmazonDynamoDBClientBuilder
-                   .standard()
-                   .withRegion(AWS_REGION)
-                   .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
-                   .build();
+        var builder = AmazonDynamoDBClientBuilder
+                          .standard()
+                          .withRegion(AWS_REGION)
+                          .withCredentials(DefaultAWSCredentialsProviderChain.getInstance());
+        if (DYNAMODB_REQUEST_METRICS) {
+            builder.withRequestHandlers(InstrumentedDynamoDbClient.ATTEMPT_COUNTER);
+        }
+        return builder.build();
     }
     
     private static Integer readDynamoDbQueryResultsPageSize() {
@@ -48,4 +75,85 @@ public final class PublicationServiceConfig {
                    .map(Integer::parseInt)
                    .orElse(DEFAULT_RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES);
     }
+    
+    private static Integer readQueryPrefetchDepth() {
+        return ENVIRONMENT
+                   .readEnvOpt("QUERY_PREFETCH_DEPTH")
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_QUERY_PREFETCH_DEPTH);
+    }
+    
+    private static Integer readMaxConcurrentDatabaseRequests() {
+        return ENVIRONMENT
+                   .readEnvOpt("MAX_CONCURRENT_DATABASE_REQUESTS")
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_MAX_CONCURRENT_DATABASE_REQUESTS);
+    }
+    
+    private static Integer readResourceCacheSize() {
+        return ENVIRONMENT
+                   .readEnvOpt("RESOURCE_CACHE_SIZE")
+                   .map(Integer::parseInt)
+                   .orElse(0);
+    }
+    
+    private static Duration readResourceCacheTimeToLive() {
+        return ENVIRONMENT
+                   .readEnvOpt("RESOURCE_CACHE_TTL_SECONDS")
+                   .map(Long::parseLong)
+                   .map(Duration::ofSeconds)
+                   .orElse(Duration.ofSeconds(DEFAULT_RESOURCE_CACHE_TTL_SECONDS));
+    }
+    
+    private static boolean readStoreCompressedResourceData() {
+        return ENVIRONMENT
+                   .readEnvOpt("STORE_COMPRESSED_RESOURCE_DATA")
+                   .map(Boolean::parseBoolean)
+                   .orElse(false);
+    }
+    
+    private static boolean readDynamoDbRequestMetrics() {
+        return ENVIRONMENT
+                   .readEnvOpt("DYNAMODB_REQUEST_METRICS")
+                   .map(Boolean::parseBoolean)
+                   .orElse(false);
+    }
+    
+    private static boolean readReadBackCreatedEntries() {
+        return ENVIRONMENT
+                   .readEnvOpt("READ_BACK_CREATED_ENTRIES")
+                   .map(Boolean::parseBoolean)
+                   .orElse(false);
+    }
+    
+    private static Integer readMaxTicketsUpdatedInTransaction() {
+        return ENVIRONMENT
+                   .readEnvOpt("MAX_TICKETS_UPDATED_IN_TRANSACTION")
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_MAX_TICKETS_UPDATED_IN_TRANSACTION);
+    }
+    
+    private static Set<String> readShardedOwners() {
+        return ENVIRONMENT
+                   .readEnvOpt("SHARDED_OWNERS")
+                   .stream()
+                   .flatMap(owners -> Arrays.stream(owners.split(",")))
+                   .map(String::strip)
+                   .filter(owner -> !owner.isEmpty())
+                   .collect(Collectors.toSet());
+    }
+    
+    private static Integer readOwnerPartitionShards() {
+        return ENVIRONMENT
+                   .readEnvOpt("OWNER_PARTITION_SHARDS")
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_OWNER_PARTITION_SHARDS);
+    }
+    
+    private static Integer readByTypeCustomerStatusIndexShards() {
+        return ENVIRONMENT
+                   .readEnvOpt("BY_TYPE_CUSTOMER_STATUS_INDEX_SHARDS")
+                   .map(Integer::parseInt)
+                   .orElse(1);
+    }
 }
@@ -0,0 +1,11 @@
+package no.unit.nva.publication.exception;
+
+public class BatchRequestFailedException extends RuntimeException {
+    
+    public static final String ERROR_MESSAGE = "Batch request could not process all items after %d attempts. "
+                                               + "Unprocessed items: %d";
+    
+    public BatchRequestFailedException(int attempts, int unprocessedItems) {
+        super(String.format(ERROR_MESSAGE, attempts, unprocessedItems));
+    }
+}
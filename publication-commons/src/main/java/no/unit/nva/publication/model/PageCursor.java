@@ -0,0 +1,68 @@
+package no.unit.nva.publication.model;
+
+import static java.util.Objects.isNull;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.commons.json.JsonUtils;
+import nva.commons.apigateway.exceptions.BadRequestException;
+
+/**
+ * Opaque cursor for paginated listings. The cursor is the URL-safe Base64 encoding of the key of the last evaluated
+ * item of a query. Only keys consisting of String attributes are supported, which is the case for the primary key and
+ * the secondary indices of the Resources table.
+ */
+public final class PageCursor {
+    
+    public static final String INVALID_CURSOR_MESSAGE = "Invalid cursor: ";
+    private static final TypeReference<Map<String, String>> KEY_TYPE = new TypeReference<>() {
+    };
+    
+    private PageCursor() {
+    
+    }
+    
+    /**
+     * Encodes the key of the last evaluated item of a query.
+     *
+     * @param lastEvaluatedKey the key, or null/empty when there are no more pages.
+     * @return the cursor, or null when there are no more pages.
+     */
+    public static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (isNull(lastEvaluatedKey) || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        var key = lastEvaluatedKey.entrySet()
+                      .stream()
+                      .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getS()));
+        var json = attempt(() -> JsonUtils.dtoObjectMapper.writeValueAsString(key)).orElseThrow();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a cursor returned by {@link #encode(Map)}.
+     *
+     * @param cursor the cursor, or null for the first page.
+     * @return the exclusive start key of the next page, or null for the first page.
+     * @throws BadRequestException when the cursor is not valid.
+     */
+    public static Map<String, AttributeValue> decode(String cursor) throws BadRequestException {
+        if (isNull(cursor) || cursor.isBlank()) {
+            return null;
+        }
+        return attempt(() -> new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8))
+                   .map(json -> JsonUtils.dtoObjectMapper.readValue(json, KEY_TYPE))
+                   .map(PageCursor::toAttributeValues)
+                   .orElseThrow(fail -> new BadRequestException(INVALID_CURSOR_MESSAGE + cursor));
+    }
+    
+    private static Map<String, AttributeValue> toAttributeValues(Map<String, String> key) {
+        return key.entrySet()
+                   .stream()
+                   .collect(Collectors.toMap(Map.Entry::getKey, entry -> new AttributeValue(entry.getValue())));
+    }
+}
@@ -0,0 +1,42 @@
+package no.unit.nva.publication.model;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.model.business.Message;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
+
+/**
+ * A Resource together with all its tickets and all the messages of these tickets, as they are stored in the same
+ * partition of the ByCustomerResource index.
+ */
+public final class ResourceAggregate {
+    
+    private final Resource resource;
+    private final List<TicketEntry> tickets;
+    private final List<Message> messages;
+    
+    public ResourceAggregate(Resource resource, List<TicketEntry> tickets, List<Message> messages) {
+        this.resource = resource;
+        this.tickets = List.copyOf(tickets);
+        this.messages = List.copyOf(messages);
+    }
+    
+    public Resource getResource() {
+        return resource;
+    }
+    
+    public List<TicketEntry> getTickets() {
+        return tickets;
+    }
+    
+    public List<Message> getMessages() {
+        return messages;
+    }
+    
+    public List<Message> getMessagesOfTicket(TicketEntry ticket) {
+        return messages.stream()
+                   .filter(message -> ticket.getIdentifier().equals(message.getTicketIdentifier()))
+                   .collect(Collectors.toList());
+    }
+}
@@ -113,7 +113,7 @@ public class DoiRequest extends TicketEntry {
     public Publication toPublication(ResourceService resourceService) {
         return Optional.ofNullable(getPublicationDetails())
                    .map(PublicationDetails::getIdentifier)
-                   .map(attempt(resourceService::getPublicationByIdentifier))
+                   .map(attempt(identifier -> resourceService.getPublicationOfTicket(this)))
                    .map(Try::orElseThrow)
                    .orElse(null);
     }
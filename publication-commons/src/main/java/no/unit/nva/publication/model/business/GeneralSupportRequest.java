@@ -79,7 +79,7 @@ public class GeneralSupportRequest extends TicketEntry {
     @JacocoGenerated
     @Override
     public Publication toPublication(ResourceService resourceService) {
-        return attempt(() -> resourceService.getPublicationByIdentifier(getPublicationDetails().getIdentifier()))
+        return attempt(() -> resourceService.getPublicationOfTicket(this))
                    .orElseThrow();
     }
     
@@ -111,6 +111,22 @@ public class PublicationDetails {
         return PublicationDetails.create(resource);
     }
     
+    /**
+     * Checks whether the details differ from the current state of the Resource. The modification date is not
+     * compared, because it changes on every update of the Resource, also when none of the other fields has changed.
+     *
+     * @param resource the current state of the Resource.
+     * @return true if the details need to be updated, false otherwise.
+     */
+    public boolean isOutdated(Resource resource) {
+        var current = PublicationDetails.create(resource);
+        return !(Objects.equals(getIdentifier(), current.getIdentifier())
+                 && Objects.equals(getTitle(), current.getTitle())
+                 && Objects.equals(getOwner(), current.getOwner())
+                 && Objects.equals(getCreatedDate(), current.getCreatedDate())
+                 && getStatus() == current.getStatus());
+    }
+    
     @Override
     @JacocoGenerated
     public int hashCode() {
@@ -155,7 +155,7 @@ public class PublishingRequestCase extends TicketEntry {
     
     @Override
     public Publication toPublication(ResourceService resourceService) {
-        return attempt(() -> resourceService.getPublicationByIdentifier(extractPublicationIdentifier()))
+        return attempt(() -> resourceService.getPublicationOfTicket(this))
                    .orElseThrow();
     }
     
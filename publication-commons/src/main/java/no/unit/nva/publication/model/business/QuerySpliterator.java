@@ -4,30 +4,64 @@ import static java.util.Objects.nonNull;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import no.unit.nva.publication.service.impl.CallingOperation;
 import nva.commons.core.JacocoGenerated;
 
+/**
+ * Iterates over all the results of a DynamoDB query, page by page.
+ *
+ * <p>When the prefetch depth is greater than zero, the next pages are requested in the background as soon as the
+ * previous page arrives, so that fetching a page overlaps with consuming the previous ones. At most
+ * {@code prefetchDepth} pages are requested or buffered ahead of the page that is being consumed, and the pages are
+ * fetched by a bounded number of shared threads. The spliterator cancels itself when it is exhausted or a page fails.
+ * A spliterator that is abandoned before that (e.g. by a short-circuited stream) stops requesting pages once
+ * {@code prefetchDepth} pages are buffered, or earlier if {@link #cancel()} is called, which streams of query
+ * results do when they are closed.
+ */
 public class QuerySpliterator implements Spliterator<Map<String, AttributeValue>> {
     
+    public static final int NO_PREFETCHING = 0;
+    private static final int PREFETCH_THREADS = 4;
+    private static final ExecutorService PREFETCH_EXECUTOR =
+        Executors.newFixedThreadPool(PREFETCH_THREADS, QuerySpliterator::prefetchThread);
     private final QueryRequest queryRequest;
     private final int pageSize;
+    private final int prefetchDepth;
     private final AmazonDynamoDB client;
     private final Queue<Map<String, AttributeValue>> currentPage;
+    private final Deque<CompletableFuture<QueryResult>> requestedPages;
     private Map<String, AttributeValue> exclusiveStartKey;
-    private boolean firstIteration = true;
+    private boolean startKeyOfNextPageIsKnown = true;
+    private boolean moreEntriesRemotely = true;
+    private boolean cancelled;
+    private long expectedEntriesPerPage = Long.MAX_VALUE;
     
     public QuerySpliterator(AmazonDynamoDB client, QueryRequest queryRequest, int pageSize) {
+        this(client, queryRequest, pageSize, NO_PREFETCHING);
+    }
+    
+    public QuerySpliterator(AmazonDynamoDB client, QueryRequest queryRequest, int pageSize, int prefetchDepth) {
         this.queryRequest = queryRequest;
         this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
         this.client = client;
         this.currentPage = new LinkedList<>();
+        this.requestedPages = new ArrayDeque<>();
     }
     
     @Override
@@ -41,15 +75,43 @@ public class QuerySpliterator implements Spliterator<Map<String, AttributeValue>
         return null;
     }
     
-    @JacocoGenerated
+    /**
+     * Estimates the remaining entries as the entries of the current page plus, when there are more pages, the
+     * number of entries expected in one page given the ratio between the returned (Count) and the evaluated
+     * (ScannedCount) items of the latest page. Before the first page arrives the size is unknown.
+     *
+     * @return the estimated number of remaining entries.
+     */
     @Override
-    public long estimateSize() {
-        return 0;
+    public synchronized long estimateSize() {
+        if (!moreEntriesRemotely) {
+            return currentPage.size();
+        }
+        return expectedEntriesPerPage == Long.MAX_VALUE
+                   ? Long.MAX_VALUE
+                   : currentPage.size() + expectedEntriesPerPage;
     }
     
+    /**
+     * Query results arrive in sort key order and callers rely on that order, so the stream is ORDERED. The items of a
+     * page are never null, so it is NONNULL. It is not IMMUTABLE because the table may change while it is queried.
+     *
+     * @return the characteristics of the spliterator.
+     */
     @Override
     public int characteristics() {
-        return IMMUTABLE;
+        return ORDERED | NONNULL;
+    }
+    
+    /**
+     * Stops requesting new pages and cancels the pages that have been requested but not consumed.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        moreEntriesRemotely = false;
+        requestedPages.forEach(page -> page.cancel(true));
+        requestedPages.clear();
+        notifyAll();
     }
     
     private boolean applyAction(Consumer<? super Map<String, AttributeValue>> action,
@@ -59,30 +121,115 @@ public class QuerySpliterator implements Spliterator<Map<String, AttributeValue>
     }
     
     private Optional<Map<String, AttributeValue>> fetchNextEntry() {
-        if (!currentPage.isEmpty()) {
-            return Optional.of(currentPage.poll());
+        while (currentPage.isEmpty()) {
+            var nextPage = prefetchDepth > NO_PREFETCHING ? nextPrefetchedPage() : fetchNextPage();
+            if (nextPage.isEmpty()) {
+                cancel();
+                return Optional.empty();
+            }
+            currentPage.addAll(items(nextPage.get()));
+        }
+        return Optional.of(currentPage.poll());
+    }
+    
+    private Optional<QueryResult> fetchNextPage() {
+        if (moreEntriesRemotely) {
+            var result = client.query(nextPageRequest());
+            pageReceived(result, null);
+            return Optional.of(result);
+        }
+        return Optional.empty();
+    }
+    
+    private Optional<QueryResult> nextPrefetchedPage() {
+        try {
+            return pollRequestedPage().map(QuerySpliterator::awaitPage);
+        } catch (RuntimeException e) {
+            cancel();
+            throw e;
+        }
+    }
+    
+    private synchronized Optional<CompletableFuture<QueryResult>> pollRequestedPage() {
+        requestNextPageIfThereIsRoom();
+        while (requestedPages.isEmpty() && moreEntriesRemotely) {
+            waitForPageToArrive();
+            requestNextPageIfThereIsRoom();
+        }
+        var page = Optional.ofNullable(requestedPages.poll());
+        requestNextPageIfThereIsRoom();
+        return page;
+    }
+    
+    private void requestNextPageIfThereIsRoom() {
+        if (startKeyOfNextPageIsKnown && moreEntriesRemotely && !cancelled
+            && requestedPages.size() < prefetchDepth) {
+            startKeyOfNextPageIsKnown = false;
+            var request = nextPageRequest();
+            var page = CompletableFuture.supplyAsync(CallingOperation.inherit(() -> client.query(request)),
+                PREFETCH_EXECUTOR);
+            requestedPages.add(page);
+            page.whenComplete(this::pageReceived);
         }
-        fillCurrentPageWithNewData();
-        return Optional.ofNullable(currentPage.poll());
     }
     
-    private void fillCurrentPageWithNewData() {
-        var nextPage = fetchNextPage();
-        currentPage.addAll(nextPage);
+    private QueryRequest nextPageRequest() {
+        return queryRequest.clone().withLimit(pageSize).withExclusiveStartKey(exclusiveStartKey);
     }
     
-    private List<Map<String, AttributeValue>> fetchNextPage() {
-        if (thereAreMoreEntriesRemotely()) {
-            var result = client.query(queryRequest.withLimit(pageSize).withExclusiveStartKey(exclusiveStartKey));
-            var items = result.getItems();
+    private synchronized void pageReceived(QueryResult result, Throwable error) {
+        if (nonNull(error) || isLastPage(result)) {
+            moreEntriesRemotely = false;
+        } else {
             exclusiveStartKey = result.getLastEvaluatedKey();
-            firstIteration = false;
-            return nonNull(items) ? items : Collections.emptyList();
+            startKeyOfNextPageIsKnown = true;
+        }
+        if (nonNull(result)) {
+            expectedEntriesPerPage = estimateEntriesPerPage(result);
+        }
+        if (prefetchDepth > NO_PREFETCHING) {
+            requestNextPageIfThereIsRoom();
+            notifyAll();
+        }
+    }
+    
+    private long estimateEntriesPerPage(QueryResult result) {
+        var count = nonNull(result.getCount()) ? result.getCount() : 0;
+        var scannedCount = nonNull(result.getScannedCount()) ? result.getScannedCount() : 0;
+        return scannedCount == 0 ? count : (long) Math.ceil((double) pageSize * count / scannedCount);
+    }
+    
+    private void waitForPageToArrive() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static boolean isLastPage(QueryResult result) {
+        return result.getLastEvaluatedKey() == null || result.getLastEvaluatedKey().isEmpty();
+    }
+    
+    private static QueryResult awaitPage(CompletableFuture<QueryResult> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-        return Collections.emptyList();
     }
     
-    private boolean thereAreMoreEntriesRemotely() {
-        return nonNull(exclusiveStartKey) || firstIteration;
+    private static Thread prefetchThread(Runnable runnable) {
+        var thread = new Thread(runnable, "query-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    private static List<Map<String, AttributeValue>> items(QueryResult result) {
+        return nonNull(result.getItems()) ? result.getItems() : Collections.emptyList();
     }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.identifiers.SortableIdentifier;
@@ -69,6 +70,10 @@ public class Resource implements Entity {
     private Set<AdditionalIdentifier> additionalIdentifiers;
     @JsonProperty
     private List<URI> subjects;
+    @JsonIgnore
+    private UUID version;
+    @JsonIgnore
+    private String storedPartitionKey;
     
     public static Resource resourceQueryObject(UserInstance userInstance, SortableIdentifier resourceIdentifier) {
         return emptyResource(userInstance.getUser(), userInstance.getOrganizationUri(),
@@ -335,6 +340,37 @@ public class Resource implements Entity {
                    .withSubjects(getSubjects());
     }
     
+    /**
+     * The version of the Dao the Resource was read from, when it was read from the database.
+     *
+     * @return the version of the stored Resource or null.
+     */
+    @JsonIgnore
+    public UUID getVersion() {
+        return version;
+    }
+    
+    @JsonIgnore
+    public void setVersion(UUID version) {
+        this.version = version;
+    }
+    
+    /**
+     * The partition key of the entry the Resource was scanned from, when it was scanned from the database. It differs
+     * from the partition key of the Resource when the Resource is still stored in the unsharded partition of its owner.
+     *
+     * @return the partition key of the stored Resource or null.
+     */
+    @JsonIgnore
+    public String getStoredPartitionKey() {
+        return storedPartitionKey;
+    }
+    
+    @JsonIgnore
+    public void setStoredPartitionKey(String storedPartitionKey) {
+        this.storedPartitionKey = storedPartitionKey;
+    }
+    
     public List<URI> getSubjects() {
         return nonNull(subjects) ? subjects : Collections.emptyList();
     }
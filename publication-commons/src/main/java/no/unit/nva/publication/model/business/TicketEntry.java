@@ -1,5 +1,6 @@
 package no.unit.nva.publication.model.business;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.model.business.PublishingRequestCase.createOpeningCaseObject;
 import static no.unit.nva.publication.model.business.TicketEntry.Constants.PUBLICATION_DETAILS_FIELD;
@@ -211,6 +212,10 @@ public abstract class TicketEntry implements Entity {
         this.publicationDetails = publicationDetails;
     }
     
+    public final boolean hasOutdatedPublicationDetails(Resource resource) {
+        return isNull(getPublicationDetails()) || getPublicationDetails().isOutdated(resource);
+    }
+    
     public TicketEntry update(Resource resource) {
         this.getPublicationDetails().update(resource);
         this.setPublicationDetails(
@@ -0,0 +1,244 @@
+package no.unit.nva.publication.model.storage;
+
+import static java.util.Objects.nonNull;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts Java objects to DynamoDB items and back by streaming Jackson tokens directly from and to
+ * {@link AttributeValue} trees.
+ *
+ * <p>The produced items are identical to the ones produced by serializing the object to a JSON string and
+ * parsing the string with {@link com.amazonaws.services.dynamodbv2.document.Item#fromJSON(String)}, but without
+ * building the intermediate JSON string, the {@link com.amazonaws.services.dynamodbv2.document.Item} and the
+ * simple-value maps.
+ */
+public final class AttributeValueCodec {
+
+    public static final String UNEXPECTED_TOKEN_ERROR = "Unexpected token while encoding DynamoDB item: ";
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private AttributeValueCodec() {
+
+    }
+
+    /**
+     * Serializes an object to a DynamoDB item using the serialization configuration of the supplied ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper defining how the object is serialized.
+     * @param value        the object to serialize. It must be serialized as a JSON object.
+     * @return the object as a DynamoDB item.
+     * @throws IOException when the object cannot be serialized.
+     */
+    public static Map<String, AttributeValue> toAttributeValueMap(ObjectMapper objectMapper, Object value)
+        throws IOException {
+        var buffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(buffer, value);
+        try (JsonParser parser = buffer.asParser(objectMapper)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException(UNEXPECTED_TOKEN_ERROR + parser.currentToken());
+            }
+            return readObject(parser);
+        }
+    }
+
+    /**
+     * Deserializes a DynamoDB item to an object using the deserialization configuration of the supplied
+     * ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper defining how the object is deserialized.
+     * @param item         the DynamoDB item.
+     * @param valueType    the class of the returned object.
+     * @param <T>          the type of the returned object.
+     * @return the deserialized object.
+     * @throws IOException when the item cannot be deserialized to the requested type.
+     */
+    public static <T> T fromAttributeValueMap(ObjectMapper objectMapper,
+                                              Map<String, AttributeValue> item,
+                                              Class<T> valueType) throws IOException {
+        try (JsonParser parser = toTokens(objectMapper, item)) {
+            return objectMapper.readValue(parser, valueType);
+        }
+    }
+
+    public static JsonNode toJsonNode(ObjectMapper objectMapper, Map<String, AttributeValue> item)
+        throws IOException {
+        try (JsonParser parser = toTokens(objectMapper, item)) {
+            return objectMapper.readTree(parser);
+        }
+    }
+
+    private static JsonParser toTokens(ObjectMapper objectMapper, Map<String, AttributeValue> item)
+        throws IOException {
+        var buffer = new TokenBuffer(objectMapper, false);
+        writeObject(buffer, item);
+        return buffer.asParser(objectMapper);
+    }
+
+    private static Map<String, AttributeValue> readObject(JsonParser parser) throws IOException {
+        var result = new LinkedHashMap<String, AttributeValue>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var fieldName = parser.getCurrentName();
+            parser.nextToken();
+            result.put(fieldName, readValue(parser));
+        }
+        return result;
+    }
+
+    private static List<AttributeValue> readArray(JsonParser parser) throws IOException {
+        var result = new ArrayList<AttributeValue>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            result.add(readValue(parser));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private static AttributeValue readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return new AttributeValue().withM(readObject(parser));
+            case START_ARRAY:
+                return new AttributeValue().withL(readArray(parser));
+            case VALUE_STRING:
+                return new AttributeValue().withS(parser.getText());
+            case VALUE_NUMBER_INT:
+                return new AttributeValue().withN(parser.getNumberValue().toString());
+            case VALUE_NUMBER_FLOAT:
+                return new AttributeValue().withN(floatingPointNumber(parser));
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return new AttributeValue().withBOOL(parser.getBooleanValue());
+            case VALUE_NULL:
+                return new AttributeValue().withNULL(true);
+            case VALUE_EMBEDDED_OBJECT:
+                return embeddedValue(parser);
+            default:
+                throw new IllegalArgumentException(UNEXPECTED_TOKEN_ERROR + parser.currentToken());
+        }
+    }
+
+    // Item.fromJSON parses fractional numbers as doubles, so we do the same to store the same digits.
+    private static String floatingPointNumber(JsonParser parser) throws IOException {
+        return new BigDecimal(Double.toString(parser.getDoubleValue())).toPlainString();
+    }
+
+    // Binary values end up as Base64 strings when an object is serialized to a JSON string.
+    private static AttributeValue embeddedValue(JsonParser parser) throws IOException {
+        var embedded = parser.getEmbeddedObject();
+        if (embedded instanceof byte[]) {
+            return new AttributeValue().withS(Base64Variants.getDefaultVariant().encode((byte[]) embedded));
+        }
+        throw new IllegalArgumentException(UNEXPECTED_TOKEN_ERROR + embedded);
+    }
+
+    private static void writeObject(JsonGenerator generator, Map<String, AttributeValue> values) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, AttributeValue> entry : values.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    // Follows the same precedence as ItemUtils.toSimpleValue
+    @SuppressWarnings({"PMD.CognitiveComplexity", "PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
+    private static void writeValue(JsonGenerator generator, AttributeValue value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (nonNull(value.getS())) {
+            generator.writeString(value.getS());
+        } else if (nonNull(value.getN())) {
+            writeNumber(generator, value.getN());
+        } else if (nonNull(value.getB())) {
+            generator.writeBinary(toBytes(value.getB()));
+        } else if (nonNull(value.getSS())) {
+            writeStrings(generator, value.getSS());
+        } else if (nonNull(value.getNS())) {
+            writeNumbers(generator, value.getNS());
+        } else if (nonNull(value.getBS())) {
+            writeBinaries(generator, value.getBS());
+        } else if (nonNull(value.getBOOL())) {
+            generator.writeBoolean(value.getBOOL());
+        } else if (nonNull(value.getM())) {
+            writeObject(generator, value.getM());
+        } else if (nonNull(value.getL())) {
+            writeList(generator, value.getL());
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeList(JsonGenerator generator, List<AttributeValue> values) throws IOException {
+        generator.writeStartArray();
+        for (AttributeValue value : values) {
+            writeValue(generator, value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeStrings(JsonGenerator generator, List<String> values) throws IOException {
+        generator.writeStartArray();
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNumbers(JsonGenerator generator, List<String> values) throws IOException {
+        generator.writeStartArray();
+        for (String value : values) {
+            writeNumber(generator, value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeBinaries(JsonGenerator generator, List<ByteBuffer> values) throws IOException {
+        generator.writeStartArray();
+        for (ByteBuffer value : values) {
+            generator.writeBinary(toBytes(value));
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String number) throws IOException {
+        if (isIntegral(number)) {
+            writeIntegralNumber(generator, number);
+        } else {
+            generator.writeNumber(new BigDecimal(number));
+        }
+    }
+
+    private static void writeIntegralNumber(JsonGenerator generator, String number) throws IOException {
+        if (number.length() <= MAX_LONG_DIGITS) {
+            generator.writeNumber(Long.parseLong(number));
+        } else {
+            generator.writeNumber(new BigInteger(number));
+        }
+    }
+
+    private static boolean isIntegral(String number) {
+        return number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        var duplicate = buffer.duplicate();
+        var bytes = new byte[duplicate.remaining()];
+        duplicate.get(bytes);
+        return bytes;
+    }
+}
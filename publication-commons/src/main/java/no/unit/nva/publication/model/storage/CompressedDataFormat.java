@@ -0,0 +1,133 @@
+package no.unit.nva.publication.model.storage;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.model.business.StorageModelConfig.dynamoDbObjectMapper;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.toAttributeValueMap;
+import static no.unit.nva.publication.model.storage.Dao.CONTAINED_DATA_FIELD_NAME;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Alternative storage format for Daos, where the contained data entity is stored as a gzipped JSON document in a
+ * binary attribute instead of as a DynamoDB map. Key and index attributes are stored as in the default format, and
+ * the fields of the data entity that are used in condition expressions are mirrored as top-level attributes.
+ *
+ * <p>Items in the compressed format are marked with the {@link #DATA_FORMAT_FIELD} attribute. Items without the
+ * marker are in the default format and are returned unchanged by {@link #decompress(Map)}, so readers can handle
+ * both formats transparently.
+ */
+public final class CompressedDataFormat {
+
+    public static final String DATA_FORMAT_FIELD = "dataFormat";
+    public static final String DATA_FORMAT_PLACEHOLDER = "#" + DATA_FORMAT_FIELD;
+    public static final String GZIP_JSON_V1 = "gzip+json:1";
+    public static final List<String> MIRRORED_DATA_FIELDS = List.of("status", "modifiedDate", "doi");
+    public static final String UNSUPPORTED_DATA_FORMAT_ERROR = "Unsupported data format: ";
+    public static final String STORED_COMPRESSED_CONDITION = "attribute_exists(" + DATA_FORMAT_PLACEHOLDER + ")";
+    public static final String STORED_UNCOMPRESSED_CONDITION =
+        "attribute_not_exists(" + DATA_FORMAT_PLACEHOLDER + ")";
+
+    private CompressedDataFormat() {
+
+    }
+
+    /**
+     * Creates the DynamoDB item of a Dao in the compressed format.
+     *
+     * @param dao the Dao.
+     * @return the item with the contained data as a compressed binary attribute.
+     * @throws IOException when the Dao cannot be serialized.
+     */
+    public static Map<String, AttributeValue> compress(Dao dao) throws IOException {
+        ObjectNode daoNode = dynamoDbObjectMapper.valueToTree(dao);
+        JsonNode data = daoNode.remove(CONTAINED_DATA_FIELD_NAME);
+        mirrorDataFields(daoNode, data);
+        var item = toAttributeValueMap(dynamoDbObjectMapper, daoNode);
+        item.put(CONTAINED_DATA_FIELD_NAME, new AttributeValue().withB(ByteBuffer.wrap(gzip(data))));
+        item.put(DATA_FORMAT_FIELD, new AttributeValue(GZIP_JSON_V1));
+        return item;
+    }
+
+    /**
+     * Returns the item in the default format, i.e. with the contained data as a DynamoDB map.
+     *
+     * @param item an item in any of the supported formats.
+     * @return the item in the default format.
+     * @throws IOException when the compressed data cannot be read.
+     */
+    public static Map<String, AttributeValue> decompress(Map<String, AttributeValue> item) throws IOException {
+        if (!isCompressed(item)) {
+            return item;
+        }
+        var dataFormat = item.get(DATA_FORMAT_FIELD).getS();
+        if (!GZIP_JSON_V1.equals(dataFormat)) {
+            throw new IllegalStateException(UNSUPPORTED_DATA_FORMAT_ERROR + dataFormat);
+        }
+        var data = gunzip(item.get(CONTAINED_DATA_FIELD_NAME).getB());
+        var result = new LinkedHashMap<>(item);
+        result.remove(DATA_FORMAT_FIELD);
+        MIRRORED_DATA_FIELDS.forEach(result::remove);
+        result.put(CONTAINED_DATA_FIELD_NAME, new AttributeValue().withM(toAttributeValueMap(dynamoDbObjectMapper,
+            data)));
+        return result;
+    }
+
+    public static boolean isCompressed(Map<String, AttributeValue> item) {
+        return nonNull(item) && item.containsKey(DATA_FORMAT_FIELD);
+    }
+
+    /**
+     * Combines the two forms of a condition on fields of the contained data into one condition that is valid for
+     * items in both storage formats. The expression attribute names must include {@link #DATA_FORMAT_PLACEHOLDER}.
+     *
+     * @param compressedCondition the condition on the mirrored top-level attributes (e.g. "#status = :status"). Only
+     *                            fields in {@link #MIRRORED_DATA_FIELDS} are mirrored.
+     * @param defaultCondition    the condition on the fields of the contained data (e.g. "#data.#status = :status").
+     * @return a condition expression that is valid for both storage formats.
+     */
+    public static String conditionForBothFormats(String compressedCondition, String defaultCondition) {
+        return "(" + STORED_COMPRESSED_CONDITION + " AND " + compressedCondition + ")"
+               + " OR (" + STORED_UNCOMPRESSED_CONDITION + " AND " + defaultCondition + ")";
+    }
+
+    private static void mirrorDataFields(ObjectNode daoNode, JsonNode data) {
+        for (String field : MIRRORED_DATA_FIELDS) {
+            var value = data.get(field);
+            if (nonNull(value) && !value.isNull()) {
+                daoNode.set(field, value);
+            }
+        }
+    }
+
+    private static byte[] gzip(JsonNode data) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        try (var gzipStream = new GZIPOutputStream(outputStream)) {
+            dynamoDbObjectMapper.writeValue(gzipStream, data);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static JsonNode gunzip(ByteBuffer compressedData) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(toBytes(compressedData)))) {
+            return dynamoDbObjectMapper.readTree(inputStream);
+        }
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        var duplicate = buffer.duplicate();
+        var bytes = new byte[duplicate.remaining()];
+        duplicate.get(bytes);
+        return bytes;
+    }
+}
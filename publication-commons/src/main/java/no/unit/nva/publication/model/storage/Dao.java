@@ -1,13 +1,17 @@
 package no.unit.nva.publication.model.storage;
 
+import static no.unit.nva.publication.PublicationServiceConfig.QUERY_PREFETCH_DEPTH;
 import static no.unit.nva.publication.PublicationServiceConfig.RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES;
 import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_INDEX_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_PK_FORMAT;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_SK_FORMAT;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.KEY_FIELDS_DELIMITER;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_FORMAT;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_SORT_KEY_FORMAT;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
@@ -18,10 +22,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import no.unit.nva.identifiers.SortableIdentifier;
@@ -112,7 +120,7 @@ public abstract class Dao
     
     @Override
     public final String getPrimaryKeyPartitionKey() {
-        return formatPrimaryPartitionKey(getCustomerId(), getOwner().toString());
+        return shardPrimaryPartitionKey(formatPrimaryPartitionKey(getCustomerId(), getOwner().toString()));
     }
     
     @Override
@@ -154,9 +162,18 @@ public abstract class Dao
         
         return publicationStatus
                    .map(status -> formatByTypeCustomerStatusIndexPartitionKey(publisherId, status))
+                   .map(partitionKey -> PARTITION_KEY_SHARDS.partitionKey(partitionKey, getIdentifier()))
                    .orElse(null);
     }
     
+    @Override
+    public final List<String> byTypeCustomerStatusPartitionKeysOfAllShards() {
+        return extractStatus()
+                   .map(status -> formatByTypeCustomerStatusIndexPartitionKey(customerIdentifier(), status))
+                   .map(PARTITION_KEY_SHARDS::allPartitionKeys)
+                   .orElse(Collections.emptyList());
+    }
+    
     @Override
     @JsonProperty(BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME)
     public final String getByTypeCustomerStatusSortKey() {
@@ -184,10 +201,49 @@ public abstract class Dao
         throw new UnsupportedOperationException(UNSUPORTED_SET_IDENTIFIER_ERROR);
     }
     
+    @Override
+    public Map<String, AttributeValue> toDynamoFormat() {
+        return storesCompressedData()
+                   ? attempt(() -> CompressedDataFormat.compress(this)).orElseThrow()
+                   : DynamoEntry.super.toDynamoFormat();
+    }
+    
+    /**
+     * Whether the Dao is written in the {@link CompressedDataFormat}. Entries in both formats can always be read.
+     *
+     * @return true if the contained data should be stored compressed.
+     */
+    @JsonIgnore
+    public boolean storesCompressedData() {
+        return false;
+    }
+    
     public abstract TransactWriteItemsRequest createInsertionTransactionRequest();
     
     public abstract void updateExistingEntry(AmazonDynamoDB client);
     
+    /**
+     * Fetches all entries with the same type, customer and status as this entry from the ByTypeCustomerStatus index.
+     * The partitions of the index are queried concurrently and the results are merged by the sort key of the index.
+     *
+     * @param client the DynamoDB client.
+     * @return the entries, ordered by the sort key of the index.
+     */
+    public List<Dao> fetchEntryCollectionByTypeCustomerStatus(AmazonDynamoDB client) {
+        var queryRequests = fetchEntryCollectionByTypeCustomerStatusKeys()
+                                .stream()
+                                .map(keyConditions -> new QueryRequest()
+                                                          .withTableName(RESOURCES_TABLE_NAME)
+                                                          .withIndexName(BY_TYPE_CUSTOMER_STATUS_INDEX_NAME)
+                                                          .withKeyConditions(keyConditions))
+                                .collect(Collectors.toList());
+        return inParallel(queryRequests, queryRequest -> fetchAllQueryResultsAsList(client, queryRequest))
+                   .stream()
+                   .flatMap(List::stream)
+                   .sorted(Comparator.comparing(Dao::getByTypeCustomerStatusSortKey))
+                   .collect(Collectors.toList());
+    }
+    
     public final String dataType() {
         return getData().getType();
     }
@@ -212,13 +268,29 @@ public abstract class Dao
                && Objects.equals(getVersion(), dao.getVersion());
     }
     
+    /**
+     * Streams all the results of a query. Closing the stream cancels the pages that are still being prefetched, so
+     * callers that may not consume the whole stream should close it.
+     *
+     * @param client       the DynamoDB client.
+     * @param queryRequest the query.
+     * @return the results of the query.
+     */
     protected static Stream<Dao> fetchAllQueryResults(AmazonDynamoDB client,
                                                       QueryRequest queryRequest) {
-        var queryIterator = new QuerySpliterator(client, queryRequest, RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES);
+        var queryIterator = new QuerySpliterator(client, queryRequest, RESULT_SET_SIZE_FOR_DYNAMODB_QUERIES,
+            QUERY_PREFETCH_DEPTH);
         return StreamSupport.stream(queryIterator, SINGLE_THREADED)
+                   .onClose(queryIterator::cancel)
                    .map(item -> parseAttributeValuesMap(item, Dao.class));
     }
     
+    private static List<Dao> fetchAllQueryResultsAsList(AmazonDynamoDB client, QueryRequest queryRequest) {
+        try (var results = fetchAllQueryResults(client, queryRequest)) {
+            return results.collect(Collectors.toList());
+        }
+    }
+    
     protected String formatPrimaryPartitionKey(URI organizationUri, String userIdentifier) {
         String organizationIdentifier = orgUriToOrgIdentifier(organizationUri);
         return formatPrimaryPartitionKey(organizationIdentifier, userIdentifier);
@@ -228,6 +300,17 @@ public abstract class Dao
         return String.format(PRIMARY_KEY_PARTITION_KEY_FORMAT, indexingType(), publisherId, owner);
     }
     
+    /**
+     * Hook for entry types whose entries of high-volume owners are spread over several partitions, see
+     * {@link OwnerPartitionShards}.
+     *
+     * @param unshardedPartitionKey the partition key in the existing layout.
+     * @return the partition key of the entry.
+     */
+    protected String shardPrimaryPartitionKey(String unshardedPartitionKey) {
+        return unshardedPartitionKey;
+    }
+    
     @JsonIgnore
     protected abstract User getOwner();
     
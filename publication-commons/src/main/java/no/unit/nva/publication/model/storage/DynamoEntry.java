@@ -2,9 +2,10 @@ package no.unit.nva.publication.model.storage;
 
 import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.model.business.StorageModelConfig.dynamoDbObjectMapper;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.fromAttributeValueMap;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.toAttributeValueMap;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.decompress;
 import static nva.commons.core.attempt.Try.attempt;
-import com.amazonaws.services.dynamodbv2.document.Item;
-import com.amazonaws.services.dynamodbv2.document.ItemUtils;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
@@ -22,8 +23,8 @@ public interface DynamoEntry {
     
     static <T> T parseAttributeValuesMap(Map<String, AttributeValue> valuesMap, Class<T> daoClass) {
         if (nonNull(valuesMap) && !valuesMap.isEmpty()) {
-            Item item = ItemUtils.toItem(valuesMap);
-            return attempt(() -> dynamoDbObjectMapper.readValue(item.toJSON(), daoClass)).orElseThrow();
+            return attempt(() -> fromAttributeValueMap(dynamoDbObjectMapper, decompress(valuesMap), daoClass))
+                       .orElseThrow();
         } else {
             throw new EmptyValueMapException();
         }
@@ -33,7 +34,6 @@ public interface DynamoEntry {
     SortableIdentifier getIdentifier();
     
     default Map<String, AttributeValue> toDynamoFormat() {
-        Item item = attempt(() -> Item.fromJSON(dynamoDbObjectMapper.writeValueAsString(this))).orElseThrow();
-        return ItemUtils.toAttributeValues(item);
+        return attempt(() -> toAttributeValueMap(dynamoDbObjectMapper, this)).orElseThrow();
     }
 }
@@ -124,6 +124,17 @@ public interface JoinWithResource {
             TicketDao.ALPHABETICALLY_ORDERED_LAST_TICKET_TYPE);
     }
     
+    /**
+     * Retrieve the Resource together with all its tickets and messages, i.e. all entries from the Resource ("a") to
+     * the Messages ("z").
+     *
+     * @return a Map for using in the
+     *     {@link com.amazonaws.services.dynamodbv2.model.QueryRequest#withKeyConditions(Map)} method.
+     */
+    default Map<String, Condition> joinAllEntriesForResource() {
+        return byResource(ResourceDao.BY_RESOURCE_INDEX_ORDER_PREFIX, MessageDao.JOIN_BY_RESOURCE_INDEX_ORDER_PREFIX);
+    }
+    
     SortableIdentifier getIdentifier();
     
     /**
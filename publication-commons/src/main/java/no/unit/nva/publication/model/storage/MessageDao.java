@@ -23,7 +23,7 @@ public class MessageDao extends Dao
     implements DynamoEntryByIdentifier, JoinWithResource {
     
     public static final String TYPE = "Message";
-    private static final String JOIN_BY_RESOURCE_INDEX_ORDER_PREFIX = "z";
+    public static final String JOIN_BY_RESOURCE_INDEX_ORDER_PREFIX = "z";
     
     public MessageDao() {
         super();
@@ -0,0 +1,64 @@
+package no.unit.nva.publication.model.storage;
+
+import java.util.List;
+import java.util.Set;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.publication.PublicationServiceConfig;
+
+/**
+ * Spreads the Resources of high-volume owners (e.g. the owner of all imported publications) over several primary
+ * partitions, so that their writes are not throttled by the throughput limit of a single partition.
+ *
+ * <p>Sharding is opt-in per owner. The partition key of a Resource of a sharded owner is the partition key of the
+ * existing layout followed by a shard suffix derived from the Resource identifier (e.g.
+ * {@code Resource:20754:someone@unit.no:Shard:3}). The partition keys of all other owners are not changed.
+ *
+ * <p>Writes always address the shard. Resources that an owner had before it was sharded stay in the unsharded
+ * partition until they are moved to their shard, which happens when they are read from the table or when the table is
+ * refreshed, so the table should be refreshed after an owner has been added. Listings by a sharded owner read the
+ * unsharded partition and all shards.
+ */
+public final class OwnerPartitionShards {
+    
+    public static final OwnerPartitionShards DEFAULT = new OwnerPartitionShards(
+        PublicationServiceConfig.SHARDED_OWNERS, PublicationServiceConfig.OWNER_PARTITION_SHARDS);
+    
+    private final Set<String> shardedOwners;
+    private final PartitionKeyShards shards;
+    
+    public OwnerPartitionShards(Set<String> shardedOwners, int numberOfShards) {
+        this.shardedOwners = Set.copyOf(shardedOwners);
+        this.shards = new PartitionKeyShards(numberOfShards);
+    }
+    
+    public boolean isSharded(String owner) {
+        return shards.isSharded() && shardedOwners.contains(owner);
+    }
+    
+    /**
+     * Returns the partition key of an entry of the owner.
+     *
+     * @param unshardedPartitionKey the partition key in the existing layout.
+     * @param owner                 the owner of the entry.
+     * @param identifier            the identifier of the entry.
+     * @return the unsharded partition key when the owner is not sharded, otherwise the key of the shard of the entry.
+     */
+    public String partitionKey(String unshardedPartitionKey, String owner, SortableIdentifier identifier) {
+        return isSharded(owner)
+                   ? shards.partitionKey(unshardedPartitionKey, identifier)
+                   : unshardedPartitionKey;
+    }
+    
+    /**
+     * Returns all partition keys that may contain entries of the owner.
+     *
+     * @param unshardedPartitionKey the partition key in the existing layout.
+     * @param owner                 the owner.
+     * @return the unsharded partition key, followed by the keys of all shards when the owner is sharded.
+     */
+    public List<String> allPartitionKeys(String unshardedPartitionKey, String owner) {
+        return isSharded(owner)
+                   ? shards.allPartitionKeys(unshardedPartitionKey)
+                   : List.of(unshardedPartitionKey);
+    }
+}
@@ -0,0 +1,59 @@
+package no.unit.nva.publication.model.storage;
+
+import static no.unit.nva.publication.storage.model.DatabaseConstants.KEY_FIELDS_DELIMITER;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import no.unit.nva.identifiers.SortableIdentifier;
+
+/**
+ * Spreads the entries of a partition over a fixed number of shards by appending a shard suffix, derived from the
+ * identifier of the entry, to the partition key (e.g. {@code <partition key>:Shard:3}). With a single shard the
+ * partition keys are not changed.
+ */
+public final class PartitionKeyShards {
+
+    public static final String SHARD_FIELD_PREFIX = "Shard";
+
+    private final int numberOfShards;
+
+    public PartitionKeyShards(int numberOfShards) {
+        this.numberOfShards = numberOfShards;
+    }
+
+    public boolean isSharded() {
+        return numberOfShards > 1;
+    }
+
+    public String partitionKey(String unshardedPartitionKey, SortableIdentifier identifier) {
+        return isSharded()
+                   ? shardPartitionKey(unshardedPartitionKey, shardOf(identifier))
+                   : unshardedPartitionKey;
+    }
+
+    /**
+     * Returns all partition keys that may contain entries of the partition. Entries written before the partition was
+     * sharded are still stored under the unsharded key, so it is always included.
+     *
+     * @param unshardedPartitionKey the partition key in the unsharded layout.
+     * @return the unsharded partition key, followed by the keys of all shards.
+     */
+    public List<String> allPartitionKeys(String unshardedPartitionKey) {
+        var partitionKeys = new ArrayList<String>();
+        partitionKeys.add(unshardedPartitionKey);
+        if (isSharded()) {
+            IntStream.range(0, numberOfShards)
+                .mapToObj(shard -> shardPartitionKey(unshardedPartitionKey, shard))
+                .forEach(partitionKeys::add);
+        }
+        return partitionKeys;
+    }
+
+    private int shardOf(SortableIdentifier identifier) {
+        return Math.floorMod(identifier.toString().hashCode(), numberOfShards);
+    }
+
+    private static String shardPartitionKey(String unshardedPartitionKey, int shard) {
+        return String.join(KEY_FIELDS_DELIMITER, unshardedPartitionKey, SHARD_FIELD_PREFIX, String.valueOf(shard));
+    }
+}
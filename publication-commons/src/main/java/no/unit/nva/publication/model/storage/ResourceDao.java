@@ -1,9 +1,12 @@
 package no.unit.nva.publication.model.storage;
 
+import static no.unit.nva.publication.PublicationServiceConfig.STORE_COMPRESSED_RESOURCE_DATA;
 import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.CRISTIN_IDENTIFIER_INDEX_FIELD_PREFIX;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.KEY_FIELDS_DELIMITER;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_FORMAT;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_BY_CRISTIN_ID_INDEX_PARTITION_KEY_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_BY_CRISTIN_ID_INDEX_SORT_KEY_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
@@ -43,7 +46,7 @@ public class ResourceDao extends Dao
     
     public static final String CRISTIN_SOURCE = "Cristin";
     public static final String TYPE = "Resource";
-    private static final String BY_RESOURCE_INDEX_ORDER_PREFIX = "a";
+    public static final String BY_RESOURCE_INDEX_ORDER_PREFIX = "a";
     
     public ResourceDao() {
         this(new Resource());
@@ -66,6 +69,32 @@ public class ResourceDao extends Dao
             orgUriToOrgIdentifier(customerId), owner);
     }
     
+    /**
+     * Returns the partition keys of all partitions that may contain Resources of the owner, i.e. the unsharded
+     * partition and, for sharded owners, all shards.
+     *
+     * @param customerId the customer of the owner.
+     * @param owner      the owner.
+     * @return the partition keys.
+     */
+    public static List<String> constructAllPrimaryPartitionKeys(URI customerId, String owner) {
+        return OwnerPartitionShards.DEFAULT.allPartitionKeys(constructPrimaryPartitionKey(customerId, owner), owner);
+    }
+    
+    /**
+     * Returns the key the Resource has in the unsharded partition of its owner, when the owner is sharded. Resources
+     * created before their owner was sharded are stored under this key until they are moved to their shard.
+     *
+     * @return the primary key in the unsharded partition, or empty when the owner is not sharded.
+     */
+    public Optional<Map<String, AttributeValue>> unshardedPrimaryKey() {
+        var unshardedPartitionKey = constructPrimaryPartitionKey(getCustomerId(), getOwner().toString());
+        return unshardedPartitionKey.equals(getPrimaryKeyPartitionKey())
+                   ? Optional.empty()
+                   : Optional.of(Map.of(PRIMARY_KEY_PARTITION_KEY_NAME, new AttributeValue(unshardedPartitionKey),
+                       PRIMARY_KEY_SORT_KEY_NAME, new AttributeValue(getPrimaryKeySortKey())));
+    }
+    
     @JsonIgnore
     public String joinByResourceContainedOrderedType() {
         return BY_RESOURCE_INDEX_ORDER_PREFIX + KEY_FIELDS_DELIMITER + getData().getType();
@@ -81,6 +110,11 @@ public class ResourceDao extends Dao
         return getResource().getPublisher().getId();
     }
     
+    @Override
+    public boolean storesCompressedData() {
+        return STORE_COMPRESSED_RESOURCE_DATA;
+    }
+    
     //TODO: cover when refactoring to ticket system is completed
     @JacocoGenerated
     @Override
@@ -118,6 +152,11 @@ public class ResourceDao extends Dao
         return getData().getOwner();
     }
     
+    @Override
+    protected String shardPrimaryPartitionKey(String unshardedPartitionKey) {
+        return OwnerPartitionShards.DEFAULT.partitionKey(unshardedPartitionKey, getOwner().toString(), getIdentifier());
+    }
+    
     public List<TicketDao> fetchAllTickets(AmazonDynamoDB client) {
         var queryRequest = new QueryRequest()
                                .withTableName(RESOURCES_TABLE_NAME)
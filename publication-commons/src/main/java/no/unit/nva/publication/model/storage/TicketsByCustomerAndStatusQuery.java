@@ -0,0 +1,189 @@
+package no.unit.nva.publication.model.storage;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.model.storage.Dao.CONTAINED_DATA_FIELD_NAME;
+import static no.unit.nva.publication.model.storage.Dao.VERSION_FIELD;
+import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.model.storage.WithByTypeCustomerStatusIndex.PARTITION_KEY_SHARDS;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_INDEX_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
+import no.unit.nva.publication.model.business.PublishingRequestCase;
+import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.model.business.TicketStatus;
+
+/**
+ * Lists the tickets of a customer with a given status, most recent first, one page at a time, from the
+ * ByTypeCustomerStatus index.
+ *
+ * <p>The sort key of the index ends with the ticket identifier, which is ordered by creation time, so the index is
+ * read backwards. When the index is sharded, every shard is queried concurrently and the results are merged by the
+ * sort key. The start marker of the next page is the sort key of the last returned ticket, which is valid for all
+ * shards. Only the attributes needed for parsing the tickets are read from the index.
+ */
+public final class TicketsByCustomerAndStatusQuery {
+    
+    public static final String TYPE_FIELD = "type";
+    private static final Map<Class<? extends TicketEntry>, String> TICKET_DAO_TYPES = Map.of(
+        DoiRequest.class, DoiRequestDao.TYPE,
+        PublishingRequestCase.class, PublishingRequestDao.TYPE,
+        GeneralSupportRequest.class, GeneralSupportRequestDao.TYPE);
+    private static final String PARTITION_KEY_CONDITION = "#PK1 = :partitionKey";
+    private static final String SORT_KEY_CONDITION = " AND #SK1 < :sortKey";
+    private static final String TICKET_TYPE_FILTER = "#type = :ticketType";
+    private static final String PROJECTION = "#SK1, #type, #version, #data";
+    
+    private final List<String> partitionKeys;
+    private final String ticketDaoType;
+    private final int pageSize;
+    
+    private TicketsByCustomerAndStatusQuery(List<String> partitionKeys, String ticketDaoType, int pageSize) {
+        this.partitionKeys = partitionKeys;
+        this.ticketDaoType = ticketDaoType;
+        this.pageSize = pageSize;
+    }
+    
+    /**
+     * Creates the query.
+     *
+     * @param customerId the customer of the tickets.
+     * @param status     the status of the tickets.
+     * @param ticketType the type of the tickets, or null for tickets of all types.
+     * @param pageSize   the maximum number of tickets of a page.
+     * @return the query.
+     */
+    public static TicketsByCustomerAndStatusQuery create(URI customerId, TicketStatus status,
+                                                         Class<? extends TicketEntry> ticketType, int pageSize) {
+        var unshardedPartitionKey = WithByTypeCustomerStatusIndex.formatByTypeCustomerStatusPartitionKey(
+            TicketDao.TICKETS_INDEXING_TYPE, status.toString(), customerId);
+        var ticketDaoType = nonNull(ticketType) ? TICKET_DAO_TYPES.get(ticketType) : null;
+        return new TicketsByCustomerAndStatusQuery(PARTITION_KEY_SHARDS.allPartitionKeys(unshardedPartitionKey),
+            ticketDaoType, pageSize);
+    }
+    
+    /**
+     * Fetches a page of tickets.
+     *
+     * @param client      the DynamoDB client.
+     * @param startMarker the start marker of a previous page, or null for the first page.
+     * @return the tickets of the page, most recent first, and the start marker of the next page when there is one.
+     */
+    public ListingResult<TicketEntry> fetchPage(AmazonDynamoDB client, Map<String, AttributeValue> startMarker) {
+        var lastReturnedSortKey = nonNull(startMarker)
+                                      ? startMarker.get(BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME)
+                                      : null;
+        var partitionPages = inParallel(partitionKeys,
+            partitionKey -> fetchPartitionPage(client, partitionKey, lastReturnedSortKey));
+        var items = partitionPages.stream()
+                        .map(PartitionPage::getItems)
+                        .flatMap(List::stream)
+                        .sorted(Comparator.comparing(TicketsByCustomerAndStatusQuery::sortKey).reversed())
+                        .collect(Collectors.toList());
+        var truncated = items.size() > pageSize || partitionPages.stream().anyMatch(PartitionPage::hasMore);
+        var pageItems = items.subList(0, Math.min(pageSize, items.size()));
+        var tickets = pageItems.stream()
+                          .map(item -> parseAttributeValuesMap(item, TicketDao.class))
+                          .map(Dao::getData)
+                          .map(TicketEntry.class::cast)
+                          .collect(Collectors.toList());
+        return new ListingResult<>(tickets, nextStartMarker(pageItems, truncated), truncated);
+    }
+    
+    private static Map<String, AttributeValue> nextStartMarker(List<Map<String, AttributeValue>> pageItems,
+                                                               boolean truncated) {
+        if (!truncated || pageItems.isEmpty()) {
+            return null;
+        }
+        var lastItem = pageItems.get(pageItems.size() - 1);
+        return Map.of(BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME,
+            lastItem.get(BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME));
+    }
+    
+    private static String sortKey(Map<String, AttributeValue> item) {
+        return item.get(BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME).getS();
+    }
+    
+    // Reads the partition until it has a full page or there are no more entries, as the ticket type filter may
+    // discard entries of the partition.
+    private PartitionPage fetchPartitionPage(AmazonDynamoDB client, String partitionKey,
+                                             AttributeValue lastReturnedSortKey) {
+        var items = new ArrayList<Map<String, AttributeValue>>();
+        var queryRequest = createQueryRequest(partitionKey, lastReturnedSortKey);
+        Map<String, AttributeValue> lastEvaluatedKey;
+        do {
+            var result = client.query(queryRequest);
+            items.addAll(result.getItems());
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+            queryRequest.setExclusiveStartKey(lastEvaluatedKey);
+        } while (items.size() < pageSize && isNotEmpty(lastEvaluatedKey));
+        var hasMore = items.size() > pageSize || isNotEmpty(lastEvaluatedKey);
+        return new PartitionPage(items.subList(0, Math.min(pageSize, items.size())), hasMore);
+    }
+    
+    private static boolean isNotEmpty(Map<String, AttributeValue> lastEvaluatedKey) {
+        return nonNull(lastEvaluatedKey) && !lastEvaluatedKey.isEmpty();
+    }
+    
+    private QueryRequest createQueryRequest(String partitionKey, AttributeValue lastReturnedSortKey) {
+        var attributeNames = new HashMap<String, String>();
+        attributeNames.put("#PK1", BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME);
+        attributeNames.put("#SK1", BY_TYPE_CUSTOMER_STATUS_INDEX_SORT_KEY_NAME);
+        attributeNames.put("#type", TYPE_FIELD);
+        attributeNames.put("#version", VERSION_FIELD);
+        attributeNames.put("#data", CONTAINED_DATA_FIELD_NAME);
+        var attributeValues = new HashMap<String, AttributeValue>();
+        attributeValues.put(":partitionKey", new AttributeValue(partitionKey));
+        var keyCondition = PARTITION_KEY_CONDITION;
+        if (nonNull(lastReturnedSortKey)) {
+            keyCondition += SORT_KEY_CONDITION;
+            attributeValues.put(":sortKey", lastReturnedSortKey);
+        }
+        var queryRequest = new QueryRequest()
+                               .withTableName(RESOURCES_TABLE_NAME)
+                               .withIndexName(BY_TYPE_CUSTOMER_STATUS_INDEX_NAME)
+                               .withKeyConditionExpression(keyCondition)
+                               .withProjectionExpression(PROJECTION)
+                               .withScanIndexForward(false)
+                               .withLimit(pageSize);
+        if (nonNull(ticketDaoType)) {
+            queryRequest.setFilterExpression(TICKET_TYPE_FILTER);
+            attributeValues.put(":ticketType", new AttributeValue(ticketDaoType));
+        }
+        return queryRequest.withExpressionAttributeNames(attributeNames)
+                   .withExpressionAttributeValues(attributeValues);
+    }
+    
+    private static final class PartitionPage {
+    
+        private final List<Map<String, AttributeValue>> items;
+        private final boolean hasMore;
+    
+        private PartitionPage(List<Map<String, AttributeValue>> items, boolean hasMore) {
+            this.items = items;
+            this.hasMore = hasMore;
+        }
+    
+        public List<Map<String, AttributeValue>> getItems() {
+            return items;
+        }
+    
+        public boolean hasMore() {
+            return hasMore;
+        }
+    }
+}
@@ -10,10 +10,20 @@ import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.PublicationServiceConfig;
 
 public interface WithByTypeCustomerStatusIndex {
     
+    /**
+     * The partitions of the index are sharded when BY_TYPE_CUSTOMER_STATUS_INDEX_SHARDS is greater than 1, so that the
+     * entries of large customers with the same type and status do not all land in one partition of the index.
+     */
+    PartitionKeyShards PARTITION_KEY_SHARDS =
+        new PartitionKeyShards(PublicationServiceConfig.BY_TYPE_CUSTOMER_STATUS_INDEX_SHARDS);
+    
     static String formatByTypeCustomerStatusPartitionKey(String type, String status, URI customerUri) {
         String customerIdentifier = Dao.orgUriToOrgIdentifier(customerUri);
         return type
@@ -30,6 +40,14 @@ public interface WithByTypeCustomerStatusIndex {
     @JsonProperty(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME)
     String getByTypeCustomerStatusPartitionKey();
     
+    /**
+     * Returns the keys of all partitions of the index that may contain entries with the same type, customer and status
+     * as this entry.
+     *
+     * @return the unsharded partition key, followed by the keys of all shards when the index is sharded.
+     */
+    List<String> byTypeCustomerStatusPartitionKeysOfAllShards();
+    
     default void setByTypeCustomerStatusPartitionKey(String byTypeCustomerStatusPartitionKey) {
         //Do nothing
     }
@@ -66,12 +84,19 @@ public interface WithByTypeCustomerStatusIndex {
             );
     }
     
-    default Map<String, Condition> fetchEntryCollectionByTypeCustomerStatusKey() {
-        Condition partitionKeyCondition = equalityIndexKeyCondition(getByTypeCustomerStatusPartitionKey());
-        return
-            Map.of(
-                BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME, partitionKeyCondition
-            );
+    /**
+     * Returns the key conditions for fetching all entries with the same type, customer and status as this entry, one
+     * for each partition of the index that may contain such entries. The queries should be sent concurrently and their
+     * results merged by the sort key of the index, see {@link Dao#fetchEntryCollectionByTypeCustomerStatus}.
+     *
+     * @return a list of Maps with field-name:Condition pairs.
+     */
+    default List<Map<String, Condition>> fetchEntryCollectionByTypeCustomerStatusKeys() {
+        return byTypeCustomerStatusPartitionKeysOfAllShards()
+                   .stream()
+                   .map(partitionKey -> Map.of(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME,
+                       equalityIndexKeyCondition(partitionKey)))
+                   .collect(Collectors.toList());
     }
     
     private static Condition equalityIndexKeyCondition(String keyValue) {
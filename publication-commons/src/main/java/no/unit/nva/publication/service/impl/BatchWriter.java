@@ -0,0 +1,203 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.waitBeforeRetry;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import no.unit.nva.publication.exception.BatchRequestFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes large numbers of items with BatchWriteItem requests. Items are packed in batches of at most
+ * {@link #MAX_ITEMS_PER_BATCH} items and {@link #MAX_BYTES_PER_BATCH} bytes, the batches are sent in parallel (bounded
+ * by the pool of {@link ConcurrentRequests}), and the items that DynamoDB returns as unprocessed are retried with
+ * exponential backoff and jitter until they are written or the attempts run out.
+ */
+public class BatchWriter {
+    
+    public static final int MAX_ITEMS_PER_BATCH = 25;
+    public static final long MAX_BYTES_PER_BATCH = 16L * 1024 * 1024;
+    public static final int MAX_BATCH_WRITE_ATTEMPTS = 10;
+    private static final int ATTRIBUTE_OVERHEAD_BYTES = 3;
+    private static final int NUMBER_SIZE_BYTES = 21;
+    private static final Logger logger = LoggerFactory.getLogger(BatchWriter.class);
+    private final AmazonDynamoDB client;
+    private final String tableName;
+    
+    public BatchWriter(AmazonDynamoDB client, String tableName) {
+        this.client = client;
+        this.tableName = tableName;
+    }
+    
+    /**
+     * Writes all the items and waits until every batch has been processed.
+     *
+     * @param writeRequests the put or delete requests.
+     * @return the outcome of every batch, in the order the items were given.
+     * @throws BatchRequestFailedException when some items remain unprocessed after all the attempts.
+     */
+    public List<BatchResult> write(Collection<WriteRequest> writeRequests) {
+        var batches = pack(writeRequests);
+        return batches.isEmpty() ? Collections.emptyList() : inParallel(batches, this::writeBatch);
+    }
+    
+    /**
+     * Splits the requests in batches that respect both the item count and the request size limits of
+     * BatchWriteItem.
+     *
+     * @param writeRequests the requests.
+     * @return the batches.
+     */
+    public static List<List<WriteRequest>> pack(Collection<WriteRequest> writeRequests) {
+        var batches = new ArrayList<List<WriteRequest>>();
+        var currentBatch = new ArrayList<WriteRequest>();
+        long currentBatchSize = 0;
+        for (var writeRequest : writeRequests) {
+            var requestSize = estimateSize(writeRequest);
+            if (currentBatch.size() == MAX_ITEMS_PER_BATCH || currentBatchSize + requestSize > MAX_BYTES_PER_BATCH) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentBatchSize = 0;
+            }
+            currentBatch.add(writeRequest);
+            currentBatchSize += requestSize;
+        }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
+    
+    private BatchResult writeBatch(List<WriteRequest> batch) {
+        List<WriteRequest> pending = batch;
+        double consumedCapacity = 0;
+        int attempts = 0;
+        while (!pending.isEmpty()) {
+            if (attempts == MAX_BATCH_WRITE_ATTEMPTS) {
+                throw new BatchRequestFailedException(attempts, pending.size());
+            }
+            if (attempts > 0) {
+                waitBeforeRetry(attempts);
+            }
+            var result = client.batchWriteItem(batchWriteRequest(pending));
+            attempts++;
+            consumedCapacity += consumedCapacity(result);
+            pending = unprocessedItems(result);
+        }
+        logger.debug("Wrote {} items in {} attempts consuming {} WCU", batch.size(), attempts, consumedCapacity);
+        return new BatchResult(batch.size(), attempts, consumedCapacity);
+    }
+    
+    private BatchWriteItemRequest batchWriteRequest(List<WriteRequest> writeRequests) {
+        return new BatchWriteItemRequest()
+                   .withRequestItems(Map.of(tableName, writeRequests))
+                   .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    }
+    
+    private List<WriteRequest> unprocessedItems(BatchWriteItemResult result) {
+        return nonNull(result.getUnprocessedItems())
+                   ? result.getUnprocessedItems().getOrDefault(tableName, Collections.emptyList())
+                   : Collections.emptyList();
+    }
+    
+    private static double consumedCapacity(BatchWriteItemResult result) {
+        return nonNull(result.getConsumedCapacity())
+                   ? result.getConsumedCapacity()
+                         .stream()
+                         .map(ConsumedCapacity::getCapacityUnits)
+                         .filter(Objects::nonNull)
+                         .mapToDouble(Double::doubleValue)
+                         .sum()
+                   : 0;
+    }
+    
+    private static long estimateSize(WriteRequest writeRequest) {
+        var item = nonNull(writeRequest.getPutRequest())
+                       ? writeRequest.getPutRequest().getItem()
+                       : writeRequest.getDeleteRequest().getKey();
+        return estimateSize(item);
+    }
+    
+    // Follows the rules DynamoDB uses for calculating item sizes, overestimating the size of numbers.
+    static long estimateSize(Map<String, AttributeValue> attributes) {
+        return attributes.entrySet()
+                   .stream()
+                   .mapToLong(entry -> utf8Length(entry.getKey()) + estimateSize(entry.getValue()))
+                   .sum();
+    }
+    
+    private static long estimateSize(AttributeValue value) {
+        if (nonNull(value.getS())) {
+            return utf8Length(value.getS());
+        }
+        if (nonNull(value.getN())) {
+            return NUMBER_SIZE_BYTES;
+        }
+        if (nonNull(value.getB())) {
+            return value.getB().remaining();
+        }
+        if (nonNull(value.getM())) {
+            return ATTRIBUTE_OVERHEAD_BYTES + estimateSize(value.getM());
+        }
+        if (nonNull(value.getL())) {
+            return ATTRIBUTE_OVERHEAD_BYTES + value.getL().stream().mapToLong(BatchWriter::estimateSize).sum();
+        }
+        if (nonNull(value.getSS())) {
+            return value.getSS().stream().mapToLong(BatchWriter::utf8Length).sum();
+        }
+        if (nonNull(value.getNS())) {
+            return (long) NUMBER_SIZE_BYTES * value.getNS().size();
+        }
+        if (nonNull(value.getBS())) {
+            return value.getBS().stream().mapToLong(ByteBuffer::remaining).sum();
+        }
+        return 1;
+    }
+    
+    private static long utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+    
+    /**
+     * The outcome of writing one batch.
+     */
+    public static final class BatchResult {
+    
+        private final int numberOfItems;
+        private final int attempts;
+        private final double consumedCapacity;
+    
+        public BatchResult(int numberOfItems, int attempts, double consumedCapacity) {
+            this.numberOfItems = numberOfItems;
+            this.attempts = attempts;
+            this.consumedCapacity = consumedCapacity;
+        }
+    
+        public int getNumberOfItems() {
+            return numberOfItems;
+        }
+    
+        public int getAttempts() {
+            return attempts;
+        }
+    
+        public double getConsumedCapacity() {
+            return consumedCapacity;
+        }
+    }
+}
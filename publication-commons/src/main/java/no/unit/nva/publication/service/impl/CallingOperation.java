@@ -0,0 +1,82 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.nonNull;
+import java.lang.StackWalker.Option;
+import java.lang.StackWalker.StackFrame;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Names the service operation on whose behalf a database request is sent, e.g. {@code getResourceByIdentifier} or
+ * {@code fetchTicketsForUser}. The name is the method of the outermost service (subclass of
+ * {@link ServiceWithTransactions}) on the call stack. Requests that are sent from other threads inherit the operation
+ * of the thread that submitted them, see {@link #inherit(Supplier)}. Operations are only tracked across threads once a
+ * client that reports request metrics has been created, see {@link #startTracking()}.
+ */
+public final class CallingOperation {
+    
+    public static final String UNKNOWN_OPERATION = "unknown";
+    private static final String LAMBDA_PREFIX = "lambda$";
+    private static final ThreadLocal<String> INHERITED_OPERATION = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(Option.RETAIN_CLASS_REFERENCE);
+    private static volatile boolean tracking;
+    
+    private CallingOperation() {
+    
+    }
+    
+    public static String current() {
+        var inheritedOperation = INHERITED_OPERATION.get();
+        return nonNull(inheritedOperation)
+                   ? inheritedOperation
+                   : outermostServiceMethod().orElse(UNKNOWN_OPERATION);
+    }
+    
+    /**
+     * Wraps a task that will run on another thread, so that its database requests are attributed to the operation
+     * of the current thread. Returns the task as it is when operations are not tracked, so that the call stack is only
+     * walked when the operation is reported.
+     *
+     * @param task the task.
+     * @param <O>  the output type.
+     * @return the task, running as the current operation.
+     */
+    public static <O> Supplier<O> inherit(Supplier<O> task) {
+        return tracking ? inheritCurrentOperation(task) : task;
+    }
+    
+    static void startTracking() {
+        tracking = true;
+    }
+    
+    private static <O> Supplier<O> inheritCurrentOperation(Supplier<O> task) {
+        var operation = current();
+        return () -> {
+            var previousOperation = INHERITED_OPERATION.get();
+            INHERITED_OPERATION.set(operation);
+            try {
+                return task.get();
+            } finally {
+                INHERITED_OPERATION.set(previousOperation);
+            }
+        };
+    }
+    
+    private static Optional<String> outermostServiceMethod() {
+        return STACK_WALKER.walk(frames -> frames.filter(CallingOperation::isServiceMethod)
+                                               .reduce((inner, outer) -> outer))
+                   .map(StackFrame::getMethodName)
+                   .map(CallingOperation::enclosingMethodName);
+    }
+    
+    private static boolean isServiceMethod(StackFrame frame) {
+        return ServiceWithTransactions.class.isAssignableFrom(frame.getDeclaringClass());
+    }
+    
+    // Lambdas are compiled to methods named lambda$<enclosing method>$<index>.
+    private static String enclosingMethodName(String methodName) {
+        return methodName.startsWith(LAMBDA_PREFIX)
+                   ? methodName.substring(LAMBDA_PREFIX.length(), methodName.indexOf('$', LAMBDA_PREFIX.length()))
+                   : methodName;
+    }
+}
@@ -0,0 +1,144 @@
+package no.unit.nva.publication.service.impl;
+
+import static no.unit.nva.publication.PublicationServiceConfig.MAX_CONCURRENT_DATABASE_REQUESTS;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for sending independent database requests concurrently and for spacing out the retries of requests that
+ * were throttled or only partially processed.
+ */
+public final class ConcurrentRequests {
+    
+    public static final ExecutorService DATABASE_REQUESTS_EXECUTOR =
+        Executors.newFixedThreadPool(MAX_CONCURRENT_DATABASE_REQUESTS, ConcurrentRequests::databaseRequestsThread);
+    public static final long BASE_BACKOFF_MILLIS = 25;
+    public static final long MAX_BACKOFF_MILLIS = 2000;
+    private static final Random RANDOM = new Random();
+    private static final ThreadLocal<Boolean> RUNNING_IN_POOL = ThreadLocal.withInitial(() -> false);
+    private static final Executor CALLING_THREAD = Runnable::run;
+    
+    private ConcurrentRequests() {
+    
+    }
+    
+    /**
+     * Applies the request function to every input concurrently and waits for all the results. When called from a
+     * request that is already running on the pool (e.g. a batch read inside another batch read), the requests are sent
+     * one after the other on the calling thread, since waiting for threads of the same bounded pool could deadlock.
+     *
+     * @param inputs  the inputs of the requests.
+     * @param request the request to send for each input.
+     * @param <I>     the input type.
+     * @param <O>     the output type.
+     * @return the outputs, in the same order as the inputs.
+     */
+    public static <I, O> List<O> inParallel(Collection<I> inputs, Function<I, O> request) {
+        if (inputs.size() == 1) {
+            return List.of(request.apply(inputs.iterator().next()));
+        }
+        var futures = inputs.stream()
+                          .map(input -> CompletableFuture.supplyAsync(
+                              CallingOperation.inherit(() -> request.apply(input)), executor()))
+                          .collect(Collectors.toList());
+        return futures.stream()
+                   .map(ConcurrentRequests::join)
+                   .collect(Collectors.toList());
+    }
+    
+    /**
+     * Sends a request asynchronously on the pool of database requests, so that independent reads can be issued
+     * together and awaited with {@link #await(CompletableFuture, Class)}. When called from a request that is already
+     * running on the pool, the request is sent on the calling thread.
+     *
+     * @param request the request.
+     * @param <O>     the output type.
+     * @return the future output of the request.
+     */
+    public static <O> CompletableFuture<O> supplyAsync(Callable<O> request) {
+        return CompletableFuture.supplyAsync(CallingOperation.inherit(() -> call(request)), executor());
+    }
+    
+    /**
+     * Waits for the output of an asynchronous request, rethrowing the exception the request failed with.
+     *
+     * @param future        the future output of the request.
+     * @param exceptionType the type of the checked exceptions the request may throw.
+     * @param <O>           the output type.
+     * @param <E>           the checked exception type.
+     * @return the output of the request.
+     * @throws E when the request failed with an exception of the expected type.
+     */
+    public static <O, E extends Exception> O await(CompletableFuture<O> future, Class<E> exceptionType) throws E {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (exceptionType.isInstance(e.getCause())) {
+                throw exceptionType.cast(e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Waits before retrying a request, using exponential backoff with full jitter so that concurrent requests do not
+     * retry in sync.
+     *
+     * @param attempt the number of attempts made so far, starting from 1.
+     */
+    public static void waitBeforeRetry(int attempt) {
+        var maxWaitingTime = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 16));
+        try {
+            Thread.sleep((long) (RANDOM.nextDouble() * maxWaitingTime));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Executor executor() {
+        return RUNNING_IN_POOL.get() ? CALLING_THREAD : DATABASE_REQUESTS_EXECUTOR;
+    }
+    
+    private static Thread databaseRequestsThread(Runnable runnable) {
+        var thread = new Thread(() -> {
+            RUNNING_IN_POOL.set(true);
+            runnable.run();
+        }, "database-requests");
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    private static <O> O call(Callable<O> request) {
+        try {
+            return request.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private static <O> O join(CompletableFuture<O> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -2,9 +2,10 @@ package no.unit.nva.publication.service.impl;
 
 import static java.util.Objects.nonNull;
 import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.toAttributeValueMap;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.toJsonNode;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.decompress;
 import static nva.commons.core.attempt.Try.attempt;
-import com.amazonaws.services.dynamodbv2.document.Item;
-import com.amazonaws.services.dynamodbv2.document.ItemUtils;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.Map;
@@ -23,11 +24,9 @@ public final class CorrectParsingErrors {
     }
     
     public static Map<String, AttributeValue> apply(Map<String, AttributeValue> item) {
-        var json = ItemUtils.toItem(item).toJSON();
-        var objectNode = (ObjectNode) attempt(() -> dtoObjectMapper.readTree(json)).orElseThrow();
+        var objectNode = (ObjectNode) attempt(() -> toJsonNode(dtoObjectMapper, decompress(item))).orElseThrow();
         var newObjectNode = correctParsingErrors(objectNode);
-        var jsonAgain = attempt(() -> dtoObjectMapper.writeValueAsString(newObjectNode)).orElseThrow();
-        return ItemUtils.toAttributeValues(Item.fromJSON(jsonAgain));
+        return attempt(() -> toAttributeValueMap(dtoObjectMapper, newObjectNode)).orElseThrow();
     }
     
     public static ObjectNode correctParsingErrors(ObjectNode objectNode) {
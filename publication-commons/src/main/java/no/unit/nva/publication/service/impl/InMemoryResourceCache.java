@@ -0,0 +1,143 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.model.business.StorageModelConfig.dynamoDbObjectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.publication.utils.EmbeddedMetrics.Metric;
+
+/**
+ * Bounded, in-memory {@link ResourceCache} with a time-to-live for its entries, meant to be kept by services that
+ * live as long as a warm Lambda. When the cache is full, the least recently used entry is evicted. Resources are
+ * stored in serialized form, so that neither the cached entries nor the returned Resources are affected by changes
+ * the callers make to them. The numbers of hits and misses are written as metrics at most once per time-to-live.
+ */
+public class InMemoryResourceCache implements ResourceCache {
+    
+    public static final String HITS_METRIC = "ResourceCacheHits";
+    public static final String MISSES_METRIC = "ResourceCacheMisses";
+    private final int maxSize;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<SortableIdentifier, CacheEntry> entries;
+    private final EmbeddedMetrics metrics;
+    private long hits;
+    private long misses;
+    private Instant nextMetricsTime;
+    
+    public InMemoryResourceCache(int maxSize, Duration timeToLive, Clock clock, EmbeddedMetrics metrics) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.metrics = metrics;
+        this.nextMetricsTime = clock.instant().plus(timeToLive);
+        this.entries = new LinkedHashMap<>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SortableIdentifier, CacheEntry> eldest) {
+                return size() > InMemoryResourceCache.this.maxSize;
+            }
+        };
+    }
+    
+    @Override
+    public Optional<Resource> get(SortableIdentifier identifier) {
+        var entry = validEntry(identifier);
+        countLookup(entry.isPresent());
+        return entry.map(CacheEntry::toResource);
+    }
+    
+    @Override
+    public void put(Resource resource, UUID version) {
+        var serializedResource = attempt(() -> dynamoDbObjectMapper.writeValueAsBytes(resource)).orElseThrow();
+        var expiration = clock.instant().plus(timeToLive);
+        synchronized (entries) {
+            entries.put(resource.getIdentifier(), new CacheEntry(serializedResource, version, expiration));
+        }
+    }
+    
+    @Override
+    public void invalidate(SortableIdentifier identifier) {
+        synchronized (entries) {
+            entries.remove(identifier);
+        }
+    }
+    
+    @Override
+    public void invalidateIfOutdated(SortableIdentifier identifier, UUID currentVersion) {
+        synchronized (entries) {
+            var entry = entries.get(identifier);
+            if (nonNull(entry) && !Objects.equals(entry.version, currentVersion)) {
+                entries.remove(identifier);
+            }
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private void countLookup(boolean hit) {
+        List<Metric> lookups;
+        synchronized (this) {
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+            var now = clock.instant();
+            if (now.isBefore(nextMetricsTime)) {
+                return;
+            }
+            lookups = List.of(Metric.count(HITS_METRIC, hits), Metric.count(MISSES_METRIC, misses));
+            hits = 0;
+            misses = 0;
+            nextMetricsTime = now.plus(timeToLive);
+        }
+        metrics.put(Map.of(), lookups);
+    }
+    
+    private Optional<CacheEntry> validEntry(SortableIdentifier identifier) {
+        synchronized (entries) {
+            var entry = entries.get(identifier);
+            if (nonNull(entry) && entry.hasExpired(clock.instant())) {
+                entries.remove(identifier);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(entry);
+        }
+    }
+    
+    private static final class CacheEntry {
+        
+        private final byte[] serializedResource;
+        private final UUID version;
+        private final Instant expiration;
+        
+        private CacheEntry(byte[] serializedResource, UUID version, Instant expiration) {
+            this.serializedResource = serializedResource;
+            this.version = version;
+            this.expiration = expiration;
+        }
+        
+        private boolean hasExpired(Instant now) {
+            return !now.isBefore(expiration);
+        }
+        
+        private Resource toResource() {
+            return attempt(() -> dynamoDbObjectMapper.readValue(serializedResource, Resource.class)).orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.PublicationServiceConfig.DYNAMODB_REQUEST_METRICS;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.HandlerBeforeAttemptContext;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.Capacity;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.publication.utils.EmbeddedMetrics.Metric;
+
+/**
+ * Decorates a DynamoDB client so that its requests report what they cost, as log lines in the CloudWatch Embedded
+ * Metric Format. The decoration is opt-in: {@link #instrument(AmazonDynamoDB)} returns the client unchanged unless
+ * DYNAMODB_REQUEST_METRICS is enabled.
+ *
+ * <p>The item operations ask DynamoDB for the capacity they consumed on the table and on each index
+ * (ReturnConsumedCapacity=INDEXES). Their metrics are summed per Lambda invocation and written as:
+ *
+ * <ul>
+ *     <li>one line per calling operation (see {@link CallingOperation}) and DynamoDB request type, with the number of
+ *     requests, their total latency, the number of items, the consumed read and write capacity units, and the number
+ *     of throttled attempts and retries; and</li>
+ *     <li>one line per calling operation, table and global secondary index, with the consumed read and write capacity
+ *     units.</li>
+ * </ul>
+ *
+ * <p>The metrics of an invocation are written when the handler calls {@link #flushAll()} at the end of the
+ * invocation. Metrics that have not been flushed are written by the first request of the next invocation, or when
+ * they have been collected for {@link #FLUSH_INTERVAL}, whichever comes first. All other methods are passed to the
+ * client as they are.
+ *
+ * <p>The attempts of a request are only visible to the client that sends it. Retries are therefore counted only when
+ * {@link #ATTEMPT_COUNTER} is registered as a request handler of the decorated client, which the default client does
+ * when DYNAMODB_REQUEST_METRICS is enabled. Otherwise only a request that finally fails because it was throttled is
+ * counted as throttled.
+ */
+public final class InstrumentedDynamoDbClient implements InvocationHandler {
+    
+    public static final String REQUEST_DIMENSION = "Request";
+    public static final String TABLE_DIMENSION = "Table";
+    public static final String INDEX_DIMENSION = "Index";
+    public static final String BASE_TABLE_INDEX = "BaseTable";
+    public static final String REQUESTS_METRIC = "Requests";
+    public static final String ITEM_COUNT_METRIC = "ItemCount";
+    public static final String READ_CAPACITY_METRIC = "ConsumedReadCapacityUnits";
+    public static final String WRITE_CAPACITY_METRIC = "ConsumedWriteCapacityUnits";
+    public static final String THROTTLES_METRIC = "Throttles";
+    public static final String RETRIES_METRIC = "Retries";
+    public static final Duration FLUSH_INTERVAL = Duration.ofMinutes(1);
+    // Set by the Lambda runtime to the trace header of the current invocation.
+    public static final String INVOCATION_TRACE_PROPERTY = "com.amazonaws.xray.traceHeader";
+    public static final AttemptCounter ATTEMPT_COUNTER = new AttemptCounter();
+    private static final Set<String> THROTTLING_ERROR_CODES = Set.of("ProvisionedThroughputExceededException",
+        "RequestLimitExceeded", "ThrottlingException", "ThrottlingError");
+    private static final Set<InstrumentedDynamoDbClient> DECORATED_CLIENTS =
+        Collections.newSetFromMap(new WeakHashMap<>());
+    private final AmazonDynamoDB delegate;
+    private final EmbeddedMetrics metrics;
+    private final Map<Class<?>, Function<Object, Object>> instrumentedRequests;
+    private final Map<Map<String, String>, Map<String, Metric>> invocationMetrics = new LinkedHashMap<>();
+    private String invocation;
+    private Instant nextFlushTime;
+    
+    private InstrumentedDynamoDbClient(AmazonDynamoDB delegate, EmbeddedMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.instrumentedRequests = instrumentedRequests();
+        this.nextFlushTime = metrics.now().plus(FLUSH_INTERVAL);
+    }
+    
+    /**
+     * Decorates a client, unless DynamoDB request metrics are disabled or the client is already decorated.
+     *
+     * @param client the client.
+     * @return the decorated client, or the client itself.
+     */
+    public static AmazonDynamoDB instrument(AmazonDynamoDB client) {
+        return instrument(client, DYNAMODB_REQUEST_METRICS, EmbeddedMetrics.STANDARD_OUTPUT);
+    }
+    
+    /**
+     * Decorates a client, unless it is already decorated.
+     *
+     * @param delegate the client.
+     * @param metrics  where the metrics are written.
+     * @return the decorated client.
+     */
+    public static AmazonDynamoDB create(AmazonDynamoDB delegate, EmbeddedMetrics metrics) {
+        return instrument(delegate, true, metrics);
+    }
+    
+    /**
+     * Writes the metrics that a decorated client has collected so far. Does nothing for other clients.
+     *
+     * @param client the client.
+     */
+    public static void flush(AmazonDynamoDB client) {
+        instrumentation(client).ifPresent(InstrumentedDynamoDbClient::writeCollectedMetrics);
+    }
+    
+    /**
+     * Writes the metrics that all decorated clients have collected so far. Handlers call this at the end of every
+     * invocation, so that the metrics of the last invocation of an execution environment are not lost. Does nothing
+     * when DynamoDB request metrics are disabled.
+     */
+    public static void flushAll() {
+        List<InstrumentedDynamoDbClient> decoratedClients;
+        synchronized (DECORATED_CLIENTS) {
+            decoratedClients = new ArrayList<>(DECORATED_CLIENTS);
+        }
+        decoratedClients.forEach(InstrumentedDynamoDbClient::writeCollectedMetrics);
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+        var instrumentedRequest = nonNull(arguments) && arguments.length == 1 && nonNull(arguments[0])
+                                      ? instrumentedRequests.get(arguments[0].getClass())
+                                      : null;
+        return nonNull(instrumentedRequest)
+                   ? instrumentedRequest.apply(arguments[0])
+                   : invokeDelegate(method, arguments);
+    }
+    
+    static AmazonDynamoDB instrument(AmazonDynamoDB client, boolean enabled, EmbeddedMetrics metrics) {
+        if (!enabled || instrumentation(client).isPresent()) {
+            return client;
+        }
+        CallingOperation.startTracking();
+        var instrumentation = new InstrumentedDynamoDbClient(client, metrics);
+        synchronized (DECORATED_CLIENTS) {
+            DECORATED_CLIENTS.add(instrumentation);
+        }
+        return (AmazonDynamoDB) Proxy.newProxyInstance(AmazonDynamoDB.class.getClassLoader(),
+            new Class<?>[]{AmazonDynamoDB.class}, instrumentation);
+    }
+    
+    private static Optional<InstrumentedDynamoDbClient> instrumentation(AmazonDynamoDB client) {
+        return Proxy.isProxyClass(client.getClass())
+               && Proxy.getInvocationHandler(client) instanceof InstrumentedDynamoDbClient
+                   ? Optional.of((InstrumentedDynamoDbClient) Proxy.getInvocationHandler(client))
+                   : Optional.empty();
+    }
+    
+    private Object invokeDelegate(Method method, Object... arguments) throws Throwable {
+        try {
+            return method.invoke(delegate, arguments);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+    
+    private Map<Class<?>, Function<Object, Object>> instrumentedRequests() {
+        return Map.of(
+            GetItemRequest.class, request -> getItem((GetItemRequest) request),
+            PutItemRequest.class, request -> putItem((PutItemRequest) request),
+            UpdateItemRequest.class, request -> updateItem((UpdateItemRequest) request),
+            DeleteItemRequest.class, request -> deleteItem((DeleteItemRequest) request),
+            QueryRequest.class, request -> query((QueryRequest) request),
+            ScanRequest.class, request -> scan((ScanRequest) request),
+            BatchGetItemRequest.class, request -> batchGetItem((BatchGetItemRequest) request),
+            BatchWriteItemRequest.class, request -> batchWriteItem((BatchWriteItemRequest) request),
+            TransactGetItemsRequest.class, request -> transactGetItems((TransactGetItemsRequest) request),
+            TransactWriteItemsRequest.class, request -> transactWriteItems((TransactWriteItemsRequest) request));
+    }
+    
+    private GetItemResult getItem(GetItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("GetItem", () -> delegate.getItem(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> nonNull(result.getItem()) ? 1 : 0);
+    }
+    
+    private PutItemResult putItem(PutItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("PutItem", () -> delegate.putItem(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> 1);
+    }
+    
+    private UpdateItemResult updateItem(UpdateItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("UpdateItem", () -> delegate.updateItem(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> 1);
+    }
+    
+    private DeleteItemResult deleteItem(DeleteItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("DeleteItem", () -> delegate.deleteItem(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> 1);
+    }
+    
+    private QueryResult query(QueryRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("Query", () -> delegate.query(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> valueOrZero(result.getCount()));
+    }
+    
+    private ScanResult scan(ScanRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("Scan", () -> delegate.scan(instrumentedRequest),
+            result -> capacities(result.getConsumedCapacity()),
+            result -> valueOrZero(result.getCount()));
+    }
+    
+    private BatchGetItemResult batchGetItem(BatchGetItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("BatchGetItem", () -> delegate.batchGetItem(instrumentedRequest),
+            BatchGetItemResult::getConsumedCapacity,
+            result -> nonNull(result.getResponses()) ? countItems(result.getResponses().values()) : 0);
+    }
+    
+    private BatchWriteItemResult batchWriteItem(BatchWriteItemRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("BatchWriteItem", () -> delegate.batchWriteItem(instrumentedRequest),
+            BatchWriteItemResult::getConsumedCapacity,
+            result -> countItems(request.getRequestItems().values()) - countItems(unprocessedItems(result)));
+    }
+    
+    private TransactGetItemsResult transactGetItems(TransactGetItemsRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("TransactGetItems", () -> delegate.transactGetItems(instrumentedRequest),
+            TransactGetItemsResult::getConsumedCapacity,
+            result -> nonNull(result.getResponses()) ? result.getResponses().size() : 0);
+    }
+    
+    private TransactWriteItemsResult transactWriteItems(TransactWriteItemsRequest request) {
+        var instrumentedRequest = request.clone().withReturnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+        return send("TransactWriteItems", () -> delegate.transactWriteItems(instrumentedRequest),
+            TransactWriteItemsResult::getConsumedCapacity,
+            result -> request.getTransactItems().size());
+    }
+    
+    private <R> R send(String requestType, Request<R> request,
+                       Function<R, List<ConsumedCapacity>> consumedCapacity,
+                       Function<R, Integer> itemCount) {
+        var operation = CallingOperation.current();
+        var start = metrics.now();
+        ATTEMPT_COUNTER.reset();
+        try {
+            var result = request.send();
+            var capacities = Optional.ofNullable(result)
+                                 .map(consumedCapacity)
+                                 .orElse(Collections.emptyList());
+            var items = Optional.ofNullable(result).map(itemCount).orElse(0);
+            addRequestMetrics(operation, requestType, start, items, capacities, false);
+            addCapacityMetrics(operation, capacities);
+            return result;
+        } catch (AmazonServiceException exception) {
+            addRequestMetrics(operation, requestType, start, 0, Collections.emptyList(), isThrottling(exception));
+            throw exception;
+        }
+    }
+    
+    private void addRequestMetrics(String operation, String requestType, Instant start, int itemCount,
+                                   List<ConsumedCapacity> capacities, boolean failedBecauseThrottled) {
+        var latency = Duration.between(start, metrics.now());
+        var attempts = ATTEMPT_COUNTER.attempts();
+        var throttles = attempts > 0 || !failedBecauseThrottled ? ATTEMPT_COUNTER.throttles() : 1;
+        var metricList = List.of(
+            Metric.count(REQUESTS_METRIC, 1),
+            Metric.milliseconds(EmbeddedMetrics.LATENCY_METRIC, latency),
+            Metric.count(ITEM_COUNT_METRIC, itemCount),
+            Metric.count(READ_CAPACITY_METRIC, sum(capacities, ConsumedCapacity::getReadCapacityUnits)),
+            Metric.count(WRITE_CAPACITY_METRIC, sum(capacities, ConsumedCapacity::getWriteCapacityUnits)),
+            Metric.count(THROTTLES_METRIC, throttles),
+            Metric.count(RETRIES_METRIC, Math.max(0, attempts - 1)));
+        add(Map.of(EmbeddedMetrics.OPERATION_DIMENSION, operation, REQUEST_DIMENSION, requestType), metricList);
+    }
+    
+    private void addCapacityMetrics(String operation, List<ConsumedCapacity> capacities) {
+        for (var capacity : capacities) {
+            if (nonNull(capacity.getTable())) {
+                addIndexCapacity(operation, capacity.getTableName(), BASE_TABLE_INDEX, capacity.getTable());
+            }
+            if (nonNull(capacity.getGlobalSecondaryIndexes())) {
+                capacity.getGlobalSecondaryIndexes()
+                    .forEach((index, indexCapacity) -> addIndexCapacity(operation, capacity.getTableName(), index,
+                        indexCapacity));
+            }
+        }
+    }
+    
+    private void addIndexCapacity(String operation, String table, String index, Capacity capacity) {
+        var dimensions = Map.of(EmbeddedMetrics.OPERATION_DIMENSION, operation, TABLE_DIMENSION, table,
+            INDEX_DIMENSION, index);
+        add(dimensions, List.of(
+            Metric.count(READ_CAPACITY_METRIC, valueOrZero(capacity.getReadCapacityUnits())),
+            Metric.count(WRITE_CAPACITY_METRIC, valueOrZero(capacity.getWriteCapacityUnits()))));
+    }
+    
+    // The metrics of the previous invocation are written before the first metrics of a new invocation are added.
+    private void add(Map<String, String> dimensions, List<Metric> metricList) {
+        Map<Map<String, String>, Map<String, Metric>> completedMetrics = Collections.emptyMap();
+        synchronized (invocationMetrics) {
+            var currentInvocation = System.getProperty(INVOCATION_TRACE_PROPERTY);
+            var now = metrics.now();
+            if (!Objects.equals(currentInvocation, invocation) || !now.isBefore(nextFlushTime)) {
+                completedMetrics = takeInvocationMetrics();
+                invocation = currentInvocation;
+                nextFlushTime = now.plus(FLUSH_INTERVAL);
+            }
+            var sums = invocationMetrics.computeIfAbsent(dimensions, ignored -> new LinkedHashMap<>());
+            metricList.forEach(metric -> sums.merge(metric.getName(), metric, Metric::plus));
+        }
+        write(completedMetrics);
+    }
+    
+    private void writeCollectedMetrics() {
+        Map<Map<String, String>, Map<String, Metric>> completedMetrics;
+        synchronized (invocationMetrics) {
+            completedMetrics = takeInvocationMetrics();
+        }
+        write(completedMetrics);
+    }
+    
+    private Map<Map<String, String>, Map<String, Metric>> takeInvocationMetrics() {
+        var completedMetrics = new LinkedHashMap<>(invocationMetrics);
+        invocationMetrics.clear();
+        return completedMetrics;
+    }
+    
+    private void write(Map<Map<String, String>, Map<String, Metric>> completedMetrics) {
+        completedMetrics.forEach((dimensions, sums) -> metrics.put(dimensions, List.copyOf(sums.values())));
+    }
+    
+    private static List<ConsumedCapacity> capacities(ConsumedCapacity consumedCapacity) {
+        return nonNull(consumedCapacity) ? List.of(consumedCapacity) : Collections.emptyList();
+    }
+    
+    private static double sum(List<ConsumedCapacity> capacities, Function<ConsumedCapacity, Double> units) {
+        return capacities.stream().map(units).mapToDouble(InstrumentedDynamoDbClient::valueOrZero).sum();
+    }
+    
+    private static double valueOrZero(Double value) {
+        return isNull(value) ? 0 : value;
+    }
+    
+    private static int valueOrZero(Integer value) {
+        return isNull(value) ? 0 : value;
+    }
+    
+    private static int countItems(Collection<? extends List<?>> itemsPerTable) {
+        return itemsPerTable.stream().mapToInt(List::size).sum();
+    }
+    
+    private static Collection<? extends List<?>> unprocessedItems(BatchWriteItemResult result) {
+        return nonNull(result.getUnprocessedItems())
+                   ? result.getUnprocessedItems().values()
+                   : Collections.emptyList();
+    }
+    
+    private static boolean isThrottling(Exception exception) {
+        if (exception instanceof TransactionCanceledException
+            && nonNull(((TransactionCanceledException) exception).getCancellationReasons())) {
+            return ((TransactionCanceledException) exception).getCancellationReasons()
+                       .stream()
+                       .anyMatch(reason -> THROTTLING_ERROR_CODES.contains(reason.getCode()));
+        }
+        return exception instanceof AmazonServiceException
+               && THROTTLING_ERROR_CODES.contains(((AmazonServiceException) exception).getErrorCode());
+    }
+    
+    @FunctionalInterface
+    private interface Request<R> {
+    
+        R send();
+    }
+    
+    /**
+     * Counts the attempts, and the throttled attempts, of the requests of the current thread. The SDK sends all the
+     * attempts of a request from the thread that sent the request. The count is restarted by every request, so it
+     * holds the attempts of a single request whether or not the request is decorated.
+     */
+    public static final class AttemptCounter extends RequestHandler2 {
+    
+        private final ThreadLocal<List<Boolean>> attemptsOfCurrentRequest = ThreadLocal.withInitial(ArrayList::new);
+    
+        private AttemptCounter() {
+            super();
+        }
+    
+        @Override
+        public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+            reset();
+            return request;
+        }
+    
+        @Override
+        public void beforeAttempt(HandlerBeforeAttemptContext context) {
+            attemptsOfCurrentRequest.get().add(false);
+        }
+    
+        @Override
+        public void afterAttempt(HandlerAfterAttemptContext context) {
+            var attempts = attemptsOfCurrentRequest.get();
+            if (nonNull(context.getException()) && isThrottling(context.getException()) && !attempts.isEmpty()) {
+                attempts.set(attempts.size() - 1, true);
+            }
+        }
+    
+        private void reset() {
+            attemptsOfCurrentRequest.get().clear();
+        }
+    
+        int attempts() {
+            return attemptsOfCurrentRequest.get().size();
+        }
+    
+        int throttles() {
+            return (int) attemptsOfCurrentRequest.get().stream().filter(Boolean::booleanValue).count();
+        }
+    }
+}
@@ -46,7 +46,7 @@ public class MessageService extends ServiceWithTransactions {
         getClient().transactWriteItems(transactionRequest);
         
         markTicketReadForSenderAndUnreadForRecipient(ticketEntry, sender);
-        return fetchEventualConsistentDataEntry(newMessage, this::getMessageByIdentifier).orElseThrow();
+        return createdEntry(newMessage);
     }
     
     public Message getMessage(UserInstance owner, SortableIdentifier identifier) throws NotFoundException {
@@ -64,10 +64,6 @@ public class MessageService extends ServiceWithTransactions {
                    .toOptional();
     }
     
-    private Message getMessageByIdentifier(Message message) {
-        return getMessageByIdentifier(message.getIdentifier()).orElseThrow();
-    }
-    
     private void markTicketReadForSenderAndUnreadForRecipient(TicketEntry ticketEntry, UserInstance sender) {
         if (isOwner(sender, ticketEntry)) {
             ticketEntry.markReadByOwner().markUnreadForCurators().persistUpdate(ticketService);
@@ -2,28 +2,53 @@ package no.unit.nva.publication.service.impl;
 
 import static com.amazonaws.services.dynamodbv2.xspec.ExpressionSpecBuilder.S;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.model.business.Resource.resourceQueryObject;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.DATA_FORMAT_FIELD;
+import static no.unit.nva.publication.model.storage.Dao.CONTAINED_DATA_FIELD_NAME;
 import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.waitBeforeRetry;
 import static no.unit.nva.publication.service.impl.ResourceService.EMPTY_RESOURCE_IDENTIFIER_ERROR;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.conditionValueMapToAttributeValueMap;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.BY_CUSTOMER_RESOURCE_INDEX_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryResult;
 import com.amazonaws.services.dynamodbv2.xspec.ExpressionSpecBuilder;
 import com.amazonaws.services.dynamodbv2.xspec.QueryExpressionSpec;
+import com.google.common.collect.Lists;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
+import no.unit.nva.publication.exception.BatchRequestFailedException;
+import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
+import no.unit.nva.publication.model.business.Message;
+import no.unit.nva.publication.model.business.PublicationDetails;
 import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
 import no.unit.nva.publication.model.storage.Dao;
 import no.unit.nva.publication.model.storage.DoiRequestDao;
@@ -37,12 +62,28 @@ public class ReadResourceService {
     public static final String PUBLICATION_NOT_FOUND_CLIENT_MESSAGE = "Publication not found: ";
     
     public static final String RESOURCE_NOT_FOUND_MESSAGE = "Could not find resource";
+    public static final int MAX_KEYS_PER_BATCH_GET = 100;
+    public static final int MAX_BATCH_GET_ATTEMPTS = 10;
+    public static final String INVALID_START_MARKER_MESSAGE = "The start marker is not a marker of the owner's listing";
+    public static final String PUBLICATION_SUMMARY_PROJECTION =
+        "#PK0, #SK0, #type, #dataFormat, #data.#type, #data.#identifier, #data.#entityDescription.#mainTitle, "
+        + "#data.#resourceOwner, #data.#status, #data.#createdDate, #data.#modifiedDate";
+    public static final Map<String, String> PUBLICATION_SUMMARY_PROJECTION_NAMES = projectionNames(
+        PRIMARY_KEY_PARTITION_KEY_NAME, PRIMARY_KEY_SORT_KEY_NAME, "type", DATA_FORMAT_FIELD,
+        CONTAINED_DATA_FIELD_NAME, "identifier", "entityDescription", "mainTitle", "resourceOwner", "status",
+        "createdDate", "modifiedDate");
     private final AmazonDynamoDB client;
     private final String tableName;
+    private final ResourceCache resourceCache;
     
     protected ReadResourceService(AmazonDynamoDB client, String tableName) {
+        this(client, tableName, ResourceCache.DISABLED);
+    }
+    
+    protected ReadResourceService(AmazonDynamoDB client, String tableName, ResourceCache resourceCache) {
         this.client = client;
         this.tableName = tableName;
+        this.resourceCache = resourceCache;
     }
     
     public Publication getPublication(UserInstance userInstance, SortableIdentifier resourceIdentifier)
@@ -57,21 +98,168 @@ public class ReadResourceService {
         return getResource(Resource.fromPublication(publication)).toPublication();
     }
     
+    /**
+     * Returns the Publications of an owner. For sharded owners (see
+     * {@link no.unit.nva.publication.model.storage.OwnerPartitionShards}) all partitions of the owner are queried
+     * concurrently and the results are merged in the order of their sort keys.
+     *
+     * @param userInstance the owner.
+     * @return the Publications of the owner.
+     */
     public List<Publication> getResourcesByOwner(UserInstance userInstance) {
-        var partitionKey = constructPrimaryPartitionKey(userInstance);
-        var querySpec = partitionKeyToQuerySpec(partitionKey);
-        var valuesMap = conditionValueMapToAttributeValueMap(querySpec.getValueMap(), String.class);
-        var namesMap = querySpec.getNameMap();
-        var result = performQuery(querySpec.getKeyConditionExpression(), valuesMap, namesMap);
-        
-        return queryResultToListOfPublications(result);
+        var partitionKeys = constructAllPrimaryPartitionKeys(userInstance);
+        return partitionKeys.size() == 1
+                   ? queryResourcesOfPartition(partitionKeys.get(0))
+                   : inParallel(partitionKeys, this::queryResourcesOfPartition)
+                         .stream()
+                         .flatMap(List::stream)
+                         .sorted(Comparator.comparing(publication -> publication.getIdentifier().toString()))
+                         .collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns one page of the Publications of an owner, reduced to their summaries. Only the fields needed for the
+     * summaries are read from the database. The partitions of sharded owners are read one after the other, and the
+     * start marker of the next page points into the partition where the page ended.
+     *
+     * @param userInstance the owner.
+     * @param pageSize     the maximum number of summaries to return.
+     * @param startMarker  the key of the last entry of the previous page, or null for the first page.
+     * @return the page of summaries and the start marker of the next page.
+     * @throws BadRequestException when the start marker does not point into a partition of the owner.
+     */
+    public ListingResult<PublicationSummary> getPublicationSummariesByOwner(UserInstance userInstance, int pageSize,
+                                                                          Map<String, AttributeValue> startMarker)
+        throws BadRequestException {
+        var partitionKeys = constructAllPrimaryPartitionKeys(userInstance);
+        var partition = isNotEmpty(startMarker) ? partitionOfStartMarker(partitionKeys, startMarker) : 0;
+        var summaries = new ArrayList<PublicationSummary>();
+        var exclusiveStartKey = startMarker;
+        Map<String, AttributeValue> lastReturnedKey = null;
+        while (summaries.size() < pageSize && partition < partitionKeys.size()) {
+            var queryRequest = publicationSummariesQuery(partitionKeys.get(partition), pageSize - summaries.size(),
+                exclusiveStartKey);
+            var queryResult = client.query(queryRequest);
+            for (var item : queryResult.getItems()) {
+                summaries.add(toPublicationSummary(item));
+                lastReturnedKey = primaryKeyOf(item);
+            }
+            exclusiveStartKey = queryResult.getLastEvaluatedKey();
+            if (!isNotEmpty(exclusiveStartKey)) {
+                exclusiveStartKey = null;
+                partition++;
+            }
+        }
+        var nextStartMarker = isNotEmpty(exclusiveStartKey) ? exclusiveStartKey : lastReturnedKey;
+        var hasMore = partition < partitionKeys.size();
+        return new ListingResult<>(summaries, hasMore ? nextStartMarker : null, hasMore);
     }
     
+    /**
+     * Returns the Resource with the given identifier, from the Resource cache when possible.
+     *
+     * @param identifier the Resource identifier.
+     * @return the Resource.
+     * @throws NotFoundException when the Resource does not exist.
+     */
     public Resource getResourceByIdentifier(SortableIdentifier identifier) throws NotFoundException {
+        return getResourceByIdentifier(identifier, null);
+    }
     
+    /**
+     * Returns the Resource with the given identifier, from the Resource cache when the cached Resource is not older
+     * than the given modification date. Used when the caller knows a minimum modification date, e.g. from the
+     * PublicationDetails of a ticket.
+     *
+     * @param identifier        the Resource identifier.
+     * @param notModifiedBefore the earliest acceptable modification date of the cached Resource, or null.
+     * @return the Resource.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    public Resource getResourceByIdentifier(SortableIdentifier identifier, Instant notModifiedBefore)
+        throws NotFoundException {
+        var cachedResource = resourceCache.get(identifier)
+                                 .filter(resource -> isNotModifiedBefore(resource, notModifiedBefore));
+        return cachedResource.isPresent()
+                   ? cachedResource.get()
+                   : getResourceByIdentifierBypassingCache(identifier);
+    }
+    
+    /**
+     * Returns the Resource with the given identifier as currently stored in the database, and refreshes the cached
+     * entry. To be used by callers that cannot tolerate stale data.
+     *
+     * @param identifier the Resource identifier.
+     * @return the Resource.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    public Resource getResourceByIdentifierBypassingCache(SortableIdentifier identifier) throws NotFoundException {
         var queryObject = new ResourceDao(resourceQueryObject(identifier));
         var queryResult = queryObject.fetchByIdentifier(client);
-        return (Resource) queryResult.getData();
+        var resource = (Resource) queryResult.getData();
+        resourceCache.put(resource, queryResult.getVersion());
+        resource.setVersion(queryResult.getVersion());
+        return resource;
+    }
+    
+    public void invalidateCachedResource(SortableIdentifier identifier) {
+        resourceCache.invalidate(identifier);
+    }
+    
+    /**
+     * Fetches many resources at once. Resources whose owner and customer are known are fetched by their primary key
+     * with BatchGetItem requests of up to {@value #MAX_KEYS_PER_BATCH_GET} keys. The remaining resources, and those
+     * that are not found by their primary key (e.g. because the owner has changed), are fetched by querying the
+     * identifier index. The requests are sent concurrently on the pool of {@link ConcurrentRequests}.
+     *
+     * @param resourceQueryObjects resources containing the identifier and, when known, the owner and the customer
+     *                             (see {@link Resource#resourceQueryObject(UserInstance, SortableIdentifier)} and
+     *                             {@link Resource#resourceQueryObject(SortableIdentifier)}).
+     * @return the found resources by identifier. Identifiers without a resource are not included.
+     */
+    public Map<SortableIdentifier, Resource> getResources(Collection<Resource> resourceQueryObjects) {
+        var resources = getResourcesByPrimaryKeys(resourceQueryObjects.stream()
+                                                      .filter(ReadResourceService::primaryKeyIsKnown)
+                                                      .collect(Collectors.toList()));
+        var identifiersNotFoundByPrimaryKey = resourceQueryObjects.stream()
+                                                  .map(Resource::getIdentifier)
+                                                  .filter(identifier -> !resources.containsKey(identifier))
+                                                  .distinct()
+                                                  .collect(Collectors.toList());
+        resources.putAll(getResourcesByIdentifierIndex(identifiersNotFoundByPrimaryKey));
+        return resources;
+    }
+    
+    /**
+     * Returns a Resource together with all its tickets and messages. These entries share a partition of the
+     * ByCustomerResource index, so they are read with a single (paginated) query instead of one request per entry
+     * type. The index is eventually consistent, so the entries may be stale: the Resource is not cached, and callers
+     * that update what they read should read from the table instead.
+     *
+     * @param customerId         the customer of the Resource.
+     * @param resourceIdentifier the Resource identifier.
+     * @return the Resource, its tickets and its messages.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    public ResourceAggregate fetchResourceAggregate(URI customerId, SortableIdentifier resourceIdentifier)
+        throws NotFoundException {
+        var queryObject = new ResourceDao(Resource.fetchForElevatedUserQueryObject(customerId, resourceIdentifier));
+        var daos = new ArrayList<Dao>();
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            var queryResult = client.query(queryAllEntriesOfResource(queryObject, exclusiveStartKey));
+            daos.addAll(parseResultSetToDaos(queryResult));
+            exclusiveStartKey = queryResult.getLastEvaluatedKey();
+        } while (isNotEmpty(exclusiveStartKey));
+        var resourceDao = daos.stream()
+                              .filter(ResourceDao.class::isInstance)
+                              .map(ResourceDao.class::cast)
+                              .findFirst()
+                              .orElseThrow(() -> new NotFoundException(RESOURCE_NOT_FOUND_MESSAGE));
+        var resource = resourceDao.getResource();
+        resource.setVersion(resourceDao.getVersion());
+        return new ResourceAggregate(resource, entriesOfType(daos, TicketEntry.class),
+            entriesOfType(daos, Message.class));
     }
     
     protected Resource getResource(UserInstance userInstance, SortableIdentifier identifier) throws NotFoundException {
@@ -79,10 +267,43 @@ public class ReadResourceService {
     }
     
     protected Resource getResource(Resource resource) throws NotFoundException {
-        Map<String, AttributeValue> primaryKey = new ResourceDao(resource).primaryKey();
-        GetItemResult getResult = getResourceByPrimaryKey(primaryKey);
-        ResourceDao fetchedDao = parseAttributeValuesMap(getResult.getItem(), ResourceDao.class);
-        return (Resource) fetchedDao.getData();
+        ResourceDao fetchedDao = parseAttributeValuesMap(getResourceItem(resource), ResourceDao.class);
+        var fetchedResource = fetchedDao.getResource();
+        fetchedResource.setVersion(fetchedDao.getVersion());
+        resourceCache.invalidateIfOutdated(fetchedResource.getIdentifier(), fetchedDao.getVersion());
+        return fetchedResource;
+    }
+    
+    /**
+     * Returns the stored entry of a Resource as it is stored, i.e. in its own storage format. An entry that is still
+     * stored in the unsharded partition of a sharded owner is read from there. It stays there until the table is
+     * refreshed, so writes address it by the key of the returned entry.
+     *
+     * @param resource a Resource containing the owner, the customer and the identifier.
+     * @return the stored entry.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    protected Map<String, AttributeValue> getResourceItem(Resource resource) throws NotFoundException {
+        var resourceDao = new ResourceDao(resource);
+        return getItem(resourceDao.primaryKey())
+                   .or(() -> getItemFromUnshardedPartition(resourceDao))
+                   .orElseThrow(() -> new NotFoundException(RESOURCE_NOT_FOUND_MESSAGE));
+    }
+    
+    /**
+     * Returns the primary key a Resource is stored under. This is the key of the Resource, unless its owner is sharded
+     * and the Resource is still stored in the unsharded partition. Only Resources of sharded owners are read to find
+     * out.
+     *
+     * @param resource a Resource containing the owner, the customer and the identifier.
+     * @return the primary key of the stored entry.
+     * @throws NotFoundException when the Resource of a sharded owner does not exist.
+     */
+    protected Map<String, AttributeValue> storedPrimaryKey(Resource resource) throws NotFoundException {
+        var resourceDao = new ResourceDao(resource);
+        return resourceDao.unshardedPrimaryKey().isPresent()
+                   ? primaryKeyOf(getResourceItem(resource))
+                   : resourceDao.primaryKey();
     }
     
     protected List<Dao> fetchResourceAndDoiRequestFromTheByResourceIndex(UserInstance userInstance,
@@ -102,11 +323,84 @@ public class ReadResourceService {
                    .collect(Collectors.toList());
     }
     
-    private String constructPrimaryPartitionKey(UserInstance userInstance) {
-        return ResourceDao.constructPrimaryPartitionKey(userInstance.getOrganizationUri(),
+    private static boolean primaryKeyIsKnown(Resource resourceQueryObject) {
+        return nonNull(resourceQueryObject.getResourceOwner()) && nonNull(resourceQueryObject.getCustomerId());
+    }
+    
+    private Map<SortableIdentifier, Resource> getResourcesByPrimaryKeys(Collection<Resource> resourceQueryObjects) {
+        var primaryKeys = resourceQueryObjects.stream()
+                              .map(resource -> new ResourceDao(resource).primaryKey())
+                              .distinct()
+                              .collect(Collectors.toList());
+        return primaryKeys.isEmpty()
+                   ? new HashMap<>()
+                   : inParallel(Lists.partition(primaryKeys, MAX_KEYS_PER_BATCH_GET), this::batchGetResources)
+                         .stream()
+                         .flatMap(List::stream)
+                         .collect(Collectors.toMap(Resource::getIdentifier, resource -> resource,
+                             (left, right) -> left, HashMap::new));
+    }
+    
+    private Map<SortableIdentifier, Resource> getResourcesByIdentifierIndex(List<SortableIdentifier> identifiers) {
+        return identifiers.isEmpty()
+                   ? Collections.emptyMap()
+                   : inParallel(identifiers, this::getResourceByIdentifierIfExists)
+                         .stream()
+                         .flatMap(Optional::stream)
+                         .collect(Collectors.toMap(Resource::getIdentifier, resource -> resource));
+    }
+    
+    private Optional<Resource> getResourceByIdentifierIfExists(SortableIdentifier identifier) {
+        try {
+            return Optional.of(getResourceByIdentifier(identifier));
+        } catch (NotFoundException notFound) {
+            return Optional.empty();
+        }
+    }
+    
+    private List<Resource> batchGetResources(List<Map<String, AttributeValue>> primaryKeys) {
+        var resources = new ArrayList<Resource>();
+        Map<String, KeysAndAttributes> requestItems = Map.of(tableName, new KeysAndAttributes().withKeys(primaryKeys));
+        for (int attempt = 1; thereAreUnprocessedKeys(requestItems); attempt++) {
+            if (attempt > MAX_BATCH_GET_ATTEMPTS) {
+                throw new BatchRequestFailedException(MAX_BATCH_GET_ATTEMPTS,
+                    requestItems.get(tableName).getKeys().size());
+            }
+            if (attempt > 1) {
+                waitBeforeRetry(attempt);
+            }
+            var result = client.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+            result.getResponses()
+                .getOrDefault(tableName, Collections.emptyList())
+                .stream()
+                .map(item -> parseAttributeValuesMap(item, ResourceDao.class))
+                .map(ResourceDao::getData)
+                .map(Resource.class::cast)
+                .forEach(resources::add);
+            requestItems = result.getUnprocessedKeys();
+        }
+        return resources;
+    }
+    
+    private boolean thereAreUnprocessedKeys(Map<String, KeysAndAttributes> requestItems) {
+        return nonNull(requestItems)
+               && requestItems.containsKey(tableName)
+               && !requestItems.get(tableName).getKeys().isEmpty();
+    }
+    
+    private static List<String> constructAllPrimaryPartitionKeys(UserInstance userInstance) {
+        return ResourceDao.constructAllPrimaryPartitionKeys(userInstance.getOrganizationUri(),
             userInstance.getUsername());
     }
     
+    private List<Publication> queryResourcesOfPartition(String partitionKey) {
+        var querySpec = partitionKeyToQuerySpec(partitionKey);
+        var valuesMap = conditionValueMapToAttributeValueMap(querySpec.getValueMap(), String.class);
+        var namesMap = querySpec.getNameMap();
+        var result = performQuery(querySpec.getKeyConditionExpression(), valuesMap, namesMap);
+        return queryResultToListOfPublications(result);
+    }
+    
     private List<Publication> queryResultToListOfPublications(QueryResult result) {
         return queryResultToResourceList(result)
                    .stream()
@@ -124,19 +418,66 @@ public class ReadResourceService {
         );
     }
     
+    private QueryRequest publicationSummariesQuery(String partitionKey, int limit,
+                                                   Map<String, AttributeValue> exclusiveStartKey) {
+        return new QueryRequest()
+                   .withTableName(tableName)
+                   .withKeyConditionExpression("#PK0 = :partitionKey")
+                   .withProjectionExpression(PUBLICATION_SUMMARY_PROJECTION)
+                   .withExpressionAttributeNames(PUBLICATION_SUMMARY_PROJECTION_NAMES)
+                   .withExpressionAttributeValues(Map.of(":partitionKey", new AttributeValue(partitionKey)))
+                   .withLimit(limit)
+                   .withExclusiveStartKey(exclusiveStartKey);
+    }
+    
+    // Nested attributes cannot be projected from compressed entries, so these are read in full.
+    private PublicationSummary toPublicationSummary(Map<String, AttributeValue> item) {
+        var entry = item.containsKey(DATA_FORMAT_FIELD) ? fetchFullEntry(item) : item;
+        var resource = (Resource) parseAttributeValuesMap(entry, ResourceDao.class).getData();
+        return PublicationSummary.create(PublicationDetails.create(resource));
+    }
+    
+    private Map<String, AttributeValue> fetchFullEntry(Map<String, AttributeValue> item) {
+        return client.getItem(new GetItemRequest().withTableName(tableName).withKey(primaryKeyOf(item))).getItem();
+    }
+    
+    private static Map<String, AttributeValue> primaryKeyOf(Map<String, AttributeValue> item) {
+        return Map.of(PRIMARY_KEY_PARTITION_KEY_NAME, item.get(PRIMARY_KEY_PARTITION_KEY_NAME),
+            PRIMARY_KEY_SORT_KEY_NAME, item.get(PRIMARY_KEY_SORT_KEY_NAME));
+    }
+    
+    private static boolean isNotEmpty(Map<String, AttributeValue> lastEvaluatedKey) {
+        return nonNull(lastEvaluatedKey) && !lastEvaluatedKey.isEmpty();
+    }
+    
     private QueryExpressionSpec partitionKeyToQuerySpec(String partitionKey) {
         return new ExpressionSpecBuilder()
                    .withKeyCondition(S(PRIMARY_KEY_PARTITION_KEY_NAME).eq(partitionKey)).buildForQuery();
     }
     
-    private GetItemResult getResourceByPrimaryKey(Map<String, AttributeValue> primaryKey) throws NotFoundException {
+    private Optional<Map<String, AttributeValue>> getItem(Map<String, AttributeValue> primaryKey) {
         GetItemResult result = client.getItem(new GetItemRequest()
                                                   .withTableName(tableName)
                                                   .withKey(primaryKey));
-        if (isNull(result.getItem())) {
-            throw new NotFoundException(RESOURCE_NOT_FOUND_MESSAGE);
+        return Optional.ofNullable(result.getItem());
+    }
+    
+    // Resources created before their owner was sharded are still stored in the unsharded partition.
+    private Optional<Map<String, AttributeValue>> getItemFromUnshardedPartition(ResourceDao resourceDao) {
+        return resourceDao.unshardedPrimaryKey().flatMap(this::getItem);
+    }
+    
+    // A start marker of another owner would make the query fail, or list the Resources of the other owner.
+    private static int partitionOfStartMarker(List<String> partitionKeys, Map<String, AttributeValue> startMarker)
+        throws BadRequestException {
+        var partitionKey = Optional.ofNullable(startMarker.get(PRIMARY_KEY_PARTITION_KEY_NAME))
+                               .map(AttributeValue::getS)
+                               .orElse(null);
+        var partition = partitionKeys.indexOf(partitionKey);
+        if (partition < 0) {
+            throw new BadRequestException(INVALID_START_MARKER_MESSAGE);
         }
-        return result;
+        return partition;
     }
     
     private QueryRequest queryByResourceIndex(ResourceDao queryObject) {
@@ -152,10 +493,36 @@ public class ReadResourceService {
                    .withKeyConditions(keyConditions);
     }
     
+    private QueryRequest queryAllEntriesOfResource(ResourceDao queryObject,
+                                                   Map<String, AttributeValue> exclusiveStartKey) {
+        return new QueryRequest()
+                   .withTableName(tableName)
+                   .withIndexName(BY_CUSTOMER_RESOURCE_INDEX_NAME)
+                   .withKeyConditions(queryObject.joinAllEntriesForResource())
+                   .withExclusiveStartKey(exclusiveStartKey);
+    }
+    
+    private static <T> List<T> entriesOfType(List<Dao> daos, Class<T> entryType) {
+        return daos.stream()
+                   .map(Dao::getData)
+                   .filter(entryType::isInstance)
+                   .map(entryType::cast)
+                   .collect(Collectors.toList());
+    }
+    
     private List<Dao> parseResultSetToDaos(QueryResult queryResult) {
         return queryResult.getItems()
                    .stream()
                    .map(values -> parseAttributeValuesMap(values, Dao.class))
                    .collect(Collectors.toList());
     }
+    
+    private static boolean isNotModifiedBefore(Resource resource, Instant notModifiedBefore) {
+        return isNull(notModifiedBefore)
+               || nonNull(resource.getModifiedDate()) && !resource.getModifiedDate().isBefore(notModifiedBefore);
+    }
+    
+    private static Map<String, String> projectionNames(String... attributeNames) {
+        return Arrays.stream(attributeNames).collect(Collectors.toMap(name -> "#" + name, name -> name));
+    }
 }
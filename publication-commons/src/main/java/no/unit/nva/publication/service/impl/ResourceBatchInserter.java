@@ -0,0 +1,196 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.waitBeforeRetry;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.exception.TransactionFailedException;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.storage.IdentifierEntry;
+import no.unit.nva.publication.model.storage.ResourceDao;
+import nva.commons.core.attempt.Failure;
+import nva.commons.core.attempt.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inserts many new Resources, each one together with the IdentifierEntry that guarantees the uniqueness of its
+ * identifier. Up to {@link #MAX_RESOURCES_PER_TRANSACTION} Resources are written in one TransactWriteItems request and
+ * the transactions are sent in parallel (bounded by the pool of {@link ConcurrentRequests}). A Resource that cannot be
+ * inserted does not prevent the insertion of the other Resources of its transaction: the transaction is retried
+ * without it, and the failure is reported for that Resource only.
+ *
+ * <p>Failures that do not name the rejected items are retried with backoff. Throttling and server errors are not
+ * caused by an item, so the whole transaction is retried until it succeeds or runs out of attempts. Other failures are
+ * retried {@link #ATTEMPTS_BEFORE_SPLIT} times before every Resource of the transaction is inserted on its own, to
+ * find the Resources that caused them.
+ */
+public class ResourceBatchInserter extends ServiceWithTransactions {
+    
+    public static final int MAX_RESOURCES_PER_TRANSACTION = 50;
+    public static final long MAX_BYTES_PER_TRANSACTION = 4L * 1024 * 1024;
+    public static final int MAX_TRANSACTION_ATTEMPTS = 10;
+    public static final int ATTEMPTS_BEFORE_SPLIT = 3;
+    private static final int ITEMS_PER_RESOURCE = 2;
+    // Cancellation reasons of items that did not fail themselves, or that can succeed when retried.
+    private static final Set<String> RETRYABLE_CANCELLATION_CODES =
+        Set.of("None", "TransactionConflict", "ThrottlingError", "ProvisionedThroughputExceeded");
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBatchInserter.class);
+    
+    public ResourceBatchInserter(AmazonDynamoDB client) {
+        super(client);
+    }
+    
+    /**
+     * Inserts the Resources and waits until every transaction has completed.
+     *
+     * @param resources new Resources with their identifiers already set.
+     * @return the outcome of the insertion of every Resource, in the order the Resources were given.
+     */
+    public List<Try<Resource>> insert(List<Resource> resources) {
+        var insertions = resources.stream().map(Insertion::new).collect(Collectors.toList());
+        var transactions = pack(insertions);
+        return transactions.isEmpty()
+                   ? Collections.emptyList()
+                   : inParallel(transactions, this::insertInTransaction)
+                         .stream()
+                         .flatMap(List::stream)
+                         .collect(Collectors.toList());
+    }
+    
+    private static List<List<Insertion>> pack(List<Insertion> insertions) {
+        var transactions = new ArrayList<List<Insertion>>();
+        var currentTransaction = new ArrayList<Insertion>();
+        long currentTransactionSize = 0;
+        for (var insertion : insertions) {
+            if (currentTransaction.size() == MAX_RESOURCES_PER_TRANSACTION
+                || currentTransactionSize + insertion.getSize() > MAX_BYTES_PER_TRANSACTION) {
+                transactions.add(currentTransaction);
+                currentTransaction = new ArrayList<>();
+                currentTransactionSize = 0;
+            }
+            currentTransaction.add(insertion);
+            currentTransactionSize += insertion.getSize();
+        }
+        if (!currentTransaction.isEmpty()) {
+            transactions.add(currentTransaction);
+        }
+        return transactions;
+    }
+    
+    private List<Try<Resource>> insertInTransaction(List<Insertion> transaction) {
+        Map<Insertion, Try<Resource>> results = new IdentityHashMap<>();
+        var pending = new ArrayList<>(transaction);
+        Exception lastFailure = null;
+        for (int attempt = 1; !pending.isEmpty() && attempt <= MAX_TRANSACTION_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                waitBeforeRetry(attempt);
+            }
+            try {
+                getClient().transactWriteItems(newTransactWriteItemsRequest(transactionItems(pending)));
+                pending.forEach(insertion -> results.put(insertion, Try.of(insertion.getResource())));
+                pending.clear();
+            } catch (AmazonServiceException exception) {
+                lastFailure = exception;
+                if (!cannotIdentifyFailedInsertions(exception)) {
+                    var rejected = rejectedInsertions(pending, exception);
+                    rejected.forEach(insertion -> results.put(insertion, new Failure<>(exception)));
+                    pending.removeAll(rejected);
+                } else if (!isTransient(exception) && attempt >= ATTEMPTS_BEFORE_SPLIT) {
+                    var single = pending.size() == 1;
+                    pending.forEach(insertion -> results.put(insertion,
+                        single ? new Failure<>(exception) : insertAlone(insertion)));
+                    pending.clear();
+                }
+            }
+        }
+        for (var insertion : pending) {
+            results.put(insertion, new Failure<>(new TransactionFailedException(lastFailure)));
+        }
+        logFailures(results);
+        return transaction.stream().map(results::get).collect(Collectors.toList());
+    }
+    
+    // Used when the failed insertions of a transaction are unknown, so that they do not block the others.
+    private Try<Resource> insertAlone(Insertion insertion) {
+        return insertInTransaction(List.of(insertion)).get(0);
+    }
+    
+    private static List<TransactWriteItem> transactionItems(List<Insertion> insertions) {
+        return insertions.stream()
+                   .map(Insertion::getTransactionItems)
+                   .flatMap(List::stream)
+                   .collect(Collectors.toList());
+    }
+    
+    private static boolean cannotIdentifyFailedInsertions(AmazonServiceException exception) {
+        return !(exception instanceof TransactionCanceledException)
+               || isNull(((TransactionCanceledException) exception).getCancellationReasons());
+    }
+    
+    private static boolean isTransient(AmazonServiceException exception) {
+        return RetryUtils.isThrottlingException(exception) || RetryUtils.isRetryableServiceException(exception);
+    }
+    
+    // The items of the i-th insertion are at positions 2i and 2i+1 of the transaction.
+    private static List<Insertion> rejectedInsertions(List<Insertion> pending, AmazonServiceException exception) {
+        List<CancellationReason> reasons = ((TransactionCanceledException) exception).getCancellationReasons();
+        var rejected = new ArrayList<Insertion>();
+        for (int index = 0; index < reasons.size(); index++) {
+            var insertion = pending.get(index / ITEMS_PER_RESOURCE);
+            if (!RETRYABLE_CANCELLATION_CODES.contains(reasons.get(index).getCode()) && !rejected.contains(insertion)) {
+                rejected.add(insertion);
+            }
+        }
+        return rejected;
+    }
+    
+    private static void logFailures(Map<Insertion, Try<Resource>> results) {
+        results.forEach((insertion, result) -> {
+            if (result.isFailure()) {
+                logger.warn("Could not insert resource {}", insertion.getResource().getIdentifier(),
+                    result.getException());
+            }
+        });
+    }
+    
+    private static final class Insertion {
+    
+        private final Resource resource;
+        private final List<TransactWriteItem> transactionItems;
+        private final long size;
+    
+        private Insertion(Resource resource) {
+            this.resource = resource;
+            this.transactionItems = List.of(newPutTransactionItem(new ResourceDao(resource)),
+                newPutTransactionItem(new IdentifierEntry(resource.getIdentifier().toString())));
+            this.size = transactionItems.stream()
+                            .mapToLong(item -> BatchWriter.estimateSize(item.getPut().getItem()))
+                            .sum();
+        }
+    
+        public Resource getResource() {
+            return resource;
+        }
+    
+        public List<TransactWriteItem> getTransactionItems() {
+            return transactionItems;
+        }
+    
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package no.unit.nva.publication.service.impl;
+
+import java.util.Optional;
+import java.util.UUID;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.publication.model.business.Resource;
+
+/**
+ * Cache for Resources fetched by their identifier. Entries are stored together with the version of the Dao they
+ * were read from, so that they can be invalidated when a newer version of the Resource is known to exist.
+ */
+public interface ResourceCache {
+    
+    ResourceCache DISABLED = new ResourceCache() {
+        @Override
+        public Optional<Resource> get(SortableIdentifier identifier) {
+            return Optional.empty();
+        }
+        
+        @Override
+        public void put(Resource resource, UUID version) {
+            // do nothing
+        }
+        
+        @Override
+        public void invalidate(SortableIdentifier identifier) {
+            // do nothing
+        }
+        
+        @Override
+        public void invalidateIfOutdated(SortableIdentifier identifier, UUID currentVersion) {
+            // do nothing
+        }
+    };
+    
+    /**
+     * Returns the cached Resource. Every call returns a different instance, so callers may modify the result.
+     *
+     * @param identifier the Resource identifier.
+     * @return the cached Resource, if present and not expired.
+     */
+    Optional<Resource> get(SortableIdentifier identifier);
+    
+    void put(Resource resource, UUID version);
+    
+    void invalidate(SortableIdentifier identifier);
+    
+    /**
+     * Removes the cached entry of the Resource if it was read from a different version of the Dao.
+     *
+     * @param identifier     the Resource identifier.
+     * @param currentVersion the version of the Dao currently stored in the database.
+     */
+    void invalidateIfOutdated(SortableIdentifier identifier, UUID currentVersion);
+}
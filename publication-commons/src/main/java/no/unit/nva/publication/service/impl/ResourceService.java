@@ -2,15 +2,27 @@ package no.unit.nva.publication.service.impl;
 
 import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.PublicationServiceConfig.DEFAULT_DYNAMODB_CLIENT;
+import static no.unit.nva.publication.PublicationServiceConfig.RESOURCE_CACHE_SIZE;
+import static no.unit.nva.publication.PublicationServiceConfig.RESOURCE_CACHE_TTL;
 import static no.unit.nva.publication.model.business.Resource.resourceQueryObject;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.DATA_FORMAT_FIELD;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.DATA_FORMAT_PLACEHOLDER;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.STORED_COMPRESSED_CONDITION;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.STORED_UNCOMPRESSED_CONDITION;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.conditionForBothFormats;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.isCompressed;
 import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.service.impl.ReadResourceService.RESOURCE_NOT_FOUND_MESSAGE;
+import static no.unit.nva.publication.service.impl.ResourceServiceUtils.withPrimaryKey;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
 import static nva.commons.core.attempt.Try.attempt;
-import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
-import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.ReturnValue;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
@@ -20,15 +32,17 @@ import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
 import com.amazonaws.services.dynamodbv2.model.WriteRequest;
-import com.google.common.collect.Lists;
 import java.net.URI;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,6 +51,8 @@ import no.unit.nva.model.Organization;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.PublicationStatus;
 import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.PublicationSummary;
+import no.unit.nva.publication.model.ResourceAggregate;
 import no.unit.nva.publication.model.PublishPublicationStatusResponse;
 import no.unit.nva.publication.model.business.Entity;
 import no.unit.nva.publication.model.business.Owner;
@@ -51,9 +67,12 @@ import no.unit.nva.publication.model.storage.ResourceDao;
 import no.unit.nva.publication.model.storage.TicketDao;
 import no.unit.nva.publication.model.storage.UniqueDoiRequestEntry;
 import no.unit.nva.publication.model.storage.WithPrimaryKey;
+import no.unit.nva.publication.service.impl.BatchWriter.BatchResult;
 import no.unit.nva.publication.storage.model.DatabaseConstants;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.apigateway.exceptions.ConflictException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.attempt.Failure;
@@ -66,31 +85,40 @@ import org.slf4j.LoggerFactory;
 public class ResourceService extends ServiceWithTransactions {
     
     public static final Supplier<SortableIdentifier> DEFAULT_IDENTIFIER_SUPPLIER = SortableIdentifier::next;
-    public static final int AWAIT_TIME_BEFORE_FETCH_RETRY = 50;
-    public static final String INVALID_PATH_ERROR =
-        "The document path provided in the update expression is invalid for update";
     public static final String EMPTY_RESOURCE_IDENTIFIER_ERROR = "Empty resource identifier";
     
     public static final String DOI_FIELD_IN_RESOURCE = "doi";
     public static final String RESOURCE_CANNOT_BE_DELETED_ERROR_MESSAGE = "Resource cannot be deleted: ";
-    public static final int MAX_SIZE_OF_BATCH_REQUEST = 20;
+    public static final int FIRST_SCAN_SEGMENT = 0;
+    public static final int SINGLE_SCAN_SEGMENT = 1;
     private static final Logger logger = LoggerFactory.getLogger(ResourceService.class);
     private final String tableName;
     private final Clock clockForTimestamps;
     private final Supplier<SortableIdentifier> identifierSupplier;
     private final ReadResourceService readResourceService;
     private final UpdateResourceService updateResourceService;
+    private final BatchWriter batchWriter;
+    private final ResourceBatchInserter resourceBatchInserter;
     
     public ResourceService(AmazonDynamoDB client,
                            Clock clock,
                            Supplier<SortableIdentifier> identifierSupplier) {
+        this(client, clock, identifierSupplier, defaultResourceCache());
+    }
+    
+    public ResourceService(AmazonDynamoDB client,
+                           Clock clock,
+                           Supplier<SortableIdentifier> identifierSupplier,
+                           ResourceCache resourceCache) {
         super(client);
         tableName = RESOURCES_TABLE_NAME;
         this.clockForTimestamps = clock;
         this.identifierSupplier = identifierSupplier;
-        this.readResourceService = new ReadResourceService(client, RESOURCES_TABLE_NAME);
+        this.readResourceService = new ReadResourceService(getClient(), RESOURCES_TABLE_NAME, resourceCache);
         this.updateResourceService =
-            new UpdateResourceService(client, RESOURCES_TABLE_NAME, clockForTimestamps, readResourceService);
+            new UpdateResourceService(getClient(), RESOURCES_TABLE_NAME, clockForTimestamps, readResourceService);
+        this.batchWriter = new BatchWriter(getClient(), RESOURCES_TABLE_NAME);
+        this.resourceBatchInserter = new ResourceBatchInserter(getClient());
     }
     
     public ResourceService(AmazonDynamoDB client, Clock clock) {
@@ -123,13 +151,24 @@ public class ResourceService extends ServiceWithTransactions {
     }
     
     public Publication createPublicationFromImportedEntry(Publication inputData) {
-        Resource newResource = Resource.fromPublication(inputData);
-        newResource.setIdentifier(identifierSupplier.get());
-        newResource.setPublishedDate(inputData.getPublishedDate());
-        newResource.setCreatedDate(inputData.getCreatedDate());
-        newResource.setModifiedDate(inputData.getModifiedDate());
-        newResource.setStatus(PublicationStatus.PUBLISHED);
-        return insertResource(newResource);
+        return insertResource(newImportedResource(inputData));
+    }
+    
+    /**
+     * Creates many imported publications in as few transactions as possible. The uniqueness of the identifier of every
+     * publication is guaranteed in the same way as in {@link #createPublicationFromImportedEntry(Publication)}, but the
+     * created entries are not read back from the database.
+     *
+     * @param inputData the imported publications.
+     * @return the outcome of the creation of every publication, in the order the publications were given. A failure
+     *     of one publication does not affect the creation of the others.
+     */
+    public List<Try<Publication>> createPublicationsFromImportedEntries(List<Publication> inputData) {
+        var newResources = inputData.stream().map(this::newImportedResource).collect(Collectors.toList());
+        return resourceBatchInserter.insert(newResources)
+                   .stream()
+                   .map(result -> result.map(Resource::toPublication))
+                   .collect(Collectors.toList());
     }
     
     public Publication insertPreexistingPublication(Publication publication) {
@@ -157,10 +196,28 @@ public class ResourceService extends ServiceWithTransactions {
         List<TransactWriteItem> transactionItems = transactionItemsForDraftPublicationDeletion(daos);
         TransactWriteItemsRequest transactWriteItemsRequest = newTransactWriteItemsRequest(transactionItems);
         sendTransactionWriteRequest(transactWriteItemsRequest);
+        readResourceService.invalidateCachedResource(resourceIdentifier);
     }
     
     public ListingResult<Entity> scanResources(int pageSize, Map<String, AttributeValue> startMarker) {
-        var scanRequest = createScanRequestThatFiltersOutIdentityEntries(pageSize, startMarker);
+        return scanResources(pageSize, startMarker, FIRST_SCAN_SEGMENT, SINGLE_SCAN_SEGMENT);
+    }
+    
+    /**
+     * Scans one segment of a parallel scan. Every segment has its own start marker, so each segment can be scanned
+     * independently of the others.
+     *
+     * @param pageSize      the maximum number of items evaluated in this page.
+     * @param startMarker   the last evaluated key of the previous page of the same segment, or null.
+     * @param segment       the segment to scan, in the range [0, totalSegments).
+     * @param totalSegments the total number of segments the table is divided into.
+     * @return the entries of the page and the start marker for the next page of the same segment.
+     */
+    public ListingResult<Entity> scanResources(int pageSize, Map<String, AttributeValue> startMarker,
+                                               int segment, int totalSegments) {
+        var scanRequest = createScanRequestThatFiltersOutIdentityEntries(pageSize, startMarker)
+                              .withSegment(segment)
+                              .withTotalSegments(totalSegments);
         var scanResult = getClient().scan(scanRequest);
         var values = extractDatabaseEntries(scanResult);
         var isTruncated = thereAreMorePagesToScan(scanResult);
@@ -169,8 +226,12 @@ public class ResourceService extends ServiceWithTransactions {
     
     public void refreshResources(List<Entity> dataEntries) {
         final var refreshedEntries = refreshAndMigrate(dataEntries);
-        var writeRequests = createWriteRequestsForBatchJob(refreshedEntries);
+        var writeRequests = createWriteRequestsForBatchJob(refreshedEntries, dataEntries);
         writeToDynamoInBatches(writeRequests);
+        refreshedEntries.stream()
+            .filter(Resource.class::isInstance)
+            .map(Entity::getIdentifier)
+            .forEach(readResourceService::invalidateCachedResource);
     }
     
     public Publication getPublication(UserInstance userInstance, SortableIdentifier resourceIdentifier)
@@ -182,19 +243,90 @@ public class ResourceService extends ServiceWithTransactions {
         return readResourceService.getPublication(sampleResource);
     }
     
+    public Resource getResource(UserInstance userInstance, SortableIdentifier identifier) throws NotFoundException {
+        return readResourceService.getResource(userInstance, identifier);
+    }
+    
     public Resource getResourceByIdentifier(SortableIdentifier identifier) throws NotFoundException {
         return readResourceService.getResourceByIdentifier(identifier);
     }
     
+    public Resource getResourceByIdentifierBypassingCache(SortableIdentifier identifier) throws NotFoundException {
+        return readResourceService.getResourceByIdentifierBypassingCache(identifier);
+    }
+    
+    public Map<SortableIdentifier, Resource> getResources(Collection<Resource> resourceQueryObjects) {
+        return readResourceService.getResources(resourceQueryObjects);
+    }
+    
+    /**
+     * Fetches many resources at once when only their identifiers are known. See
+     * {@link ReadResourceService#getResources(Collection)}.
+     *
+     * @param identifiers the Resource identifiers.
+     * @return the found resources by identifier. Identifiers without a resource are not included.
+     */
+    public Map<SortableIdentifier, Resource> getResourcesByIdentifiers(Collection<SortableIdentifier> identifiers) {
+        return getResources(identifiers.stream().map(Resource::resourceQueryObject).collect(Collectors.toList()));
+    }
+    
     public List<Publication> getPublicationsByOwner(UserInstance sampleUser) {
         return readResourceService.getResourcesByOwner(sampleUser);
     }
     
+    public ListingResult<PublicationSummary> getPublicationSummariesByOwner(UserInstance userInstance, int pageSize,
+                                                                          Map<String, AttributeValue> startMarker)
+        throws BadRequestException {
+        return readResourceService.getPublicationSummariesByOwner(userInstance, pageSize, startMarker);
+    }
+    
     // TODO rename to getPublicationForUsageWithElevatedRights
     public Publication getPublicationByIdentifier(SortableIdentifier identifier) throws NotFoundException {
         return getResourceByIdentifier(identifier).toPublication();
     }
     
+    public Publication getPublicationByIdentifierBypassingCache(SortableIdentifier identifier)
+        throws NotFoundException {
+        return getResourceByIdentifierBypassingCache(identifier).toPublication();
+    }
+    
+    /**
+     * Returns the Publication a ticket refers to. A cached Publication is used only if it is at least as recent as
+     * the PublicationDetails stored in the ticket.
+     *
+     * @param ticket the ticket.
+     * @return the Publication of the ticket.
+     * @throws NotFoundException when the Publication does not exist.
+     */
+    public Publication getPublicationOfTicket(TicketEntry ticket) throws NotFoundException {
+        var notModifiedBefore = Optional.ofNullable(ticket.getPublicationDetails())
+                                    .map(PublicationDetails::getModifiedDate)
+                                    .orElse(null);
+        return readResourceService.getResourceByIdentifier(ticket.extractPublicationIdentifier(), notModifiedBefore)
+                   .toPublication();
+    }
+    
+    /**
+     * Returns a Resource together with all its tickets and messages, read with a single query.
+     *
+     * @param customerId         the customer of the Resource.
+     * @param resourceIdentifier the Resource identifier.
+     * @return the Resource, its tickets and its messages.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    public ResourceAggregate fetchResourceAggregate(URI customerId, SortableIdentifier resourceIdentifier)
+        throws NotFoundException {
+        return readResourceService.fetchResourceAggregate(customerId, resourceIdentifier);
+    }
+    
+    public void invalidateCachedResource(SortableIdentifier identifier) {
+        readResourceService.invalidateCachedResource(identifier);
+    }
+    
+    public int updateOutdatedTickets(SortableIdentifier resourceIdentifier) throws NotFoundException {
+        return updateResourceService.updateOutdatedTickets(resourceIdentifier);
+    }
+    
     public void updateOwner(SortableIdentifier identifier, UserInstance oldOwner, UserInstance newOwner)
         throws NotFoundException {
         updateResourceService.updateOwner(identifier, oldOwner, newOwner);
@@ -204,6 +336,19 @@ public class ResourceService extends ServiceWithTransactions {
         return updateResourceService.updatePublicationButDoNotChangeStatus(resourceUpdate);
     }
     
+    /**
+     * Updates a Publication that was read at the expected version, without reading it again.
+     *
+     * @param resourceUpdate  the update, based on the Publication that was read.
+     * @param expectedVersion the version of the Resource that was read (see {@link Resource#getVersion()}), or null
+     *                        when the Resource was stored without a version.
+     * @return the updated Publication.
+     * @throws ConflictException when the Publication has been modified since it was read.
+     */
+    public Publication updatePublication(Publication resourceUpdate, UUID expectedVersion) throws ConflictException {
+        return updateResourceService.updatePublication(resourceUpdate, expectedVersion);
+    }
+    
     // update this method according to current needs.
     //TODO: redesign migration process?
     public Entity migrate(Entity dataEntry) {
@@ -236,10 +381,16 @@ public class ResourceService extends ServiceWithTransactions {
     }
     
     private Entity migrateOther(Entity dataEntry) {
+        return migrateOther(dataEntry, Collections.emptyMap());
+    }
+    
+    private Entity migrateOther(Entity dataEntry, Map<SortableIdentifier, Resource> prefetchedResources) {
         if (dataEntry instanceof TicketEntry) {
             var ticket = (TicketEntry) dataEntry;
             var resourceIdentifier = ticket.extractPublicationIdentifier();
-            var resource = attempt(() -> getResourceByIdentifier(resourceIdentifier)).orElseThrow();
+            var resource = Optional.ofNullable(prefetchedResources.get(resourceIdentifier))
+                               .orElseGet(() -> attempt(() -> getResourceByIdentifier(resourceIdentifier))
+                                                    .orElseThrow());
             ticket.setPublicationDetails(PublicationDetails.create(resource));
             return ticket;
         }
@@ -254,13 +405,45 @@ public class ResourceService extends ServiceWithTransactions {
     }
     
     private List<Entity> refreshAndMigrate(List<Entity> dataEntries) {
+        var resourcesOfTickets = fetchResourcesOfTickets(dataEntries);
         return dataEntries
                    .stream()
-                   .map(attempt(this::migrate))
-                   .map(Try::orElseThrow)
+                   .map(dataEntry -> dataEntry instanceof Resource
+                                         ? migrateResource((Resource) dataEntry)
+                                         : migrateOther(dataEntry, resourcesOfTickets))
                    .collect(Collectors.toList());
     }
     
+    private Map<SortableIdentifier, Resource> fetchResourcesOfTickets(List<Entity> dataEntries) {
+        var resourceQueryObjects = dataEntries.stream()
+                                       .filter(TicketEntry.class::isInstance)
+                                       .map(TicketEntry.class::cast)
+                                       .map(ResourceService::resourceQueryObjectForTicket)
+                                       .collect(Collectors.toList());
+        return getResources(resourceQueryObjects);
+    }
+    
+    private static boolean resourceOwnerIsKnown(TicketEntry ticket) {
+        return nonNull(ticket.getPublicationDetails())
+               && nonNull(ticket.getPublicationDetails().getOwner())
+               && nonNull(ticket.getCustomerId());
+    }
+    
+    private static Resource resourceQueryObjectForTicket(TicketEntry ticket) {
+        if (!resourceOwnerIsKnown(ticket)) {
+            return resourceQueryObject(ticket.extractPublicationIdentifier());
+        }
+        var resourceOwner = UserInstance.create(ticket.getPublicationDetails().getOwner(), ticket.getCustomerId());
+        return resourceQueryObject(resourceOwner, ticket.extractPublicationIdentifier());
+    }
+    
+    private static ResourceCache defaultResourceCache() {
+        return RESOURCE_CACHE_SIZE > 0
+                   ? new InMemoryResourceCache(RESOURCE_CACHE_SIZE, RESOURCE_CACHE_TTL, Clock.systemDefaultZone(),
+                                               EmbeddedMetrics.STANDARD_OUTPUT)
+                   : ResourceCache.DISABLED;
+    }
+    
     private Organization createOrganization(UserInstance userInstance) {
         return new Organization.Builder().withId(userInstance.getOrganizationUri()).build();
     }
@@ -279,19 +462,34 @@ public class ResourceService extends ServiceWithTransactions {
     }
     
     private void writeToDynamoInBatches(List<WriteRequest> writeRequests) {
-        Lists.partition(writeRequests, MAX_SIZE_OF_BATCH_REQUEST)
-            .stream()
-            .map(items -> new BatchWriteItemRequest().withRequestItems(Map.of(tableName, items)))
-            .forEach(getClient()::batchWriteItem);
-    }
-    
-    private List<WriteRequest> createWriteRequestsForBatchJob(List<Entity> refreshedEntries) {
-        return refreshedEntries.stream()
-                   .map(Entity::toDao)
-                   .map(Dao::toDynamoFormat)
-                   .map(item -> new PutRequest().withItem(item))
-                   .map(WriteRequest::new)
-                   .collect(Collectors.toList());
+        var batchResults = batchWriter.write(writeRequests);
+        var consumedCapacity = batchResults.stream().mapToDouble(BatchResult::getConsumedCapacity).sum();
+        logger.info("Wrote {} entries in {} batches consuming {} WCU", writeRequests.size(), batchResults.size(),
+            consumedCapacity);
+    }
+    
+    private List<WriteRequest> createWriteRequestsForBatchJob(List<Entity> refreshedEntries,
+                                                              List<Entity> scannedEntries) {
+        var puts = refreshedEntries.stream()
+                       .map(Entity::toDao)
+                       .map(dao -> new WriteRequest(new PutRequest().withItem(dao.toDynamoFormat())));
+        var deletes = scannedEntries.stream()
+                          .filter(Resource.class::isInstance)
+                          .map(Resource.class::cast)
+                          .flatMap(ResourceService::deleteRequestIfStoredOutsideItsShard);
+        return Stream.concat(puts, deletes).collect(Collectors.toList());
+    }
+    
+    // A Resource that its owner had before the owner was sharded is moved from the unsharded partition, where it was
+    // scanned from, to its shard.
+    private static Stream<WriteRequest> deleteRequestIfStoredOutsideItsShard(Resource resource) {
+        var storedPartitionKey = resource.getStoredPartitionKey();
+        var resourceDao = new ResourceDao(resource);
+        return nonNull(storedPartitionKey) && !storedPartitionKey.equals(resourceDao.getPrimaryKeyPartitionKey())
+                   ? Stream.of(new WriteRequest(new DeleteRequest().withKey(Map.of(
+                       PRIMARY_KEY_PARTITION_KEY_NAME, new AttributeValue(storedPartitionKey),
+                       PRIMARY_KEY_SORT_KEY_NAME, new AttributeValue(resourceDao.getPrimaryKeySortKey())))))
+                   : Stream.empty();
     }
     
     private ScanRequest createScanRequestThatFiltersOutIdentityEntries(int pageSize,
@@ -310,29 +508,36 @@ public class ResourceService extends ServiceWithTransactions {
         return response.getItems()
                    .stream()
                    .map(CorrectParsingErrors::apply)
-                   .map(value -> parseAttributeValuesMap(value, Dao.class))
-                   .map(Dao::getData)
-                   .map(Entity.class::cast)
+                   .map(ResourceService::parseScannedEntry)
                    .collect(Collectors.toList());
     }
     
+    // The partition key of a Resource is recorded, so that a Resource that is not stored in its shard can be moved
+    // there when it is refreshed.
+    private static Entity parseScannedEntry(Map<String, AttributeValue> item) {
+        var entry = (Entity) parseAttributeValuesMap(item, Dao.class).getData();
+        if (entry instanceof Resource) {
+            ((Resource) entry).setStoredPartitionKey(item.get(PRIMARY_KEY_PARTITION_KEY_NAME).getS());
+        }
+        return entry;
+    }
+    
+    private Resource newImportedResource(Publication inputData) {
+        Resource newResource = Resource.fromPublication(inputData);
+        newResource.setIdentifier(identifierSupplier.get());
+        newResource.setPublishedDate(inputData.getPublishedDate());
+        newResource.setCreatedDate(inputData.getCreatedDate());
+        newResource.setModifiedDate(inputData.getModifiedDate());
+        newResource.setStatus(PublicationStatus.PUBLISHED);
+        return newResource;
+    }
+    
     private Publication insertResource(Resource newResource) {
         TransactWriteItem[] transactionItems = transactionItemsForNewResourceInsertion(newResource);
         TransactWriteItemsRequest putRequest = newTransactWriteItemsRequest(transactionItems);
         sendTransactionWriteRequest(putRequest);
         
-        return fetchSavedPublication(newResource);
-    }
-    
-    private Publication fetchSavedPublication(Resource newResource) {
-        return Optional.ofNullable(fetchSavedResource(newResource))
-                   .map(Resource::toPublication)
-                   .orElse(null);
-    }
-    
-    private Resource fetchSavedResource(Resource newResource) {
-        return fetchEventualConsistentDataEntry(newResource, readResourceService::getResource)
-                   .orElse(null);
+        return createdEntry(newResource).toPublication();
     }
     
     private List<TransactWriteItem> transactionItemsForDraftPublicationDeletion(List<Dao> daos)
@@ -371,7 +576,7 @@ public class ResourceService extends ServiceWithTransactions {
         throws BadRequestException {
         ResourceDao resourceDao = extractResourceDao(daos);
         
-        TransactWriteItem deleteResourceItem = newDeleteTransactionItem(resourceDao);
+        TransactWriteItem deleteResourceItem = newDeleteTransactionItem(storedPrimaryKey(resourceDao));
         applyDeleteResourceConditions(deleteResourceItem);
         
         TransactWriteItem deleteResourceIdentifierItem = newDeleteTransactionItem(IdentifierEntry.create(resourceDao));
@@ -379,34 +584,94 @@ public class ResourceService extends ServiceWithTransactions {
         return List.of(deleteResourceItem, deleteResourceIdentifierItem);
     }
     
+    // A Resource that its owner had before the owner was sharded is deleted from the unsharded partition, where it is
+    // stored until the table is refreshed.
+    private Map<String, AttributeValue> storedPrimaryKey(ResourceDao resourceDao) throws BadRequestException {
+        return attempt(() -> readResourceService.storedPrimaryKey(resourceDao.getResource()))
+                   .orElseThrow(fail -> new BadRequestException(RESOURCE_NOT_FOUND_MESSAGE));
+    }
+    
     private void applyDeleteResourceConditions(TransactWriteItem deleteResource) {
         Map<String, String> expressionAttributeNames = Map.of(
             "#data", RESOURCE_FIELD_IN_RESOURCE_DAO,
             "#status", STATUS_FIELD_IN_RESOURCE,
-            "#doi", DOI_FIELD_IN_RESOURCE
+            "#doi", DOI_FIELD_IN_RESOURCE,
+            DATA_FORMAT_PLACEHOLDER, DATA_FORMAT_FIELD
         );
         Map<String, AttributeValue> expressionAttributeValues = Map.of(
             ":publishedStatus", new AttributeValue(PublicationStatus.PUBLISHED.getValue())
         );
         
         deleteResource.getDelete()
-            .withConditionExpression("#data.#status <> :publishedStatus AND attribute_not_exists(#data.#doi)")
+            .withConditionExpression(conditionForBothFormats(
+                "#status <> :publishedStatus AND attribute_not_exists(#doi)",
+                "#data.#status <> :publishedStatus AND attribute_not_exists(#data.#doi)"))
             .withExpressionAttributeNames(expressionAttributeNames)
             .withExpressionAttributeValues(expressionAttributeValues);
     }
     
+    // The stored entry is updated in its own format, whatever format new entries are written in.
     private Resource markResourceForDeletion(Resource resource)
         throws ApiGatewayException {
-        ResourceDao dao = new ResourceDao(resource);
-        UpdateItemRequest updateRequest = markForDeletionUpdateRequest(dao);
+        var storedItem = readResourceService.getResourceItem(resource);
+        var resourceForDeletion = isCompressed(storedItem)
+                                      ? markCompressedResourceForDeletion(resource, storedItem)
+                                      : markUncompressedResourceForDeletion(resource, storedItem);
+        readResourceService.invalidateCachedResource(resource.getIdentifier());
+        return resourceForDeletion;
+    }
+    
+    private Resource markUncompressedResourceForDeletion(Resource resource, Map<String, AttributeValue> storedItem)
+        throws ApiGatewayException {
+        UpdateItemRequest updateRequest = markForDeletionUpdateRequest(primaryKeyOf(storedItem));
         return attempt(() -> sendUpdateRequest(updateRequest))
                    .orElseThrow(failure -> markForDeletionError(failure, resource));
     }
     
+    // Compressed data cannot be updated in place, so the whole entry is replaced if it is still a draft and has not
+    // been changed since it was read.
+    private Resource markCompressedResourceForDeletion(Resource resource, Map<String, AttributeValue> storedItem)
+        throws ApiGatewayException {
+        var storedDao = parseAttributeValuesMap(storedItem, ResourceDao.class);
+        var resourceForDeletion = storedDao.getResource().copy()
+                                      .withStatus(PublicationStatus.DRAFT_FOR_DELETION)
+                                      .withModifiedDate(clockForTimestamps.instant())
+                                      .build();
+        var putRequest = markForDeletionPutRequest(new ResourceDao(resourceForDeletion), storedItem);
+        attempt(() -> getClient().putItem(putRequest))
+            .orElseThrow(failure -> markForDeletionError(failure, resource));
+        return resourceForDeletion;
+    }
+    
+    private PutItemRequest markForDeletionPutRequest(ResourceDao dao, Map<String, AttributeValue> storedItem) {
+        var storedVersion = storedItem.get(Dao.VERSION_FIELD);
+        String conditionExpression = STORED_COMPRESSED_CONDITION
+                                     + " AND #status = :expectedExistingStatus"
+                                     + (nonNull(storedVersion)
+                                            ? " AND #version = :storedVersion"
+                                            : " AND attribute_not_exists(#version)");
+        
+        Map<String, AttributeValue> expressionValuesMap = new HashMap<>();
+        expressionValuesMap.put(":expectedExistingStatus", new AttributeValue(PublicationStatus.DRAFT.toString()));
+        if (nonNull(storedVersion)) {
+            expressionValuesMap.put(":storedVersion", storedVersion);
+        }
+        
+        Map<String, String> expressionAttributeNames = Map.of(
+            "#status", STATUS_FIELD_IN_RESOURCE,
+            "#version", Dao.VERSION_FIELD,
+            DATA_FORMAT_PLACEHOLDER, DATA_FORMAT_FIELD);
+        
+        return new PutItemRequest()
+                   .withTableName(tableName)
+                   .withItem(withPrimaryKey(dao.toDynamoFormat(), primaryKeyOf(storedItem)))
+                   .withConditionExpression(conditionExpression)
+                   .withExpressionAttributeNames(expressionAttributeNames)
+                   .withExpressionAttributeValues(expressionValuesMap);
+    }
+    
     private ApiGatewayException markForDeletionError(Failure<Resource> failure, Resource resource) {
-        if (primaryKeyConditionFailed(failure.getException())) {
-            return new NotFoundException(ReadResourceService.RESOURCE_NOT_FOUND_MESSAGE);
-        } else if (failure.getException() instanceof ConditionalCheckFailedException) {
+        if (failure.getException() instanceof ConditionalCheckFailedException) {
             logger.warn(ExceptionUtils.stackTraceInSingleLine(failure.getException()));
             return new BadRequestException(RESOURCE_CANNOT_BE_DELETED_ERROR_MESSAGE
                                            + resource.getIdentifier().toString());
@@ -414,21 +679,17 @@ public class ResourceService extends ServiceWithTransactions {
         throw new RuntimeException(failure.getException());
     }
     
-    private boolean primaryKeyConditionFailed(Exception exception) {
-        return exception instanceof AmazonServiceException
-               && messageRefersToInvalidPath(exception);
-    }
-    
-    private boolean messageRefersToInvalidPath(Exception exception) {
-        return exception.getMessage().contains(INVALID_PATH_ERROR);
+    private static Map<String, AttributeValue> primaryKeyOf(Map<String, AttributeValue> item) {
+        return Map.of(PRIMARY_KEY_PARTITION_KEY_NAME, item.get(PRIMARY_KEY_PARTITION_KEY_NAME),
+            PRIMARY_KEY_SORT_KEY_NAME, item.get(PRIMARY_KEY_SORT_KEY_NAME));
     }
     
-    private UpdateItemRequest markForDeletionUpdateRequest(ResourceDao dao) {
+    private UpdateItemRequest markForDeletionUpdateRequest(Map<String, AttributeValue> primaryKey) {
         String updateExpression = "SET "
                                   + "#data.#status = :newStatus, "
                                   + "#data.#modifiedDate = :modifiedDate";
         
-        String conditionExpression = "#data.#status = :expectedExistingStatus";
+        String conditionExpression = STORED_UNCOMPRESSED_CONDITION + " AND #data.#status = :expectedExistingStatus";
         
         Map<String, AttributeValue> expressionValuesMap = Map.of(
             ":newStatus", new AttributeValue(PublicationStatus.DRAFT_FOR_DELETION.getValue()),
@@ -439,11 +700,12 @@ public class ResourceService extends ServiceWithTransactions {
         Map<String, String> expressionAttributeNames = Map.of(
             "#status", STATUS_FIELD_IN_RESOURCE,
             "#modifiedDate", MODIFIED_FIELD_IN_RESOURCE,
-            "#data", RESOURCE_FIELD_IN_RESOURCE_DAO);
+            "#data", RESOURCE_FIELD_IN_RESOURCE_DAO,
+            DATA_FORMAT_PLACEHOLDER, DATA_FORMAT_FIELD);
         
         UpdateItemRequest request = new UpdateItemRequest()
                                         .withTableName(tableName)
-                                        .withKey(dao.primaryKey())
+                                        .withKey(primaryKey)
                                         .withUpdateExpression(updateExpression)
                                         .withConditionExpression(conditionExpression)
                                         .withExpressionAttributeNames(expressionAttributeNames)
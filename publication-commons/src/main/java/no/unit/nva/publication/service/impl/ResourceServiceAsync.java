@@ -0,0 +1,39 @@
+package no.unit.nva.publication.service.impl;
+
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.supplyAsync;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Publication;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
+
+/**
+ * Asynchronous view of the reads of a {@link ResourceService}. The reads are sent on the pool of
+ * {@link ConcurrentRequests}, so that composite operations can issue their independent reads together and wait only for
+ * the slowest one. The futures complete exceptionally with the exception of the underlying read, which can be
+ * rethrown with {@link ConcurrentRequests#await}.
+ */
+public class ResourceServiceAsync {
+    
+    private final ResourceService resourceService;
+    
+    public ResourceServiceAsync(ResourceService resourceService) {
+        this.resourceService = resourceService;
+    }
+    
+    public CompletableFuture<Resource> getResourceByIdentifier(SortableIdentifier identifier) {
+        return supplyAsync(() -> resourceService.getResourceByIdentifier(identifier));
+    }
+    
+    public CompletableFuture<Publication> getPublicationByIdentifier(SortableIdentifier identifier) {
+        return supplyAsync(() -> resourceService.getPublicationByIdentifier(identifier));
+    }
+    
+    public CompletableFuture<Publication> getPublicationByIdentifierBypassingCache(SortableIdentifier identifier) {
+        return supplyAsync(() -> resourceService.getPublicationByIdentifierBypassingCache(identifier));
+    }
+    
+    public CompletableFuture<Publication> getPublicationOfTicket(TicketEntry ticket) {
+        return supplyAsync(() -> resourceService.getPublicationOfTicket(ticket));
+    }
+}
@@ -4,12 +4,12 @@ import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KE
 import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import no.unit.nva.model.Organization;
 import no.unit.nva.publication.model.business.UserInstance;
-import no.unit.nva.publication.model.storage.WithPrimaryKey;
 
 public final class ResourceServiceUtils {
     
@@ -33,10 +33,19 @@ public final class ResourceServiceUtils {
     private ResourceServiceUtils() {
     }
     
-    static Map<String, AttributeValue> primaryKeyEqualityConditionAttributeValues(WithPrimaryKey resourceDao) {
-        return Map.of(PARTITION_KEY_VALUE_PLACEHOLDER,
-            new AttributeValue(resourceDao.getPrimaryKeyPartitionKey()),
-            SORT_KEY_VALUE_PLACEHOLDER, new AttributeValue(resourceDao.getPrimaryKeySortKey()));
+    static Map<String, AttributeValue> primaryKeyEqualityConditionAttributeValues(
+        Map<String, AttributeValue> primaryKey) {
+        return Map.of(PARTITION_KEY_VALUE_PLACEHOLDER, primaryKey.get(PRIMARY_KEY_PARTITION_KEY_NAME),
+            SORT_KEY_VALUE_PLACEHOLDER, primaryKey.get(PRIMARY_KEY_SORT_KEY_NAME));
+    }
+    
+    // An entry that is stored under another key than the one of its Dao, e.g. a Resource in the unsharded partition of
+    // a sharded owner, is written under the key it is stored under.
+    static Map<String, AttributeValue> withPrimaryKey(Map<String, AttributeValue> item,
+                                                      Map<String, AttributeValue> primaryKey) {
+        var itemWithPrimaryKey = new HashMap<>(item);
+        itemWithPrimaryKey.putAll(primaryKey);
+        return itemWithPrimaryKey;
     }
     
     static Organization newOrganization(URI organizationUri) {
@@ -1,17 +1,20 @@
 package no.unit.nva.publication.service.impl;
 
+import static no.unit.nva.publication.PublicationServiceConfig.READ_BACK_CREATED_ENTRIES;
 import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
 import static no.unit.nva.publication.model.storage.Dao.CONTAINED_DATA_FIELD_NAME;
+import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
 import static no.unit.nva.publication.model.storage.JoinWithResource.Constants.DOI_REQUEST_INDEX_IN_QUERY_RESULT;
 import static no.unit.nva.publication.model.storage.JoinWithResource.Constants.RESOURCE_INDEX_IN_QUERY_RESULT;
 import static no.unit.nva.publication.service.impl.ReadResourceService.RESOURCE_NOT_FOUND_MESSAGE;
-import static no.unit.nva.publication.service.impl.ResourceService.AWAIT_TIME_BEFORE_FETCH_RETRY;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.KEY_NOT_EXISTS_CONDITION;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.PRIMARY_KEY_EQUALITY_CONDITION_ATTRIBUTE_NAMES;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.Delete;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.Put;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
@@ -19,6 +22,7 @@ import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import no.unit.nva.publication.exception.TransactionFailedException;
 import no.unit.nva.publication.model.business.Entity;
@@ -29,7 +33,6 @@ import no.unit.nva.publication.model.storage.ResourceDao;
 import no.unit.nva.publication.model.storage.WithPrimaryKey;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.attempt.Failure;
-import nva.commons.core.attempt.FunctionWithException;
 
 public class ServiceWithTransactions {
     
@@ -39,12 +42,13 @@ public class ServiceWithTransactions {
     public static final String STATUS_FIELD_IN_RESOURCE = "status";
     public static final String MODIFIED_FIELD_IN_RESOURCE = "modifiedDate";
     public static final String ASSOCIATED_ARIFACTS_FIELD = "associatedArtifacts";
-    private static final Integer MAX_FETCH_ATTEMPTS = 3;
     
     private final AmazonDynamoDB client;
     
+    // When DynamoDB request metrics are enabled, every request of the services is instrumented, whichever client
+    // they are created with.
     protected ServiceWithTransactions(AmazonDynamoDB client) {
-        this.client = client;
+        this.client = InstrumentedDynamoDbClient.instrument(client);
     }
     
     protected static <T extends DynamoEntry> TransactWriteItem newPutTransactionItem(T data) {
@@ -65,15 +69,27 @@ public class ServiceWithTransactions {
         return new TransactWriteItemsRequest().withTransactItems(transactionItems);
     }
     
-    protected <T extends Entity, E extends Exception> Optional<T> fetchEventualConsistentDataEntry(
-        T dynamoEntry,
-        FunctionWithException<T, T, E> nonEventuallyConsistentFetch) {
-        T savedEntry = null;
-        for (int times = 0; times < MAX_FETCH_ATTEMPTS && savedEntry == null; times++) {
-            savedEntry = attempt(() -> nonEventuallyConsistentFetch.apply(dynamoEntry)).orElse(fail -> null);
-            attempt(this::waitBeforeFetching).orElseThrow();
-        }
-        return Optional.ofNullable(savedEntry);
+    /**
+     * Returns an entry that has just been written in a successful transaction. The written entry is returned as is,
+     * unless reading back the created entries is enabled, in which case the entry is fetched with a strongly
+     * consistent read of its primary key.
+     *
+     * @param entry the entry that was written.
+     * @param <T>   the entry type.
+     * @return the created entry.
+     */
+    protected <T extends Entity> T createdEntry(T entry) {
+        return READ_BACK_CREATED_ENTRIES ? fetchConsistently(entry) : entry;
+    }
+    
+    @SuppressWarnings("unchecked")
+    protected <T extends Entity> T fetchConsistently(T entry) {
+        var getItemRequest = new GetItemRequest()
+                                 .withTableName(RESOURCES_TABLE_NAME)
+                                 .withKey(entry.toDao().primaryKey())
+                                 .withConsistentRead(true);
+        var item = getClient().getItem(getItemRequest).getItem();
+        return (T) parseAttributeValuesMap(item, Dao.class).getData();
     }
     
     protected final AmazonDynamoDB getClient() {
@@ -81,8 +97,12 @@ public class ServiceWithTransactions {
     }
     
     protected <T extends WithPrimaryKey> TransactWriteItem newDeleteTransactionItem(T dynamoEntry) {
+        return newDeleteTransactionItem(dynamoEntry.primaryKey());
+    }
+    
+    protected TransactWriteItem newDeleteTransactionItem(Map<String, AttributeValue> primaryKey) {
         return new TransactWriteItem()
-                   .withDelete(new Delete().withTableName(RESOURCES_TABLE_NAME).withKey(dynamoEntry.primaryKey()));
+                   .withDelete(new Delete().withTableName(RESOURCES_TABLE_NAME).withKey(primaryKey));
     }
     
     protected Optional<DoiRequestDao> extractDoiRequest(List<Dao> daos) {
@@ -109,11 +129,6 @@ public class ServiceWithTransactions {
             .orElseThrow(this::handleTransactionFailure);
     }
     
-    private Void waitBeforeFetching() throws InterruptedException {
-        Thread.sleep(AWAIT_TIME_BEFORE_FETCH_RETRY);
-        return null;
-    }
-    
     private TransactionFailedException handleTransactionFailure(Failure<TransactWriteItemsResult> fail) {
         return new TransactionFailedException(fail.getException());
     }
@@ -2,17 +2,21 @@ package no.unit.nva.publication.service.impl;
 
 import static no.unit.nva.publication.PublicationServiceConfig.DEFAULT_DYNAMODB_CLIENT;
 import static no.unit.nva.publication.model.business.TicketEntry.createNewTicket;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.await;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import java.net.URI;
 import java.time.Clock;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
+import no.unit.nva.publication.model.ListingResult;
 import no.unit.nva.publication.model.business.Message;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.TicketStatus;
@@ -21,13 +25,13 @@ import no.unit.nva.publication.model.business.UserInstance;
 import no.unit.nva.publication.model.storage.Dao;
 import no.unit.nva.publication.model.storage.MessageDao;
 import no.unit.nva.publication.model.storage.TicketDao;
+import no.unit.nva.publication.model.storage.TicketsByCustomerAndStatusQuery;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.apigateway.exceptions.ConflictException;
 import nva.commons.apigateway.exceptions.ForbiddenException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
-import nva.commons.core.attempt.FunctionWithException;
 
 public class TicketService extends ServiceWithTransactions {
     
@@ -36,6 +40,7 @@ public class TicketService extends ServiceWithTransactions {
     
     private final Supplier<SortableIdentifier> identifierProvider;
     private final ResourceService resourceService;
+    private final ResourceServiceAsync resourceServiceAsync;
     
     public TicketService(AmazonDynamoDB client) {
         this(client, DEFAULT_IDENTIFIER_PROVIDER);
@@ -46,6 +51,7 @@ public class TicketService extends ServiceWithTransactions {
         super(client);
         this.identifierProvider = identifierProvider;
         resourceService = new ResourceService(client, Clock.systemDefaultZone(), identifierProvider);
+        resourceServiceAsync = new ResourceServiceAsync(resourceService);
     }
     
     @JacocoGenerated
@@ -135,11 +141,37 @@ public class TicketService extends ServiceWithTransactions {
                    .orElseThrow(TicketService::notFoundException);
     }
     
+    /**
+     * Streams the tickets of a user. The stream should be closed, so that pages that are still being prefetched are
+     * cancelled.
+     *
+     * @param userInstance the user.
+     * @return the tickets of the user.
+     */
     public Stream<TicketEntry> fetchTicketsForUser(UserInstance userInstance) {
         var queryObject = UntypedTicketQueryObject.create(userInstance);
         return queryObject.fetchTicketsForUser(getClient());
     }
     
+    /**
+     * Lists the tickets of a customer with the given status, most recent first.
+     *
+     * @param customerId  the customer of the tickets.
+     * @param status      the status of the tickets.
+     * @param ticketType  the type of the tickets, or null for tickets of all types.
+     * @param pageSize    the maximum number of tickets to return.
+     * @param startMarker the start marker returned with the previous page, or null for the first page.
+     * @return a page of tickets with the start marker of the next page.
+     */
+    public ListingResult<TicketEntry> listTicketsByCustomerAndStatus(URI customerId,
+                                                                     TicketStatus status,
+                                                                     Class<? extends TicketEntry> ticketType,
+                                                                     int pageSize,
+                                                                     Map<String, AttributeValue> startMarker) {
+        return TicketsByCustomerAndStatusQuery.create(customerId, status, ticketType, pageSize)
+                   .fetchPage(getClient(), startMarker);
+    }
+    
     public TicketEntry fetchTicketByIdentifier(SortableIdentifier ticketIdentifier)
         throws NotFoundException {
         var queryObject = TicketEntry.createQueryObject(ticketIdentifier);
@@ -152,13 +184,15 @@ public class TicketService extends ServiceWithTransactions {
     }
     
     protected TicketEntry completeTicket(TicketEntry ticketEntry) throws ApiGatewayException {
-        var publication = resourceService.getPublicationByIdentifier(ticketEntry.extractPublicationIdentifier());
+        var publicationRead =
+            resourceServiceAsync.getPublicationByIdentifierBypassingCache(ticketEntry.extractPublicationIdentifier());
         var existingTicket =
             attempt(() -> fetchTicketByIdentifier(ticketEntry.getIdentifier()))
-                .or(() -> fetchByResourceIdentifierForLegacyDoiRequestsAndPublishingRequests(ticketEntry))
-                .orElseThrow(fail -> notFoundException());
+                .or(() -> fetchByResourceIdentifierForLegacyDoiRequestsAndPublishingRequests(ticketEntry));
+        var publication = await(publicationRead, ApiGatewayException.class);
         
-        var completed = attempt(() -> existingTicket.complete(publication))
+        var ticket = existingTicket.orElseThrow(fail -> notFoundException());
+        var completed = attempt(() -> ticket.complete(publication))
                             .orElseThrow(fail -> handlerTicketUpdateFailure(fail.getException()));
         
         var putItemRequest = ((TicketDao) completed.toDao()).createPutItemRequest();
@@ -167,9 +201,10 @@ public class TicketService extends ServiceWithTransactions {
     }
     
     protected TicketEntry closeTicket(TicketEntry pendingTicket) throws ApiGatewayException {
-        //TODO: can we get both entries at the same time using the single table design?
-        resourceService.getPublicationByIdentifier(pendingTicket.extractPublicationIdentifier());
+        var publicationRead =
+            resourceServiceAsync.getPublicationByIdentifier(pendingTicket.extractPublicationIdentifier());
         var persistedTicket = fetchTicketByIdentifier(pendingTicket.getIdentifier());
+        await(publicationRead, ApiGatewayException.class);
         var closedTicket = persistedTicket.close();
     
         var dao = (TicketDao) closedTicket.toDao();
@@ -204,8 +239,6 @@ public class TicketService extends ServiceWithTransactions {
         var ticketEntry = createNewTicket(publication, ticketType, identifierProvider);
         var request = ticketEntry.toDao().createInsertionTransactionRequest();
         sendTransactionWriteRequest(request);
-        FunctionWithException<TicketEntry, TicketEntry, NotFoundException>
-            fetchTicketProvider = this::fetchTicket;
-        return (T) fetchEventualConsistentDataEntry(ticketEntry, fetchTicketProvider).orElseThrow();
+        return (T) createdEntry(ticketEntry);
     }
 }
\ No newline at end of file
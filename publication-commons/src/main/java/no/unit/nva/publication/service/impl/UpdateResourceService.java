@@ -1,23 +1,34 @@
 package no.unit.nva.publication.service.impl;
 
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.PublicationServiceConfig.MAX_TICKETS_UPDATED_IN_TRANSACTION;
 import static no.unit.nva.publication.model.business.PublishingRequestCase.assertThatPublicationHasMinimumMandatoryFields;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.PRIMARY_KEY_EQUALITY_CHECK_EXPRESSION;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.PRIMARY_KEY_EQUALITY_CONDITION_ATTRIBUTE_NAMES;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.primaryKeyEqualityConditionAttributeValues;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.userOrganization;
+import static no.unit.nva.publication.service.impl.ResourceServiceUtils.withPrimaryKey;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
 import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
@@ -26,16 +37,17 @@ import no.unit.nva.model.ResourceOwner;
 import no.unit.nva.publication.exception.InvalidPublicationException;
 import no.unit.nva.publication.exception.TransactionFailedException;
 import no.unit.nva.publication.model.PublishPublicationStatusResponse;
-import no.unit.nva.publication.model.business.Entity;
 import no.unit.nva.publication.model.business.Owner;
 import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
 import no.unit.nva.publication.model.storage.Dao;
-import no.unit.nva.publication.model.storage.DynamoEntry;
 import no.unit.nva.publication.model.storage.ResourceDao;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.ConflictException;
 import nva.commons.apigateway.exceptions.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class UpdateResourceService extends ServiceWithTransactions {
     
@@ -44,13 +56,27 @@ public class UpdateResourceService extends ServiceWithTransactions {
     public static final String PUBLISH_IN_PROGRESS = "Publication is being published. This may take a while.";
     public static final String RESOURCE_WITHOUT_MAIN_TITLE_ERROR = "Resource is missing main title: ";
     public static final String RESOURCE_LINK_FIELD = "link";
+    public static final String CONCURRENT_UPDATE_ERROR = "Publication has been modified since it was read: ";
     
+    private static final String VERSION_NAME_PLACEHOLDER = "#version";
+    private static final String VERSION_VALUE_PLACEHOLDER = ":version";
+    // Items written before versioning was introduced have no version. They get a random version when they are read,
+    // and they cannot have been modified since they were read, as every write stores a version.
+    private static final String PRIMARY_KEY_AND_VERSION_EQUALITY_CHECK_EXPRESSION =
+        PRIMARY_KEY_EQUALITY_CHECK_EXPRESSION + " AND (attribute_not_exists(" + VERSION_NAME_PLACEHOLDER + ") OR "
+        + VERSION_NAME_PLACEHOLDER + " = " + VERSION_VALUE_PLACEHOLDER + ")";
+    private static final String PRIMARY_KEY_AND_NO_VERSION_CHECK_EXPRESSION =
+        PRIMARY_KEY_EQUALITY_CHECK_EXPRESSION + " AND attribute_not_exists(" + VERSION_NAME_PLACEHOLDER + ")";
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final int RESOURCE_INDEX_IN_TRANSACTION = 0;
+    private static final Logger logger = LoggerFactory.getLogger(UpdateResourceService.class);
     //TODO: fix affiliation update when updating owner
     private static final URI AFFILIATION_UPDATE_NOT_UPDATE_YET = null;
     
     private final String tableName;
     private final Clock clockForTimestamps;
     private final ReadResourceService readResourceService;
+    private final BatchWriter batchWriter;
     
     public UpdateResourceService(AmazonDynamoDB client,
                                  String tableName,
@@ -60,6 +86,7 @@ public class UpdateResourceService extends ServiceWithTransactions {
         this.tableName = tableName;
         this.clockForTimestamps = clockForTimestamps;
         this.readResourceService = readResourceService;
+        this.batchWriter = new BatchWriter(getClient(), tableName);
     }
     
     public Publication updatePublicationButDoNotChangeStatus(Publication publication) {
@@ -75,27 +102,74 @@ public class UpdateResourceService extends ServiceWithTransactions {
         publicationUpdate.setCreatedDate(persistedPublication.getCreatedDate());
         publicationUpdate.setModifiedDate(clockForTimestamps.instant());
         var resource = Resource.fromPublication(publicationUpdate);
+        var primaryKey = fetchStoredPrimaryKey(resource);
         
-        var updateResourceTransactionItem = updateResource(resource);
-        var updateTicketsTransactionItems = updateTickets(resource);
-        var transactionItems = new ArrayList<TransactWriteItem>();
-        transactionItems.add(updateResourceTransactionItem);
-        transactionItems.addAll(updateTicketsTransactionItems);
-        
-        var request = new TransactWriteItemsRequest().withTransactItems(transactionItems);
+        var request = newTransactWriteItemsRequest(
+            updateResourceAndTickets(updateResource(resource, primaryKey), resource));
         sendTransactionWriteRequest(request);
+        readResourceService.invalidateCachedResource(resource.getIdentifier());
         
         return publicationUpdate;
     }
     
+    /**
+     * Updates a Publication without reading it first. The write succeeds only if the stored Resource is still at the
+     * version the update is based on, so that concurrent updates are rejected instead of overwriting each other. The
+     * update must be based on the stored Publication, so that it carries its creation date and status.
+     *
+     * @param publicationUpdate the updated Publication.
+     * @param expectedVersion   the version of the Resource the update is based on, or null when the update is based
+     *                          on a Resource that was stored without a version.
+     * @return the updated Publication.
+     * @throws ConflictException when the Resource has been modified or deleted since the expected version.
+     */
+    public Publication updatePublication(Publication publicationUpdate, UUID expectedVersion)
+        throws ConflictException {
+        publicationUpdate.setModifiedDate(clockForTimestamps.instant());
+        var resource = Resource.fromPublication(publicationUpdate);
+        var resourceDao = new ResourceDao(resource);
+        
+        // A Resource that its owner had before the owner was sharded is updated where it is stored, without reading it.
+        try {
+            updateResourceIfVersionIs(resource, resourceDao.primaryKey(), expectedVersion);
+        } catch (ConflictException conflict) {
+            var unshardedPrimaryKey = resourceDao.unshardedPrimaryKey().orElseThrow(() -> conflict);
+            updateResourceIfVersionIs(resource, unshardedPrimaryKey, expectedVersion);
+        }
+        readResourceService.invalidateCachedResource(resource.getIdentifier());
+        
+        return publicationUpdate;
+    }
+    
+    /**
+     * Updates the tickets of a Resource whose denormalized PublicationDetails do not match the Resource as currently
+     * stored. The tickets are written with batch requests, so there is no limit to how many tickets can be updated.
+     *
+     * @param resourceIdentifier the identifier of the Resource.
+     * @return the number of updated tickets.
+     * @throws NotFoundException when the Resource does not exist.
+     */
+    public int updateOutdatedTickets(SortableIdentifier resourceIdentifier) throws NotFoundException {
+        var resource = readResourceService.getResourceByIdentifierBypassingCache(resourceIdentifier);
+        var writeRequests = fetchOutdatedTickets(resource)
+                                .stream()
+                                .map(ticket -> updatedTicketEntry(ticket, resource))
+                                .map(item -> new WriteRequest(new PutRequest(item)))
+                                .collect(Collectors.toList());
+        batchWriter.write(writeRequests);
+        return writeRequests.size();
+    }
+    
     public void updateOwner(SortableIdentifier identifier, UserInstance oldOwner, UserInstance newOwner)
         throws NotFoundException {
         Resource existingResource = readResourceService.getResource(oldOwner, identifier);
         Resource newResource = updateResourceOwner(newOwner, existingResource);
-        TransactWriteItem deleteAction = newDeleteTransactionItem(new ResourceDao(existingResource));
+        TransactWriteItem deleteAction =
+            newDeleteTransactionItem(readResourceService.storedPrimaryKey(existingResource));
         TransactWriteItem insertionAction = newPutTransactionItem(new ResourceDao(newResource));
         TransactWriteItemsRequest request = newTransactWriteItemsRequest(deleteAction, insertionAction);
         sendTransactionWriteRequest(request);
+        readResourceService.invalidateCachedResource(identifier);
     }
     
     PublishPublicationStatusResponse publishPublication(UserInstance userInstance,
@@ -134,6 +208,11 @@ public class UpdateResourceService extends ServiceWithTransactions {
                    .orElseThrow(fail -> new TransactionFailedException(fail.getException()));
     }
     
+    private Map<String, AttributeValue> fetchStoredPrimaryKey(Resource resource) {
+        return attempt(() -> readResourceService.storedPrimaryKey(resource))
+                   .orElseThrow(fail -> new TransactionFailedException(fail.getException()));
+    }
+    
     private Resource updateResourceOwner(UserInstance newOwner, Resource existingResource) {
         return existingResource
                    .copy()
@@ -144,29 +223,53 @@ public class UpdateResourceService extends ServiceWithTransactions {
                    .build();
     }
     
+    // Tickets are updated in the same transaction as the Resource only when few of them are outdated. Otherwise, they
+    // are updated by the handler of the Resource update event, see updateOutdatedTickets.
     private List<TransactWriteItem> updateTickets(Resource resource) {
-        var dao = new ResourceDao(resource);
-        var ticketDaos = dao.fetchAllTickets(getClient());
-        return ticketDaos.stream()
-                   .map(Dao::getData)
-                   .map(TicketEntry.class::cast)
-                   .map(ticket -> ticket.update(resource))
-                   .map(Entity::toDao)
-                   .map(DynamoEntry::toDynamoFormat)
+        var outdatedTickets = fetchOutdatedTickets(resource);
+        if (outdatedTickets.size() > MAX_TICKETS_UPDATED_IN_TRANSACTION) {
+            logger.info("Deferring the update of {} tickets of resource {}", outdatedTickets.size(),
+                resource.getIdentifier());
+            return Collections.emptyList();
+        }
+        return outdatedTickets.stream()
+                   .map(ticket -> updatedTicketEntry(ticket, resource))
                    .map(dynamoEntry -> new Put().withTableName(RESOURCES_TABLE_NAME).withItem(dynamoEntry))
                    .map(put -> new TransactWriteItem().withPut(put))
                    .collect(Collectors.toList());
     }
     
-    private TransactWriteItem updateResource(Resource resourceUpdate) {
+    private List<TicketEntry> fetchOutdatedTickets(Resource resource) {
+        return new ResourceDao(resource).fetchAllTickets(getClient())
+                   .stream()
+                   .map(Dao::getData)
+                   .map(TicketEntry.class::cast)
+                   .filter(ticket -> ticket.hasOutdatedPublicationDetails(resource))
+                   .collect(Collectors.toList());
+    }
+    
+    private static Map<String, AttributeValue> updatedTicketEntry(TicketEntry ticket, Resource resource) {
+        return ticket.update(resource).toDao().toDynamoFormat();
+    }
+    
+    private List<TransactWriteItem> updateResourceAndTickets(TransactWriteItem resourceUpdate, Resource resource) {
+        var transactionItems = new ArrayList<TransactWriteItem>();
+        transactionItems.add(resourceUpdate);
+        transactionItems.addAll(updateTickets(resource));
+        return transactionItems;
+    }
+    
+    // A Resource that its owner had before the owner was sharded is updated in the unsharded partition, where it is
+    // stored until the table is refreshed.
+    private TransactWriteItem updateResource(Resource resourceUpdate, Map<String, AttributeValue> primaryKey) {
         
         ResourceDao resourceDao = new ResourceDao(resourceUpdate);
         
         Map<String, AttributeValue> primaryKeyConditionAttributeValues =
-            primaryKeyEqualityConditionAttributeValues(resourceDao);
+            primaryKeyEqualityConditionAttributeValues(primaryKey);
         
         Put put = new Put()
-                      .withItem(resourceDao.toDynamoFormat())
+                      .withItem(withPrimaryKey(resourceDao.toDynamoFormat(), primaryKey))
                       .withTableName(tableName)
                       .withConditionExpression(PRIMARY_KEY_EQUALITY_CHECK_EXPRESSION)
                       .withExpressionAttributeNames(PRIMARY_KEY_EQUALITY_CONDITION_ATTRIBUTE_NAMES)
@@ -175,6 +278,55 @@ public class UpdateResourceService extends ServiceWithTransactions {
         return new TransactWriteItem().withPut(put);
     }
     
+    private void updateResourceIfVersionIs(Resource resource, Map<String, AttributeValue> primaryKey,
+                                           UUID expectedVersion) throws ConflictException {
+        var resourceUpdate = updateResourceIfVersionIsRequest(resource, primaryKey, expectedVersion);
+        var request = newTransactWriteItemsRequest(updateResourceAndTickets(resourceUpdate, resource));
+        try {
+            getClient().transactWriteItems(request);
+        } catch (TransactionCanceledException exception) {
+            readResourceService.invalidateCachedResource(resource.getIdentifier());
+            if (resourceUpdateConditionFailed(exception)) {
+                throw new ConflictException(CONCURRENT_UPDATE_ERROR + resource.getIdentifier());
+            }
+            throw new TransactionFailedException(exception);
+        }
+    }
+    
+    private TransactWriteItem updateResourceIfVersionIsRequest(Resource resourceUpdate,
+                                                               Map<String, AttributeValue> primaryKey,
+                                                               UUID expectedVersion) {
+        var resourceDao = new ResourceDao(resourceUpdate);
+        
+        var attributeNames = new HashMap<>(PRIMARY_KEY_EQUALITY_CONDITION_ATTRIBUTE_NAMES);
+        attributeNames.put(VERSION_NAME_PLACEHOLDER, Dao.VERSION_FIELD);
+        var attributeValues = new HashMap<>(primaryKeyEqualityConditionAttributeValues(primaryKey));
+        if (nonNull(expectedVersion)) {
+            attributeValues.put(VERSION_VALUE_PLACEHOLDER, new AttributeValue(expectedVersion.toString()));
+        }
+        var condition = nonNull(expectedVersion)
+                            ? PRIMARY_KEY_AND_VERSION_EQUALITY_CHECK_EXPRESSION
+                            : PRIMARY_KEY_AND_NO_VERSION_CHECK_EXPRESSION;
+        
+        var put = new Put()
+                      .withItem(withPrimaryKey(resourceDao.toDynamoFormat(), primaryKey))
+                      .withTableName(tableName)
+                      .withConditionExpression(condition)
+                      .withExpressionAttributeNames(attributeNames)
+                      .withExpressionAttributeValues(attributeValues);
+        
+        return new TransactWriteItem().withPut(put);
+    }
+    
+    private static boolean resourceUpdateConditionFailed(TransactionCanceledException exception) {
+        return Optional.ofNullable(exception.getCancellationReasons())
+                   .filter(reasons -> reasons.size() > RESOURCE_INDEX_IN_TRANSACTION)
+                   .map(reasons -> reasons.get(RESOURCE_INDEX_IN_TRANSACTION))
+                   .map(CancellationReason::getCode)
+                   .map(CONDITIONAL_CHECK_FAILED::equals)
+                   .orElseGet(() -> String.valueOf(exception.getMessage()).contains(CONDITIONAL_CHECK_FAILED));
+    }
+    
     private PublishPublicationStatusResponse publishingInProgressStatus() {
         return new PublishPublicationStatusResponse(PUBLISH_IN_PROGRESS, HttpURLConnection.HTTP_ACCEPTED);
     }
@@ -0,0 +1,118 @@
+package no.unit.nva.publication.utils;
+
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.PrintStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.commons.json.JsonUtils;
+
+/**
+ * Writes metrics as log lines in the CloudWatch Embedded Metric Format, so that CloudWatch extracts them from the
+ * Lambda logs without extra API calls.
+ */
+public class EmbeddedMetrics {
+    
+    public static final String NAMESPACE = "NVA/Publications";
+    public static final String OPERATION_DIMENSION = "Operation";
+    public static final String LATENCY_METRIC = "Latency";
+    public static final String MILLISECONDS = "Milliseconds";
+    public static final String COUNT = "Count";
+    public static final EmbeddedMetrics STANDARD_OUTPUT = new EmbeddedMetrics(System.out, Clock.systemDefaultZone());
+    private final PrintStream output;
+    private final Clock clock;
+    
+    public EmbeddedMetrics(PrintStream output, Clock clock) {
+        this.output = output;
+        this.clock = clock;
+    }
+    
+    public Instant now() {
+        return clock.instant();
+    }
+    
+    /**
+     * Writes the time elapsed since the start of an operation as the Latency metric of the operation.
+     *
+     * @param operation the name of the operation.
+     * @param start     the start of the operation, as returned by {@link #now()}.
+     */
+    public void putLatencySince(String operation, Instant start) {
+        var latency = Duration.between(start, now());
+        put(Map.of(OPERATION_DIMENSION, operation), List.of(Metric.milliseconds(LATENCY_METRIC, latency)));
+    }
+    
+    /**
+     * Writes a set of metrics that share the same dimensions as a single log line.
+     *
+     * @param dimensions the dimensions of the metrics.
+     * @param metrics    the metrics.
+     */
+    public void put(Map<String, String> dimensions, List<Metric> metrics) {
+        var entry = JsonUtils.dtoObjectMapper.createObjectNode();
+        var metricDirective = entry.putObject("_aws")
+                                  .put("Timestamp", now().toEpochMilli())
+                                  .putArray("CloudWatchMetrics")
+                                  .addObject()
+                                  .put("Namespace", NAMESPACE);
+        var dimensionSet = metricDirective.putArray("Dimensions").addArray();
+        dimensions.forEach((name, value) -> {
+            dimensionSet.add(name);
+            entry.put(name, value);
+        });
+        var metricDefinitions = metricDirective.putArray("Metrics");
+        metrics.forEach(metric -> addMetric(entry, metricDefinitions.addObject(), metric));
+        output.println(attempt(() -> JsonUtils.dtoObjectMapper.writeValueAsString(entry)).orElseThrow());
+    }
+    
+    private static void addMetric(ObjectNode entry, ObjectNode metricDefinition, Metric metric) {
+        metricDefinition.put("Name", metric.getName()).put("Unit", metric.getUnit());
+        entry.put(metric.getName(), metric.getValue());
+    }
+    
+    public static final class Metric {
+    
+        private final String name;
+        private final double value;
+        private final String unit;
+    
+        private Metric(String name, double value, String unit) {
+            this.name = name;
+            this.value = value;
+            this.unit = unit;
+        }
+    
+        public static Metric milliseconds(String name, Duration duration) {
+            return new Metric(name, duration.toNanos() / 1_000_000.0, MILLISECONDS);
+        }
+    
+        public static Metric count(String name, double value) {
+            return new Metric(name, value, COUNT);
+        }
+    
+        /**
+         * Adds the value of another metric with the same name and unit to the value of this metric.
+         *
+         * @param other the other metric.
+         * @return the sum of the metrics.
+         */
+        public Metric plus(Metric other) {
+            return new Metric(name, value + other.getValue(), unit);
+        }
+    
+        public String getName() {
+            return name;
+        }
+    
+        public double getValue() {
+            return value;
+        }
+    
+        public String getUnit() {
+            return unit;
+        }
+    }
+}
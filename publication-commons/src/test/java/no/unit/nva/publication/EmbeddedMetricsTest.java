@@ -0,0 +1,44 @@
+package no.unit.nva.publication;
+
+import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.LATENCY_METRIC;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.MILLISECONDS;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.NAMESPACE;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.OPERATION_DIMENSION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import org.junit.jupiter.api.Test;
+
+class EmbeddedMetricsTest {
+    
+    public static final String OPERATION = "SomeOperation";
+    
+    @Test
+    void shouldWriteLatencyOfOperationInEmbeddedMetricFormat() throws Exception {
+        var output = new ByteArrayOutputStream();
+        var clock = mock(Clock.class);
+        var start = Instant.parse("2022-01-01T00:00:00Z");
+        when(clock.instant()).thenReturn(start.plusMillis(120));
+        var metrics = new EmbeddedMetrics(new PrintStream(output, true, StandardCharsets.UTF_8), clock);
+    
+        metrics.putLatencySince(OPERATION, start);
+    
+        var logEntry = dtoObjectMapper.readTree(output.toString(StandardCharsets.UTF_8));
+        var metricDirective = logEntry.at("/_aws/CloudWatchMetrics/0");
+        assertThat(metricDirective.at("/Namespace").textValue(), is(equalTo(NAMESPACE)));
+        assertThat(metricDirective.at("/Dimensions/0/0").textValue(), is(equalTo(OPERATION_DIMENSION)));
+        assertThat(metricDirective.at("/Metrics/0/Name").textValue(), is(equalTo(LATENCY_METRIC)));
+        assertThat(metricDirective.at("/Metrics/0/Unit").textValue(), is(equalTo(MILLISECONDS)));
+        assertThat(logEntry.at("/" + OPERATION_DIMENSION).textValue(), is(equalTo(OPERATION)));
+        assertThat(logEntry.at("/" + LATENCY_METRIC).doubleValue(), is(equalTo(120.0)));
+    }
+}
@@ -0,0 +1,155 @@
+package no.unit.nva.publication.model.business;
+
+import static java.util.Objects.isNull;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class QuerySpliteratorTest {
+    
+    public static final int PAGE_SIZE = 5;
+    public static final int NUMBER_OF_ENTRIES = 53;
+    public static final String INDEX_FIELD = "index";
+    public static final boolean SINGLE_THREADED = false;
+    private final AtomicInteger queryCount = new AtomicInteger();
+    
+    @ParameterizedTest(name = "should return all entries in order with prefetch depth {0}")
+    @ValueSource(ints = {0, 1, 3})
+    void shouldReturnAllEntriesInOrder(int prefetchDepth) {
+        var client = pagedClient(NUMBER_OF_ENTRIES, List.of());
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, prefetchDepth);
+        var actualIndices = StreamSupport.stream(spliterator, SINGLE_THREADED)
+                                .map(QuerySpliteratorTest::index)
+                                .collect(Collectors.toList());
+        var expectedIndices = IntStream.range(0, NUMBER_OF_ENTRIES).boxed().collect(Collectors.toList());
+        assertThat(actualIndices, is(equalTo(expectedIndices)));
+    }
+    
+    @ParameterizedTest(name = "should continue after pages where all items were filtered out with prefetch depth {0}")
+    @ValueSource(ints = {0, 2})
+    void shouldContinueAfterPagesWhereAllItemsWereFilteredOut(int prefetchDepth) {
+        var emptyPages = List.of(0, 1, 4);
+        var client = pagedClient(NUMBER_OF_ENTRIES, emptyPages);
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, prefetchDepth);
+        var count = StreamSupport.stream(spliterator, SINGLE_THREADED).count();
+        assertThat(count, is(equalTo((long) NUMBER_OF_ENTRIES - emptyPages.size() * PAGE_SIZE)));
+    }
+    
+    @ParameterizedTest(name = "should not request more pages than the prefetch depth ahead of the consumer: {0}")
+    @ValueSource(ints = {1, 3})
+    void shouldNotRequestMorePagesThanThePrefetchDepthAheadOfTheConsumer(int prefetchDepth) {
+        var client = pagedClient(NUMBER_OF_ENTRIES, List.of());
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, prefetchDepth);
+        try (var stream = StreamSupport.stream(spliterator, SINGLE_THREADED).onClose(spliterator::cancel)) {
+            var first = stream.findFirst().map(QuerySpliteratorTest::index).orElseThrow();
+            assertThat(first, is(equalTo(0)));
+        }
+        assertThat(queryCount.get(), is(lessThanOrEqualTo(1 + prefetchDepth)));
+    }
+    
+    @Test
+    void shouldNotReturnMoreEntriesWhenCancelled() {
+        var client = pagedClient(NUMBER_OF_ENTRIES, List.of());
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, 2);
+        spliterator.tryAdvance(item -> {
+        });
+        spliterator.cancel();
+        var remaining = StreamSupport.stream(spliterator, SINGLE_THREADED).count();
+        assertThat(remaining, is(equalTo((long) PAGE_SIZE - 1)));
+    }
+    
+    @ParameterizedTest(name = "should not request more pages after the last page with prefetch depth {0}")
+    @ValueSource(ints = {0, 2})
+    void shouldNotRequestMorePagesAfterTheLastPage(int prefetchDepth) {
+        var client = pagedClient(NUMBER_OF_ENTRIES, List.of());
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, prefetchDepth);
+        StreamSupport.stream(spliterator, SINGLE_THREADED).count();
+        var expectedNumberOfPages = (NUMBER_OF_ENTRIES + PAGE_SIZE - 1) / PAGE_SIZE;
+        assertThat(queryCount.get(), is(equalTo(expectedNumberOfPages)));
+        assertThat(spliterator.tryAdvance(item -> {
+        }), is(equalTo(false)));
+        assertThat(queryCount.get(), is(equalTo(expectedNumberOfPages)));
+        assertThat(spliterator.estimateSize(), is(equalTo(0L)));
+    }
+    
+    @Test
+    void shouldPropagateExceptionThrownWhileFetchingPageInTheBackground() {
+        var client = mock(AmazonDynamoDB.class);
+        var expectedException = new IllegalStateException("expected");
+        when(client.query(any(QueryRequest.class))).thenThrow(expectedException);
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, 2);
+        var actualException = assertThrows(IllegalStateException.class,
+            () -> StreamSupport.stream(spliterator, SINGLE_THREADED).count());
+        assertThat(actualException, is(equalTo(expectedException)));
+    }
+    
+    @Test
+    void shouldEstimateRemainingSizeFromTheLatestPage() {
+        var client = pagedClient(NUMBER_OF_ENTRIES, List.of());
+        var spliterator = new QuerySpliterator(client, new QueryRequest(), PAGE_SIZE, 1);
+        assertThat(spliterator.estimateSize(), is(equalTo(Long.MAX_VALUE)));
+        spliterator.tryAdvance(item -> {
+        });
+        assertThat(spliterator.estimateSize(), is(equalTo((long) 2 * PAGE_SIZE - 1)));
+    }
+    
+    @Test
+    void shouldReportOrderedAndNonNullCharacteristics() {
+        var spliterator = new QuerySpliterator(mock(AmazonDynamoDB.class), new QueryRequest(), PAGE_SIZE);
+        assertThat(spliterator.characteristics(), is(equalTo(Spliterator.ORDERED | Spliterator.NONNULL)));
+    }
+    
+    private static int index(Map<String, AttributeValue> item) {
+        return Integer.parseInt(item.get(INDEX_FIELD).getN());
+    }
+    
+    private AmazonDynamoDB pagedClient(int numberOfEntries, List<Integer> filteredPages) {
+        var client = mock(AmazonDynamoDB.class);
+        when(client.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            queryCount.incrementAndGet();
+            QueryRequest request = invocation.getArgument(0);
+            return page(request, numberOfEntries, filteredPages);
+        });
+        return client;
+    }
+    
+    private static QueryResult page(QueryRequest request, int numberOfEntries, List<Integer> filteredPages) {
+        var start = isNull(request.getExclusiveStartKey()) ? 0 : index(request.getExclusiveStartKey()) + 1;
+        var end = Math.min(start + request.getLimit(), numberOfEntries);
+        var pageNumber = start / request.getLimit();
+        var items = filteredPages.contains(pageNumber)
+                        ? List.<Map<String, AttributeValue>>of()
+                        : IntStream.range(start, end)
+                              .mapToObj(QuerySpliteratorTest::item)
+                              .collect(Collectors.toList());
+        var lastEvaluatedKey = end < numberOfEntries ? item(end - 1) : null;
+        return new QueryResult()
+                   .withItems(items)
+                   .withCount(items.size())
+                   .withScannedCount(end - start)
+                   .withLastEvaluatedKey(lastEvaluatedKey);
+    }
+    
+    private static Map<String, AttributeValue> item(int index) {
+        return Map.of(INDEX_FIELD, new AttributeValue().withN(String.valueOf(index)));
+    }
+}
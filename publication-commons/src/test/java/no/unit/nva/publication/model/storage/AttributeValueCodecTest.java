@@ -0,0 +1,41 @@
+package no.unit.nva.publication.model.storage;
+
+import static no.unit.nva.publication.model.business.StorageModelConfig.dynamoDbObjectMapper;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.fromAttributeValueMap;
+import static no.unit.nva.publication.model.storage.AttributeValueCodec.toAttributeValueMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class AttributeValueCodecTest {
+
+    public static Stream<Dao> instanceProvider() {
+        return DaoUtils.instanceProvider();
+    }
+
+    @ParameterizedTest(name = "should produce the same item as the JSON document conversion: {0}")
+    @MethodSource("instanceProvider")
+    void shouldProduceTheSameItemAsTheJsonDocumentConversion(Dao dao) throws IOException {
+        var expectedItem = ItemUtils.toAttributeValues(
+            Item.fromJSON(dynamoDbObjectMapper.writeValueAsString(dao)));
+        var actualItem = toAttributeValueMap(dynamoDbObjectMapper, dao);
+        assertThat(actualItem, is(equalTo(expectedItem)));
+    }
+
+    @ParameterizedTest(name = "should parse items created by the JSON document conversion: {0}")
+    @MethodSource("instanceProvider")
+    void shouldParseItemsCreatedByTheJsonDocumentConversion(Dao dao) throws IOException {
+        Map<String, AttributeValue> item = ItemUtils.toAttributeValues(
+            Item.fromJSON(dynamoDbObjectMapper.writeValueAsString(dao)));
+        var parsed = fromAttributeValueMap(dynamoDbObjectMapper, item, Dao.class);
+        assertThat(parsed, is(equalTo(dao)));
+    }
+}
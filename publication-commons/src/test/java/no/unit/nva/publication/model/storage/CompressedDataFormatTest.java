@@ -0,0 +1,76 @@
+package no.unit.nva.publication.model.storage;
+
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.DATA_FORMAT_FIELD;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.GZIP_JSON_V1;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.compress;
+import static no.unit.nva.publication.model.storage.CompressedDataFormat.decompress;
+import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.service.ResourcesLocalTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompressedDataFormatTest extends ResourcesLocalTest {
+
+    @BeforeEach
+    public void init() {
+        super.init();
+    }
+
+    @Test
+    void shouldParseCompressedEntryToTheOriginalDao() throws IOException {
+        var dao = DaoUtils.sampleResourceDao();
+        var compressed = compress(dao);
+        assertThat(compressed.get(DATA_FORMAT_FIELD).getS(), is(equalTo(GZIP_JSON_V1)));
+        assertThat(compressed.get(Dao.CONTAINED_DATA_FIELD_NAME).getB(), is(not(nullValue())));
+
+        var parsed = parseAttributeValuesMap(compressed, ResourceDao.class);
+        assertThat(parsed, is(equalTo(dao)));
+    }
+
+    @Test
+    void shouldKeepKeyAttributesAndMirrorStatusAsTopLevelAttributes() throws IOException {
+        var dao = DaoUtils.sampleResourceDao();
+        var defaultFormat = dao.toDynamoFormat();
+        var compressed = compress(dao);
+
+        assertThat(keyAttributes(compressed), is(equalTo(keyAttributes(defaultFormat))));
+        assertThat(compressed.get("status").getS(), is(equalTo(dao.getData().getStatusString())));
+    }
+
+    @Test
+    void shouldDecompressEntryToTheDefaultFormat() throws IOException {
+        var dao = DaoUtils.sampleResourceDao();
+        assertThat(decompress(compress(dao)), is(equalTo(dao.toDynamoFormat())));
+    }
+
+    @Test
+    void shouldReturnEntryInDefaultFormatUnchanged() throws IOException {
+        var item = DaoUtils.sampleResourceDao().toDynamoFormat();
+        assertThat(decompress(item), is(equalTo(item)));
+    }
+
+    @Test
+    void shouldReadCompressedEntryStoredInDynamo() throws IOException {
+        var dao = DaoUtils.sampleResourceDao();
+        client.putItem(RESOURCES_TABLE_NAME, compress(dao));
+        var savedItem = client.getItem(RESOURCES_TABLE_NAME, dao.primaryKey()).getItem();
+        assertThat(parseAttributeValuesMap(savedItem, ResourceDao.class), is(equalTo(dao)));
+    }
+
+    private static Map<String, AttributeValue> keyAttributes(Map<String, AttributeValue> item) {
+        return item.entrySet()
+                   .stream()
+                   .filter(entry -> entry.getKey().startsWith("PK") || entry.getKey().startsWith("SK"))
+                   .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -15,6 +15,7 @@ import static no.unit.nva.publication.storage.model.DatabaseConstants.PRIMARY_KE
 import static no.unit.nva.publication.storage.model.DatabaseConstants.RESOURCES_TABLE_NAME;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.STATUS_INDEX_FIELD_PREFIX;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.everyItem;
@@ -33,11 +34,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Organization;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.PublicationStatus;
 import no.unit.nva.publication.model.business.DoiRequest;
@@ -54,6 +59,7 @@ import nva.commons.apigateway.exceptions.ConflictException;
 import nva.commons.core.SingletonCollector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -151,7 +157,9 @@ class DaoTest extends ResourcesLocalTest {
             STATUS_INDEX_FIELD_PREFIX,
             dao.getData().getStatusString());
         
-        assertThat(byTypeCustomerStatusIndexPartitionKey, is(equalTo(expectedFormat)));
+        assertThat(byTypeCustomerStatusIndexPartitionKey,
+            is(equalTo(WithByTypeCustomerStatusIndex.PARTITION_KEY_SHARDS.partitionKey(expectedFormat,
+                dao.getIdentifier()))));
     }
     
     @ParameterizedTest(name = "daoByCustomerAndStatusIndexSortKey contains only type and identifier: {0}")
@@ -282,6 +290,35 @@ class DaoTest extends ResourcesLocalTest {
         throw new UnsupportedOperationException();
     }
     
+    @Test
+    void shouldFetchEntryCollectionFromAllShardsOfByTypeCustomerStatusIndexOrderedBySortKey() {
+        var customer = new Organization.Builder().withId(randomUri()).build();
+        var daos = Stream.generate(() -> randomPublication().copy()
+                                             .withPublisher(customer)
+                                             .withStatus(PublicationStatus.PUBLISHED)
+                                             .build())
+                       .limit(10)
+                       .map(Resource::fromPublication)
+                       .map(ResourceDao::new)
+                       .collect(Collectors.toList());
+        daos.forEach(dao -> client.putItem(toPutItemRequest(dao)));
+        var legacyDao = new ResourceDao(Resource.fromPublication(
+            randomPublication().copy().withPublisher(customer).withStatus(PublicationStatus.PUBLISHED).build()));
+        var legacyEntry = new HashMap<>(legacyDao.toDynamoFormat());
+        legacyEntry.put(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME,
+            new AttributeValue(legacyDao.byTypeCustomerStatusPartitionKeysOfAllShards().get(0)));
+        client.putItem(RESOURCES_TABLE_NAME, legacyEntry);
+        
+        var fetchedDaos = daos.get(0).fetchEntryCollectionByTypeCustomerStatus(client);
+        
+        var expectedIdentifiers = Stream.concat(daos.stream(), Stream.of(legacyDao))
+                                      .sorted(Comparator.comparing(Dao::getByTypeCustomerStatusSortKey))
+                                      .map(Dao::getIdentifier)
+                                      .collect(Collectors.toList());
+        var fetchedIdentifiers = fetchedDaos.stream().map(Dao::getIdentifier).collect(Collectors.toList());
+        assertThat(fetchedIdentifiers, is(equalTo(expectedIdentifiers)));
+    }
+    
     private QueryRequest queryByTypeCustomerStatusIndex(Dao originalResource) {
         return new QueryRequest()
                    .withTableName(RESOURCES_TABLE_NAME)
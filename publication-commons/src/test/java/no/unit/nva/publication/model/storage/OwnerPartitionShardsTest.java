@@ -0,0 +1,49 @@
+package no.unit.nva.publication.model.storage;
+
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.util.List;
+import java.util.Set;
+import no.unit.nva.identifiers.SortableIdentifier;
+import org.junit.jupiter.api.Test;
+
+class OwnerPartitionShardsTest {
+    
+    private static final String SHARDED_OWNER = randomString();
+    private static final int NUMBER_OF_SHARDS = 4;
+    private static final String UNSHARDED_PARTITION_KEY = "Resource:123:" + SHARDED_OWNER;
+    private final OwnerPartitionShards shards = new OwnerPartitionShards(Set.of(SHARDED_OWNER), NUMBER_OF_SHARDS);
+    
+    @Test
+    void shouldKeepTheExistingPartitionKeyForOwnersThatAreNotSharded() {
+        var owner = randomString();
+        var partitionKey = "Resource:123:" + owner;
+        assertThat(shards.partitionKey(partitionKey, owner, SortableIdentifier.next()), is(equalTo(partitionKey)));
+        assertThat(shards.allPartitionKeys(partitionKey, owner), is(equalTo(List.of(partitionKey))));
+    }
+    
+    @Test
+    void shouldAssignTheSameShardToTheSameIdentifier() {
+        var identifier = SortableIdentifier.next();
+        var partitionKey = shards.partitionKey(UNSHARDED_PARTITION_KEY, SHARDED_OWNER, identifier);
+    
+        assertThat(partitionKey, startsWith(UNSHARDED_PARTITION_KEY + ":Shard:"));
+        assertThat(shards.partitionKey(UNSHARDED_PARTITION_KEY, SHARDED_OWNER, new SortableIdentifier(
+            identifier.toString())), is(equalTo(partitionKey)));
+    }
+    
+    @Test
+    void shouldListTheUnshardedPartitionAndAllShardsOfShardedOwner() {
+        var identifier = SortableIdentifier.next();
+        var partitionKeys = shards.allPartitionKeys(UNSHARDED_PARTITION_KEY, SHARDED_OWNER);
+    
+        assertThat(partitionKeys, hasSize(NUMBER_OF_SHARDS + 1));
+        assertThat(partitionKeys.get(0), is(equalTo(UNSHARDED_PARTITION_KEY)));
+        assertThat(partitionKeys, hasItem(shards.partitionKey(UNSHARDED_PARTITION_KEY, SHARDED_OWNER, identifier)));
+    }
+}
@@ -5,13 +5,18 @@ import static no.unit.nva.publication.storage.model.DatabaseConstants.CUSTOMER_I
 import static no.unit.nva.publication.storage.model.DatabaseConstants.KEY_FIELDS_DELIMITER;
 import static no.unit.nva.publication.storage.model.DatabaseConstants.STATUS_INDEX_FIELD_PREFIX;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.collection.IsMapContaining.hasKey;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.StringContains.containsString;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -39,16 +44,20 @@ public class WithByTypeCustomerStatusIndexTest {
     
     @ParameterizedTest
     @MethodSource("instanceProvider")
-    public void fetchEntryCollectionByTypeCustomerStatusKeyReturnsConditionForFetchingEntryCollection(Dao dao) {
-        Map<String, Condition> condition =
-            dao.fetchEntryCollectionByTypeCustomerStatusKey();
-        assertThat(condition, hasKey(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME));
-        Condition actualCondition = condition.get(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME);
-        String actualValue = actualCondition.getAttributeValueList().get(0).getS();
+    public void fetchEntryCollectionByTypeCustomerStatusKeysReturnsConditionsForFetchingEntryCollection(Dao dao) {
+        List<Map<String, Condition>> conditions = dao.fetchEntryCollectionByTypeCustomerStatusKeys();
+        assertThat(conditions, everyItem(hasKey(BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME)));
+        List<String> actualValues = conditions.stream()
+                                        .map(keyConditions -> keyConditions.get(
+                                            BY_TYPE_CUSTOMER_STATUS_INDEX_PARTITION_KEY_NAME))
+                                        .map(condition -> condition.getAttributeValueList().get(0).getS())
+                                        .collect(Collectors.toList());
         
-        String expectedValue = constructExpectedPartitionKeyFormat(dao);
+        String expectedUnshardedValue = constructExpectedPartitionKeyFormat(dao);
         
-        assertThat(actualValue, is(equalTo(expectedValue)));
+        assertThat(actualValues.get(0), is(equalTo(expectedUnshardedValue)));
+        assertThat(actualValues, everyItem(startsWith(expectedUnshardedValue)));
+        assertThat(actualValues, hasItem(dao.getByTypeCustomerStatusPartitionKey()));
     }
     
     private static Stream<Dao> instanceProvider() {
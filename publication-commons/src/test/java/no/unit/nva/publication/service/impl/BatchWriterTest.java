@@ -0,0 +1,116 @@
+package no.unit.nva.publication.service.impl;
+
+import static no.unit.nva.publication.service.impl.BatchWriter.MAX_BATCH_WRITE_ATTEMPTS;
+import static no.unit.nva.publication.service.impl.BatchWriter.MAX_ITEMS_PER_BATCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.publication.exception.BatchRequestFailedException;
+import org.junit.jupiter.api.Test;
+
+class BatchWriterTest {
+    
+    public static final String TABLE_NAME = "table";
+    public static final String KEY_FIELD = "PK0";
+    public static final int ONE_MEGABYTE = 1024 * 1024;
+    public static final double CAPACITY_PER_ITEM = 1.0;
+    
+    @Test
+    void shouldPackAtMostTheMaximumNumberOfItemsPerBatch() {
+        var batches = BatchWriter.pack(writeRequests(2 * MAX_ITEMS_PER_BATCH + 10, 0));
+        var batchSizes = batches.stream().map(List::size).collect(Collectors.toList());
+        assertThat(batchSizes, is(equalTo(List.of(MAX_ITEMS_PER_BATCH, MAX_ITEMS_PER_BATCH, 10))));
+    }
+    
+    @Test
+    void shouldStartNewBatchWhenTheRequestSizeLimitWouldBeExceeded() {
+        var batches = BatchWriter.pack(writeRequests(MAX_ITEMS_PER_BATCH, ONE_MEGABYTE));
+        assertThat(batches.size(), is(equalTo(2)));
+        assertThat(batches.get(0).size(), is(lessThan(16)));
+    }
+    
+    @Test
+    void shouldRetryUnprocessedItemsUntilAllItemsAreWritten() {
+        var client = mock(AmazonDynamoDB.class);
+        var writtenKeys = Collections.synchronizedList(new ArrayList<String>());
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            var items = request.getRequestItems().get(TABLE_NAME);
+            var processed = items.subList(0, (items.size() + 1) / 2);
+            var unprocessed = items.subList(processed.size(), items.size());
+            processed.forEach(item -> writtenKeys.add(key(item)));
+            return result(processed.size(), unprocessed);
+        });
+        var writeRequests = writeRequests(3 * MAX_ITEMS_PER_BATCH, 0);
+    
+        var batchResults = new BatchWriter(client, TABLE_NAME).write(writeRequests);
+    
+        var expectedKeys = writeRequests.stream().map(BatchWriterTest::key).toArray(String[]::new);
+        assertThat(writtenKeys, containsInAnyOrder(expectedKeys));
+        var consumedCapacity = batchResults.stream().mapToDouble(BatchWriter.BatchResult::getConsumedCapacity).sum();
+        assertThat(consumedCapacity, is(equalTo(CAPACITY_PER_ITEM * writeRequests.size())));
+        var attempts = batchResults.stream().map(BatchWriter.BatchResult::getAttempts).collect(Collectors.toList());
+        assertThat(attempts, everyItem(is(lessThanOrEqualTo(MAX_BATCH_WRITE_ATTEMPTS))));
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenItemsRemainUnprocessedAfterAllAttempts() {
+        var client = mock(AmazonDynamoDB.class);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            return result(0, request.getRequestItems().get(TABLE_NAME));
+        });
+        var batchWriter = new BatchWriter(client, TABLE_NAME);
+    
+        assertThrows(BatchRequestFailedException.class, () -> batchWriter.write(writeRequests(1, 0)));
+        verify(client, times(MAX_BATCH_WRITE_ATTEMPTS)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+    
+    private static BatchWriteItemResult result(int processedItems, List<WriteRequest> unprocessed) {
+        return new BatchWriteItemResult()
+                   .withUnprocessedItems(unprocessed.isEmpty() ? Map.of() : Map.of(TABLE_NAME, unprocessed))
+                   .withConsumedCapacity(new ConsumedCapacity()
+                                             .withTableName(TABLE_NAME)
+                                             .withCapacityUnits(CAPACITY_PER_ITEM * processedItems));
+    }
+    
+    private static List<WriteRequest> writeRequests(int numberOfItems, int payloadSize) {
+        return IntStream.range(0, numberOfItems)
+                   .mapToObj(index -> item(index, payloadSize))
+                   .map(item -> new WriteRequest(new PutRequest(item)))
+                   .collect(Collectors.toList());
+    }
+    
+    private static Map<String, AttributeValue> item(int index, int payloadSize) {
+        return Map.of(KEY_FIELD, new AttributeValue("key" + index),
+            "payload", new AttributeValue().withB(ByteBuffer.wrap(new byte[payloadSize])));
+    }
+    
+    private static String key(WriteRequest writeRequest) {
+        return writeRequest.getPutRequest().getItem().get(KEY_FIELD).getS();
+    }
+}
@@ -0,0 +1,47 @@
+package no.unit.nva.publication.service.impl;
+
+import static no.unit.nva.publication.PublicationServiceConfig.MAX_CONCURRENT_DATABASE_REQUESTS;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.await;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.inParallel;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.supplyAsync;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentRequestsTest {
+    
+    public static final Duration TIMEOUT = Duration.ofSeconds(10);
+    public static final int INNER_REQUESTS = 3;
+    
+    @Test
+    void shouldCompleteNestedParallelRequestsWhenOuterRequestsOccupyThePool() {
+        var outerInputs = inputs(2 * MAX_CONCURRENT_DATABASE_REQUESTS);
+        var results = assertTimeoutPreemptively(TIMEOUT,
+            () -> inParallel(outerInputs, outer -> sum(inParallel(inputs(INNER_REQUESTS), inner -> outer))));
+        var expectedResults = outerInputs.stream().map(outer -> outer * INNER_REQUESTS).collect(Collectors.toList());
+        assertThat(results, is(equalTo(expectedResults)));
+    }
+    
+    @Test
+    void shouldCompleteAsynchronousRequestsSentFromParallelRequests() {
+        var outerInputs = inputs(2 * MAX_CONCURRENT_DATABASE_REQUESTS);
+        var results = assertTimeoutPreemptively(TIMEOUT,
+            () -> inParallel(outerInputs, outer -> await(supplyAsync(() -> outer + 1), RuntimeException.class)));
+        var expectedResults = outerInputs.stream().map(outer -> outer + 1).collect(Collectors.toList());
+        assertThat(results, is(equalTo(expectedResults)));
+    }
+    
+    private static List<Integer> inputs(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+    
+    private static int sum(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).sum();
+    }
+}
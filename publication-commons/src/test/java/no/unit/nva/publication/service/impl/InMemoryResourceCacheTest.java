@@ -0,0 +1,126 @@
+package no.unit.nva.publication.service.impl;
+
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
+import static no.unit.nva.publication.service.impl.InMemoryResourceCache.HITS_METRIC;
+import static no.unit.nva.publication.service.impl.InMemoryResourceCache.MISSES_METRIC;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import no.unit.nva.model.EntityDescription;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryResourceCacheTest {
+    
+    public static final int CACHE_SIZE = 2;
+    public static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+    public static final Instant NOW = Instant.parse("2022-01-01T00:00:00Z");
+    private Clock clock;
+    private ByteArrayOutputStream metricsOutput;
+    private InMemoryResourceCache cache;
+    
+    @BeforeEach
+    public void init() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        metricsOutput = new ByteArrayOutputStream();
+        var metrics = new EmbeddedMetrics(new PrintStream(metricsOutput, true, StandardCharsets.UTF_8), clock);
+        cache = new InMemoryResourceCache(CACHE_SIZE, TIME_TO_LIVE, clock, metrics);
+    }
+    
+    @Test
+    void shouldReturnCachedResource() {
+        var resource = randomResource();
+        assertThat(cache.get(resource.getIdentifier()), is(equalTo(Optional.empty())));
+        cache.put(resource, UUID.randomUUID());
+        assertThat(cache.get(resource.getIdentifier()).orElseThrow(), is(equalTo(resource)));
+    }
+    
+    @Test
+    void shouldWriteHitsAndMissesAsMetricsOncePerTimeToLive() throws JsonProcessingException {
+        var resource = randomResource();
+        cache.get(resource.getIdentifier());
+        cache.put(resource, UUID.randomUUID());
+        cache.get(resource.getIdentifier());
+        assertThat(metricsOutput.toString(StandardCharsets.UTF_8), is(emptyString()));
+        
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE).minusMillis(1));
+        cache.get(resource.getIdentifier());
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+        cache.get(resource.getIdentifier());
+        
+        var logEntry = dtoObjectMapper.readTree(metricsOutput.toString(StandardCharsets.UTF_8));
+        assertThat(logEntry.get(HITS_METRIC).asLong(), is(equalTo(2L)));
+        assertThat(logEntry.get(MISSES_METRIC).asLong(), is(equalTo(2L)));
+    }
+    
+    @Test
+    void shouldReturnCopiesThatDoNotAffectTheCachedResource() {
+        var resource = randomResource();
+        cache.put(resource, UUID.randomUUID());
+        var cachedResource = cache.get(resource.getIdentifier()).orElseThrow();
+        cachedResource.setEntityDescription(new EntityDescription.Builder().withMainTitle(randomString()).build());
+    
+        var cachedAgain = cache.get(resource.getIdentifier()).orElseThrow();
+        assertThat(cachedAgain, is(not(sameInstance(cachedResource))));
+        assertThat(cachedAgain, is(equalTo(resource)));
+    }
+    
+    @Test
+    void shouldNotReturnExpiredEntries() {
+        var resource = randomResource();
+        cache.put(resource, UUID.randomUUID());
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+        assertThat(cache.get(resource.getIdentifier()), is(equalTo(Optional.empty())));
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+    
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenCacheIsFull() {
+        var first = randomResource();
+        var second = randomResource();
+        var third = randomResource();
+        cache.put(first, UUID.randomUUID());
+        cache.put(second, UUID.randomUUID());
+        cache.get(first.getIdentifier());
+        cache.put(third, UUID.randomUUID());
+    
+        assertThat(cache.get(second.getIdentifier()), is(equalTo(Optional.empty())));
+        assertThat(cache.get(first.getIdentifier()).isPresent(), is(true));
+        assertThat(cache.get(third.getIdentifier()).isPresent(), is(true));
+    }
+    
+    @Test
+    void shouldInvalidateEntryOnlyWhenItWasReadFromDifferentVersion() {
+        var resource = randomResource();
+        var version = UUID.randomUUID();
+        cache.put(resource, version);
+        cache.invalidateIfOutdated(resource.getIdentifier(), version);
+        assertThat(cache.get(resource.getIdentifier()).isPresent(), is(true));
+    
+        cache.invalidateIfOutdated(resource.getIdentifier(), UUID.randomUUID());
+        assertThat(cache.get(resource.getIdentifier()), is(equalTo(Optional.empty())));
+    }
+    
+    private static Resource randomResource() {
+        return Resource.fromPublication(randomPublication());
+    }
+}
@@ -0,0 +1,246 @@
+package no.unit.nva.publication.service.impl;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.PublicationServiceConfig.dtoObjectMapper;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.INVOCATION_TRACE_PROPERTY;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.ITEM_COUNT_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.REQUESTS_METRIC;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.REQUEST_DIMENSION;
+import static no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient.THROTTLES_METRIC;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.LATENCY_METRIC;
+import static no.unit.nva.publication.utils.EmbeddedMetrics.OPERATION_DIMENSION;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.HandlerBeforeAttemptContext;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.ListTablesResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.service.ResourcesLocalTest;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import nva.commons.core.attempt.Try;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class InstrumentedDynamoDbClientTest extends ResourcesLocalTest {
+    
+    private ByteArrayOutputStream output;
+    private EmbeddedMetrics metrics;
+    
+    @BeforeEach
+    public void init() {
+        super.init();
+        output = new ByteArrayOutputStream();
+        metrics = new EmbeddedMetrics(new PrintStream(output, true, StandardCharsets.UTF_8),
+            Clock.systemDefaultZone());
+    }
+    
+    @Test
+    void shouldWriteMetricsOfEveryRequestLabeledByTheCallingServiceOperation() throws NotFoundException {
+        var instrumentedClient = InstrumentedDynamoDbClient.create(client, metrics);
+        var resourceService = new ResourceService(instrumentedClient, Clock.systemDefaultZone());
+        var publication = resourceService.createPublicationWithPredefinedCreationDate(randomPublication());
+    
+        resourceService.getPublicationByIdentifier(publication.getIdentifier());
+        InstrumentedDynamoDbClient.flush(instrumentedClient);
+    
+        var requestMetrics = metricsOfOperation("getPublicationByIdentifier");
+        assertThat(requestMetrics, is(not(empty())));
+        var firstRequest = requestMetrics.get(0);
+        assertThat(firstRequest.get(REQUEST_DIMENSION), is(not(nullValue())));
+        assertThat(firstRequest.get(LATENCY_METRIC).doubleValue(), is(greaterThanOrEqualTo(0.0)));
+        assertThat(firstRequest.get(ITEM_COUNT_METRIC).intValue(), is(greaterThanOrEqualTo(1)));
+        assertThat(operations(), hasItem("createPublicationWithPredefinedCreationDate"));
+    }
+    
+    @Test
+    void shouldRequestTheConsumedCapacityOfTheTableAndIndexesWithoutChangingTheRequestOfTheCaller() {
+        var delegate = mock(AmazonDynamoDB.class);
+        when(delegate.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+        var request = new GetItemRequest();
+    
+        InstrumentedDynamoDbClient.create(delegate, metrics).getItem(request);
+    
+        var sentRequest = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(delegate).getItem(sentRequest.capture());
+        assertThat(sentRequest.getValue().getReturnConsumedCapacity(),
+            is(equalTo(ReturnConsumedCapacity.INDEXES.toString())));
+        assertThat(request.getReturnConsumedCapacity(), is(nullValue()));
+    }
+    
+    @Test
+    void shouldCountRequestAsThrottledWhenItFailsBecauseItWasThrottled() {
+        var delegate = mock(AmazonDynamoDB.class);
+        var throttling = new ProvisionedThroughputExceededException("throttled");
+        throttling.setErrorCode("ProvisionedThroughputExceededException");
+        when(delegate.getItem(any(GetItemRequest.class))).thenThrow(throttling);
+        var instrumentedClient = InstrumentedDynamoDbClient.create(delegate, metrics);
+    
+        assertThrows(ProvisionedThroughputExceededException.class,
+            () -> instrumentedClient.getItem(new GetItemRequest()));
+        InstrumentedDynamoDbClient.flush(instrumentedClient);
+    
+        var requestMetrics = metricsOfOperation(CallingOperation.UNKNOWN_OPERATION);
+        assertThat(requestMetrics.get(0).get(THROTTLES_METRIC).intValue(), is(equalTo(1)));
+    }
+    
+    @Test
+    void shouldWriteTheSumOfTheMetricsOfAllRequestsOfTheSameTypeAndOperationAsOneLine() {
+        var instrumentedClient = InstrumentedDynamoDbClient.create(delegateReturningEmptyItems(), metrics);
+    
+        instrumentedClient.getItem(new GetItemRequest());
+        instrumentedClient.getItem(new GetItemRequest());
+        assertThat(logEntries(), is(empty()));
+        InstrumentedDynamoDbClient.flush(instrumentedClient);
+    
+        var requestMetrics = metricsOfOperation(CallingOperation.UNKNOWN_OPERATION);
+        assertThat(requestMetrics.size(), is(equalTo(1)));
+        assertThat(requestMetrics.get(0).get(REQUESTS_METRIC).intValue(), is(equalTo(2)));
+    }
+    
+    @Test
+    void shouldWriteTheMetricsOfTheLastInvocationWhenTheNextInvocationSendsItsFirstRequest() {
+        var instrumentedClient = InstrumentedDynamoDbClient.create(delegateReturningEmptyItems(), metrics);
+        var originalInvocation = System.getProperty(INVOCATION_TRACE_PROPERTY);
+        try {
+            System.setProperty(INVOCATION_TRACE_PROPERTY, "firstInvocation");
+            instrumentedClient.getItem(new GetItemRequest());
+            System.setProperty(INVOCATION_TRACE_PROPERTY, "secondInvocation");
+            instrumentedClient.getItem(new GetItemRequest());
+        } finally {
+            restoreInvocation(originalInvocation);
+        }
+    
+        var requestMetrics = metricsOfOperation(CallingOperation.UNKNOWN_OPERATION);
+        assertThat(requestMetrics.size(), is(equalTo(1)));
+        assertThat(requestMetrics.get(0).get(REQUESTS_METRIC).intValue(), is(equalTo(1)));
+    }
+    
+    @Test
+    void shouldWriteTheMetricsOfEveryDecoratedClientWhenTheHandlerFlushesAllClients() {
+        var firstClient = InstrumentedDynamoDbClient.create(delegateReturningEmptyItems(), metrics);
+        var secondClient = InstrumentedDynamoDbClient.create(delegateReturningEmptyItems(), metrics);
+    
+        firstClient.getItem(new GetItemRequest());
+        secondClient.getItem(new GetItemRequest());
+        InstrumentedDynamoDbClient.flushAll();
+    
+        var requestMetrics = metricsOfOperation(CallingOperation.UNKNOWN_OPERATION);
+        assertThat(requestMetrics.size(), is(equalTo(2)));
+    }
+    
+    @Test
+    void shouldCountOnlyTheAttemptsOfTheLastRequestOfTheThread() {
+        var attemptCounter = InstrumentedDynamoDbClient.ATTEMPT_COUNTER;
+        var throttling = new ProvisionedThroughputExceededException("throttled");
+        throttling.setErrorCode("ProvisionedThroughputExceededException");
+    
+        attemptCounter.beforeExecution(new GetItemRequest());
+        attemptCounter.beforeAttempt(HandlerBeforeAttemptContext.builder().build());
+        attemptCounter.afterAttempt(HandlerAfterAttemptContext.builder().withException(throttling).build());
+        attemptCounter.beforeAttempt(HandlerBeforeAttemptContext.builder().build());
+        attemptCounter.afterAttempt(HandlerAfterAttemptContext.builder().build());
+        assertThat(attemptCounter.attempts(), is(equalTo(2)));
+        assertThat(attemptCounter.throttles(), is(equalTo(1)));
+    
+        attemptCounter.beforeExecution(new GetItemRequest());
+        assertThat(attemptCounter.attempts(), is(equalTo(0)));
+    }
+    
+    @Test
+    void shouldAttributeRequestsSentFromParallelRequestsToTheOperationThatSubmittedThem() {
+        var instrumentedClient = InstrumentedDynamoDbClient.create(delegateReturningEmptyItems(), metrics);
+        var requests = List.of(new GetItemRequest(), new GetItemRequest());
+    
+        ConcurrentRequests.inParallel(requests, instrumentedClient::getItem);
+        InstrumentedDynamoDbClient.flush(instrumentedClient);
+    
+        var requestMetrics = metricsOfOperation(CallingOperation.UNKNOWN_OPERATION);
+        assertThat(requestMetrics.get(0).get(REQUESTS_METRIC).intValue(), is(equalTo(2)));
+    }
+    
+    @Test
+    void shouldPassMethodsWithoutMetricsToTheClientAsTheyAre() {
+        var delegate = mock(AmazonDynamoDB.class);
+        var tables = new ListTablesResult();
+        when(delegate.listTables()).thenReturn(tables);
+        when(delegate.describeTable("missing")).thenThrow(new ResourceNotFoundException("missing"));
+        var instrumentedClient = InstrumentedDynamoDbClient.create(delegate, metrics);
+    
+        assertThat(instrumentedClient.listTables(), is(sameInstance(tables)));
+        assertThrows(ResourceNotFoundException.class, () -> instrumentedClient.describeTable("missing"));
+        instrumentedClient.shutdown();
+        verify(delegate).shutdown();
+    }
+    
+    @Test
+    void shouldNotDecorateClientWhenRequestMetricsAreDisabledOrTheClientIsAlreadyDecorated() {
+        var instrumentedClient = InstrumentedDynamoDbClient.create(client, metrics);
+    
+        assertThat(InstrumentedDynamoDbClient.instrument(client, false, metrics), is(sameInstance(client)));
+        assertThat(InstrumentedDynamoDbClient.create(instrumentedClient, metrics),
+            is(sameInstance(instrumentedClient)));
+    }
+    
+    private static AmazonDynamoDB delegateReturningEmptyItems() {
+        var delegate = mock(AmazonDynamoDB.class);
+        when(delegate.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+        return delegate;
+    }
+    
+    private static void restoreInvocation(String originalInvocation) {
+        if (isNull(originalInvocation)) {
+            System.clearProperty(INVOCATION_TRACE_PROPERTY);
+        } else {
+            System.setProperty(INVOCATION_TRACE_PROPERTY, originalInvocation);
+        }
+    }
+    
+    private List<String> operations() {
+        return logEntries().stream()
+                   .map(entry -> entry.get(OPERATION_DIMENSION).textValue())
+                   .collect(Collectors.toList());
+    }
+    
+    private List<JsonNode> metricsOfOperation(String operation) {
+        return logEntries().stream()
+                   .filter(entry -> entry.has(REQUEST_DIMENSION))
+                   .filter(entry -> operation.equals(entry.get(OPERATION_DIMENSION).textValue()))
+                   .collect(Collectors.toList());
+    }
+    
+    private List<JsonNode> logEntries() {
+        return output.toString(StandardCharsets.UTF_8)
+                   .lines()
+                   .map(attempt(line -> dtoObjectMapper.readTree(line)))
+                   .map(Try::orElseThrow)
+                   .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,7 @@ package no.unit.nva.publication.service.impl;
 
 import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
 import static java.util.Collections.emptyList;
+import static java.util.Objects.nonNull;
 import static no.unit.nva.hamcrest.DoesNotHaveEmptyValues.doesNotHaveEmptyValues;
 import static no.unit.nva.model.PublicationStatus.DRAFT;
 import static no.unit.nva.model.PublicationStatus.PUBLISHED;
@@ -10,6 +11,7 @@ import static no.unit.nva.model.testing.PublicationGenerator.randomDoi;
 import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
 import static no.unit.nva.model.testing.PublicationGenerator.randomUri;
 import static no.unit.nva.publication.model.storage.DynamoEntry.parseAttributeValuesMap;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.await;
 import static no.unit.nva.publication.service.impl.ResourceService.ASSOCIATED_ARIFACTS_FIELD;
 import static no.unit.nva.publication.service.impl.ResourceService.RESOURCE_CANNOT_BE_DELETED_ERROR_MESSAGE;
 import static no.unit.nva.publication.service.impl.ResourceServiceUtils.userOrganization;
@@ -21,38 +23,58 @@ import static no.unit.nva.testutils.RandomDataGenerator.randomInteger;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Item;
 import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryResult;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
 import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -80,21 +102,29 @@ import no.unit.nva.model.testing.PublicationGenerator;
 import no.unit.nva.publication.exception.InvalidPublicationException;
 import no.unit.nva.publication.exception.TransactionFailedException;
 import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.PageCursor;
+import no.unit.nva.publication.model.PublicationSummary;
 import no.unit.nva.publication.model.PublishPublicationStatusResponse;
 import no.unit.nva.publication.model.business.DoiRequest;
 import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
 import no.unit.nva.publication.model.business.PublicationDetails;
 import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.User;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.model.storage.CompressedDataFormat;
+import no.unit.nva.publication.model.storage.Dao;
 import no.unit.nva.publication.model.storage.ResourceDao;
+import no.unit.nva.publication.model.storage.TicketDao;
 import no.unit.nva.publication.service.ResourcesLocalTest;
 import no.unit.nva.publication.storage.model.DatabaseConstants;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import no.unit.nva.testutils.RandomDataGenerator;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.apigateway.exceptions.ConflictException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.SingletonCollector;
 import nva.commons.core.attempt.Try;
@@ -107,6 +137,7 @@ import org.javers.core.diff.Diff;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 
 class ResourceServiceTest extends ResourcesLocalTest {
     
@@ -131,6 +162,8 @@ class ResourceServiceTest extends ResourcesLocalTest {
     private static final URI SOME_OTHER_ORG = URI.create("https://example.org/789-ABC");
     private static final URI SOME_LINK = URI.create("http://www.example.com/someLink");
     private static final boolean NOT_ADMINISTRATIVE_AGREEMENT = false;
+    // configured as a sharded owner in the test environment
+    private static final String SHARDED_OWNER = "sharded-owner@test.no";
     private ResourceService resourceService;
     
     private TicketService ticketService;
@@ -197,6 +230,55 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(savedPublication.getStatus(), is(equalTo(PUBLISHED)));
     }
     
+    @Test
+    void shouldCreateAllImportedEntriesWhenCreatingImportedEntriesInBulk() throws NotFoundException {
+        var inputPublications = Stream.generate(() -> randomPublication().copy().withStatus(PUBLISHED).build())
+                                    .limit(ResourceBatchInserter.MAX_RESOURCES_PER_TRANSACTION + 10)
+                                    .collect(Collectors.toList());
+        var results = resourceService.createPublicationsFromImportedEntries(inputPublications);
+        
+        assertThat(results.size(), is(equalTo(inputPublications.size())));
+        for (int index = 0; index < inputPublications.size(); index++) {
+            var createdPublication = results.get(index).orElseThrow();
+            var savedPublication = resourceService.getPublicationByIdentifier(createdPublication.getIdentifier());
+            var inputPublication = inputPublications.get(index);
+            inputPublication.setIdentifier(createdPublication.getIdentifier());
+            assertThat(savedPublication, is(equalTo(inputPublication)));
+        }
+    }
+    
+    @Test
+    void shouldReportFailureOnlyForImportedEntryWithDuplicateIdentifierWhenCreatingImportedEntriesInBulk() {
+        var existingPublication = resourceService.createPublicationFromImportedEntry(randomPublication());
+        var identifiers = List.of(SortableIdentifier.next(), existingPublication.getIdentifier(),
+            SortableIdentifier.next()).iterator();
+        var service = new ResourceService(client, clock, identifiers::next);
+        var inputPublications = List.of(randomPublication(), randomPublication(), randomPublication());
+        
+        var results = service.createPublicationsFromImportedEntries(inputPublications);
+        
+        assertThat(results.get(0).isSuccess(), is(true));
+        assertThat(results.get(1).isFailure(), is(true));
+        assertThat(results.get(2).isSuccess(), is(true));
+        assertDoesNotThrow(() -> service.getPublication(results.get(2).orElseThrow()));
+    }
+    
+    @Test
+    void shouldRetryTheWholeTransactionWhenCreatingImportedEntriesInBulkIsThrottled() {
+        var throttledClient = mock(AmazonDynamoDB.class, delegatesTo(client));
+        var throttling = new ProvisionedThroughputExceededException("throttled");
+        throttling.setErrorCode("ProvisionedThroughputExceededException");
+        doThrow(throttling).doAnswer(delegatesTo(client))
+            .when(throttledClient).transactWriteItems(any(TransactWriteItemsRequest.class));
+        var service = new ResourceService(throttledClient, clock);
+        var inputPublications = List.of(randomPublication(), randomPublication(), randomPublication());
+        
+        var results = service.createPublicationsFromImportedEntries(inputPublications);
+        
+        assertThat(results.stream().allMatch(Try::isSuccess), is(true));
+        verify(throttledClient, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+    
     @Test
     void createResourceReturnsResourceWithCreatedAndModifiedDateSetByThePlatform() throws ApiGatewayException {
     
@@ -252,13 +334,19 @@ class ResourceServiceTest extends ResourcesLocalTest {
     }
     
     @Test
-    void createPublicationReturnsNullWhenResourceDoesNotBecomeAvailable() {
+    void createPublicationReturnsTheWrittenPublicationWithoutReadingItBack() {
         Publication publication = publicationWithoutIdentifier();
         AmazonDynamoDB client = mock(AmazonDynamoDB.class);
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class))).thenReturn(
+            new TransactWriteItemsResult());
         
-        ResourceService resourceService = resourceServiceThatDoesNotReceivePublicationUpdateAfterCreation(client);
+        ResourceService resourceService = new ResourceService(client, clock);
         Publication actualPublication = createPersistedPublicationWithDoi(resourceService, publication);
-        assertThat(actualPublication, is(nullValue()));
+        
+        assertThat(actualPublication.getIdentifier(), is(not(nullValue())));
+        assertThat(actualPublication.getEntityDescription(), is(equalTo(publication.getEntityDescription())));
+        verify(client, never()).getItem(any(GetItemRequest.class));
+        verify(client, never()).query(any(QueryRequest.class));
     }
     
     @Test
@@ -337,6 +425,80 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(actualUpdatedResource, is(not(equalTo(actualOriginalResource))));
     }
     
+    @Test
+    void shouldUpdatePublicationWithoutReadingItWhenStoredVersionIsTheExpectedOne() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithDoi();
+        var storedResource = resourceService.getResourceByIdentifierBypassingCache(publication.getIdentifier());
+        
+        var publicationUpdate = updateResourceTitle(storedResource.toPublication());
+        resourceService.updatePublication(publicationUpdate, storedResource.getVersion());
+        var updatedResource = resourceService.getResourceByIdentifierBypassingCache(publication.getIdentifier());
+        
+        assertThat(updatedResource.toPublication(), is(equalTo(publicationUpdate)));
+        assertThat(updatedResource.getCreatedDate(), is(equalTo(publication.getCreatedDate())));
+        assertThat(updatedResource.getVersion(), is(not(equalTo(storedResource.getVersion()))));
+    }
+    
+    @Test
+    void shouldNotReturnCachedResourceAfterNewerVersionHasBeenReadFromTheTable() throws ApiGatewayException {
+        var metrics = new EmbeddedMetrics(new PrintStream(OutputStream.nullOutputStream()), clock);
+        var cachingService = new ResourceService(client, clock, SortableIdentifier::next,
+            new InMemoryResourceCache(10, Duration.ofMinutes(1), clock, metrics));
+        var publication = createPersistedPublicationWithDoi();
+        cachingService.getResourceByIdentifier(publication.getIdentifier());
+        var publicationUpdate = resourceService.updatePublication(updateResourceTitle(publication));
+        
+        cachingService.getResource(UserInstance.fromPublication(publication), publication.getIdentifier());
+        var resource = cachingService.getResourceByIdentifier(publication.getIdentifier());
+        
+        assertThat(resource.toPublication(), is(equalTo(publicationUpdate)));
+    }
+    
+    @Test
+    void shouldUpdatePublicationStoredWithoutVersionAtTheVersionItWasReadWith() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithDoi();
+        storeWithoutVersion(publication);
+        var storedResource = resourceService.getResourceByIdentifierBypassingCache(publication.getIdentifier());
+        
+        var publicationUpdate = updateResourceTitle(storedResource.toPublication());
+        resourceService.updatePublication(publicationUpdate, storedResource.getVersion());
+        
+        assertThat(resourceService.getPublication(publication), is(equalTo(publicationUpdate)));
+    }
+    
+    @Test
+    void shouldUpdatePublicationStoredWithoutVersionWhenNoVersionIsExpected() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithDoi();
+        storeWithoutVersion(publication);
+        
+        var publicationUpdate = updateResourceTitle(publication);
+        resourceService.updatePublication(publicationUpdate, null);
+        
+        assertThat(resourceService.getPublication(publication), is(equalTo(publicationUpdate)));
+    }
+    
+    @Test
+    void shouldRejectUpdateWithoutExpectedVersionWhenPublicationHasBeenStoredWithVersion()
+        throws ApiGatewayException {
+        var publication = createPersistedPublicationWithDoi();
+        var publicationUpdate = updateResourceTitle(publication);
+        
+        assertThrows(ConflictException.class, () -> resourceService.updatePublication(publicationUpdate, null));
+    }
+    
+    @Test
+    void shouldRejectUpdateWhenPublicationHasBeenModifiedSinceItWasRead() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithDoi();
+        var storedResource = resourceService.getResourceByIdentifierBypassingCache(publication.getIdentifier());
+        resourceService.updatePublication(updateResourceTitle(storedResource.toPublication()));
+        
+        var staleUpdate = updateResourceTitle(storedResource.toPublication());
+        Executable action = () -> resourceService.updatePublication(staleUpdate, storedResource.getVersion());
+        
+        var exception = assertThrows(ConflictException.class, action);
+        assertThat(exception.getMessage(), containsString(publication.getIdentifier().toString()));
+    }
+    
     @Test
     void resourceUpdateFailsWhenUpdateChangesTheOwnerPartOfThePrimaryKey() {
         Publication resource = createPersistedPublicationWithDoi();
@@ -421,6 +583,175 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(actualResourcesSet, is(equalTo(Collections.emptySet())));
     }
     
+    @Test
+    void shouldReturnPublicationSummariesOfOwnerPageByPageUntilAllAreReturned() throws BadRequestException {
+        var userInstance = UserInstance.create(randomString(), randomUri());
+        var expectedSummaries = createSamplePublicationsOfSingleOwner(userInstance).stream()
+                                    .map(PublicationSummary::create)
+                                    .collect(Collectors.toSet());
+        var pageSize = 2;
+        var actualSummaries = new ArrayList<PublicationSummary>();
+        String cursor = null;
+        do {
+            var page = resourceService.getPublicationSummariesByOwner(userInstance, pageSize,
+                PageCursor.decode(cursor));
+            assertThat(page.getDatabaseEntries().size(), is(lessThanOrEqualTo(pageSize)));
+            actualSummaries.addAll(page.getDatabaseEntries());
+            cursor = PageCursor.encode(page.getStartMarker());
+        } while (nonNull(cursor));
+        
+        assertThat(actualSummaries, containsInAnyOrder(expectedSummaries.toArray(PublicationSummary[]::new)));
+    }
+    
+    @Test
+    void shouldSpreadPublicationsOfShardedOwnerOverSeveralPartitionsAndListThemAll() throws BadRequestException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publications = createPublicationsOfSingleOwner(userInstance, 10);
+        var partitionKeys = publications.stream()
+                                .map(publication -> new ResourceDao(Resource.fromPublication(publication)))
+                                .map(ResourceDao::getPrimaryKeyPartitionKey)
+                                .collect(Collectors.toSet());
+        assertThat(partitionKeys.size(), is(greaterThan(1)));
+        
+        var listedPublications = resourceService.getPublicationsByOwner(userInstance);
+        assertThat(listedPublications, containsInAnyOrder(publications.toArray(Publication[]::new)));
+        
+        var expectedSummaries = publications.stream().map(PublicationSummary::create).collect(Collectors.toList());
+        assertThat(fetchAllPublicationSummaries(userInstance, 3),
+            containsInAnyOrder(expectedSummaries.toArray(PublicationSummary[]::new)));
+    }
+    
+    @Test
+    void shouldReadAndListPublicationOfShardedOwnerThatIsStoredInTheUnshardedPartition() throws ApiGatewayException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        removeVersion(moveToUnshardedPartition(publication));
+        
+        assertThat(resourceService.getPublicationsByOwner(userInstance), contains(publication));
+        assertThat(fetchAllPublicationSummaries(userInstance, 3), contains(PublicationSummary.create(publication)));
+        var fetchedPublication = resourceService.getPublication(userInstance, publication.getIdentifier());
+        assertThat(fetchedPublication, is(equalTo(publication)));
+    }
+    
+    @Test
+    void shouldNotWriteAnythingWhenReadingPublicationStoredInTheUnshardedPartition() throws ApiGatewayException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        var unshardedKey = moveToUnshardedPartition(publication);
+        var readOnlyClient = mock(AmazonDynamoDB.class, delegatesTo(client));
+        var service = new ResourceService(readOnlyClient, clock);
+        
+        var fetchedPublication = service.getPublication(userInstance, publication.getIdentifier());
+        
+        assertThat(fetchedPublication, is(equalTo(publication)));
+        assertThat(getItem(unshardedKey), is(notNullValue()));
+        verify(readOnlyClient, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+    
+    @Test
+    void shouldUpdatePublicationStoredInTheUnshardedPartitionWhereItIsStored() throws ApiGatewayException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        var unshardedKey = moveToUnshardedPartition(publication);
+        
+        var fetchedPublication = resourceService.getPublication(userInstance, publication.getIdentifier());
+        fetchedPublication.getEntityDescription().setMainTitle(randomString());
+        resourceService.updatePublication(fetchedPublication);
+        
+        assertThat(getItem(new ResourceDao(Resource.fromPublication(publication)).primaryKey()), is(nullValue()));
+        assertThat(getItem(unshardedKey), is(notNullValue()));
+        var updatedPublication = resourceService.getPublication(userInstance, publication.getIdentifier());
+        assertThat(updatedPublication.getEntityDescription().getMainTitle(),
+            is(equalTo(fetchedPublication.getEntityDescription().getMainTitle())));
+        assertThat(resourceService.getPublicationsByOwner(userInstance), contains(updatedPublication));
+    }
+    
+    @Test
+    void shouldUpdatePublicationStoredInTheUnshardedPartitionWhenStoredVersionIsTheExpectedOne()
+        throws ApiGatewayException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        var unshardedKey = moveToUnshardedPartition(publication);
+        var storedVersion = UUID.fromString(getItem(unshardedKey).get(Dao.VERSION_FIELD).getS());
+        
+        var publicationUpdate = updateResourceTitle(publication);
+        resourceService.updatePublication(publicationUpdate, storedVersion);
+        
+        assertThat(getItem(new ResourceDao(Resource.fromPublication(publication)).primaryKey()), is(nullValue()));
+        assertThat(resourceService.getPublication(userInstance, publication.getIdentifier()),
+            is(equalTo(publicationUpdate)));
+    }
+    
+    @Test
+    void shouldRejectUpdateOfPublicationStoredInTheUnshardedPartitionWhenStoredVersionIsNotTheExpectedOne() {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        moveToUnshardedPartition(publication);
+        
+        var publicationUpdate = updateResourceTitle(publication);
+        Executable action = () -> resourceService.updatePublication(publicationUpdate, UUID.randomUUID());
+        
+        assertThrows(ConflictException.class, action);
+    }
+    
+    @Test
+    void shouldDeleteDraftPublicationOfShardedOwnerThatIsStoredInTheUnshardedPartition() throws ApiGatewayException {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPersistedPublicationWithoutDoi(injectOwner(userInstance, randomPublication()));
+        moveToUnshardedPartition(publication);
+        
+        resourceService.deleteDraftPublication(userInstance, publication.getIdentifier());
+        
+        assertThatAllEntriesHaveBeenDeleted();
+    }
+    
+    @Test
+    void shouldMovePublicationStoredInTheUnshardedPartitionToItsShardWhenRefreshed() {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        var unshardedKey = moveToUnshardedPartition(publication);
+        
+        resourceService.refreshResources(resourceService.scanResources(BIG_PAGE, null).getDatabaseEntries());
+        
+        assertThat(getItem(unshardedKey), is(nullValue()));
+        assertThat(getItem(new ResourceDao(Resource.fromPublication(publication)).primaryKey()),
+            is(notNullValue()));
+        assertThat(resourceService.getPublicationsByOwner(userInstance), contains(publication));
+    }
+    
+    @Test
+    void shouldNotDeleteAnythingWhenRefreshingPublicationStoredInItsShard() {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var publication = createPublicationsOfSingleOwner(userInstance, 1).get(0);
+        var recordingClient = mock(AmazonDynamoDB.class, delegatesTo(client));
+        var service = new ResourceService(recordingClient, clock);
+        
+        service.refreshResources(service.scanResources(BIG_PAGE, null).getDatabaseEntries());
+        
+        var batchWriteRequests = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(recordingClient, atLeastOnce()).batchWriteItem(batchWriteRequests.capture());
+        var deleteRequests = batchWriteRequests.getAllValues().stream()
+                                 .flatMap(request -> request.getRequestItems().values().stream())
+                                 .flatMap(List::stream)
+                                 .filter(writeRequest -> nonNull(writeRequest.getDeleteRequest()))
+                                 .collect(Collectors.toList());
+        assertThat(deleteRequests, is(empty()));
+        assertThat(service.getPublicationsByOwner(userInstance), contains(publication));
+    }
+    
+    @Test
+    void shouldRejectStartMarkerThatDoesNotPointIntoAPartitionOfTheOwner() {
+        var userInstance = UserInstance.create(SHARDED_OWNER, randomUri());
+        var startMarkerOfOtherOwner = Map.of(
+            DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME, new AttributeValue(
+                ResourceDao.constructPrimaryPartitionKey(userInstance.getOrganizationUri(), randomString())),
+            DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME, new AttributeValue(randomString()));
+        
+        var exception = assertThrows(BadRequestException.class,
+            () -> resourceService.getPublicationSummariesByOwner(userInstance, 3, startMarkerOfOtherOwner));
+        assertThat(exception.getMessage(), is(equalTo(ReadResourceService.INVALID_START_MARKER_MESSAGE)));
+    }
+    
     @Test
     void getResourcesByOwnerPropagatesExceptionWhenExceptionIsThrown() {
         AmazonDynamoDB client = mock(AmazonDynamoDB.class);
@@ -697,6 +1028,35 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(diff.prettyPrint(), updatedDoiRequest, is(equalTo(expectedDoiRequest)));
     }
     
+    @Test
+    void shouldNotRewriteTicketsWhenUpdateDoesNotChangeTheirPublicationDetails() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var doiRequest = createDoiRequest(publication);
+        
+        publication.setDoi(randomDoi());
+        resourceService.updatePublication(publication);
+        
+        var persistedDoiRequest = (DoiRequest) ticketService.fetchTicket(doiRequest);
+        assertThat(persistedDoiRequest.getPublicationDetails(), is(equalTo(doiRequest.getPublicationDetails())));
+    }
+    
+    @Test
+    void shouldUpdateOnlyTicketsWithOutdatedPublicationDetailsWhenUpdatingOutdatedTickets()
+        throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var doiRequest = createDoiRequest(publication);
+        var outdatedDoiRequest = doiRequest.copy();
+        outdatedDoiRequest.setPublicationDetails(PublicationDetails.create(publication.getIdentifier()));
+        client.putItem(((TicketDao) outdatedDoiRequest.toDao()).createPutItemRequest());
+        
+        var updatedTickets = resourceService.updateOutdatedTickets(publication.getIdentifier());
+        var persistedDoiRequest = ticketService.fetchTicket(doiRequest);
+        
+        assertThat(updatedTickets, is(equalTo(1)));
+        assertThat(persistedDoiRequest.getPublicationDetails(), is(equalTo(doiRequest.getPublicationDetails())));
+        assertThat(resourceService.updateOutdatedTickets(publication.getIdentifier()), is(equalTo(0)));
+    }
+    
     @Test
     void updateResourceDoesNotCreateDoiRequestWhenItDoesNotPreexist() {
         Publication resource = createPersistedPublicationWithoutDoi();
@@ -756,6 +1116,69 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThatTheEntriesHaveNotBeenDeleted();
     }
     
+    @Test
+    void deleteDraftPublicationDeletesDraftResourceStoredInCompressedFormat() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        storeInCompressedFormat(publication);
+        
+        var userInstance = UserInstance.fromPublication(publication);
+        resourceService.deleteDraftPublication(userInstance, publication.getIdentifier());
+        
+        assertThatAllEntriesHaveBeenDeleted();
+    }
+    
+    @Test
+    void deleteDraftPublicationThrowsExceptionWhenResourceStoredInCompressedFormatIsPublished()
+        throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var userInstance = UserInstance.fromPublication(publication);
+        resourceService.publishPublication(userInstance, publication.getIdentifier());
+        storeInCompressedFormat(resourceService.getPublication(publication));
+        
+        Executable deleteAction = () -> resourceService.deleteDraftPublication(userInstance,
+            publication.getIdentifier());
+        assertThrows(TransactionFailedException.class, deleteAction);
+        
+        assertThatTheEntriesHaveNotBeenDeleted();
+    }
+    
+    @Test
+    void markPublicationForDeletionMarksDraftStoredInCompressedFormat() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        storeInCompressedFormat(publication);
+        
+        var userInstance = UserInstance.fromPublication(publication);
+        var resourceUpdate = resourceService.markPublicationForDeletion(userInstance, publication.getIdentifier());
+        
+        assertThat(resourceUpdate.getStatus(), is(equalTo(PublicationStatus.DRAFT_FOR_DELETION)));
+        assertThat(resourceService.getPublication(publication).getStatus(),
+            is(equalTo(PublicationStatus.DRAFT_FOR_DELETION)));
+    }
+    
+    @Test
+    void markPublicationForDeletionThrowsExceptionWhenResourceStoredInCompressedFormatIsPublished()
+        throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var userInstance = UserInstance.fromPublication(publication);
+        resourceService.publishPublication(userInstance, publication.getIdentifier());
+        storeInCompressedFormat(resourceService.getPublication(publication));
+        
+        Executable action = () -> resourceService.markPublicationForDeletion(userInstance,
+            publication.getIdentifier());
+        
+        assertThrows(BadRequestException.class, action);
+        assertThat(resourceService.getPublication(publication).getStatus(), is(equalTo(PUBLISHED)));
+    }
+    
+    @Test
+    void markPublicationForDeletionThrowsNotFoundExceptionWhenResourceDoesNotExist() {
+        var publication = randomPublication();
+        Executable action = () -> resourceService.markPublicationForDeletion(UserInstance.fromPublication(publication),
+            publication.getIdentifier());
+        
+        assertThrows(NotFoundException.class, action);
+    }
+    
     @Test
     void deleteDraftPublicationDeletesDoiRequestWhenPublicationHasDoiRequest() throws ApiGatewayException {
         Publication publication = createPersistedPublicationWithoutDoi();
@@ -775,6 +1198,28 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(retrievedResource, is(equalTo(resource)));
     }
     
+    @Test
+    void shouldReadPublicationsConcurrentlyWhenUsingTheAsynchronousService() throws ApiGatewayException {
+        var first = createPersistedPublicationWithDoi();
+        var second = createPersistedPublicationWithDoi();
+        var resourceServiceAsync = new ResourceServiceAsync(resourceService);
+        
+        var firstRead = resourceServiceAsync.getPublicationByIdentifier(first.getIdentifier());
+        var secondRead = resourceServiceAsync.getPublicationByIdentifierBypassingCache(second.getIdentifier());
+        
+        assertThat(await(firstRead, NotFoundException.class), is(equalTo(first)));
+        assertThat(await(secondRead, NotFoundException.class), is(equalTo(second)));
+    }
+    
+    @Test
+    void shouldRethrowNotFoundExceptionWhenAsynchronousReadOfMissingPublicationIsAwaited() {
+        var someIdentifier = SortableIdentifier.next();
+        var read = new ResourceServiceAsync(resourceService).getPublicationByIdentifier(someIdentifier);
+        
+        var exception = assertThrows(NotFoundException.class, () -> await(read, NotFoundException.class));
+        assertThat(exception.getMessage(), containsString(someIdentifier.toString()));
+    }
+    
     @Test
     void getResourceByIdentifierThrowsNotFoundExceptionWhenResourceDoesNotExist() {
         SortableIdentifier someIdentifier = SortableIdentifier.next();
@@ -784,6 +1229,85 @@ class ResourceServiceTest extends ResourcesLocalTest {
         assertThat(exception.getMessage(), containsString(someIdentifier.toString()));
     }
     
+    @Test
+    void shouldReturnAllExistingResourcesWhenFetchingResourcesByIdentifiers() {
+        var publications = List.of(createPersistedPublicationWithDoi(), createPersistedPublicationWithDoi());
+        var identifiers = publications.stream()
+                              .map(Publication::getIdentifier)
+                              .collect(Collectors.toList());
+        identifiers.add(SortableIdentifier.next());
+        
+        var resources = resourceService.getResourcesByIdentifiers(identifiers);
+        var actualPublications = resources.values().stream().map(Resource::toPublication).collect(Collectors.toList());
+        assertThat(actualPublications, containsInAnyOrder(publications.toArray(Publication[]::new)));
+    }
+    
+    @Test
+    void shouldFetchResourcesByPrimaryKeyAndByIdentifierWhenResourceIsNotFoundByPrimaryKey()
+        throws ApiGatewayException {
+        var unchangedPublication = createPersistedPublicationWithDoi();
+        var publicationWithNewOwner = createPersistedPublicationWithDoi();
+        var oldOwner = UserInstance.fromPublication(publicationWithNewOwner);
+        resourceService.updateOwner(publicationWithNewOwner.getIdentifier(), oldOwner, someOtherUser());
+        
+        var queryObjects = List.of(
+            Resource.resourceQueryObject(UserInstance.fromPublication(unchangedPublication),
+                unchangedPublication.getIdentifier()),
+            Resource.resourceQueryObject(oldOwner, publicationWithNewOwner.getIdentifier()));
+        var resources = resourceService.getResources(queryObjects);
+        
+        assertThat(resources.get(unchangedPublication.getIdentifier()).toPublication(),
+            is(equalTo(unchangedPublication)));
+        assertThat(resources.get(publicationWithNewOwner.getIdentifier()).getResourceOwner().getUser(),
+            is(equalTo(new User(SOME_OTHER_USER))));
+    }
+    
+    @Test
+    void shouldUpdatePublicationDetailsOfTicketsWhenRefreshingEntries() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var ticketWithOwner = TicketEntry.requestNewTicket(publication, DoiRequest.class)
+                                  .persistNewTicket(ticketService);
+        var ticketWithoutOwner = TicketEntry.requestNewTicket(publication, GeneralSupportRequest.class)
+                                     .persistNewTicket(ticketService);
+        ticketWithOwner.setPublicationDetails(PublicationDetails.create(updateResourceTitle(publication)));
+        ticketWithoutOwner.setPublicationDetails(PublicationDetails.create(publication.getIdentifier()));
+        
+        resourceService.refreshResources(List.of(ticketWithOwner, ticketWithoutOwner));
+        
+        var expectedTitle = publication.getEntityDescription().getMainTitle();
+        assertThat(ticketService.fetchTicket(ticketWithOwner).extractPublicationTitle(), is(equalTo(expectedTitle)));
+        assertThat(ticketService.fetchTicket(ticketWithoutOwner).extractPublicationTitle(),
+            is(equalTo(expectedTitle)));
+    }
+    
+    @Test
+    void shouldReturnResourceWithAllItsTicketsAndMessagesWhenFetchingResourceAggregate() throws ApiGatewayException {
+        var publication = createPersistedPublicationWithoutDoi();
+        var userInstance = UserInstance.fromPublication(publication);
+        var doiRequest = TicketEntry.requestNewTicket(publication, DoiRequest.class).persistNewTicket(ticketService);
+        var generalSupportRequest = TicketEntry.requestNewTicket(publication, GeneralSupportRequest.class)
+                                        .persistNewTicket(ticketService);
+        var message = messageService.createMessage(doiRequest, userInstance, randomString());
+        var otherPublication = createPersistedPublicationWithoutDoi();
+        TicketEntry.requestNewTicket(otherPublication, GeneralSupportRequest.class).persistNewTicket(ticketService);
+        
+        var resourceAggregate = resourceService.fetchResourceAggregate(publication.getPublisher().getId(),
+            publication.getIdentifier());
+        
+        assertThat(resourceAggregate.getResource().getIdentifier(), is(equalTo(publication.getIdentifier())));
+        assertThat(resourceAggregate.getTickets(), containsInAnyOrder(doiRequest, generalSupportRequest));
+        assertThat(resourceAggregate.getMessagesOfTicket(doiRequest), is(equalTo(List.of(message))));
+        assertThat(resourceAggregate.getMessagesOfTicket(generalSupportRequest), is(equalTo(List.of())));
+    }
+    
+    @Test
+    void shouldThrowNotFoundExceptionWhenFetchingResourceAggregateOfNonExistingResource() {
+        var publication = randomPublication();
+        assertThrows(NotFoundException.class,
+            () -> resourceService.fetchResourceAggregate(publication.getPublisher().getId(),
+                publication.getIdentifier()));
+    }
+    
     @Test
     void shouldScanEntriesInDatabaseAfterSpecifiedMarker() throws ApiGatewayException {
         var samplePublication = createPersistedPublicationWithoutDoi();
@@ -981,11 +1505,16 @@ class ResourceServiceTest extends ResourcesLocalTest {
         return resourceService.getPublication(resource);
     }
     
-    private ResourceService resourceServiceThatDoesNotReceivePublicationUpdateAfterCreation(AmazonDynamoDB client) {
-        when(client.getItem(any(GetItemRequest.class))).thenReturn(
-            new GetItemResult().withItem(Collections.emptyMap()));
+    private void storeWithoutVersion(Publication publication) {
+        var item = new HashMap<>(new ResourceDao(Resource.fromPublication(publication)).toDynamoFormat());
+        item.remove(Dao.VERSION_FIELD);
+        client.putItem(DatabaseConstants.RESOURCES_TABLE_NAME, item);
+    }
     
-        return new ResourceService(client, clock);
+    private void storeInCompressedFormat(Publication publication) {
+        var item = attempt(() -> CompressedDataFormat.compress(new ResourceDao(Resource.fromPublication(publication))))
+                       .orElseThrow();
+        client.putItem(DatabaseConstants.RESOURCES_TABLE_NAME, item);
     }
     
     private void assertThatIdentifierEntryHasBeenCreated() {
@@ -1102,6 +1631,57 @@ class ResourceServiceTest extends ResourcesLocalTest {
                    .collect(Collectors.toSet());
     }
     
+    private List<Publication> createPublicationsOfSingleOwner(UserInstance userInstance, int numberOfPublications) {
+        return Stream.generate(this::publicationWithIdentifier)
+                   .limit(numberOfPublications)
+                   .map(publication -> injectOwner(userInstance, publication))
+                   .map(attempt(res -> createPersistedPublicationWithDoi(resourceService, res)))
+                   .map(Try::orElseThrow)
+                   .collect(Collectors.toList());
+    }
+    
+    private List<PublicationSummary> fetchAllPublicationSummaries(UserInstance userInstance, int pageSize)
+        throws BadRequestException {
+        var summaries = new ArrayList<PublicationSummary>();
+        String cursor = null;
+        do {
+            var page = resourceService.getPublicationSummariesByOwner(userInstance, pageSize,
+                PageCursor.decode(cursor));
+            summaries.addAll(page.getDatabaseEntries());
+            cursor = PageCursor.encode(page.getStartMarker());
+        } while (nonNull(cursor));
+        return summaries;
+    }
+    
+    // stores the Resource as it was stored before its owner was sharded
+    private Map<String, AttributeValue> moveToUnshardedPartition(Publication publication) {
+        var shardedEntry = new ResourceDao(Resource.fromPublication(publication)).toDynamoFormat();
+        var unshardedEntry = new HashMap<>(shardedEntry);
+        unshardedEntry.put(DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME, new AttributeValue(
+            ResourceDao.constructPrimaryPartitionKey(publication.getPublisher().getId(), SHARDED_OWNER)));
+        client.deleteItem(DatabaseConstants.RESOURCES_TABLE_NAME, primaryKeyOf(shardedEntry));
+        client.putItem(DatabaseConstants.RESOURCES_TABLE_NAME, unshardedEntry);
+        return primaryKeyOf(unshardedEntry);
+    }
+    
+    private void removeVersion(Map<String, AttributeValue> primaryKey) {
+        client.updateItem(new UpdateItemRequest()
+                              .withTableName(DatabaseConstants.RESOURCES_TABLE_NAME)
+                              .withKey(primaryKey)
+                              .withUpdateExpression("REMOVE #version")
+                              .withExpressionAttributeNames(Map.of("#version", Dao.VERSION_FIELD)));
+    }
+    
+    private Map<String, AttributeValue> getItem(Map<String, AttributeValue> primaryKey) {
+        return client.getItem(DatabaseConstants.RESOURCES_TABLE_NAME, primaryKey).getItem();
+    }
+    
+    private static Map<String, AttributeValue> primaryKeyOf(Map<String, AttributeValue> entry) {
+        return Map.of(DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME,
+            entry.get(DatabaseConstants.PRIMARY_KEY_PARTITION_KEY_NAME),
+            DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME, entry.get(DatabaseConstants.PRIMARY_KEY_SORT_KEY_NAME));
+    }
+    
     private Publication injectOwner(UserInstance userInstance, Publication publication) {
         return publication.copy()
                    .withResourceOwner(new ResourceOwner(userInstance.getUsername(), AFFILIATION_NOT_IMPORTANT))
@@ -1,11 +1,11 @@
 package no.unit.nva.publication.service.impl;
 
 import static java.lang.StrictMath.ceil;
+import static java.util.Objects.nonNull;
 import static no.unit.nva.hamcrest.DoesNotHaveEmptyValues.doesNotHaveEmptyValues;
 import static no.unit.nva.hamcrest.DoesNotHaveEmptyValues.doesNotHaveEmptyValuesIgnoringFields;
 import static no.unit.nva.model.PublicationStatus.DRAFT;
 import static no.unit.nva.model.PublicationStatus.PUBLISHED;
-import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
 import static no.unit.nva.publication.TestingUtils.createGeneralSupportRequest;
 import static no.unit.nva.publication.TestingUtils.createOrganization;
 import static no.unit.nva.publication.TestingUtils.createUnpersistedPublication;
@@ -14,9 +14,8 @@ import static no.unit.nva.publication.TestingUtils.randomPublicationWithoutDoi;
 import static no.unit.nva.publication.TestingUtils.randomUserInstance;
 import static no.unit.nva.publication.model.business.TicketStatus.CLOSED;
 import static no.unit.nva.publication.model.business.TicketStatus.COMPLETED;
+import static no.unit.nva.publication.model.business.TicketStatus.PENDING;
 import static no.unit.nva.publication.model.business.UserInstance.fromTicket;
-import static no.unit.nva.testutils.RandomDataGenerator.randomElement;
-import static no.unit.nva.testutils.RandomDataGenerator.randomInstant;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static nva.commons.core.attempt.Try.attempt;
@@ -24,26 +23,33 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.collection.IsIn.in;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemResult;
-import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -88,10 +94,11 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.EnumSource.Mode;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 
 class TicketServiceTest extends ResourcesLocalTest {
     
-    public static final int ONE_FOR_PUBLICATION_ONE_FAILING_FOR_NEW_CASE_AND_ONE_SUCCESSFUL = 3;
+    public static final int ONE_FOR_PUBLICATION = 1;
     public static final int TIMEOUT_TEST_IF_LARGE_PAGE_SIZE_IS_SET = 5;
     
     private ResourceService resourceService;
@@ -308,15 +315,38 @@ class TicketServiceTest extends ResourcesLocalTest {
     }
     
     @ParameterizedTest(name = "ticket type:{0}")
-    @DisplayName("should retrieve eventually consistent ticket")
+    @DisplayName("should return created ticket without reading it back")
     @MethodSource("ticketTypeProvider")
-    void shouldRetrieveEventuallyConsistentTicket(Class<? extends TicketEntry> ticketType) throws ApiGatewayException {
+    void shouldReturnCreatedTicketWithoutReadingItBack(Class<? extends TicketEntry> ticketType)
+        throws ApiGatewayException {
         var client = mock(AmazonDynamoDB.class);
-        var expectedTicketEntry = createMockResponsesImitatingEventualConsistency(ticketType, client);
+        var publication = mockPublicationResponse(client);
         var service = new TicketService(client);
-        var response = randomPublishingRequest().persistNewTicket(service);
-        assertThat(response, is(equalTo(expectedTicketEntry)));
-        verify(client, times(ONE_FOR_PUBLICATION_ONE_FAILING_FOR_NEW_CASE_AND_ONE_SUCCESSFUL)).getItem(any());
+        var response = createUnpersistedTicket(publication, ticketType).persistNewTicket(service);
+        
+        assertThat(response, is(instanceOf(ticketType)));
+        assertThat(response.extractPublicationIdentifier(), is(equalTo(publication.getIdentifier())));
+        verify(client, times(ONE_FOR_PUBLICATION)).getItem(any());
+        verify(client, never()).query(any());
+    }
+    
+    @ParameterizedTest(name = "ticket type:{0}")
+    @DisplayName("should read back created ticket with a consistent read of its primary key")
+    @MethodSource("ticketTypeProvider")
+    void shouldReadBackCreatedTicketWithConsistentReadOfItsPrimaryKey(Class<? extends TicketEntry> ticketType)
+        throws ApiGatewayException {
+        var publication = persistPublication(owner, DRAFT);
+        var ticket = createPersistedTicket(publication, ticketType);
+        var spiedClient = mock(AmazonDynamoDB.class, delegatesTo(client));
+        var service = new TicketService(spiedClient);
+        
+        var readBackTicket = service.fetchConsistently(ticket);
+        
+        assertThat(readBackTicket, is(equalTo(ticket)));
+        var getItemRequest = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(spiedClient).getItem(getItemRequest.capture());
+        assertThat(getItemRequest.getValue().getConsistentRead(), is(true));
+        assertThat(getItemRequest.getValue().getKey(), is(equalTo(ticket.toDao().primaryKey())));
     }
     
     @ParameterizedTest(name = "ticket type:{0}")
@@ -628,6 +658,51 @@ class TicketServiceTest extends ResourcesLocalTest {
         assertThat(fetchedTickets, is(empty()));
     }
     
+    @Test
+    void shouldListTicketsOfCustomerWithStatusMostRecentFirstInPages() throws ApiGatewayException {
+        var publication = persistPublication(owner, DRAFT);
+        var expectedTickets = IntStream.range(0, 7)
+                                  .boxed()
+                                  .map(ignored -> persistGeneralSupportRequest(publication))
+                                  .sorted(Comparator.comparing(ticket -> ticket.getIdentifier().toString(),
+                                      Comparator.reverseOrder()))
+                                  .collect(Collectors.toList());
+        persistGeneralSupportRequest(publication).close().persistUpdate(ticketService);
+        
+        var actualTickets = listAllTicketsByCustomerAndStatus(publication, PENDING, null, 3);
+        
+        assertThat(actualTickets, is(equalTo(expectedTickets)));
+    }
+    
+    @Test
+    void shouldListOnlyTicketsOfRequestedTypeWhenTicketTypeIsSpecified() throws ApiGatewayException {
+        var publication = persistPublication(owner, DRAFT);
+        var doiRequest = createPersistedTicket(publication, DoiRequest.class);
+        createPersistedTicket(publication, PublishingRequestCase.class);
+        persistGeneralSupportRequest(publication);
+        persistGeneralSupportRequest(publication);
+        
+        var actualTickets = listAllTicketsByCustomerAndStatus(publication, PENDING, DoiRequest.class, 1);
+        
+        assertThat(actualTickets, everyItem(is(instanceOf(DoiRequest.class))));
+        assertThat(actualTickets, is(equalTo(List.of(doiRequest))));
+    }
+    
+    private List<TicketEntry> listAllTicketsByCustomerAndStatus(Publication publication, TicketStatus status,
+                                                                Class<? extends TicketEntry> ticketType,
+                                                                int pageSize) {
+        var tickets = new ArrayList<TicketEntry>();
+        Map<String, AttributeValue> startMarker = null;
+        do {
+            var page = ticketService.listTicketsByCustomerAndStatus(publication.getPublisher().getId(), status,
+                ticketType, pageSize, startMarker);
+            assertThat(page.getDatabaseEntries().size(), is(lessThanOrEqualTo(pageSize)));
+            tickets.addAll(page.getDatabaseEntries());
+            startMarker = page.getStartMarker();
+        } while (nonNull(startMarker));
+        return tickets;
+    }
+    
     private List<TicketEntry> createAllTypesOfTickets(Publication publication) {
         return ticketTypeProvider()
                    .map(type -> (Class<? extends TicketEntry>) type)
@@ -671,19 +746,13 @@ class TicketServiceTest extends ResourcesLocalTest {
         return messageService.createMessage(someOtherTicket, publicationOwner, randomString());
     }
     
-    private TicketEntry createMockResponsesImitatingEventualConsistency(Class<? extends TicketEntry> ticketType,
-                                                                        AmazonDynamoDB client) {
-        var mockedGetPublicationResponse = new GetItemResult().withItem(mockedPublicationResponse());
-        var mockedResponseWhenItemNotYetInPlace = ResourceNotFoundException.class;
-        
-        var ticketEntry = createUnpersistedTicket(randomPublicationWithoutDoi(), ticketType);
-        var mockedResponseWhenItemFinallyInPlace = new GetItemResult().withItem(ticketEntry.toDao().toDynamoFormat());
-        
+    private Publication mockPublicationResponse(AmazonDynamoDB client) {
+        var publication = randomPublicationWithoutDoi().copy().withStatus(DRAFT).build();
+        var mockedGetPublicationResponse =
+            new GetItemResult().withItem(new ResourceDao(Resource.fromPublication(publication)).toDynamoFormat());
         when(client.transactWriteItems(any())).thenReturn(new TransactWriteItemsResult());
-        when(client.getItem(any())).thenReturn(mockedGetPublicationResponse)
-            .thenThrow(mockedResponseWhenItemNotYetInPlace)
-            .thenReturn(mockedResponseWhenItemFinallyInPlace);
-        return ticketEntry;
+        when(client.getItem(any())).thenReturn(mockedGetPublicationResponse);
+        return publication;
     }
     
     private TicketEntry createPersistedTicket(Publication publication, Class<?> ticketType) {
@@ -741,26 +810,6 @@ class TicketServiceTest extends ResourcesLocalTest {
         originalTicket.setIdentifier(persistedTicket.getIdentifier());
     }
     
-    private Map<String, AttributeValue> mockedPublicationResponse() {
-        var publication = randomPublicationWithoutDoi().copy().withStatus(DRAFT).build();
-        var resource = Resource.fromPublication(publication);
-        var dao = new ResourceDao(resource);
-        return dao.toDynamoFormat();
-    }
-    
-    private PublishingRequestCase randomPublishingRequest() {
-        var request = new PublishingRequestCase();
-        request.setIdentifier(SortableIdentifier.next());
-        request.setOwner(new User(randomString()));
-        request.setPublicationDetails(PublicationDetails.create(randomPublication()));
-        request.setStatus(COMPLETED);
-        request.setCreatedDate(randomInstant());
-        request.setModifiedDate(randomInstant());
-        request.setCustomerId(randomUri());
-        request.setStatus(randomElement(TicketStatus.values()));
-        return request;
-    }
-    
     private Publication persistPublication(UserInstance owner, PublicationStatus publicationStatus)
         throws ApiGatewayException {
         var publication = createUnpersistedPublication(owner);
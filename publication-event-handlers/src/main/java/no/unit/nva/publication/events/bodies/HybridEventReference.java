@@ -0,0 +1,131 @@
+package no.unit.nva.publication.events.bodies;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.MAX_INLINE_EVENT_BODY_SIZE;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import no.unit.nva.commons.json.JsonSerializable;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UnixPath;
+
+/**
+ * Event body that carries the body of an event inline when it is small enough, and a reference to the body stored
+ * in S3 otherwise. EventBridge events are limited to 256KB, but most bodies are far smaller, so inlining them saves
+ * the S3 write of the producer and the S3 read of every consumer.
+ *
+ * <p>The JSON of a stored body is the JSON of an {@link no.unit.nva.events.models.EventReference}, so events emitted
+ * as EventReferences can be read as HybridEventReferences. Readers get the body with {@link #readBody(S3Driver)}
+ * regardless of where it is.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+public class HybridEventReference implements JsonSerializable {
+    
+    public static final String TOPIC = "topic";
+    public static final String URI_FIELD = "uri";
+    public static final String BODY = "body";
+    
+    @JsonProperty(TOPIC)
+    private final String topic;
+    @JsonProperty(URI_FIELD)
+    private final URI uri;
+    @JsonProperty(BODY)
+    private final JsonNode body;
+    
+    @JsonCreator
+    public HybridEventReference(@JsonProperty(TOPIC) String topic,
+                                @JsonProperty(URI_FIELD) URI uri,
+                                @JsonProperty(BODY) JsonNode body) {
+        this.topic = topic;
+        this.uri = uri;
+        this.body = body;
+    }
+    
+    /**
+     * Creates an event with the body inline when its size is at most {@code MAX_INLINE_EVENT_BODY_SIZE} bytes, and
+     * with a reference to the body stored in S3 otherwise.
+     *
+     * @param topic    the topic of the event.
+     * @param body     the body of the event. It must be JSON.
+     * @param s3Driver the driver of the bucket where large bodies are stored.
+     * @return the event.
+     * @throws IOException when a large body cannot be stored.
+     */
+    public static HybridEventReference create(String topic, String body, S3Driver s3Driver) throws IOException {
+        return create(topic, body, s3Driver, MAX_INLINE_EVENT_BODY_SIZE);
+    }
+    
+    public static HybridEventReference create(String topic, String body, S3Driver s3Driver, int maxInlineBodySize)
+        throws IOException {
+        if (body.getBytes(StandardCharsets.UTF_8).length <= maxInlineBodySize) {
+            return new HybridEventReference(topic, null, JsonUtils.dtoObjectMapper.readTree(body));
+        }
+        var uri = s3Driver.insertFile(UnixPath.of(UUID.randomUUID().toString()), body);
+        return new HybridEventReference(topic, uri, null);
+    }
+    
+    public static HybridEventReference fromJson(String json) {
+        return attempt(() -> JsonUtils.dtoObjectMapper.readValue(json, HybridEventReference.class)).orElseThrow();
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public URI getUri() {
+        return uri;
+    }
+    
+    public JsonNode getBody() {
+        return body;
+    }
+    
+    @JsonIgnore
+    public boolean isInline() {
+        return nonNull(body);
+    }
+    
+    /**
+     * Returns the body of the event, reading it from S3 when it is not inline.
+     *
+     * @param s3Driver the driver of the bucket where large bodies are stored.
+     * @return the body.
+     */
+    public String readBody(S3Driver s3Driver) {
+        return isInline() ? body.toString() : s3Driver.readEvent(uri);
+    }
+    
+    @Override
+    @JacocoGenerated
+    public int hashCode() {
+        return Objects.hash(getTopic(), getUri(), getBody());
+    }
+    
+    @Override
+    @JacocoGenerated
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HybridEventReference)) {
+            return false;
+        }
+        HybridEventReference that = (HybridEventReference) o;
+        return Objects.equals(getTopic(), that.getTopic())
+               && Objects.equals(getUri(), that.getUri())
+               && Objects.equals(getBody(), that.getBody());
+    }
+}
@@ -1,12 +1,16 @@
 package no.unit.nva.publication.events.bodies;
 
+import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.objectMapper;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import no.unit.nva.commons.json.JsonSerializable;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
 
@@ -14,19 +18,37 @@ public class ScanDatabaseRequest implements JsonSerializable {
     
     public static final String START_MARKER = "startMarker";
     public static final String PAGE_SIZE = "pageSize";
+    public static final String SEGMENT = "segment";
+    public static final String TOTAL_SEGMENTS = "totalSegments";
     public static final String SCAN_REQUEST_EVENT_TOPIC = "PublicationService.DataEntry.ScanAndUpdateRowVersion";
     public static final int DEFAULT_PAGE_SIZE = 700; // Choosing for safety 3/4 of max page size.
     public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_TOTAL_SEGMENTS = 1;
+    // One EventBasedBatchScanHandler execution scans each segment, so the limit is the reserved concurrency of the
+    // handler in template.yaml. Segments above it would be throttled instead of scanned in parallel.
+    public static final int MAX_TOTAL_SEGMENTS = 10;
     @JsonProperty(START_MARKER)
     private final Map<String, AttributeValue> startMarker;
     @JsonProperty(PAGE_SIZE)
     private final int pageSize;
+    @JsonProperty(SEGMENT)
+    private final int segment;
+    @JsonProperty(TOTAL_SEGMENTS)
+    private final int totalSegments;
+    
+    public ScanDatabaseRequest(int pageSize, Map<String, AttributeValue> startMarker) {
+        this(pageSize, startMarker, 0, DEFAULT_TOTAL_SEGMENTS);
+    }
     
     @JsonCreator
     public ScanDatabaseRequest(@JsonProperty(PAGE_SIZE) int pageSize,
-                               @JsonProperty(START_MARKER) Map<String, AttributeValue> startMarker) {
+                               @JsonProperty(START_MARKER) Map<String, AttributeValue> startMarker,
+                               @JsonProperty(SEGMENT) int segment,
+                               @JsonProperty(TOTAL_SEGMENTS) int totalSegments) {
         this.pageSize = pageSize;
         this.startMarker = startMarker;
+        this.segment = segment;
+        this.totalSegments = totalSegments;
     }
     
     public static ScanDatabaseRequest fromJson(String detail) throws JsonProcessingException {
@@ -48,8 +70,36 @@ public class ScanDatabaseRequest implements JsonSerializable {
         return startMarker;
     }
     
+    public int getTotalSegments() {
+        return totalSegments > 0
+                   ? Math.min(totalSegments, MAX_TOTAL_SEGMENTS)
+                   : DEFAULT_TOTAL_SEGMENTS;
+    }
+    
+    public int getSegment() {
+        return segment >= 0 && segment < getTotalSegments()
+                   ? segment
+                   : 0;
+    }
+    
     public ScanDatabaseRequest newScanDatabaseRequest(Map<String, AttributeValue> newStartMarker) {
-        return new ScanDatabaseRequest(this.getPageSize(), newStartMarker);
+        return new ScanDatabaseRequest(this.getPageSize(), newStartMarker, this.getSegment(),
+            this.getTotalSegments());
+    }
+    
+    /**
+     * Creates the initial requests of a (parallel) scan, one for every segment. A request that already has a start
+     * marker continues the scan of its own segment, and it is therefore returned as is.
+     *
+     * @return the requests starting the scan of each segment.
+     */
+    public List<ScanDatabaseRequest> createSegmentRequests() {
+        if (nonNull(startMarker)) {
+            return List.of(this);
+        }
+        return IntStream.range(0, getTotalSegments())
+                   .mapToObj(seg -> new ScanDatabaseRequest(getPageSize(), null, seg, getTotalSegments()))
+                   .collect(Collectors.toList());
     }
     
     public PutEventsRequestEntry createNewEventEntry(
@@ -6,6 +6,9 @@ public final class ConfigurationForPushingDirectlyToEventBridge {
     
     public static final Environment ENVIRONMENT = new Environment();
     public static final String EVENT_BUS_NAME = ENVIRONMENT.readEnv("EVENT_BUS_NAME");
+    public static final int EVENT_BRIDGE_MAX_ATTEMPTS = ENVIRONMENT.readEnvOpt("MAX_ATTEMPT")
+                                                            .map(Integer::parseInt)
+                                                            .orElse(3);
     
     private ConfigurationForPushingDirectlyToEventBridge() {
     
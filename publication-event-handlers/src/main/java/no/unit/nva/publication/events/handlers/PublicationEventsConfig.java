@@ -16,6 +16,12 @@ public final class PublicationEventsConfig {
     public static final Environment ENVIRONMENT = new Environment();
     public static final String EVENTS_BUCKET = ENVIRONMENT.readEnv("EVENTS_BUCKET");
     public static final String AWS_REGION = ENVIRONMENT.readEnv("AWS_REGION");
+    // Lambda destination events carry both the input and the output of a handler, and both may have inline bodies.
+    // Two bodies of 64 KB and their envelopes stay well below the EventBridge limit of 256 KB per event.
+    public static final int DEFAULT_MAX_INLINE_EVENT_BODY_SIZE = 64 * 1024;
+    public static final int MAX_INLINE_EVENT_BODY_SIZE = ENVIRONMENT.readEnvOpt("MAX_INLINE_EVENT_BODY_SIZE")
+                                                             .map(Integer::parseInt)
+                                                             .orElse(DEFAULT_MAX_INLINE_EVENT_BODY_SIZE);
     public static final S3Client DEFAULT_S3_CLIENT = S3Driver.defaultS3Client().build();
     
     private PublicationEventsConfig() {
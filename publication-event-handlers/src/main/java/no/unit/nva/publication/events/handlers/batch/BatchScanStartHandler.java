@@ -1,13 +1,18 @@
 package no.unit.nva.publication.events.handlers.batch;
 
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
 import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BUS_NAME;
+import static no.unit.nva.publication.events.handlers.batch.EventBasedBatchScanHandler.SCAN_EVENTS_NOT_SENT_MESSAGE;
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.objectMapper;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
 import no.unit.nva.publication.events.bodies.ScanDatabaseRequest;
+import no.unit.nva.publication.events.handlers.dynamodbstream.EventBridgeRetryClient;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.ioutils.IoUtils;
 import org.slf4j.Logger;
@@ -16,15 +21,18 @@ import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 
 public class BatchScanStartHandler implements RequestStreamHandler {
     
     public static final String INFORMATION_MESSAGE =
         "Starting scanning with pageSize equal to: %s. Set 'pageSize' between [1,1000] "
         + "if you want a different pageSize value.";
+    public static final String SEGMENTS_INFORMATION_MESSAGE =
+        "Scanning in %s parallel segments. Set 'totalSegments' between [1,10] "
+        + "if you want a different number of segments.";
+    public static final int MAX_ENTRIES_PER_PUT_EVENTS_REQUEST = 10;
     private static final Logger logger = LoggerFactory.getLogger(BatchScanStartHandler.class);
-    private final EventBridgeClient client;
+    private final EventBridgeRetryClient client;
     
     @JacocoGenerated
     public BatchScanStartHandler() {
@@ -32,7 +40,7 @@ public class BatchScanStartHandler implements RequestStreamHandler {
     }
     
     public BatchScanStartHandler(EventBridgeClient client) {
-        this.client = client;
+        this.client = new EventBridgeRetryClient(client, EVENT_BRIDGE_MAX_ATTEMPTS);
     }
     
     @Override
@@ -41,12 +49,18 @@ public class BatchScanStartHandler implements RequestStreamHandler {
         ScanDatabaseRequest scanRequest =
             objectMapper.readValue(inputString, ScanDatabaseRequest.class);
         logger.info(String.format(INFORMATION_MESSAGE, scanRequest.getPageSize()));
-        var event = scanRequest.createNewEventEntry(
-            EVENT_BUS_NAME,
-            EventBasedBatchScanHandler.DETAIL_TYPE,
-            context.getInvokedFunctionArn());
-        PutEventsResponse response = sendEvent(event);
-        logger.info(response.toString());
+        logger.info(String.format(SEGMENTS_INFORMATION_MESSAGE, scanRequest.getTotalSegments()));
+        var events = scanRequest.createSegmentRequests()
+                         .stream()
+                         .map(segmentRequest -> segmentRequest.createNewEventEntry(
+                             EVENT_BUS_NAME,
+                             EventBasedBatchScanHandler.DETAIL_TYPE,
+                             context.getInvokedFunctionArn()))
+                         .collect(Collectors.toList());
+        for (int start = 0; start < events.size(); start += MAX_ENTRIES_PER_PUT_EVENTS_REQUEST) {
+            var end = Math.min(start + MAX_ENTRIES_PER_PUT_EVENTS_REQUEST, events.size());
+            sendEvents(events.subList(start, end));
+        }
     }
     
     @JacocoGenerated
@@ -56,8 +70,11 @@ public class BatchScanStartHandler implements RequestStreamHandler {
                    .build();
     }
     
-    private PutEventsResponse sendEvent(PutEventsRequestEntry event) {
-        PutEventsRequest putEventsRequest = PutEventsRequest.builder().entries(event).build();
-        return client.putEvents(putEventsRequest);
+    private void sendEvents(List<PutEventsRequestEntry> events) {
+        PutEventsRequest putEventsRequest = PutEventsRequest.builder().entries(events).build();
+        var failedEvents = client.putEvents(putEventsRequest);
+        if (!failedEvents.isEmpty()) {
+            throw new IllegalStateException(String.format(SCAN_EVENTS_NOT_SENT_MESSAGE, failedEvents));
+        }
     }
 }
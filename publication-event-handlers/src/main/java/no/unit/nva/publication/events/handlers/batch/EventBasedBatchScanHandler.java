@@ -1,12 +1,15 @@
 package no.unit.nva.publication.events.handlers.batch;
 
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
 import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BUS_NAME;
 import com.amazonaws.services.lambda.runtime.Context;
 import no.unit.nva.events.handlers.EventHandler;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.publication.events.bodies.ScanDatabaseRequest;
+import no.unit.nva.publication.events.handlers.dynamodbstream.EventBridgeRetryClient;
 import no.unit.nva.publication.model.ListingResult;
 import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.core.JacocoGenerated;
 import org.slf4j.Logger;
@@ -19,9 +22,10 @@ import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
 public class EventBasedBatchScanHandler extends EventHandler<ScanDatabaseRequest, Void> {
     
     public static final String DETAIL_TYPE = "NO_DETAIL_TYPE";
+    public static final String SCAN_EVENTS_NOT_SENT_MESSAGE = "Could not send scan events: %s";
     
     private final ResourceService resourceService;
-    private final EventBridgeClient eventBridgeClient;
+    private final EventBridgeRetryClient eventBridgeClient;
     private final Logger logger = LoggerFactory.getLogger(EventBasedBatchScanHandler.class);
     
     @JacocoGenerated
@@ -32,20 +36,25 @@ public class EventBasedBatchScanHandler extends EventHandler<ScanDatabaseRequest
     public EventBasedBatchScanHandler(ResourceService resourceService, EventBridgeClient eventBridgeClient) {
         super(ScanDatabaseRequest.class);
         this.resourceService = resourceService;
-        this.eventBridgeClient = eventBridgeClient;
+        this.eventBridgeClient = new EventBridgeRetryClient(eventBridgeClient, EVENT_BRIDGE_MAX_ATTEMPTS);
     }
     
     @Override
     protected Void processInput(ScanDatabaseRequest input, AwsEventBridgeEvent<ScanDatabaseRequest> event,
                                 Context context) {
-        ListingResult<Entity> result =
-            resourceService.scanResources(input.getPageSize(), input.getStartMarker());
-        resourceService.refreshResources(result.getDatabaseEntries());
-        logger.info("Query starting point:" + input.getStartMarker());
-        if (result.isTruncated()) {
-            sendEventToInvokeNewRefreshRowVersionExecution(input, context, result);
+        try {
+            ListingResult<Entity> result =
+                resourceService.scanResources(input.getPageSize(), input.getStartMarker(),
+                    input.getSegment(), input.getTotalSegments());
+            resourceService.refreshResources(result.getDatabaseEntries());
+            logger.info("Query starting point for segment " + input.getSegment() + ":" + input.getStartMarker());
+            if (result.isTruncated()) {
+                sendEventToInvokeNewRefreshRowVersionExecution(input, context, result);
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        return null;
     }
     
     @JacocoGenerated
@@ -69,6 +78,9 @@ public class EventBasedBatchScanHandler extends EventHandler<ScanDatabaseRequest
         PutEventsRequest putEventRequest = PutEventsRequest.builder()
                                                .entries(putEventRequestEntry)
                                                .build();
-        eventBridgeClient.putEvents(putEventRequest);
+        var failedEvents = eventBridgeClient.putEvents(putEventRequest);
+        if (!failedEvents.isEmpty()) {
+            throw new IllegalStateException(String.format(SCAN_EVENTS_NOT_SENT_MESSAGE, failedEvents));
+        }
     }
 }
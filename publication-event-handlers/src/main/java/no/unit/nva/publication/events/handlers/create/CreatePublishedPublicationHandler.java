@@ -15,6 +15,7 @@ import no.unit.nva.model.Organization;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.ResourceOwner;
 import no.unit.nva.publication.create.CreatePublicationRequest;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
@@ -41,14 +42,18 @@ public class CreatePublishedPublicationHandler extends EventHandler<EventReferen
     protected PublicationResponse processInput(EventReference eventDetail,
                                                AwsEventBridgeEvent<EventReference> event,
                                                Context context) {
-        var input = readEventBodyFromS3(eventDetail);
+        try {
+            var input = readEventBodyFromS3(eventDetail);
         
-        return attempt(() -> parseInput(input))
-                   .map(CreatePublicationRequest::toPublication)
-                   .map(this::addOwnerAndPublisher)
-                   .map(this::storeAsPublishedPublication)
-                   .map(PublicationResponse::fromPublication)
-                   .orElseThrow();
+            return attempt(() -> parseInput(input))
+                       .map(CreatePublicationRequest::toPublication)
+                       .map(this::addOwnerAndPublisher)
+                       .map(this::storeAsPublishedPublication)
+                       .map(PublicationResponse::fromPublication)
+                       .orElseThrow();
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     private Publication addOwnerAndPublisher(Publication publication) {
@@ -10,6 +10,7 @@ import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.model.Publication;
 import no.unit.nva.publication.events.bodies.ResourceDraftedForDeletionEvent;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.apigateway.exceptions.NotFoundException;
@@ -47,17 +48,21 @@ public class DeleteDraftPublicationHandler
         ResourceDraftedForDeletionEvent input,
         AwsEventBridgeEvent<AwsEventBridgeDetail<ResourceDraftedForDeletionEvent>> event,
         Context context) {
-        if (input.hasDoi()) {
-            throwPublicationHasDoiError();
-        }
-        
         try {
-            UserInstance userInstance = fetchUserInformationForPublication(input);
-            resourceService.deleteDraftPublication(userInstance, input.getIdentifier());
-        } catch (NotFoundException | BadRequestException e) {
-            throw new RuntimeException(e);
+            if (input.hasDoi()) {
+                throwPublicationHasDoiError();
+            }
+        
+            try {
+                UserInstance userInstance = fetchUserInformationForPublication(input);
+                resourceService.deleteDraftPublication(userInstance, input.getIdentifier());
+            } catch (NotFoundException | BadRequestException e) {
+                throw new RuntimeException(e);
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        return null;
     }
     
     private UserInstance fetchUserInformationForPublication(ResourceDraftedForDeletionEvent input)
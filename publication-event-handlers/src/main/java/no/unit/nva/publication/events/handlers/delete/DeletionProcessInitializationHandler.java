@@ -10,6 +10,7 @@ import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
 import no.unit.nva.publication.events.bodies.ResourceDraftedForDeletionEvent;
 import no.unit.nva.publication.model.business.Entity;
 import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.core.JacocoGenerated;
 
@@ -33,11 +34,15 @@ public class DeletionProcessInitializationHandler
         DataEntryUpdateEvent input,
         AwsEventBridgeEvent<AwsEventBridgeDetail<DataEntryUpdateEvent>> event,
         Context context) {
-        Publication publication = toPublication(input.getNewData());
-        if (isDraftForDeletion(publication)) {
-            return toDeletePublicationEvent(publication);
+        try {
+            Publication publication = toPublication(input.getNewData());
+            if (isDraftForDeletion(publication)) {
+                return toDeletePublicationEvent(publication);
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        return null;
     }
     
     private boolean isDraftForDeletion(Publication publication) {
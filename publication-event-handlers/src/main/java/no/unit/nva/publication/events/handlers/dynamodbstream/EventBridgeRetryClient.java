@@ -1,5 +1,7 @@
 package no.unit.nva.publication.events.handlers.dynamodbstream;
 
+import static java.util.Objects.isNull;
+import static no.unit.nva.publication.service.impl.ConcurrentRequests.waitBeforeRetry;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.IntPredicate;
@@ -31,7 +33,8 @@ public class EventBridgeRetryClient {
     }
     
     /**
-     * Put events on EventBridge EventBus.
+     * Put events on EventBridge EventBus. The failed entries are retried with exponential backoff and full jitter, so
+     * that throttled handlers do not retry in sync.
      *
      * @param request request
      * @return list of PutEventsRequestEntry
@@ -40,10 +43,13 @@ public class EventBridgeRetryClient {
         PutEventsRequest requestCopy = request;
         
         for (int attemptCount = 0; attemptCount < maxAttempt; attemptCount++) {
+            if (attemptCount > 0) {
+                waitBeforeRetry(attemptCount);
+            }
             logger.debug("Attempt {} to put events {}", attemptCount + 1, requestCopy);
             PutEventsResponse response = eventBridge.putEvents(requestCopy);
             
-            if (response.failedEntryCount() == 0) {
+            if (isNull(response.failedEntryCount()) || response.failedEntryCount() == 0) {
                 return Collections.emptyList();
             }
             
@@ -0,0 +1,65 @@
+package no.unit.nva.publication.events.handlers.dynamodbstream;
+
+import static java.util.Objects.nonNull;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+/**
+ * Packs EventBridge entries into as few PutEvents requests as the limits of PutEvents allow: at most 10 entries and
+ * at most 256KB per request. The size of an entry is calculated as EventBridge calculates it.
+ */
+public final class PutEventsBatches {
+    
+    public static final int MAX_ENTRIES_PER_REQUEST = 10;
+    public static final int MAX_REQUEST_SIZE_IN_BYTES = 256 * 1024;
+    public static final int TIMESTAMP_SIZE_IN_BYTES = 14;
+    
+    private PutEventsBatches() {
+    
+    }
+    
+    /**
+     * Splits the entries in batches that respect both the entry count and the request size limits of PutEvents.
+     *
+     * @param entries the entries.
+     * @return the batches, with the entries in the order they were given.
+     */
+    public static List<List<PutEventsRequestEntry>> pack(Collection<PutEventsRequestEntry> entries) {
+        var batches = new ArrayList<List<PutEventsRequestEntry>>();
+        var currentBatch = new ArrayList<PutEventsRequestEntry>();
+        long currentBatchSize = 0;
+        for (var entry : entries) {
+            var entrySize = entrySize(entry);
+            if (currentBatch.size() == MAX_ENTRIES_PER_REQUEST
+                || !currentBatch.isEmpty() && currentBatchSize + entrySize > MAX_REQUEST_SIZE_IN_BYTES) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentBatchSize = 0;
+            }
+            currentBatch.add(entry);
+            currentBatchSize += entrySize;
+        }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
+    
+    public static long entrySize(PutEventsRequestEntry entry) {
+        long size = nonNull(entry.time()) ? TIMESTAMP_SIZE_IN_BYTES : 0;
+        size += utf8Length(entry.source());
+        size += utf8Length(entry.detailType());
+        size += utf8Length(entry.detail());
+        if (nonNull(entry.resources())) {
+            size += entry.resources().stream().mapToLong(PutEventsBatches::utf8Length).sum();
+        }
+        return size;
+    }
+    
+    private static long utf8Length(String value) {
+        return nonNull(value) ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+}
@@ -0,0 +1,135 @@
+package no.unit.nva.publication.events.handlers.dynamodbstream;
+
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BUS_NAME;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse.BatchItemFailure;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import nva.commons.core.attempt.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+/**
+ * Publishes an EventBridge event for each record of a batch of DynamoDB stream records.
+ *
+ * <p>The events of the records of a batch are created concurrently, as creating an event may store its body in S3,
+ * and are sent in as few PutEvents requests as the limits of PutEvents allow (see {@link PutEventsBatches}). The
+ * records whose events could not be created or sent are returned as batch item failures, so that only they and the
+ * records after them in their shard are retried.
+ */
+public abstract class StreamRecordsToEventBridgeHandler
+    implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+    
+    public static final String DETAIL_TYPE_NOT_IMPORTANT = "See event topic";
+    public static final String DYNAMO_DB_STREAM_SOURCE = "DynamoDbStream";
+    public static final int MAX_CONCURRENT_EVENT_CREATIONS = 16;
+    private static final ExecutorService EVENT_CREATION_EXECUTOR = Executors.newFixedThreadPool(
+        MAX_CONCURRENT_EVENT_CREATIONS,
+        runnable -> {
+            var thread = new Thread(runnable, "stream-record-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private static final Logger logger = LoggerFactory.getLogger(StreamRecordsToEventBridgeHandler.class);
+    private final EventBridgeRetryClient eventBridgeClient;
+    
+    protected StreamRecordsToEventBridgeHandler(EventBridgeClient eventBridgeClient) {
+        this.eventBridgeClient = new EventBridgeRetryClient(eventBridgeClient, EVENT_BRIDGE_MAX_ATTEMPTS);
+    }
+    
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent inputEvent, Context context) {
+        var records = inputEvent.getRecords();
+        var eventDetails = createEventDetails(records);
+        var failedRecords = Collections.newSetFromMap(new IdentityHashMap<DynamodbStreamRecord, Boolean>());
+        var entries = new ArrayList<PutEventsRequestEntry>();
+        var recordsOfEntries = new IdentityHashMap<PutEventsRequestEntry, DynamodbStreamRecord>();
+        for (int index = 0; index < records.size(); index++) {
+            var record = records.get(index);
+            var eventDetail = eventDetails.get(index);
+            if (eventDetail.isFailure()) {
+                logger.error("Could not create event of stream record {}", record.getEventID(),
+                    eventDetail.getException());
+                failedRecords.add(record);
+            } else if (eventDetail.get().isPresent()) {
+                var entry = createPutEventRequestEntry(context, eventDetail.get().get());
+                entries.add(entry);
+                recordsOfEntries.put(entry, record);
+            }
+        }
+        failedRecords.addAll(sendEvents(entries, recordsOfEntries));
+        return new StreamsEventResponse(batchItemFailures(records, failedRecords));
+    }
+    
+    /**
+     * Creates the detail of the event of a stream record.
+     *
+     * @param record the stream record.
+     * @return the detail of the event, or empty when no event should be published for the record.
+     * @throws IOException when the event cannot be created.
+     */
+    protected abstract Optional<String> createEventDetail(DynamodbStreamRecord record) throws IOException;
+    
+    private static List<BatchItemFailure> batchItemFailures(List<DynamodbStreamRecord> records,
+                                                            Set<DynamodbStreamRecord> failedRecords) {
+        return records.stream()
+                   .filter(failedRecords::contains)
+                   .map(record -> new BatchItemFailure(record.getDynamodb().getSequenceNumber()))
+                   .collect(Collectors.toList());
+    }
+    
+    private List<Try<Optional<String>>> createEventDetails(List<DynamodbStreamRecord> records) {
+        var eventDetails = records.stream()
+                               .map(record -> CompletableFuture.supplyAsync(
+                                   () -> attempt(() -> createEventDetail(record)), EVENT_CREATION_EXECUTOR))
+                               .collect(Collectors.toList());
+        return eventDetails.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+    
+    private Collection<DynamodbStreamRecord> sendEvents(
+        List<PutEventsRequestEntry> entries, Map<PutEventsRequestEntry, DynamodbStreamRecord> recordsOfEntries) {
+        var failedRecords = new ArrayList<DynamodbStreamRecord>();
+        for (var batch : PutEventsBatches.pack(entries)) {
+            var request = PutEventsRequest.builder().entries(batch).build();
+            var sending = attempt(() -> eventBridgeClient.putEvents(request));
+            if (sending.isFailure()) {
+                logger.error("Could not send events", sending.getException());
+            }
+            var failedEntries = sending.isFailure() ? batch : sending.get();
+            failedEntries.forEach(failedEntry -> failedRecords.add(recordsOfEntries.get(failedEntry)));
+        }
+        return failedRecords;
+    }
+    
+    private PutEventsRequestEntry createPutEventRequestEntry(Context context, String eventDetail) {
+        return PutEventsRequestEntry.builder()
+                   .eventBusName(EVENT_BUS_NAME)
+                   .time(Instant.now())
+                   .source(DYNAMO_DB_STREAM_SOURCE)
+                   .detailType(DETAIL_TYPE_NOT_IMPORTANT)
+                   .resources(context.getInvokedFunctionArn())
+                   .detail(eventDetail)
+                   .build();
+    }
+}
@@ -0,0 +1,249 @@
+package no.unit.nva.publication.events.handlers.expandresources;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BUS_NAME;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.defaultEventBridgeClient;
+import static no.unit.nva.publication.events.handlers.dynamodbstream.StreamRecordsToEventBridgeHandler.DETAIL_TYPE_NOT_IMPORTANT;
+import static no.unit.nva.publication.events.handlers.expandresources.ExpandDataEntriesHandler.EXPANDED_ENTRY_UPDATED_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.fanout.DataEntryUpdateStreamHandler.RESPONSE_PAYLOAD_FIELD;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse.BatchItemFailure;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.expansion.ResourceExpansionService;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
+import no.unit.nva.publication.events.handlers.dynamodbstream.EventBridgeRetryClient;
+import no.unit.nva.publication.events.handlers.dynamodbstream.PutEventsBatches;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.publication.utils.EmbeddedMetrics.Metric;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.attempt.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Expands the updates of data entries that are queued in SQS, coalescing rapid successive updates of the same entry.
+ *
+ * <p>The queue is read in batches that are collected over a short batching window. Only the newest update of each
+ * entry in a batch is expanded, as the expansions of its older updates would be overwritten by it anyway. The updates
+ * are ordered by the modified date of the entry, because the queue does not keep them in order. The expanded entries
+ * are published as the Lambda destination events of the {@link ExpandDataEntriesHandler} were, so their consumers are
+ * unchanged. The messages of the updates that could not be read, expanded or published are returned as batch item
+ * failures, which have the same format for SQS as for DynamoDB streams.
+ */
+public class CoalescingExpandDataEntriesHandler implements RequestHandler<SQSEvent, StreamsEventResponse> {
+    
+    public static final String COALESCED_UPDATES_METRIC = "CoalescedUpdates";
+    public static final String EXPANSION_EVENT_SOURCE = "PublicationService.DataEntryExpansion";
+    public static final int MAX_CONCURRENT_EXPANSIONS = 8;
+    private static final ExecutorService EXPANSION_EXECUTOR = Executors.newFixedThreadPool(
+        MAX_CONCURRENT_EXPANSIONS,
+        runnable -> {
+            var thread = new Thread(runnable, "data-entry-expansions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingExpandDataEntriesHandler.class);
+    private final S3Driver s3Driver;
+    private final DataEntryExpansion dataEntryExpansion;
+    private final EventBridgeRetryClient eventBridgeClient;
+    private final EmbeddedMetrics metrics;
+    
+    @JacocoGenerated
+    public CoalescingExpandDataEntriesHandler() {
+        this(S3Driver.defaultS3Client().build(), defaultEventBridgeClient(),
+            ExpandDataEntriesHandler.defaultResourceExpansionService(), EmbeddedMetrics.STANDARD_OUTPUT);
+    }
+    
+    public CoalescingExpandDataEntriesHandler(S3Client s3Client, EventBridgeClient eventBridgeClient,
+                                              ResourceExpansionService resourceExpansionService,
+                                              EmbeddedMetrics metrics) {
+        this.s3Driver = new S3Driver(s3Client, EVENTS_BUCKET);
+        this.dataEntryExpansion = new DataEntryExpansion(s3Driver, resourceExpansionService);
+        this.eventBridgeClient = new EventBridgeRetryClient(eventBridgeClient, EVENT_BRIDGE_MAX_ATTEMPTS);
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public StreamsEventResponse handleRequest(SQSEvent input, Context context) {
+        var messages = input.getRecords();
+        var failedMessages = new HashSet<String>();
+        var updates = coalesceUpdates(messages, failedMessages);
+        var expansions = expandUpdates(updates);
+        // The expansions are the only database requests of the invocation.
+        InstrumentedDynamoDbClient.flushAll();
+        var entries = new ArrayList<PutEventsRequestEntry>();
+        var updatesOfEntries = new IdentityHashMap<PutEventsRequestEntry, CoalescedUpdate>();
+        for (int index = 0; index < updates.size(); index++) {
+            var update = updates.get(index);
+            var expansion = expansions.get(index);
+            if (expansion.isFailure()) {
+                logger.error("Could not expand entry {}", update.getEntryIdentifier(), expansion.getException());
+                failedMessages.addAll(update.getMessageIds());
+            } else if (expansion.get().isPresent()) {
+                var entry = createPutEventRequestEntry(context, expansion.get().get());
+                entries.add(entry);
+                updatesOfEntries.put(entry, update);
+            }
+        }
+        sendEvents(entries, updatesOfEntries).forEach(update -> failedMessages.addAll(update.getMessageIds()));
+        return new StreamsEventResponse(batchItemFailures(messages, failedMessages));
+    }
+    
+    private static List<BatchItemFailure> batchItemFailures(List<SQSMessage> messages, Set<String> failedMessages) {
+        return messages.stream()
+                   .map(SQSMessage::getMessageId)
+                   .filter(failedMessages::contains)
+                   .map(BatchItemFailure::new)
+                   .collect(Collectors.toList());
+    }
+    
+    private List<CoalescedUpdate> coalesceUpdates(List<SQSMessage> messages, Set<String> failedMessages) {
+        var newestUpdates = new LinkedHashMap<SortableIdentifier, CoalescedUpdate>();
+        for (var message : messages) {
+            var update = attempt(() -> readUpdate(message));
+            if (update.isFailure()) {
+                logger.error("Could not read the update of message {}", message.getMessageId(),
+                    update.getException());
+                failedMessages.add(message.getMessageId());
+            } else {
+                newestUpdates.merge(update.get().getEntryIdentifier(), update.get(), CoalescedUpdate::combine);
+            }
+        }
+        countCoalescedUpdates(messages.size() - failedMessages.size() - newestUpdates.size());
+        return new ArrayList<>(newestUpdates.values());
+    }
+    
+    private CoalescedUpdate readUpdate(SQSMessage message) {
+        var eventReference = HybridEventReference.fromJson(message.getBody());
+        var updateEvent = DataEntryUpdateEvent.fromJson(eventReference.readBody(s3Driver));
+        return new CoalescedUpdate(updateEvent, List.of(message.getMessageId()));
+    }
+    
+    private void countCoalescedUpdates(int coalescedUpdates) {
+        metrics.put(Map.of(), List.of(Metric.count(COALESCED_UPDATES_METRIC, coalescedUpdates)));
+    }
+    
+    private List<Try<Optional<URI>>> expandUpdates(List<CoalescedUpdate> updates) {
+        var expansions = updates.stream()
+                             .map(update -> CompletableFuture.supplyAsync(
+                                 () -> attempt(() -> dataEntryExpansion.expand(update.getUpdateEvent())),
+                                 EXPANSION_EXECUTOR))
+                             .collect(Collectors.toList());
+        return expansions.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+    
+    private Collection<CoalescedUpdate> sendEvents(List<PutEventsRequestEntry> entries,
+                                                   Map<PutEventsRequestEntry, CoalescedUpdate> updatesOfEntries) {
+        var failedUpdates = new ArrayList<CoalescedUpdate>();
+        for (var batch : PutEventsBatches.pack(entries)) {
+            var request = PutEventsRequest.builder().entries(batch).build();
+            var sending = attempt(() -> eventBridgeClient.putEvents(request));
+            if (sending.isFailure()) {
+                logger.error("Could not send events", sending.getException());
+            }
+            var failedEntries = sending.isFailure() ? batch : sending.get();
+            failedEntries.forEach(failedEntry -> failedUpdates.add(updatesOfEntries.get(failedEntry)));
+        }
+        return failedUpdates;
+    }
+    
+    private PutEventsRequestEntry createPutEventRequestEntry(Context context, URI expandedEntry) {
+        var eventReference = new EventReference(EXPANDED_ENTRY_UPDATED_EVENT_TOPIC, expandedEntry);
+        var detail = JsonUtils.dtoObjectMapper.createObjectNode();
+        detail.set(RESPONSE_PAYLOAD_FIELD, JsonUtils.dtoObjectMapper.valueToTree(eventReference));
+        return PutEventsRequestEntry.builder()
+                   .eventBusName(EVENT_BUS_NAME)
+                   .time(Instant.now())
+                   .source(EXPANSION_EVENT_SOURCE)
+                   .detailType(DETAIL_TYPE_NOT_IMPORTANT)
+                   .resources(context.getInvokedFunctionArn())
+                   .detail(attempt(() -> JsonUtils.dtoObjectMapper.writeValueAsString(detail)).orElseThrow())
+                   .build();
+    }
+    
+    /**
+     * The newest update of an entry, and the messages of all updates of the entry that it replaces.
+     */
+    private static final class CoalescedUpdate {
+    
+        // A deletion is newer than an update with the same modified date, as it deletes the updated version.
+        private static final Comparator<CoalescedUpdate> BY_VERSION =
+            Comparator.comparing(CoalescedUpdate::getModifiedDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(CoalescedUpdate::isDeletion);
+    
+        private final DataEntryUpdateEvent updateEvent;
+        private final List<String> messageIds;
+    
+        private CoalescedUpdate(DataEntryUpdateEvent updateEvent, List<String> messageIds) {
+            this.updateEvent = updateEvent;
+            this.messageIds = messageIds;
+        }
+    
+        // The later of two updates of the same version is kept.
+        public static CoalescedUpdate combine(CoalescedUpdate earlier, CoalescedUpdate later) {
+            var newest = BY_VERSION.compare(later, earlier) >= 0 ? later : earlier;
+            var allMessageIds = Stream.concat(earlier.getMessageIds().stream(), later.getMessageIds().stream())
+                                    .collect(Collectors.toList());
+            return new CoalescedUpdate(newest.getUpdateEvent(), allMessageIds);
+        }
+    
+        public DataEntryUpdateEvent getUpdateEvent() {
+            return updateEvent;
+        }
+    
+        public List<String> getMessageIds() {
+            return messageIds;
+        }
+    
+        public SortableIdentifier getEntryIdentifier() {
+            return latestVersion().getIdentifier();
+        }
+    
+        private Instant getModifiedDate() {
+            return latestVersion().getModifiedDate();
+        }
+    
+        private boolean isDeletion() {
+            return isNull(updateEvent.getNewData());
+        }
+    
+        private Entity latestVersion() {
+            return nonNull(updateEvent.getNewData()) ? updateEvent.getNewData() : updateEvent.getOldData();
+        }
+    }
+}
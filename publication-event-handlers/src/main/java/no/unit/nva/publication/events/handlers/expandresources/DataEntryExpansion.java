@@ -0,0 +1,82 @@
+package no.unit.nva.publication.events.handlers.expandresources;
+
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.util.Optional;
+import no.unit.nva.expansion.ResourceExpansionService;
+import no.unit.nva.model.PublicationStatus;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import nva.commons.core.attempt.Failure;
+import nva.commons.core.paths.UnixPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Expands the new version of an updated data entry and stores the expanded entry in S3.
+ */
+public class DataEntryExpansion {
+    
+    public static final String ERROR_EXPANDING_RESOURCE_WARNING = "Error expanding resource:";
+    public static final String HANDLER_EVENTS_FOLDER = "PublicationService-DataEntryExpansion";
+    private static final Logger logger = LoggerFactory.getLogger(DataEntryExpansion.class);
+    private final S3Driver s3Driver;
+    private final ResourceExpansionService resourceExpansionService;
+    
+    public DataEntryExpansion(S3Driver s3Driver, ResourceExpansionService resourceExpansionService) {
+        this.s3Driver = s3Driver;
+        this.resourceExpansionService = resourceExpansionService;
+    }
+    
+    /**
+     * Expands the new version of the entry of an update. Failing expansions are logged and not expanded.
+     *
+     * @param updateEvent the update.
+     * @return the URI of the stored expanded entry, or empty when the entry was deleted, is not to be expanded or
+     *     could not be expanded.
+     */
+    public Optional<URI> expand(DataEntryUpdateEvent updateEvent) {
+        return Optional.ofNullable(updateEvent.getNewData())
+                   .filter(DataEntryExpansion::shouldBeEnriched)
+                   .flatMap(this::enrich)
+                   .map(this::insertEventBodyToS3);
+    }
+    
+    private static boolean shouldBeEnriched(Entity entry) {
+        if (entry instanceof Resource) {
+            Resource resource = (Resource) entry;
+            return PublicationStatus.PUBLISHED.equals(resource.getStatus());
+        } else if (entry instanceof DoiRequest) {
+            return isDoiRequestReadyForEvaluation((DoiRequest) entry);
+        } else {
+            return true;
+        }
+    }
+    
+    private static boolean isDoiRequestReadyForEvaluation(DoiRequest doiRequest) {
+        return PublicationStatus.PUBLISHED.equals(doiRequest.getResourceStatus());
+    }
+    
+    private URI insertEventBodyToS3(String string) {
+        return attempt(() -> s3Driver.insertEvent(UnixPath.of(HANDLER_EVENTS_FOLDER), string)).orElseThrow();
+    }
+    
+    private Optional<String> enrich(Entity newData) {
+        return attempt(() -> createExpandedResourceUpdate(newData))
+                   .toOptional(fail -> logError(fail, newData));
+    }
+    
+    private String createExpandedResourceUpdate(Entity input) throws JsonProcessingException, NotFoundException {
+        return resourceExpansionService.expandEntry(input).toJsonString();
+    }
+    
+    private void logError(Failure<?> fail, Entity input) {
+        Exception exception = fail.getException();
+        logger.warn(ERROR_EXPANDING_RESOURCE_WARNING + input.getIdentifier(), exception);
+    }
+}
@@ -0,0 +1,13 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+
+/**
+ * Decides whether an update of a data entry changes anything that the consumers of {@link DataEntryUpdateEvent}s
+ * use. Updates that do not are not emitted.
+ */
+@FunctionalInterface
+public interface ChangeClassifier {
+    
+    boolean isRelevant(DataEntryUpdateEvent updateEvent);
+}
@@ -0,0 +1,75 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import static no.unit.nva.publication.events.handlers.fanout.DynamodbStreamRecordDaoMapper.toEntity;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.publication.utils.EmbeddedMetrics.Metric;
+import nva.commons.core.attempt.Failure;
+import nva.commons.core.exceptions.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the DynamoDB stream records of data entries to DataEntryUpdateEvents. Updates that do not change anything
+ * the consumers use (see {@link ChangeClassifier}) are dropped, and are counted in the SuppressedUpdates metric.
+ */
+public class DataEntryUpdateConverter {
+    
+    public static final Entity NO_VALUE = null;
+    public static final String SUPPRESSED_UPDATES_METRIC = "SuppressedUpdates";
+    public static final String TOPIC_DIMENSION = "Topic";
+    private static final Logger logger = LoggerFactory.getLogger(DataEntryUpdateConverter.class);
+    private final ChangeClassifier changeClassifier;
+    private final EmbeddedMetrics metrics;
+    
+    public DataEntryUpdateConverter(ChangeClassifier changeClassifier, EmbeddedMetrics metrics) {
+        this.changeClassifier = changeClassifier;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Converts a stream record to a DataEntryUpdateEvent.
+     *
+     * @param dynamoDbRecord the stream record.
+     * @return the event, or empty when the record is not of a data entry or the update is not relevant.
+     */
+    public Optional<DataEntryUpdateEvent> convert(DynamodbStreamRecord dynamoDbRecord) {
+        var updateEvent = new DataEntryUpdateEvent(
+            dynamoDbRecord.getEventName(),
+            getEntity(dynamoDbRecord.getDynamodb().getOldImage()),
+            getEntity(dynamoDbRecord.getDynamodb().getNewImage())
+        );
+        if (!updateEvent.notEmpty()) {
+            return Optional.empty();
+        }
+        if (!changeClassifier.isRelevant(updateEvent)) {
+            countSuppressedUpdate(updateEvent);
+            return Optional.empty();
+        }
+        return Optional.of(updateEvent);
+    }
+    
+    private void countSuppressedUpdate(DataEntryUpdateEvent updateEvent) {
+        logger.debug("Suppressed update of {}", updateEvent.getNewData().getIdentifier());
+        metrics.put(Map.of(TOPIC_DIMENSION, updateEvent.getTopic()),
+            List.of(Metric.count(SUPPRESSED_UPDATES_METRIC, 1)));
+    }
+    
+    private Entity getEntity(Map<String, AttributeValue> image) {
+        return attempt(() -> toEntity(image))
+                   .toOptional(this::logFailureInDebugging)
+                   .flatMap(Function.identity()).orElse(NO_VALUE);
+    }
+    
+    private void logFailureInDebugging(Failure<Optional<Entity>> fail) {
+        logger.debug(ExceptionUtils.stackTraceInSingleLine(fail.getException()));
+    }
+}
@@ -0,0 +1,59 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.defaultEventBridgeClient;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import java.io.IOException;
+import java.util.Optional;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
+import no.unit.nva.publication.events.handlers.dynamodbstream.StreamRecordsToEventBridgeHandler;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.core.JacocoGenerated;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Converts the DynamoDB stream records of data entries to DataEntryUpdateEvents and publishes them in one step, which
+ * replaces the DynamodbStreamToEventBridgeHandler followed by the {@link DataEntryUpdateHandler}.
+ *
+ * <p>The events are published as the Lambda destination events of the DataEntryUpdateHandler were, with the
+ * {@link HybridEventReference} of the update as the response payload, so the rules that route on
+ * {@code detail.responsePayload.topic} and the consumers of the events are unchanged.
+ */
+public class DataEntryUpdateStreamHandler extends StreamRecordsToEventBridgeHandler {
+    
+    public static final String RESPONSE_PAYLOAD_FIELD = "responsePayload";
+    private final S3Driver s3Driver;
+    private final DataEntryUpdateConverter converter;
+    
+    @JacocoGenerated
+    public DataEntryUpdateStreamHandler() {
+        this(S3Driver.defaultS3Client().build(), defaultEventBridgeClient(), IgnoredFieldsChangeClassifier.DEFAULT,
+            EmbeddedMetrics.STANDARD_OUTPUT);
+    }
+    
+    public DataEntryUpdateStreamHandler(S3Client s3Client, EventBridgeClient eventBridgeClient,
+                                        ChangeClassifier changeClassifier, EmbeddedMetrics metrics) {
+        super(eventBridgeClient);
+        this.s3Driver = new S3Driver(s3Client, EVENTS_BUCKET);
+        this.converter = new DataEntryUpdateConverter(changeClassifier, metrics);
+    }
+    
+    @Override
+    protected Optional<String> createEventDetail(DynamodbStreamRecord record) throws IOException {
+        var updateEvent = converter.convert(record);
+        return updateEvent.isPresent()
+                   ? Optional.of(createEventDetail(updateEvent.get()))
+                   : Optional.empty();
+    }
+    
+    private String createEventDetail(DataEntryUpdateEvent updateEvent) throws IOException {
+        var eventReference = HybridEventReference.create(updateEvent.getTopic(), updateEvent.toJsonString(), s3Driver);
+        var detail = JsonUtils.dtoObjectMapper.createObjectNode();
+        detail.set(RESPONSE_PAYLOAD_FIELD, JsonUtils.dtoObjectMapper.valueToTree(eventReference));
+        return JsonUtils.dtoObjectMapper.writeValueAsString(detail);
+    }
+}
@@ -0,0 +1,89 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import static java.util.Objects.isNull;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.model.business.Entity;
+
+/**
+ * Compares the old and the new image of an updated entry field by field, and classifies the update as relevant when
+ * a field other than the ignored fields of the type of the entry has changed. Insertions, deletions and changes of
+ * the type of an entry are always relevant.
+ *
+ * <p>Rewrites that change only the row version of an entry (e.g. refreshes of the table) leave the images equal, as
+ * the row version is not a field of the entry, so they are never relevant. The default classifier ignores no fields,
+ * as all fields of the entries are either expanded or read by a consumer of the updates.
+ */
+public class IgnoredFieldsChangeClassifier implements ChangeClassifier {
+    
+    public static final IgnoredFieldsChangeClassifier DEFAULT = new IgnoredFieldsChangeClassifier(Map.of());
+    
+    private final Map<Class<? extends Entity>, Set<String>> ignoredFields;
+    
+    /**
+     * Creates a classifier.
+     *
+     * @param ignoredFields the fields whose changes are not relevant, by entry type. The fields of a type apply to
+     *                      its subtypes too.
+     */
+    public IgnoredFieldsChangeClassifier(Map<Class<? extends Entity>, Set<String>> ignoredFields) {
+        this.ignoredFields = Map.copyOf(ignoredFields);
+    }
+    
+    @Override
+    public boolean isRelevant(DataEntryUpdateEvent updateEvent) {
+        var oldData = updateEvent.getOldData();
+        var newData = updateEvent.getNewData();
+        if (isNull(oldData) || isNull(newData) || !oldData.getClass().equals(newData.getClass())) {
+            return true;
+        }
+        var ignoredFieldsOfType = ignoredFieldsOf(newData.getClass());
+        return changedFields(oldData, newData).stream().anyMatch(field -> !ignoredFieldsOfType.contains(field));
+    }
+    
+    /**
+     * Lists the top-level fields whose values differ between two entries.
+     *
+     * @param oldData the old entry.
+     * @param newData the new entry.
+     * @return the names of the changed fields.
+     */
+    public static Set<String> changedFields(Entity oldData, Entity newData) {
+        JsonNode oldJson = JsonUtils.dtoObjectMapper.valueToTree(oldData);
+        JsonNode newJson = JsonUtils.dtoObjectMapper.valueToTree(newData);
+        var fields = new HashSet<String>();
+        oldJson.fieldNames().forEachRemaining(fields::add);
+        newJson.fieldNames().forEachRemaining(fields::add);
+        return fields.stream()
+                   .filter(field -> !Objects.equals(valueOf(oldJson, field), valueOf(newJson, field)))
+                   .collect(Collectors.toSet());
+    }
+    
+    // Absent fields and fields with null values are the same.
+    private static JsonNode valueOf(JsonNode json, String field) {
+        var value = json.get(field);
+        return isNull(value) || value.isNull() ? null : value;
+    }
+    
+    private Set<String> ignoredFieldsOf(Class<? extends Entity> type) {
+        return ignoredFields.entrySet()
+                   .stream()
+                   .filter(entry -> entry.getKey().isAssignableFrom(type))
+                   .map(Map.Entry::getValue)
+                   .reduce(IgnoredFieldsChangeClassifier::union)
+                   .orElse(Collections.emptySet());
+    }
+    
+    private static Set<String> union(Set<String> left, Set<String> right) {
+        var union = new HashSet<>(left);
+        union.addAll(right);
+        return union;
+    }
+}
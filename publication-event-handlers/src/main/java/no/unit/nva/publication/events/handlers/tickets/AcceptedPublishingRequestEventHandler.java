@@ -5,13 +5,14 @@ import com.amazonaws.services.lambda.runtime.Context;
 import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
-import no.unit.nva.events.models.EventReference;
 import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
 import no.unit.nva.publication.events.handlers.PublicationEventsConfig;
 import no.unit.nva.publication.model.PublishPublicationStatusResponse;
 import no.unit.nva.publication.model.business.PublishingRequestCase;
 import no.unit.nva.publication.model.business.TicketStatus;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
@@ -21,7 +22,7 @@ import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.s3.S3Client;
 
 public class AcceptedPublishingRequestEventHandler
-    extends DestinationsEventBridgeEventHandler<EventReference, Void> {
+    extends DestinationsEventBridgeEventHandler<HybridEventReference, Void> {
     
     private static final Logger logger = LoggerFactory.getLogger(AcceptedPublishingRequestEventHandler.class);
     private final ResourceService resourceService;
@@ -33,23 +34,28 @@ public class AcceptedPublishingRequestEventHandler
     }
     
     protected AcceptedPublishingRequestEventHandler(ResourceService resourceService, S3Client s3Client) {
-        super(EventReference.class);
+        super(HybridEventReference.class);
         this.resourceService = resourceService;
         this.s3Driver = new S3Driver(s3Client, PublicationEventsConfig.EVENTS_BUCKET);
     }
     
     @Override
-    protected Void processInputPayload(EventReference input,
-                                       AwsEventBridgeEvent<AwsEventBridgeDetail<EventReference>> event,
+    protected Void processInputPayload(HybridEventReference input,
+                                       AwsEventBridgeEvent<AwsEventBridgeDetail<HybridEventReference>> event,
                                        Context context) {
-        var eventBlob = s3Driver.readEvent(input.getUri());
-        var latestUpdate = parseInput(eventBlob);
-        if (TicketStatus.COMPLETED.equals(latestUpdate.getStatus())) {
-            var userInstance = UserInstance.create(latestUpdate.getOwner(), latestUpdate.getCustomerId());
-            attempt(() -> resourceService.publishPublication(userInstance, latestUpdate.extractPublicationIdentifier()))
-                .orElse(fail -> logError(fail.getException()));
+        try {
+            var eventBlob = input.readBody(s3Driver);
+            var latestUpdate = parseInput(eventBlob);
+            if (TicketStatus.COMPLETED.equals(latestUpdate.getStatus())) {
+                var userInstance = UserInstance.create(latestUpdate.getOwner(), latestUpdate.getCustomerId());
+                attempt(() -> resourceService.publishPublication(userInstance,
+                    latestUpdate.extractPublicationIdentifier()))
+                    .orElse(fail -> logError(fail.getException()));
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        return null;
     }
     
     private PublishPublicationStatusResponse logError(Exception exception) {
@@ -2,6 +2,7 @@ package no.unit.nva.publication.events.handlers.tickets;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.URI;
@@ -16,16 +17,17 @@ import java.util.Optional;
 import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
-import no.unit.nva.events.models.EventReference;
 import no.unit.nva.model.Publication;
 import no.unit.nva.publication.doi.update.dto.DoiRegistrarEntryFields;
 import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
 import no.unit.nva.publication.events.bodies.DoiMetadataUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
 import no.unit.nva.publication.exception.InvalidInputException;
 import no.unit.nva.publication.model.business.DoiRequest;
 import no.unit.nva.publication.model.business.Entity;
 import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.business.TicketStatus;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
@@ -35,7 +37,7 @@ import software.amazon.awssdk.services.s3.S3Client;
  * Sends messages to DoiRegistrar service for creating and updating DOIs.
  */
 public class DoiRequestEventProducer
-    extends DestinationsEventBridgeEventHandler<EventReference, DoiMetadataUpdateEvent> {
+    extends DestinationsEventBridgeEventHandler<HybridEventReference, DoiMetadataUpdateEvent> {
     
     public static final Duration MIN_INTERVAL_FOR_REREQUESTING_A_DOI = Duration.ofSeconds(10);
     public static final String DOI_REQUEST_HAS_NO_IDENTIFIER = "DoiRequest has no identifier";
@@ -53,7 +55,7 @@ public class DoiRequestEventProducer
     }
     
     public DoiRequestEventProducer(ResourceService resourceService, HttpClient httpClient, S3Client s3Client) {
-        super(EventReference.class);
+        super(HybridEventReference.class);
         this.resourceService = resourceService;
         this.httpClient = httpClient;
         this.s3Client = s3Client;
@@ -61,17 +63,20 @@ public class DoiRequestEventProducer
     
     @Override
     protected DoiMetadataUpdateEvent processInputPayload(
-        EventReference inputEvent,
-        AwsEventBridgeEvent<AwsEventBridgeDetail<EventReference>> event,
+        HybridEventReference inputEvent,
+        AwsEventBridgeEvent<AwsEventBridgeDetail<HybridEventReference>> event,
         Context context) {
-        var s3Driver = new S3Driver(s3Client, inputEvent.getUri().getHost());
-        var eventString = s3Driver.readEvent(inputEvent.getUri());
-        var eventBody = DataEntryUpdateEvent.fromJson(eventString);
-        validate(eventBody);
+        try {
+            var eventString = inputEvent.readBody(new S3Driver(s3Client, EVENTS_BUCKET));
+            var eventBody = DataEntryUpdateEvent.fromJson(eventString);
+            validate(eventBody);
         
-        return isEffectiveChange(eventBody)
-                   ? propagateEvent(eventBody)
-                   : EMPTY_EVENT;
+            return isEffectiveChange(eventBody)
+                       ? propagateEvent(eventBody)
+                       : EMPTY_EVENT;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     private DoiMetadataUpdateEvent propagateEvent(DataEntryUpdateEvent input) {
@@ -16,13 +16,14 @@ import no.unit.nva.commons.json.JsonUtils;
 import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
-import no.unit.nva.events.models.EventReference;
 import no.unit.nva.publication.PublicationServiceConfig;
 import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
 import no.unit.nva.publication.events.handlers.PublicationEventsConfig;
 import no.unit.nva.publication.events.handlers.tickets.identityservice.CustomerDto;
 import no.unit.nva.publication.model.business.PublishingRequestCase;
 import no.unit.nva.publication.model.business.TicketStatus;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
@@ -32,7 +33,7 @@ import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.s3.S3Client;
 
 public class PendingPublishingRequestEventHandler
-    extends DestinationsEventBridgeEventHandler<EventReference, Void> {
+    extends DestinationsEventBridgeEventHandler<HybridEventReference, Void> {
     
     private static final Logger logger = LoggerFactory.getLogger(PendingPublishingRequestEventHandler.class);
     private final S3Driver s3Driver;
@@ -47,22 +48,27 @@ public class PendingPublishingRequestEventHandler
     protected PendingPublishingRequestEventHandler(TicketService ticketService,
                                                    HttpClient httpClient,
                                                    S3Client s3Client) {
-        super(EventReference.class);
+        super(HybridEventReference.class);
         this.s3Driver = new S3Driver(s3Client, PublicationEventsConfig.EVENTS_BUCKET);
         this.ticketService = ticketService;
         this.httpClient = httpClient;
     }
     
     @Override
-    protected Void processInputPayload(EventReference input,
-                                       AwsEventBridgeEvent<AwsEventBridgeDetail<EventReference>> event,
+    protected Void processInputPayload(HybridEventReference input,
+                                       AwsEventBridgeEvent<AwsEventBridgeDetail<HybridEventReference>> event,
                                        Context context) {
-        var updateEvent = parseInput(input);
-        var publishingRequest = extractPublishingRequestCaseUpdate(updateEvent);
-        if (customerAllowsPublishing(publishingRequest) && ticketHasNotBeenCompleted(publishingRequest)) {
-            attempt(() -> ticketService.updateTicketStatus(publishingRequest, TicketStatus.COMPLETED)).orElseThrow();
+        try {
+            var updateEvent = parseInput(input);
+            var publishingRequest = extractPublishingRequestCaseUpdate(updateEvent);
+            if (customerAllowsPublishing(publishingRequest) && ticketHasNotBeenCompleted(publishingRequest)) {
+                attempt(() -> ticketService.updateTicketStatus(publishingRequest, TicketStatus.COMPLETED))
+                    .orElseThrow();
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        return null;
     }
     
     private static boolean ticketHasNotBeenCompleted(PublishingRequestCase publishingRequest) {
@@ -94,8 +100,8 @@ public class PendingPublishingRequestEventHandler
                    .orElseThrow();
     }
     
-    private DataEntryUpdateEvent parseInput(EventReference input) {
-        var blob = s3Driver.readEvent(input.getUri());
+    private DataEntryUpdateEvent parseInput(HybridEventReference input) {
+        var blob = input.readBody(s3Driver);
         return attempt(() -> JsonUtils.dtoObjectMapper.readValue(blob, DataEntryUpdateEvent.class)).orElseThrow();
     }
     
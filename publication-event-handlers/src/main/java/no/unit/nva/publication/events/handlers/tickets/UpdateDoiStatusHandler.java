@@ -8,6 +8,7 @@ import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.publication.doi.update.dto.DoiUpdateHolder;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.JacocoGenerated;
@@ -32,8 +33,12 @@ public class UpdateDoiStatusHandler extends DestinationsEventBridgeEventHandler<
     protected Void processInputPayload(DoiUpdateHolder input,
                                        AwsEventBridgeEvent<AwsEventBridgeDetail<DoiUpdateHolder>> event,
                                        Context context) {
-        attempt(() -> updateDoi(input)).orElseThrow(this::handleFailure);
-        return SUCCESSFULLY_HANDLED_EVENT;
+        try {
+            attempt(() -> updateDoi(input)).orElseThrow(this::handleFailure);
+            return SUCCESSFULLY_HANDLED_EVENT;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @JacocoGenerated
@@ -0,0 +1,73 @@
+package no.unit.nva.publication.events.handlers.tickets;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
+import no.unit.nva.events.models.AwsEventBridgeDetail;
+import no.unit.nva.events.models.AwsEventBridgeEvent;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
+import no.unit.nva.publication.events.handlers.PublicationEventsConfig;
+import no.unit.nva.publication.model.business.PublicationDetails;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
+import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Updates the PublicationDetails of the tickets of a Resource when the Resource is updated. Tickets of Resources with
+ * few outdated tickets are already updated together with the Resource, so only the remaining ones are written here.
+ */
+public class UpdateTicketsOfPublicationHandler extends DestinationsEventBridgeEventHandler<HybridEventReference, Void> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UpdateTicketsOfPublicationHandler.class);
+    private final ResourceService resourceService;
+    private final S3Driver s3Driver;
+    
+    @JacocoGenerated
+    public UpdateTicketsOfPublicationHandler() {
+        this(ResourceService.defaultService(), S3Driver.defaultS3Client().build());
+    }
+    
+    protected UpdateTicketsOfPublicationHandler(ResourceService resourceService, S3Client s3Client) {
+        super(HybridEventReference.class);
+        this.resourceService = resourceService;
+        this.s3Driver = new S3Driver(s3Client, PublicationEventsConfig.EVENTS_BUCKET);
+    }
+    
+    @Override
+    protected Void processInputPayload(HybridEventReference input,
+                                       AwsEventBridgeEvent<AwsEventBridgeDetail<HybridEventReference>> event,
+                                       Context context) {
+        try {
+            var update = DataEntryUpdateEvent.fromJson(input.readBody(s3Driver));
+            if (publicationDetailsHaveChanged(update)) {
+                updateOutdatedTickets((Resource) update.getNewData());
+            }
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
+    }
+    
+    // New Resources have no tickets and deleted Resources have no tickets to update.
+    private static boolean publicationDetailsHaveChanged(DataEntryUpdateEvent update) {
+        return update.getOldData() instanceof Resource
+               && update.getNewData() instanceof Resource
+               && PublicationDetails.create((Resource) update.getOldData())
+                      .isOutdated((Resource) update.getNewData());
+    }
+    
+    private void updateOutdatedTickets(Resource resource) {
+        try {
+            var updatedTickets = resourceService.updateOutdatedTickets(resource.getIdentifier());
+            logger.info("Updated {} tickets of resource {}", updatedTickets, resource.getIdentifier());
+        } catch (NotFoundException exception) {
+            logger.info("Resource {} has been deleted. No tickets to update", resource.getIdentifier());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package no.unit.nva.publication.events.bodies;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.MAX_INLINE_EVENT_BODY_SIZE;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.UUID;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.s3.S3Driver;
+import no.unit.nva.stubs.FakeS3Client;
+import nva.commons.core.paths.UnixPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HybridEventReferenceTest {
+    
+    public static final int MAX_INLINE_BODY_SIZE = 1024;
+    public static final int EVENT_BRIDGE_MAX_EVENT_SIZE = 256 * 1024;
+    private S3Driver s3Driver;
+    
+    @BeforeEach
+    public void init() {
+        s3Driver = new S3Driver(new FakeS3Client(), EVENTS_BUCKET);
+    }
+    
+    @Test
+    void shouldCarryTheBodyInlineWhenItIsSmallerThanTheThreshold() throws IOException {
+        var body = bodyOfSize(MAX_INLINE_BODY_SIZE / 2);
+        var event = HybridEventReference.create(randomString(), body, s3Driver, MAX_INLINE_BODY_SIZE);
+        assertThat(event.isInline(), is(true));
+        assertThat(event.getUri(), is(nullValue()));
+        assertThat(dtoObjectMapper.readTree(event.readBody(s3Driver)), is(equalTo(dtoObjectMapper.readTree(body))));
+        assertThat(s3Driver.listAllFiles(UnixPath.ROOT_PATH), is(empty()));
+    }
+    
+    @Test
+    void shouldStoreTheBodyInS3WhenItIsLargerThanTheThreshold() throws IOException {
+        var body = bodyOfSize(MAX_INLINE_BODY_SIZE * 2);
+        var event = HybridEventReference.create(randomString(), body, s3Driver, MAX_INLINE_BODY_SIZE);
+        assertThat(event.isInline(), is(false));
+        assertThat(event.getUri(), is(not(nullValue())));
+        assertThat(event.readBody(s3Driver), is(equalTo(body)));
+        assertThat(s3Driver.listAllFiles(UnixPath.ROOT_PATH), hasSize(1));
+    }
+    
+    @Test
+    void shouldCarryTheBodyInlineWhenItsSizeIsExactlyTheThresholdAndStoreItInS3WhenItIsOneByteLarger()
+        throws IOException {
+        var largestInlineEvent = HybridEventReference.create(randomString(), bodyOfSize(MAX_INLINE_BODY_SIZE),
+            s3Driver, MAX_INLINE_BODY_SIZE);
+        var smallestStoredEvent = HybridEventReference.create(randomString(), bodyOfSize(MAX_INLINE_BODY_SIZE + 1),
+            s3Driver, MAX_INLINE_BODY_SIZE);
+        assertThat(largestInlineEvent.isInline(), is(true));
+        assertThat(smallestStoredEvent.isInline(), is(false));
+    }
+    
+    @Test
+    void shouldKeepDestinationEventsWithInlineInputAndOutputOfTheDefaultThresholdWithinTheEventBridgeLimit()
+        throws IOException {
+        var input = HybridEventReference.create(randomString(), bodyOfSize(MAX_INLINE_EVENT_BODY_SIZE), s3Driver);
+        var output = HybridEventReference.create(randomString(), bodyOfSize(MAX_INLINE_EVENT_BODY_SIZE), s3Driver);
+        var destinationEvent = dtoObjectMapper.createObjectNode();
+        destinationEvent.putObject("requestPayload")
+            .putObject("detail")
+            .set("responsePayload", dtoObjectMapper.valueToTree(input));
+        destinationEvent.set("responsePayload", dtoObjectMapper.valueToTree(output));
+        
+        assertThat(input.isInline() && output.isInline(), is(true));
+        assertThat(dtoObjectMapper.writeValueAsBytes(destinationEvent).length,
+            is(lessThan(EVENT_BRIDGE_MAX_EVENT_SIZE)));
+    }
+    
+    @Test
+    void shouldPreserveTheTopicAndTheBodyWhenSerialized() throws IOException {
+        var body = bodyOfSize(MAX_INLINE_BODY_SIZE / 2);
+        var event = HybridEventReference.create(randomString(), body, s3Driver, MAX_INLINE_BODY_SIZE);
+        var deserialized = HybridEventReference.fromJson(event.toJsonString());
+        assertThat(deserialized, is(equalTo(event)));
+    }
+    
+    @Test
+    void shouldReadTheBodyOfAnEventReference() throws IOException {
+        var body = bodyOfSize(MAX_INLINE_BODY_SIZE);
+        var uri = s3Driver.insertFile(UnixPath.of(UUID.randomUUID().toString()), body);
+        var eventReference = new EventReference(randomString(), uri);
+        var event = HybridEventReference.fromJson(eventReference.toJsonString());
+        assertThat(event.getTopic(), is(equalTo(eventReference.getTopic())));
+        assertThat(event.readBody(s3Driver), is(equalTo(body)));
+    }
+    
+    private static String bodyOfSize(int size) throws JsonProcessingException {
+        var body = dtoObjectMapper.createObjectNode();
+        body.put("value", "");
+        var emptyBodySize = dtoObjectMapper.writeValueAsString(body).length();
+        body.put("value", "x".repeat(size - emptyBodySize));
+        return dtoObjectMapper.writeValueAsString(body);
+    }
+}
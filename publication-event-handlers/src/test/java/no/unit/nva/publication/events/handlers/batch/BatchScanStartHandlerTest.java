@@ -1,17 +1,33 @@
 package no.unit.nva.publication.events.handlers.batch;
 
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import no.unit.nva.commons.json.JsonUtils;
 import no.unit.nva.publication.events.bodies.ScanDatabaseRequest;
 import no.unit.nva.stubs.FakeContext;
 import no.unit.nva.stubs.FakeEventBridgeClient;
 import nva.commons.core.ioutils.IoUtils;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 
 class BatchScanStartHandlerTest {
     
@@ -45,4 +61,54 @@ class BatchScanStartHandlerTest {
         handler.handleRequest(request, null, context);
         assertThat(client.getRequestEntries(), hasSize(1));
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldSendOneInitialScanMessagePerSegmentWhenScanningInParallelSegments() throws IOException {
+        var totalSegments = ScanDatabaseRequest.MAX_TOTAL_SEGMENTS;
+        var sentRequests = startScan(new ScanDatabaseRequest(1, null, 0, totalSegments));
+        
+        var sentSegments = sentRequests.stream().map(ScanDatabaseRequest::getSegment).collect(Collectors.toList());
+        var expectedSegments = IntStream.range(0, totalSegments).boxed().toArray(Integer[]::new);
+        assertThat(sentSegments, containsInAnyOrder(expectedSegments));
+        sentRequests.forEach(sent -> assertThat(sent.getTotalSegments(), is(equalTo(totalSegments))));
+    }
+    
+    @Test
+    void shouldScanInTheMaximumNumberOfSegmentsWhenMoreSegmentsAreRequested() throws IOException {
+        var sentRequests = startScan(new ScanDatabaseRequest(1, null, 0, ScanDatabaseRequest.MAX_TOTAL_SEGMENTS + 1));
+        
+        assertThat(sentRequests, hasSize(ScanDatabaseRequest.MAX_TOTAL_SEGMENTS));
+        sentRequests.forEach(sent -> assertThat(sent.getTotalSegments(),
+            is(equalTo(ScanDatabaseRequest.MAX_TOTAL_SEGMENTS))));
+    }
+    
+    @Test
+    void shouldRetryAndThenFailWhenInitialScanMessagesCannotBeSent() {
+        var client = mock(EventBridgeClient.class);
+        when(client.putEvents(any(PutEventsRequest.class)))
+            .thenAnswer(invocation -> failedResponse(invocation.getArgument(0)));
+        var handler = new BatchScanStartHandler(client);
+        var request = IoUtils.stringToStream(new ScanDatabaseRequest(1, null).toJsonString());
+        
+        assertThrows(IllegalStateException.class, () -> handler.handleRequest(request, null, context));
+        verify(client, times(EVENT_BRIDGE_MAX_ATTEMPTS)).putEvents(any(PutEventsRequest.class));
+    }
+    
+    private static PutEventsResponse failedResponse(PutEventsRequest request) {
+        var resultEntries = request.entries()
+                                .stream()
+                                .map(entry -> PutEventsResultEntry.builder().errorCode(randomString()).build())
+                                .collect(Collectors.toList());
+        return PutEventsResponse.builder().failedEntryCount(resultEntries.size()).entries(resultEntries).build();
+    }
+    
+    private List<ScanDatabaseRequest> startScan(ScanDatabaseRequest scanDatabaseRequest) throws IOException {
+        var client = new FakeEventBridgeClient();
+        var handler = new BatchScanStartHandler(client);
+        var request = IoUtils.stringToStream(scanDatabaseRequest.toJsonString());
+        handler.handleRequest(request, null, context);
+        return client.getRequestEntries().stream()
+                   .map(entry -> attempt(() -> ScanDatabaseRequest.fromJson(entry.detail())).orElseThrow())
+                   .collect(Collectors.toList());
+    }
+}
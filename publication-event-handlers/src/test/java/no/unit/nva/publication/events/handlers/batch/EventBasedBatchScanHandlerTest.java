@@ -1,6 +1,7 @@
 package no.unit.nva.publication.events.handlers.batch;
 
 import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.events.handlers.ConfigurationForPushingDirectlyToEventBridge.EVENT_BRIDGE_MAX_ATTEMPTS;
 import static no.unit.nva.testutils.RandomDataGenerator.randomElement;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static nva.commons.core.attempt.Try.attempt;
@@ -15,7 +16,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import java.io.ByteArrayOutputStream;
@@ -25,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.testing.PublicationGenerator;
@@ -45,12 +51,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 
 class EventBasedBatchScanHandlerTest extends ResourcesLocalTest {
     
     public static final int LARGE_PAGE = 10;
     public static final int ONE_ENTRY_PER_EVENT = 1;
+    public static final int TOTAL_SEGMENTS = 3;
     public static final Map<String, AttributeValue> START_FROM_BEGINNING = null;
     private EventBasedBatchScanHandler handler;
     private ByteArrayOutputStream output;
@@ -132,13 +143,42 @@ class EventBasedBatchScanHandlerTest extends ResourcesLocalTest {
         assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
     }
     
+    @Test
+    void shouldUpdateAllDataEntriesWhenScanningInParallelSegments() throws ApiGatewayException {
+        var publications = createRandomResources(10);
+        var originalVersions = publications.stream().map(this::fetchVersion).collect(Collectors.toList());
+        var segmentRequests = new ScanDatabaseRequest(ONE_ENTRY_PER_EVENT, START_FROM_BEGINNING, 0, TOTAL_SEGMENTS)
+                                  .createSegmentRequests();
+        segmentRequests.forEach(this::pushInitialEntryInEventBridge);
+        while (thereAreMoreEventsInEventBridge()) {
+            var currentRequest = consumeLatestEmittedEvent();
+            handler.handleRequest(eventToInputStream(currentRequest), output, context);
+        }
+        var updatedVersions = publications.stream().map(this::fetchVersion).collect(Collectors.toList());
+        for (int i = 0; i < publications.size(); i++) {
+            assertThat(updatedVersions.get(i), is(not(equalTo(originalVersions.get(i)))));
+        }
+    }
+    
+    @Test
+    void shouldEmitNewScanEventForTheSameSegmentWhenSegmentScanningIsNotComplete() throws ApiGatewayException {
+        createRandomResources(10);
+        var lastSegment = TOTAL_SEGMENTS - 1;
+        var request = new ScanDatabaseRequest(ONE_ENTRY_PER_EVENT, START_FROM_BEGINNING, lastSegment, TOTAL_SEGMENTS);
+        handler.handleRequest(eventToInputStream(request), output, context);
+        var emittedEvent = consumeLatestEmittedEvent();
+        assertThat(emittedEvent.getSegment(), is(equalTo(lastSegment)));
+        assertThat(emittedEvent.getTotalSegments(), is(equalTo(TOTAL_SEGMENTS)));
+        assertThat(emittedEvent.getStartMarker(), is(not(nullValue())));
+    }
+    
     @Test
     void shouldLogFailureWhenExceptionIsThrown() {
         final var logger = LogUtils.getTestingAppenderForRootLogger();
         var expectedExceptionMessage = randomString();
         var spiedResourceService = spy(resourceService);
         doThrow(new RuntimeException(expectedExceptionMessage)).when(spiedResourceService)
-            .scanResources(anyInt(), any());
+            .scanResources(anyInt(), any(), anyInt(), anyInt());
         
         handler = new EventBasedBatchScanHandler(spiedResourceService, eventBridgeClient);
         Executable action = () -> handler.handleRequest(createInitialScanRequest(ONE_ENTRY_PER_EVENT), output, context);
@@ -146,10 +186,43 @@ class EventBasedBatchScanHandlerTest extends ResourcesLocalTest {
         assertThat(logger.getMessages(), containsString(expectedExceptionMessage));
     }
     
-    private void createRandomResources(int numberOfResources) throws ApiGatewayException {
+    @Test
+    void shouldRetryAndThenFailWhenTheNextScanEventCannotBeSent() throws ApiGatewayException {
+        createRandomResources(2);
+        var failingEventBridgeClient = failingEventBridgeClient();
+        handler = new EventBasedBatchScanHandler(resourceService, failingEventBridgeClient);
+        Executable action = () -> handler.handleRequest(createInitialScanRequest(ONE_ENTRY_PER_EVENT), output, context);
+        assertThrows(RuntimeException.class, action);
+        verify(failingEventBridgeClient, times(EVENT_BRIDGE_MAX_ATTEMPTS)).putEvents(any(PutEventsRequest.class));
+    }
+    
+    private static EventBridgeClient failingEventBridgeClient() {
+        var client = mock(EventBridgeClient.class);
+        when(client.putEvents(any(PutEventsRequest.class)))
+            .thenAnswer(invocation -> failedResponse(invocation.getArgument(0)));
+        return client;
+    }
+    
+    private static PutEventsResponse failedResponse(PutEventsRequest request) {
+        var resultEntries = request.entries()
+                                .stream()
+                                .map(entry -> PutEventsResultEntry.builder().errorCode(randomString()).build())
+                                .collect(Collectors.toList());
+        return PutEventsResponse.builder().failedEntryCount(resultEntries.size()).entries(resultEntries).build();
+    }
+    
+    private List<Publication> createRandomResources(int numberOfResources) throws ApiGatewayException {
+        var publications = new ArrayList<Publication>();
         for (int i = 0; i < numberOfResources; i++) {
-            createPublication(PublicationGenerator.randomPublication());
+            publications.add(createPublication(PublicationGenerator.randomPublication()));
         }
+        return publications;
+    }
+    
+    private String fetchVersion(Publication publication) {
+        var resource = attempt(() -> resourceService.getResourceByIdentifier(publication.getIdentifier()))
+                           .orElseThrow();
+        return new ResourceDao(resource).fetchByIdentifier(client).getVersion().toString();
     }
     
     private Publication createPublication(Publication publication) throws ApiGatewayException {
@@ -160,11 +233,12 @@ class EventBasedBatchScanHandlerTest extends ResourcesLocalTest {
     private ResourceService mockResourceService(AmazonDynamoDB dynamoDbClient) {
         return new ResourceService(dynamoDbClient, clock) {
             @Override
-            public ListingResult<Entity> scanResources(int pageSize, Map<String, AttributeValue> startMarker) {
+            public ListingResult<Entity> scanResources(int pageSize, Map<String, AttributeValue> startMarker,
+                                                       int segment, int totalSegments) {
                 if (nonNull(startMarker)) {
                     scanningStartingPoints.add(startMarker);
                 }
-                return super.scanResources(pageSize, startMarker);
+                return super.scanResources(pageSize, startMarker, segment, totalSegments);
             }
         };
     }
@@ -1,40 +1,51 @@
 package no.unit.nva.publication.events.handlers.dynamodbstream;
 
+import static java.util.Objects.nonNull;
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.AWS_REGION;
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.MAX_INLINE_EVENT_BODY_SIZE;
 import static no.unit.nva.testutils.RandomDataGenerator.randomElement;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
-import static org.hamcrest.core.StringContains.containsString;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
 import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse.BatchItemFailure;
 import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue;
 import com.amazonaws.services.lambda.runtime.events.models.dynamodb.OperationType;
 import com.amazonaws.services.lambda.runtime.events.models.dynamodb.Record;
 import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import no.unit.nva.commons.json.JsonUtils;
-import no.unit.nva.events.models.EventReference;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
 import no.unit.nva.s3.S3Driver;
 import no.unit.nva.stubs.FakeContext;
 import no.unit.nva.stubs.FakeEventBridgeClient;
 import no.unit.nva.stubs.FakeS3Client;
 import nva.commons.core.attempt.Try;
+import nva.commons.core.ioutils.IoUtils;
 import nva.commons.core.paths.UnixPath;
 import nva.commons.core.paths.UriWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.function.Executable;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
@@ -48,8 +59,7 @@ class DynamodbStreamToEventBridgeHandlerTest {
     
     @BeforeEach
     public void init() {
-        this.s3Client = new FakeS3Client();
-        createFailingS3Client();
+        this.s3Client = threadSafeS3Client();
         this.eventBridgeClient = new FakeEventBridgeClient();
         this.context = new FakeContext() {
             @Override
@@ -61,34 +71,89 @@ class DynamodbStreamToEventBridgeHandlerTest {
     }
     
     @Test
-    void shouldWriteEachDynamoRecordOfDynamoDbEventInS3() {
+    void shouldSendSmallDynamoRecordsOfDynamoDbEventInlineInTheirEvents() {
         var event = randomEventWithMultipleDynamoRecords();
         handler.handleRequest(event, context);
         var expectedEventId = extractIdentifiersForExpectedStoredEntry(event);
+        assertThat(extractIdentifiersFromEmittedEvents(), is(equalTo(expectedEventId)));
+        assertThat(emittedEvents().stream().allMatch(HybridEventReference::isInline), is(true));
+        assertThat(new S3Driver(s3Client, EVENTS_BUCKET).listAllFiles(UnixPath.ROOT_PATH), is(empty()));
+    }
+    
+    @Test
+    void shouldWriteEachLargeDynamoRecordOfDynamoDbEventInS3() {
+        var event = randomEventWithLargeDynamoRecords();
+        handler.handleRequest(event, context);
+        var expectedEventId = extractIdentifiersForExpectedStoredEntry(event);
         var actualEventId = extractIdentifierFromActualStoredEntry();
         assertThat(actualEventId, is(equalTo(expectedEventId)));
+        assertThat(extractIdentifiersFromEmittedEvents(), is(equalTo(expectedEventId)));
     }
     
     @Test
-    void shouldThrowExceptionWhenStoringAnyEventRecordInS3Fails() {
-        var event = randomEventWithMultipleDynamoRecords();
+    void shouldReturnRecordsThatCouldNotBeStoredInS3AsBatchItemFailures() {
+        var event = randomEventWithLargeDynamoRecords();
         handler = new DynamodbStreamToEventBridgeHandler(createFailingS3Client(), eventBridgeClient);
-        Executable action = () -> handler.handleRequest(event, context);
-        var exception = assertThrows(RuntimeException.class, action);
-        assertThat(exception.getMessage(), containsString(EXPECTED_EXCEPTION_MESSAGE));
+        var response = handler.handleRequest(event, context);
+        assertThat(failedSequenceNumbers(response), is(equalTo(sequenceNumbers(event.getRecords()))));
+        assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
     }
     
     @Test
-    void shouldEmitOneEventPerDynamoDbStreamRecordContainedInDynamoDbEvent() {
+    void shouldReturnOnlyTheRecordThatCouldNotBeStoredInS3AsBatchItemFailure() {
         var event = randomEventWithMultipleDynamoRecords();
+        var failingRecord = event.getRecords().get(1);
+        failingRecord.getDynamodb().setNewImage(largeDynamoPayload());
+        handler = new DynamodbStreamToEventBridgeHandler(s3ClientFailingFor(failingRecord), eventBridgeClient);
+        var response = handler.handleRequest(event, context);
+        assertThat(failedSequenceNumbers(response), is(equalTo(sequenceNumbers(List.of(failingRecord)))));
+        assertThat(eventBridgeClient.getRequestEntries(), hasSize(event.getRecords().size() - 1));
+    }
+    
+    @Test
+    void shouldSendTheEventsOfTheBatchInAsFewPutEventsRequestsAsAllowed() {
+        var event = randomEventWithDynamoRecords(25);
+        var recordingClient = new RecordingEventBridgeClient(Collections.emptySet());
+        handler = new DynamodbStreamToEventBridgeHandler(s3Client, recordingClient);
+        var response = handler.handleRequest(event, context);
+        var requestSizes = recordingClient.getRequests()
+                               .stream()
+                               .map(request -> request.entries().size())
+                               .collect(Collectors.toList());
+        assertThat(requestSizes, is(equalTo(List.of(10, 10, 5))));
+        assertThat(response.getBatchItemFailures(), is(empty()));
+    }
+    
+    @Test
+    void shouldReturnRecordsWhoseEventsWereRejectedByEventBridgeAsBatchItemFailures() {
+        var event = randomEventWithMultipleDynamoRecords();
+        var rejectedRecord = event.getRecords().get(2);
+        var recordingClient = new RecordingEventBridgeClient(Set.of(rejectedRecord.getEventID()));
+        handler = new DynamodbStreamToEventBridgeHandler(s3Client, recordingClient);
+        var response = handler.handleRequest(event, context);
+        assertThat(failedSequenceNumbers(response), is(equalTo(sequenceNumbers(List.of(rejectedRecord)))));
+    }
+    
+    @Test
+    void shouldReturnAllRecordsOfAPutEventsRequestThatFailedAsBatchItemFailures() {
+        var event = randomEventWithMultipleDynamoRecords();
+        var failingClient = new FakeEventBridgeClient() {
+            @Override
+            public PutEventsResponse putEvents(PutEventsRequest putEventsRequest) {
+                throw new RuntimeException(EXPECTED_EXCEPTION_MESSAGE);
+            }
+        };
+        handler = new DynamodbStreamToEventBridgeHandler(s3Client, failingClient);
+        var response = handler.handleRequest(event, context);
+        assertThat(failedSequenceNumbers(response), is(equalTo(sequenceNumbers(event.getRecords()))));
+    }
+    
+    @Test
+    void shouldEmitOneEventPerDynamoDbStreamRecordContainedInDynamoDbEvent() {
+        var event = randomEventWithLargeDynamoRecords();
         handler.handleRequest(event, context);
-        var emittedFilePaths = eventBridgeClient.getRequestEntries()
-                                   .stream()
-                                   .map(PutEventsRequestEntry::detail)
-                                   .map(
-                                       attempt(json -> JsonUtils.dtoObjectMapper.readValue(json, EventReference.class)))
-                                   .map(Try::orElseThrow)
-                                   .map(EventReference::getUri)
+        var emittedFilePaths = emittedEvents().stream()
+                                   .map(HybridEventReference::getUri)
                                    .map(UriWrapper::fromUri)
                                    .map(UriWrapper::toS3bucketPath)
                                    .collect(Collectors.toSet());
@@ -97,12 +162,37 @@ class DynamodbStreamToEventBridgeHandlerTest {
     }
     
     private DynamodbEvent randomEventWithMultipleDynamoRecords() {
+        return randomEventWithDynamoRecords(3);
+    }
+    
+    private DynamodbEvent randomEventWithLargeDynamoRecords() {
+        var event = randomEventWithMultipleDynamoRecords();
+        event.getRecords().forEach(record -> record.getDynamodb().setNewImage(largeDynamoPayload()));
+        return event;
+    }
+    
+    private DynamodbEvent randomEventWithDynamoRecords(int numberOfRecords) {
         var event = new DynamodbEvent();
-        var records = List.of(randomDynamoRecord(), randomDynamoRecord(), randomDynamoRecord());
+        var records = Stream.generate(this::randomDynamoRecord)
+                          .limit(numberOfRecords)
+                          .collect(Collectors.toList());
         event.setRecords(records);
         return event;
     }
     
+    private static List<String> failedSequenceNumbers(StreamsEventResponse response) {
+        return response.getBatchItemFailures()
+                   .stream()
+                   .map(BatchItemFailure::getItemIdentifier)
+                   .collect(Collectors.toList());
+    }
+    
+    private static List<String> sequenceNumbers(List<DynamodbStreamRecord> records) {
+        return records.stream()
+                   .map(record -> record.getDynamodb().getSequenceNumber())
+                   .collect(Collectors.toList());
+    }
+    
     private Set<String> extractIdentifierFromActualStoredEntry() {
         var s3Driver = new S3Driver(s3Client, EVENTS_BUCKET);
         return s3Driver.getFiles(UnixPath.ROOT_PATH)
@@ -113,6 +203,24 @@ class DynamodbStreamToEventBridgeHandlerTest {
                    .collect(Collectors.toSet());
     }
     
+    private List<HybridEventReference> emittedEvents() {
+        return eventBridgeClient.getRequestEntries()
+                   .stream()
+                   .map(PutEventsRequestEntry::detail)
+                   .map(HybridEventReference::fromJson)
+                   .collect(Collectors.toList());
+    }
+    
+    private Set<String> extractIdentifiersFromEmittedEvents() {
+        var s3Driver = new S3Driver(s3Client, EVENTS_BUCKET);
+        return emittedEvents().stream()
+                   .map(emittedEvent -> emittedEvent.readBody(s3Driver))
+                   .map(attempt(json -> JsonUtils.dtoObjectMapper.readValue(json, DynamodbStreamRecord.class)))
+                   .map(Try::orElseThrow)
+                   .map(Record::getEventID)
+                   .collect(Collectors.toSet());
+    }
+    
     private Set<String> extractIdentifiersForExpectedStoredEntry(DynamodbEvent event) {
         return event.getRecords()
                    .stream()
@@ -133,6 +241,7 @@ class DynamodbStreamToEventBridgeHandlerTest {
     
     private StreamRecord randomPayload() {
         var record = new StreamRecord();
+        record.setSequenceNumber(randomString());
         record.setOldImage(randomDynamoPayload());
         record.setNewImage(randomDynamoPayload());
         return record;
@@ -143,6 +252,23 @@ class DynamodbStreamToEventBridgeHandlerTest {
         return Map.of(randomString(), value);
     }
     
+    private static Map<String, AttributeValue> largeDynamoPayload() {
+        var value = new AttributeValue("x".repeat(MAX_INLINE_EVENT_BODY_SIZE));
+        return Map.of(randomString(), value);
+    }
+    
+    // The records of a batch are stored concurrently.
+    private FakeS3Client threadSafeS3Client() {
+        return new FakeS3Client() {
+            @SuppressWarnings("PMD.CloseResource")
+            @Override
+            public synchronized PutObjectResponse putObject(PutObjectRequest putObjectRequest,
+                                                            RequestBody requestBody) {
+                return super.putObject(putObjectRequest, requestBody);
+            }
+        };
+    }
+    
     private FakeS3Client createFailingS3Client() {
         return new FakeS3Client() {
             @SuppressWarnings("PMD.CloseResource")
@@ -152,4 +278,68 @@ class DynamodbStreamToEventBridgeHandlerTest {
             }
         };
     }
+    
+    private FakeS3Client s3ClientFailingFor(DynamodbStreamRecord failingRecord) {
+        return new FakeS3Client() {
+            @SuppressWarnings("PMD.CloseResource")
+            @Override
+            public synchronized PutObjectResponse putObject(PutObjectRequest putObjectRequest,
+                                                            RequestBody requestBody) {
+                var content = attempt(() -> IoUtils.streamToString(requestBody.contentStreamProvider().newStream()))
+                                  .orElseThrow();
+                if (content.contains(failingRecord.getEventID())) {
+                    throw new RuntimeException(EXPECTED_EXCEPTION_MESSAGE);
+                }
+                return super.putObject(putObjectRequest, RequestBody.fromString(content));
+            }
+        };
+    }
+    
+    // Rejects the events of the records that contain any of the rejected event ids.
+    private class RecordingEventBridgeClient implements EventBridgeClient {
+        
+        private final List<PutEventsRequest> requests = new ArrayList<>();
+        private final Set<String> rejectedEventIds;
+        
+        RecordingEventBridgeClient(Set<String> rejectedEventIds) {
+            this.rejectedEventIds = rejectedEventIds;
+        }
+        
+        public List<PutEventsRequest> getRequests() {
+            return requests;
+        }
+        
+        @Override
+        public String serviceName() {
+            return "RecordingEventBridgeClient";
+        }
+        
+        @Override
+        public void close() {
+            // no resources to release
+        }
+        
+        @Override
+        public PutEventsResponse putEvents(PutEventsRequest putEventsRequest) {
+            requests.add(putEventsRequest);
+            var resultEntries = putEventsRequest.entries()
+                                    .stream()
+                                    .map(this::resultEntry)
+                                    .collect(Collectors.toList());
+            var failedEntryCount = (int) resultEntries.stream().filter(entry -> nonNull(entry.errorCode())).count();
+            return PutEventsResponse.builder().entries(resultEntries).failedEntryCount(failedEntryCount).build();
+        }
+        
+        private PutEventsResultEntry resultEntry(PutEventsRequestEntry entry) {
+            return isRejected(entry)
+                       ? PutEventsResultEntry.builder().errorCode("InternalFailure").build()
+                       : PutEventsResultEntry.builder().eventId(randomString()).build();
+        }
+        
+        private boolean isRejected(PutEventsRequestEntry entry) {
+            var sentRecord = HybridEventReference.fromJson(entry.detail())
+                                 .readBody(new S3Driver(s3Client, EVENTS_BUCKET));
+            return rejectedEventIds.stream().anyMatch(sentRecord::contains);
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package no.unit.nva.publication.events.handlers.dynamodbstream;
+
+import static no.unit.nva.publication.events.handlers.dynamodbstream.PutEventsBatches.MAX_ENTRIES_PER_REQUEST;
+import static no.unit.nva.publication.events.handlers.dynamodbstream.PutEventsBatches.MAX_REQUEST_SIZE_IN_BYTES;
+import static no.unit.nva.publication.events.handlers.dynamodbstream.PutEventsBatches.TIMESTAMP_SIZE_IN_BYTES;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+class PutEventsBatchesTest {
+    
+    public static final int LARGE_DETAIL_SIZE = 100 * 1024;
+    
+    @Test
+    void shouldPackEntriesInBatchesOfAtMostTheMaximumNumberOfEntriesPerRequest() {
+        var entries = entriesWithDetailSize(MAX_ENTRIES_PER_REQUEST * 2 + 1, 10);
+        var batchSizes = PutEventsBatches.pack(entries)
+                             .stream()
+                             .map(List::size)
+                             .collect(Collectors.toList());
+        assertThat(batchSizes, is(equalTo(List.of(MAX_ENTRIES_PER_REQUEST, MAX_ENTRIES_PER_REQUEST, 1))));
+    }
+    
+    @Test
+    void shouldPackEntriesInBatchesOfAtMostTheMaximumRequestSize() {
+        var entries = entriesWithDetailSize(5, LARGE_DETAIL_SIZE);
+        var batches = PutEventsBatches.pack(entries);
+        var batchSizes = batches.stream()
+                             .map(batch -> batch.stream().mapToLong(PutEventsBatches::entrySize).sum())
+                             .collect(Collectors.toList());
+        assertThat(batchSizes, everyItem(is(lessThanOrEqualTo((long) MAX_REQUEST_SIZE_IN_BYTES))));
+        assertThat(batches.stream().map(List::size).collect(Collectors.toList()), is(equalTo(List.of(2, 2, 1))));
+    }
+    
+    @Test
+    void shouldKeepTheOrderOfTheEntries() {
+        var entries = entriesWithDetailSize(25, LARGE_DETAIL_SIZE / 10);
+        var packedEntries = PutEventsBatches.pack(entries)
+                                .stream()
+                                .flatMap(List::stream)
+                                .collect(Collectors.toList());
+        assertThat(packedEntries, is(equalTo(entries)));
+    }
+    
+    @Test
+    void shouldCalculateTheSizeOfAnEntryAsEventBridgeDoes() {
+        var entry = PutEventsRequestEntry.builder()
+                        .time(Instant.now())
+                        .source("source")
+                        .detailType("type")
+                        .detail("{\"ø\":1}")
+                        .resources("arn")
+                        .build();
+        var expectedSize = TIMESTAMP_SIZE_IN_BYTES + "source".length() + "type".length() + 8 + "arn".length();
+        assertThat(PutEventsBatches.entrySize(entry), is(equalTo((long) expectedSize)));
+        assertThat(PutEventsBatches.entrySize(PutEventsRequestEntry.builder().build()), is(equalTo(0L)));
+    }
+    
+    private static List<PutEventsRequestEntry> entriesWithDetailSize(int numberOfEntries, int detailSize) {
+        return Stream.generate(() -> entryWithDetailSize(detailSize))
+                   .limit(numberOfEntries)
+                   .collect(Collectors.toList());
+    }
+    
+    private static PutEventsRequestEntry entryWithDetailSize(int detailSize) {
+        return PutEventsRequestEntry.builder()
+                   .time(Instant.now())
+                   .source(randomString())
+                   .detailType(randomString())
+                   .detail("x".repeat(detailSize))
+                   .build();
+    }
+}
@@ -0,0 +1,265 @@
+package no.unit.nva.publication.events.handlers.expandresources;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.events.bodies.DataEntryUpdateEvent.RESOURCE_UPDATE_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.expandresources.CoalescingExpandDataEntriesHandler.COALESCED_UPDATES_METRIC;
+import static no.unit.nva.publication.events.handlers.expandresources.ExpandDataEntriesHandler.EXPANDED_ENTRY_UPDATED_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.fanout.DataEntryUpdateStreamHandler.RESPONSE_PAYLOAD_FIELD;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse.BatchItemFailure;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.expansion.ResourceExpansionService;
+import no.unit.nva.expansion.ResourceExpansionServiceImpl;
+import no.unit.nva.expansion.model.ExpandedDataEntry;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.service.ResourcesLocalTest;
+import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.publication.service.impl.TicketService;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.s3.S3Driver;
+import no.unit.nva.stubs.FakeContext;
+import no.unit.nva.stubs.FakeEventBridgeClient;
+import no.unit.nva.stubs.FakeS3Client;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+class CoalescingExpandDataEntriesHandlerTest extends ResourcesLocalTest {
+    
+    private static final Instant FIRST_MODIFIED_DATE = Instant.parse("2022-01-01T10:00:00Z");
+    private static final Instant SECOND_MODIFIED_DATE = Instant.parse("2022-01-01T10:00:01Z");
+    private static final Instant THIRD_MODIFIED_DATE = Instant.parse("2022-01-01T10:00:02Z");
+    private FakeS3Client s3Client;
+    private FakeEventBridgeClient eventBridgeClient;
+    private FakeContext context;
+    private ByteArrayOutputStream metricsOutput;
+    private List<Entity> expandedEntries;
+    private CoalescingExpandDataEntriesHandler handler;
+    
+    @BeforeEach
+    public void init() {
+        super.init();
+        s3Client = threadSafeS3Client();
+        eventBridgeClient = new FakeEventBridgeClient();
+        context = new FakeContext() {
+            @Override
+            public String getInvokedFunctionArn() {
+                return randomString();
+            }
+        };
+        metricsOutput = new ByteArrayOutputStream();
+        expandedEntries = Collections.synchronizedList(new ArrayList<>());
+        handler = createHandler(s3Client);
+    }
+    
+    @Test
+    void shouldExpandOnlyTheNewestUpdateOfEachEntryInTheBatch() throws IOException {
+        var publication = publishedPublication();
+        var first = publication.copy().withModifiedDate(FIRST_MODIFIED_DATE).build();
+        var second = publication.copy().withModifiedDate(SECOND_MODIFIED_DATE).build();
+        var third = publication.copy().withModifiedDate(THIRD_MODIFIED_DATE).build();
+        var otherPublication = publishedPublication();
+        var event = sqsEvent(update(first, third), update(null, first), update(first, second),
+            update(null, otherPublication));
+    
+        var response = handler.handleRequest(event, context);
+    
+        assertThat(response.getBatchItemFailures(), is(empty()));
+        var expandedVersions = expandedEntries.stream()
+                                   .map(entry -> entry.getIdentifier() + "@" + entry.getModifiedDate())
+                                   .collect(Collectors.toList());
+        assertThat(expandedVersions, containsInAnyOrder(
+            publication.getIdentifier() + "@" + THIRD_MODIFIED_DATE,
+            otherPublication.getIdentifier() + "@" + otherPublication.getModifiedDate()));
+        assertThat(publishedPayloads(), hasSize(2));
+        assertThat(coalescedUpdatesMetric(), is(equalTo(2)));
+    }
+    
+    @Test
+    void shouldPublishTheExpandedEntryAsTheResponsePayloadOfTheEvent() throws IOException {
+        var publication = publishedPublication();
+    
+        var response = handler.handleRequest(sqsEvent(update(null, publication)), context);
+    
+        assertThat(response.getBatchItemFailures(), is(empty()));
+        var payload = publishedPayloads().get(0);
+        assertThat(payload.getTopic(), is(equalTo(EXPANDED_ENTRY_UPDATED_EVENT_TOPIC)));
+        var expandedEntry = dtoObjectMapper.readValue(s3Driver().readEvent(payload.getUri()), ExpandedDataEntry.class);
+        assertThat(expandedEntry.identifyExpandedEntry(), is(equalTo(publication.getIdentifier())));
+    }
+    
+    @Test
+    void shouldNotExpandEntryWhenTheNewestUpdateDeletesIt() throws IOException {
+        var publication = publishedPublication().copy().withModifiedDate(FIRST_MODIFIED_DATE).build();
+        var event = sqsEvent(update(publication, null), update(null, publication));
+    
+        var response = handler.handleRequest(event, context);
+    
+        assertThat(response.getBatchItemFailures(), is(empty()));
+        assertThat(expandedEntries, is(empty()));
+        assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
+    }
+    
+    @Test
+    void shouldReturnTheMessagesOfUpdatesThatCouldNotBeReadAsBatchItemFailures() throws IOException {
+        var unreadableUpdate = sqsMessage(new EventReference(RESOURCE_UPDATE_EVENT_TOPIC,
+            URI.create("s3://" + EVENTS_BUCKET + "/" + randomString())).toJsonString());
+        var event = sqsEvent(unreadableUpdate, update(null, publishedPublication()));
+    
+        var response = handler.handleRequest(event, context);
+    
+        assertThat(failedMessages(response.getBatchItemFailures()),
+            is(equalTo(List.of(unreadableUpdate.getMessageId()))));
+        assertThat(publishedPayloads(), hasSize(1));
+    }
+    
+    @Test
+    void shouldReturnTheMessagesOfAllCoalescedUpdatesOfAnEntryAsFailuresWhenTheExpansionCannotBeStored()
+        throws IOException {
+        handler = createHandler(failingS3Client());
+        var publication = publishedPublication();
+        var olderUpdate = update(null, publication.copy().withModifiedDate(FIRST_MODIFIED_DATE).build());
+        var newerUpdate = update(null, publication.copy().withModifiedDate(SECOND_MODIFIED_DATE).build());
+    
+        var response = handler.handleRequest(sqsEvent(olderUpdate, newerUpdate), context);
+    
+        assertThat(failedMessages(response.getBatchItemFailures()),
+            is(equalTo(List.of(olderUpdate.getMessageId(), newerUpdate.getMessageId()))));
+        assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
+    }
+    
+    private CoalescingExpandDataEntriesHandler createHandler(FakeS3Client s3Client) {
+        var metrics = new EmbeddedMetrics(new PrintStream(metricsOutput, true, StandardCharsets.UTF_8),
+            Clock.systemDefaultZone());
+        return new CoalescingExpandDataEntriesHandler(s3Client, eventBridgeClient, recordingExpansionService(),
+            metrics);
+    }
+    
+    private ResourceExpansionService recordingExpansionService() {
+        var expansionService = new ResourceExpansionServiceImpl(new ResourceService(client, Clock.systemDefaultZone()),
+            new TicketService(client));
+        return new ResourceExpansionService() {
+            @Override
+            public ExpandedDataEntry expandEntry(Entity dataEntry) throws JsonProcessingException, NotFoundException {
+                expandedEntries.add(dataEntry);
+                return expansionService.expandEntry(dataEntry);
+            }
+    
+            @Override
+            public Set<URI> getOrganizationIds(Entity dataEntry) throws NotFoundException {
+                return expansionService.getOrganizationIds(dataEntry);
+            }
+        };
+    }
+    
+    private static Publication publishedPublication() {
+        return randomPublication().copy().withStatus(PublicationStatus.PUBLISHED).build();
+    }
+    
+    private SQSMessage update(Publication oldImage, Publication newImage) throws IOException {
+        var updateEvent = new DataEntryUpdateEvent(RESOURCE_UPDATE_EVENT_TOPIC, toResource(oldImage),
+            toResource(newImage));
+        var eventReference = HybridEventReference.create(RESOURCE_UPDATE_EVENT_TOPIC, updateEvent.toJsonString(),
+            s3Driver());
+        return sqsMessage(eventReference.toJsonString());
+    }
+    
+    private static Resource toResource(Publication publication) {
+        return isNull(publication) ? null : Resource.fromPublication(publication);
+    }
+    
+    private static SQSMessage sqsMessage(String body) {
+        var message = new SQSMessage();
+        message.setMessageId(randomString());
+        message.setBody(body);
+        return message;
+    }
+    
+    private static SQSEvent sqsEvent(SQSMessage... messages) {
+        var event = new SQSEvent();
+        event.setRecords(List.of(messages));
+        return event;
+    }
+    
+    private S3Driver s3Driver() {
+        return new S3Driver(s3Client, EVENTS_BUCKET);
+    }
+    
+    private static List<String> failedMessages(List<BatchItemFailure> batchItemFailures) {
+        return batchItemFailures.stream().map(BatchItemFailure::getItemIdentifier).collect(Collectors.toList());
+    }
+    
+    private List<EventReference> publishedPayloads() {
+        return eventBridgeClient.getRequestEntries()
+                   .stream()
+                   .map(PutEventsRequestEntry::detail)
+                   .map(detail -> attempt(() -> dtoObjectMapper.readTree(detail)).orElseThrow())
+                   .map(detail -> detail.get(RESPONSE_PAYLOAD_FIELD))
+                   .map(payload -> dtoObjectMapper.convertValue(payload, EventReference.class))
+                   .collect(Collectors.toList());
+    }
+    
+    private int coalescedUpdatesMetric() {
+        return metricsOutput.toString(StandardCharsets.UTF_8)
+                   .lines()
+                   .map(line -> attempt(() -> dtoObjectMapper.readTree(line)).orElseThrow())
+                   .filter(entry -> entry.has(COALESCED_UPDATES_METRIC))
+                   .mapToInt(entry -> entry.get(COALESCED_UPDATES_METRIC).intValue())
+                   .sum();
+    }
+    
+    private static FakeS3Client threadSafeS3Client() {
+        return new FakeS3Client() {
+            @SuppressWarnings("PMD.CloseResource")
+            @Override
+            public synchronized PutObjectResponse putObject(PutObjectRequest putObjectRequest,
+                                                            RequestBody requestBody) {
+                return super.putObject(putObjectRequest, requestBody);
+            }
+        };
+    }
+    
+    private static FakeS3Client failingS3Client() {
+        return new FakeS3Client() {
+            @SuppressWarnings("PMD.CloseResource")
+            @Override
+            public PutObjectResponse putObject(PutObjectRequest putObjectRequest, RequestBody requestBody) {
+                throw new IllegalStateException(randomString());
+            }
+        };
+    }
+}
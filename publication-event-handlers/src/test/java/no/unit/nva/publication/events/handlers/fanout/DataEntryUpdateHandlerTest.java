@@ -6,10 +6,12 @@ import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.AW
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
 import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.objectMapper;
 import static no.unit.nva.publication.events.handlers.dynamodbstream.DynamodbStreamToEventBridgeHandler.DYNAMODB_UPDATE_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.fanout.DataEntryUpdateConverter.SUPPRESSED_UPDATES_METRIC;
 import static no.unit.nva.testutils.RandomDataGenerator.randomElement;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsNull.nullValue;
@@ -26,7 +28,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -35,16 +40,18 @@ import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.model.Publication;
 import no.unit.nva.model.testing.PublicationGenerator;
 import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
 import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.storage.DynamoEntry;
 import no.unit.nva.publication.model.storage.IdentifierEntry;
 import no.unit.nva.publication.model.storage.ResourceDao;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import no.unit.nva.s3.S3Driver;
 import no.unit.nva.stubs.FakeS3Client;
 import no.unit.nva.testutils.EventBridgeEventBuilder;
 import nva.commons.core.paths.UnixPath;
-import nva.commons.core.paths.UriWrapper;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -53,16 +60,20 @@ import org.mockito.Mockito;
 public class DataEntryUpdateHandlerTest {
     
     private OutputStream outputStream;
+    private ByteArrayOutputStream metricsOutput;
     private Context context;
     private DataEntryUpdateHandler handler;
     private S3Driver s3Driver;
     
     public static Stream<Arguments> dynamoDbEventProvider() throws JsonProcessingException {
         var samplePublication = PublicationGenerator.randomPublication();
+        var updatedPublication = samplePublication.copy()
+                                     .withModifiedDate(samplePublication.getModifiedDate().plusSeconds(1))
+                                     .build();
         return
             Stream.of(Arguments.of(samplePublication, sampleDynamoRecord(samplePublication, null)),
                 Arguments.of(samplePublication, sampleDynamoRecord(null, samplePublication)),
-                Arguments.of(samplePublication, sampleDynamoRecord(samplePublication, samplePublication)));
+                Arguments.of(samplePublication, sampleDynamoRecord(samplePublication, updatedPublication)));
     }
     
     public static Stream<Map<String, AttributeValue>> notDaoProvider() throws JsonProcessingException {
@@ -74,11 +85,14 @@ public class DataEntryUpdateHandlerTest {
         outputStream = new ByteArrayOutputStream();
         context = Mockito.mock(Context.class);
         var s3Client = new FakeS3Client();
-        handler = new DataEntryUpdateHandler(s3Client);
+        metricsOutput = new ByteArrayOutputStream();
+        var metrics = new EmbeddedMetrics(new PrintStream(metricsOutput, true, StandardCharsets.UTF_8),
+            Clock.systemDefaultZone());
+        handler = new DataEntryUpdateHandler(s3Client, IgnoredFieldsChangeClassifier.DEFAULT, metrics);
         s3Driver = new S3Driver(s3Client, EVENTS_BUCKET);
     }
     
-    //Using event blobs (storing events in S3) helps us avoid AWS EventBridge message size limitations.
+    //Large events are stored in S3 to avoid AWS EventBridge message size limitations.
     @ParameterizedTest(name = "should convert a DynamoDbStream to a DataEntryUpdate event")
     @MethodSource("dynamoDbEventProvider")
     void shouldConvertDynamoDbStreamToADataEntryUpdateEventAvoidingHardLimitsOnEventBridgeEventSize(
@@ -87,13 +101,47 @@ public class DataEntryUpdateHandlerTest {
         var event = emulateEventSentByDynamoDbStreamToEventBridgeHandler(dynamoRecord);
         handler.handleRequest(event, outputStream, context);
         var response = parseResponse();
-        var blobUri = response.getUri();
-        var blob = s3Driver.getFile(UriWrapper.fromUri(blobUri).toS3bucketPath());
+        var blob = response.readBody(s3Driver);
         var eventBody = dtoObjectMapper.readValue(blob, DataEntryUpdateEvent.class);
         var expectedIdentifier = extractIdentifierFromPresentImage(eventBody);
         assertThat(expectedIdentifier, is(equalTo(samplePublication.getIdentifier())));
     }
     
+    @ParameterizedTest(name = "should convert a DynamoDbStream record sent inline to a DataEntryUpdate event")
+    @MethodSource("dynamoDbEventProvider")
+    void shouldConvertDynamoDbStreamRecordSentInlineToADataEntryUpdateEvent(Publication samplePublication,
+                                                                           DynamodbStreamRecord dynamoRecord)
+        throws IOException {
+        var recordJson = dtoObjectMapper.writeValueAsString(dynamoRecord);
+        var eventBody = HybridEventReference.create(DYNAMODB_UPDATE_EVENT_TOPIC, recordJson, s3Driver);
+        handler.handleRequest(EventBridgeEventBuilder.sampleEvent(eventBody), outputStream, context);
+        var response = parseResponse();
+        var updateEvent = dtoObjectMapper.readValue(response.readBody(s3Driver), DataEntryUpdateEvent.class);
+        assertThat(response.isInline(), is(true));
+        assertThat(extractIdentifierFromPresentImage(updateEvent), is(equalTo(samplePublication.getIdentifier())));
+        assertThat(response.getTopic(), is(equalTo(updateEvent.getTopic())));
+    }
+    
+    @Test
+    void shouldNotEmitEventAndShouldCountTheUpdateWhenUpdateDoesNotChangeTheEntry() throws IOException {
+        var publication = PublicationGenerator.randomPublication();
+        var dynamoRecord = sampleDynamoRecord(publication, publication);
+        var event = emulateEventSentByDynamoDbStreamToEventBridgeHandler(dynamoRecord);
+        handler.handleRequest(event, outputStream, context);
+        assertThat(parseResponse(), is(nullValue()));
+        assertThat(metricsOutput.toString(StandardCharsets.UTF_8), containsString(SUPPRESSED_UPDATES_METRIC));
+    }
+    
+    @Test
+    void shouldNotEmitEventWhenClassifierFindsTheChangesIrrelevant() throws IOException {
+        handler = new DataEntryUpdateHandler(new FakeS3Client(), update -> false, EmbeddedMetrics.STANDARD_OUTPUT);
+        var publication = PublicationGenerator.randomPublication();
+        var dynamoRecord = sampleDynamoRecord(null, publication);
+        var event = emulateEventSentByDynamoDbStreamToEventBridgeHandler(dynamoRecord);
+        handler.handleRequest(event, outputStream, context);
+        assertThat(parseResponse(), is(nullValue()));
+    }
+    
     @ParameterizedTest
     @MethodSource("notDaoProvider")
     void shouldNotThrowExceptionWhenEntryIsNotDao(Map<String, AttributeValue> notDao) throws IOException {
@@ -109,7 +157,7 @@ public class DataEntryUpdateHandlerTest {
         return Map.of(randomString(), new AttributeValue(randomString()));
     }
     
-    private static DynamodbEvent.DynamodbStreamRecord sampleDynamoRecord(Publication oldImage, Publication newImage)
+    static DynamodbEvent.DynamodbStreamRecord sampleDynamoRecord(Publication oldImage, Publication newImage)
         throws JsonProcessingException {
         return createDynamoRecord(createPayload(oldImage, newImage));
     }
@@ -191,8 +239,8 @@ public class DataEntryUpdateHandlerTest {
         return s3Driver.insertFile(UnixPath.of(UUID.randomUUID().toString()), json);
     }
     
-    private EventReference parseResponse() {
-        return attempt(() -> objectMapper.readValue(outputStream.toString(), EventReference.class))
+    private HybridEventReference parseResponse() {
+        return attempt(() -> objectMapper.readValue(outputStream.toString(), HybridEventReference.class))
                    .orElseThrow();
     }
 }
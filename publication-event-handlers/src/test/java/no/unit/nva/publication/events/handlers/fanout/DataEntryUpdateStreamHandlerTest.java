@@ -0,0 +1,179 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.events.bodies.DataEntryUpdateEvent.RESOURCE_UPDATE_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.PublicationEventsConfig.EVENTS_BUCKET;
+import static no.unit.nva.publication.events.handlers.expandresources.ExpandDataEntriesHandler.EXPANDED_ENTRY_UPDATED_EVENT_TOPIC;
+import static no.unit.nva.publication.events.handlers.fanout.DataEntryUpdateHandlerTest.sampleDynamoRecord;
+import static no.unit.nva.publication.events.handlers.fanout.DataEntryUpdateStreamHandler.RESPONSE_PAYLOAD_FIELD;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse.BatchItemFailure;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.expansion.ResourceExpansionService;
+import no.unit.nva.expansion.model.ExpandedDataEntry;
+import no.unit.nva.model.PublicationStatus;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.events.bodies.HybridEventReference;
+import no.unit.nva.publication.events.handlers.expandresources.ExpandDataEntriesHandler;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
+import no.unit.nva.s3.S3Driver;
+import no.unit.nva.stubs.FakeContext;
+import no.unit.nva.stubs.FakeEventBridgeClient;
+import no.unit.nva.stubs.FakeS3Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+class DataEntryUpdateStreamHandlerTest {
+    
+    private FakeS3Client s3Client;
+    private FakeEventBridgeClient eventBridgeClient;
+    private FakeContext context;
+    private DataEntryUpdateStreamHandler handler;
+    
+    @BeforeEach
+    public void init() {
+        s3Client = new FakeS3Client();
+        eventBridgeClient = new FakeEventBridgeClient();
+        context = new FakeContext() {
+            @Override
+            public String getInvokedFunctionArn() {
+                return randomString();
+            }
+        };
+        handler = new DataEntryUpdateStreamHandler(s3Client, eventBridgeClient, IgnoredFieldsChangeClassifier.DEFAULT,
+            EmbeddedMetrics.STANDARD_OUTPUT);
+    }
+    
+    @Test
+    void shouldPublishTheDataEntryUpdateEventAsTheResponsePayloadOfTheEventWithTheTopicOfTheEntry()
+        throws JsonProcessingException {
+        var publication = randomPublication();
+        var event = eventWithRecords(sampleDynamoRecord(null, publication));
+        
+        var response = handler.handleRequest(event, context);
+        
+        assertThat(response.getBatchItemFailures(), is(empty()));
+        var payloads = publishedPayloads();
+        assertThat(payloads, hasSize(1));
+        var payload = payloads.get(0);
+        assertThat(payload.getTopic(), is(equalTo(RESOURCE_UPDATE_EVENT_TOPIC)));
+        var updateEvent = DataEntryUpdateEvent.fromJson(payload.readBody(new S3Driver(s3Client, EVENTS_BUCKET)));
+        assertThat(updateEvent.getNewData().getIdentifier(), is(equalTo(publication.getIdentifier())));
+    }
+    
+    @Test
+    void shouldNotPublishEventsOfUpdatesThatDoNotChangeTheEntry() throws JsonProcessingException {
+        var publication = randomPublication();
+        var event = eventWithRecords(sampleDynamoRecord(publication, publication));
+        
+        var response = handler.handleRequest(event, context);
+        
+        assertThat(response.getBatchItemFailures(), is(empty()));
+        assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
+    }
+    
+    @Test
+    void shouldReturnRecordsWhoseEventsCouldNotBeCreatedAsBatchItemFailures() throws JsonProcessingException {
+        handler = new DataEntryUpdateStreamHandler(s3Client, eventBridgeClient, update -> {
+            throw new IllegalStateException(randomString());
+        }, EmbeddedMetrics.STANDARD_OUTPUT);
+        var failingRecord = sampleDynamoRecord(null, randomPublication());
+        var event = eventWithRecords(failingRecord);
+        
+        var response = handler.handleRequest(event, context);
+        
+        var failedSequenceNumbers = response.getBatchItemFailures()
+                                        .stream()
+                                        .map(BatchItemFailure::getItemIdentifier)
+                                        .collect(Collectors.toList());
+        assertThat(failedSequenceNumbers, is(equalTo(List.of(failingRecord.getDynamodb().getSequenceNumber()))));
+        assertThat(eventBridgeClient.getRequestEntries(), is(empty()));
+    }
+    
+    @Test
+    void shouldPublishEventsThatTheConsumersOfDataEntryUpdatesCanProcess() throws Exception {
+        var publication = randomPublication().copy().withStatus(PublicationStatus.PUBLISHED).build();
+        handler.handleRequest(eventWithRecords(sampleDynamoRecord(null, publication)), context);
+        var expansionService = expansionServiceReturningEmptyEntries();
+        var consumer = new ExpandDataEntriesHandler(s3Client, expansionService);
+        var output = new ByteArrayOutputStream();
+        
+        consumer.handleRequest(deliveredEvent(eventBridgeClient.getRequestEntries().get(0)), output, context);
+        
+        var expandedEntry = ArgumentCaptor.forClass(Entity.class);
+        verify(expansionService).expandEntry(expandedEntry.capture());
+        assertThat(expandedEntry.getValue().getIdentifier(), is(equalTo(publication.getIdentifier())));
+        var consumerResponse = dtoObjectMapper.readValue(output.toString(StandardCharsets.UTF_8), EventReference.class);
+        assertThat(consumerResponse.getTopic(), is(equalTo(EXPANDED_ENTRY_UPDATED_EVENT_TOPIC)));
+    }
+    
+    private static ResourceExpansionService expansionServiceReturningEmptyEntries() throws Exception {
+        var expandedEntry = mock(ExpandedDataEntry.class);
+        when(expandedEntry.toJsonString()).thenReturn("{}");
+        var expansionService = mock(ResourceExpansionService.class);
+        when(expansionService.expandEntry(any())).thenReturn(expandedEntry);
+        return expansionService;
+    }
+    
+    // Wraps a published entry in the envelope with which EventBridge delivers it to the targets of a rule.
+    private static InputStream deliveredEvent(PutEventsRequestEntry entry) throws JsonProcessingException {
+        var event = dtoObjectMapper.createObjectNode()
+                        .put("version", "0")
+                        .put("id", UUID.randomUUID().toString())
+                        .put("detail-type", entry.detailType())
+                        .put("source", entry.source())
+                        .put("account", randomString())
+                        .put("time", Instant.now().toString())
+                        .put("region", randomString());
+        event.putArray("resources");
+        event.set("detail", dtoObjectMapper.readTree(entry.detail()));
+        return new ByteArrayInputStream(dtoObjectMapper.writeValueAsBytes(event));
+    }
+    
+    private static DynamodbEvent eventWithRecords(DynamodbStreamRecord... records) {
+        for (var record : records) {
+            record.getDynamodb().setSequenceNumber(randomString());
+        }
+        var event = new DynamodbEvent();
+        event.setRecords(List.of(records));
+        return event;
+    }
+    
+    private List<HybridEventReference> publishedPayloads() {
+        return eventBridgeClient.getRequestEntries()
+                   .stream()
+                   .map(PutEventsRequestEntry::detail)
+                   .map(DataEntryUpdateStreamHandlerTest::responsePayload)
+                   .collect(Collectors.toList());
+    }
+    
+    private static HybridEventReference responsePayload(String detail) {
+        var payload = attempt(() -> dtoObjectMapper.readTree(detail)).orElseThrow().get(RESPONSE_PAYLOAD_FIELD);
+        return HybridEventReference.fromJson(payload.toString());
+    }
+}
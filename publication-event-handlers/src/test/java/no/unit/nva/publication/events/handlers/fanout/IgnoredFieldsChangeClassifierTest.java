@@ -0,0 +1,76 @@
+package no.unit.nva.publication.events.handlers.fanout;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.model.business.TicketEntry.VIEWED_BY_FIELD;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
+import org.junit.jupiter.api.Test;
+
+class IgnoredFieldsChangeClassifierTest {
+    
+    @Test
+    void shouldClassifyUpdateAsNotRelevantWhenTheEntryHasNotChanged() throws JsonProcessingException {
+        var resource = Resource.fromPublication(randomPublication());
+        var update = modification(resource, copyOf(resource));
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(update), is(false));
+    }
+    
+    @Test
+    void shouldClassifyUpdateAsNotRelevantWhenOnlyTheRowVersionHasChanged() throws JsonProcessingException {
+        var resource = Resource.fromPublication(randomPublication());
+        var refreshedResource = (Resource) copyOf(resource);
+        refreshedResource.setVersion(UUID.randomUUID());
+        var update = modification(resource, refreshedResource);
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(update), is(false));
+    }
+    
+    @Test
+    void shouldClassifyUpdateAsRelevantWhenAFieldHasChanged() {
+        var publication = randomPublication();
+        var resource = Resource.fromPublication(publication);
+        var updatedResource = Resource.fromPublication(
+            publication.copy().withModifiedDate(publication.getModifiedDate().plusSeconds(1)).build());
+        var update = modification(resource, updatedResource);
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(update), is(true));
+        assertThat(IgnoredFieldsChangeClassifier.changedFields(resource, updatedResource),
+            is(equalTo(Set.of("modifiedDate"))));
+    }
+    
+    @Test
+    void shouldClassifyInsertionsAndDeletionsAsRelevant() {
+        var resource = Resource.fromPublication(randomPublication());
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(modification(null, resource)), is(true));
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(modification(resource, null)), is(true));
+    }
+    
+    @Test
+    void shouldClassifyUpdateAsNotRelevantWhenOnlyIgnoredFieldsOfASuperTypeHaveChanged()
+        throws JsonProcessingException {
+        var ticket = TicketEntry.requestNewTicket(randomPublication(), DoiRequest.class);
+        var viewedTicket = ((TicketEntry) copyOf(ticket)).markReadForCurators();
+        var update = modification(ticket, viewedTicket);
+        var classifier = new IgnoredFieldsChangeClassifier(Map.of(TicketEntry.class, Set.of(VIEWED_BY_FIELD)));
+        assertThat(classifier.isRelevant(update), is(false));
+        assertThat(IgnoredFieldsChangeClassifier.DEFAULT.isRelevant(update), is(true));
+    }
+    
+    private static DataEntryUpdateEvent modification(Entity oldData, Entity newData) {
+        return new DataEntryUpdateEvent(randomString(), oldData, newData);
+    }
+    
+    private static Entity copyOf(Entity entity) throws JsonProcessingException {
+        return dtoObjectMapper.readValue(dtoObjectMapper.writeValueAsString(entity), Entity.class);
+    }
+}
@@ -150,7 +150,9 @@ class AnalyticsIntegrationHandlerTest extends ResourcesLocalTest {
         Publication samplePublication = insertSamplePublication();
         var doiRequest = DoiRequest.newDoiRequestForResource(Resource.fromPublication(samplePublication));
         var messages = doiRequest.fetchMessages(ticketService);
-        return ExpandedDoiRequest.createEntry(doiRequest, resourceExpansionService, resourceService, ticketService);
+        var resourceAggregate = resourceService.fetchResourceAggregate(doiRequest.getCustomerId(),
+            doiRequest.extractPublicationIdentifier());
+        return ExpandedDoiRequest.createEntry(doiRequest, resourceAggregate, resourceExpansionService);
     }
     
     private Publication insertSamplePublication() {
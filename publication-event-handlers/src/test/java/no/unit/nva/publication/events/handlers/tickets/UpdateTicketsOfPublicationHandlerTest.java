@@ -0,0 +1,110 @@
+package no.unit.nva.publication.events.handlers.tickets;
+
+import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.model.EntityDescription;
+import no.unit.nva.model.Publication;
+import no.unit.nva.publication.events.bodies.DataEntryUpdateEvent;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
+import no.unit.nva.publication.model.business.PublicationDetails;
+import no.unit.nva.publication.model.business.Resource;
+import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.model.storage.TicketDao;
+import no.unit.nva.publication.service.ResourcesLocalTest;
+import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.publication.service.impl.TicketService;
+import no.unit.nva.s3.S3Driver;
+import no.unit.nva.stubs.FakeContext;
+import no.unit.nva.stubs.FakeS3Client;
+import no.unit.nva.testutils.EventBridgeEventBuilder;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.paths.UnixPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpdateTicketsOfPublicationHandlerTest extends ResourcesLocalTest {
+    
+    private static final Context CONTEXT = new FakeContext();
+    private ResourceService resourceService;
+    private TicketService ticketService;
+    private UpdateTicketsOfPublicationHandler handler;
+    private ByteArrayOutputStream outputStream;
+    private S3Driver s3Driver;
+    
+    @BeforeEach
+    public void setup() {
+        super.init();
+        resourceService = new ResourceService(client, Clock.systemDefaultZone());
+        ticketService = new TicketService(client);
+        var s3Client = new FakeS3Client();
+        s3Driver = new S3Driver(s3Client, randomString());
+        handler = new UpdateTicketsOfPublicationHandler(resourceService, s3Client);
+        outputStream = new ByteArrayOutputStream();
+    }
+    
+    @Test
+    void shouldUpdateOutdatedTicketsWhenPublicationDetailsOfPublicationHaveChanged()
+        throws ApiGatewayException, IOException {
+        var publication = createPublication();
+        var publicationUpdate = updateTitle(publication);
+        var ticket = createOutdatedTicket(publicationUpdate);
+        var event = createEvent(Resource.fromPublication(publication), Resource.fromPublication(publicationUpdate));
+    
+        handler.handleRequest(event, outputStream, CONTEXT);
+    
+        var updatedTicket = ticketService.fetchTicket(ticket);
+        var expectedDetails = PublicationDetails.create(
+            resourceService.getPublicationByIdentifier(publication.getIdentifier()));
+        assertThat(updatedTicket.getPublicationDetails(), is(equalTo(expectedDetails)));
+    }
+    
+    @Test
+    void shouldNotUpdateTicketsWhenPublicationDetailsOfPublicationHaveNotChanged()
+        throws ApiGatewayException, IOException {
+        var publication = createPublication();
+        var ticket = createOutdatedTicket(publication);
+        var event = createEvent(Resource.fromPublication(publication), Resource.fromPublication(publication));
+    
+        handler.handleRequest(event, outputStream, CONTEXT);
+    
+        var persistedTicket = ticketService.fetchTicket(ticket);
+        assertThat(persistedTicket.getPublicationDetails(), is(equalTo(ticket.getPublicationDetails())));
+    }
+    
+    private TicketEntry createOutdatedTicket(Publication publication) throws ApiGatewayException {
+        var ticket = GeneralSupportRequest.fromPublication(publication).persistNewTicket(ticketService);
+        var outdatedTicket = ticket.copy();
+        outdatedTicket.setPublicationDetails(PublicationDetails.create(publication.getIdentifier()));
+        client.putItem(((TicketDao) outdatedTicket.toDao()).createPutItemRequest());
+        return outdatedTicket;
+    }
+    
+    private Publication updateTitle(Publication publication) {
+        var entityDescription = new EntityDescription.Builder().withMainTitle(randomString()).build();
+        var publicationUpdate = publication.copy().withEntityDescription(entityDescription).build();
+        return resourceService.updatePublication(publicationUpdate);
+    }
+    
+    private InputStream createEvent(Resource oldResource, Resource newResource) throws IOException {
+        var eventBody = new DataEntryUpdateEvent(randomString(), oldResource, newResource).toJsonString();
+        var blobUri = s3Driver.insertEvent(UnixPath.of(randomString()), eventBody);
+        var eventReference = new EventReference(DataEntryUpdateEvent.RESOURCE_UPDATE_EVENT_TOPIC, blobUri);
+        return EventBridgeEventBuilder.sampleLambdaDestinationsEvent(eventReference);
+    }
+    
+    private Publication createPublication() {
+        var publication = randomPublication();
+        return Resource.fromPublication(publication).persistNew(resourceService,
+            UserInstance.fromPublication(publication));
+    }
+}
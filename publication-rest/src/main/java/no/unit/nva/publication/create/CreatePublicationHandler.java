@@ -15,7 +15,9 @@ import no.unit.nva.model.Publication;
 import no.unit.nva.model.ResourceOwner;
 import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -31,6 +33,7 @@ public class CreatePublicationHandler extends ApiGatewayHandler<CreatePublicatio
     public static final String LOCATION_TEMPLATE = "%s://%s/publication/%s";
     public static final String API_SCHEME = "https";
     public static final String API_HOST = "API_HOST";
+    public static final String CREATE_PUBLICATION_OPERATION = "CreatePublication";
     private static final Logger logger = LoggerFactory.getLogger(CreatePublicationHandler.class);
     private final ResourceService publicationService;
     private final String apiHost;
@@ -62,16 +65,23 @@ public class CreatePublicationHandler extends ApiGatewayHandler<CreatePublicatio
     @Override
     protected PublicationResponse processInput(CreatePublicationRequest input, RequestInfo requestInfo,
                                                Context context) throws ApiGatewayException {
-        logger.info(attempt(() -> JsonUtils.dtoObjectMapper.writeValueAsString(requestInfo)).orElseThrow());
+        try {
+            var start = EmbeddedMetrics.STANDARD_OUTPUT.now();
+            logger.info(attempt(() -> JsonUtils.dtoObjectMapper.writeValueAsString(requestInfo)).orElseThrow());
         
-        UserInstance userInstance = createUserInstanceFromLoginInformation(requestInfo);
-        var newPublication = Optional.ofNullable(input)
-                                 .map(CreatePublicationRequest::toPublication)
-                                 .orElseGet(Publication::new);
-        var createdPublication = Resource.fromPublication(newPublication).persistNew(publicationService, userInstance);
-        setLocationHeader(createdPublication.getIdentifier());
-    
-        return PublicationResponse.fromPublication(createdPublication);
+            UserInstance userInstance = createUserInstanceFromLoginInformation(requestInfo);
+            var newPublication = Optional.ofNullable(input)
+                                     .map(CreatePublicationRequest::toPublication)
+                                     .orElseGet(Publication::new);
+            var createdPublication =
+                Resource.fromPublication(newPublication).persistNew(publicationService, userInstance);
+            setLocationHeader(createdPublication.getIdentifier());
+            EmbeddedMetrics.STANDARD_OUTPUT.putLatencySince(CREATE_PUBLICATION_OPERATION, start);
+        
+            return PublicationResponse.fromPublication(createdPublication);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
 
     @Override
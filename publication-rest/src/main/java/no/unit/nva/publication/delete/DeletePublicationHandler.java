@@ -7,6 +7,7 @@ import java.time.Clock;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.RequestUtil;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
@@ -40,14 +41,18 @@ public class DeletePublicationHandler extends ApiGatewayHandler<Void, Void> {
     
     @Override
     protected Void processInput(Void input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
-        SortableIdentifier identifier = RequestUtil.getIdentifier(requestInfo);
-        String owner = requestInfo.getNvaUsername();
-        URI customerId = requestInfo.getCurrentCustomer();
-        UserInstance userInstance = UserInstance.create(owner, customerId);
+        try {
+            SortableIdentifier identifier = RequestUtil.getIdentifier(requestInfo);
+            String owner = requestInfo.getNvaUsername();
+            URI customerId = requestInfo.getCurrentCustomer();
+            UserInstance userInstance = UserInstance.create(owner, customerId);
         
-        resourceService.markPublicationForDeletion(userInstance, identifier);
+            resourceService.markPublicationForDeletion(userInstance, identifier);
         
-        return null;
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
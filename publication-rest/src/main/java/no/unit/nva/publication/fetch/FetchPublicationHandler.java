@@ -16,6 +16,7 @@ import no.unit.nva.api.PublicationResponse;
 import no.unit.nva.doi.DataCiteMetadataDtoMapper;
 import no.unit.nva.model.Publication;
 import no.unit.nva.publication.RequestUtil;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.transformer.Transformer;
 import nva.commons.apigateway.ApiGatewayHandler;
@@ -63,11 +64,14 @@ public class FetchPublicationHandler extends ApiGatewayHandler<Void, String> {
     @Override
     protected String processInput(Void input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
+        try {
+            var identifier = RequestUtil.getIdentifier(requestInfo);
+            var publication = resourceService.getPublicationByIdentifier(identifier);
         
-        var identifier = RequestUtil.getIdentifier(requestInfo);
-        var publication = resourceService.getPublicationByIdentifier(identifier);
-        
-        return createResponse(requestInfo, publication);
+            return createResponse(requestInfo, publication);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
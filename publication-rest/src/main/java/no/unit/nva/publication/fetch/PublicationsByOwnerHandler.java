@@ -1,18 +1,26 @@
 package no.unit.nva.publication.fetch;
 
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.URI;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import no.unit.nva.publication.RequestUtil;
+import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.PageCursor;
 import no.unit.nva.publication.model.PublicationSummary;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 import org.apache.http.HttpStatus;
@@ -21,6 +29,16 @@ import org.slf4j.LoggerFactory;
 
 public class PublicationsByOwnerHandler extends ApiGatewayHandler<Void, PublicationsByOwnerResponse> {
     
+    public static final String PAGE_SIZE_QUERY_PARAMETER = "pageSize";
+    public static final String CURSOR_QUERY_PARAMETER = "cursor";
+    /**
+     * The page size used when only a cursor is given. Without a page size and a cursor all publications are returned.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String INVALID_PAGE_SIZE_MESSAGE =
+        String.format("%s must be a number between 1 and %d", PAGE_SIZE_QUERY_PARAMETER, MAX_PAGE_SIZE);
+    private static final int INVALID_PAGE_SIZE = -1;
     private static final Logger logger = LoggerFactory.getLogger(PublicationsByOwnerHandler.class);
     private final ResourceService resourceService;
     
@@ -46,21 +64,57 @@ public class PublicationsByOwnerHandler extends ApiGatewayHandler<Void, Publicat
     @Override
     protected PublicationsByOwnerResponse processInput(Void input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
+        try {
+            String owner = RequestUtil.getOwner(requestInfo);
+            URI customerId = requestInfo.getCurrentCustomer();
+            UserInstance userInstance = UserInstance.create(owner, customerId);
+            logger.info(String.format(
+                "Requested publications for owner with feideId=%s and publisher with customerId=%s",
+                owner,
+                customerId));
         
-        String owner = RequestUtil.getOwner(requestInfo);
-        URI customerId = requestInfo.getCurrentCustomer();
-        UserInstance userInstance = UserInstance.create(owner, customerId);
-        logger.info(String.format("Requested publications for owner with feideId=%s and publisher with customerId=%s",
-            owner,
-            customerId));
-        
-        List<PublicationSummary> publicationsByOwner;
-        publicationsByOwner = resourceService.getPublicationsByOwner(userInstance)
-                                  .stream()
-                                  .map(PublicationSummary::create)
-                                  .collect(Collectors.toList());
+            if (isNotPaginated(requestInfo)) {
+                return new PublicationsByOwnerResponse(fetchAllPublicationSummaries(userInstance), null);
+            }
+            var pageSize = readPageSize(requestInfo);
+            var startMarker = PageCursor.decode(requestInfo.getQueryParameterOpt(CURSOR_QUERY_PARAMETER).orElse(null));
+            var page = resourceService.getPublicationSummariesByOwner(userInstance, pageSize, startMarker);
         
-        return new PublicationsByOwnerResponse(publicationsByOwner);
+            return new PublicationsByOwnerResponse(page.getDatabaseEntries(), PageCursor.encode(page.getStartMarker()));
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
+    }
+    
+    private static boolean isNotPaginated(RequestInfo requestInfo) {
+        return requestInfo.getQueryParameterOpt(PAGE_SIZE_QUERY_PARAMETER).isEmpty()
+               && requestInfo.getQueryParameterOpt(CURSOR_QUERY_PARAMETER).isEmpty();
+    }
+    
+    /**
+     * Reads all pages of the owner's publication summaries, for clients that do not ask for a page size or a cursor.
+     */
+    private List<PublicationSummary> fetchAllPublicationSummaries(UserInstance userInstance)
+        throws BadRequestException {
+        var summaries = new ArrayList<PublicationSummary>();
+        Map<String, AttributeValue> startMarker = null;
+        ListingResult<PublicationSummary> page;
+        do {
+            page = resourceService.getPublicationSummariesByOwner(userInstance, MAX_PAGE_SIZE, startMarker);
+            summaries.addAll(page.getDatabaseEntries());
+            startMarker = page.getStartMarker();
+        } while (page.isTruncated() && nonNull(startMarker));
+        return summaries;
+    }
+    
+    private static int readPageSize(RequestInfo requestInfo) throws BadRequestException {
+        var pageSize = requestInfo.getQueryParameterOpt(PAGE_SIZE_QUERY_PARAMETER)
+                           .map(value -> attempt(() -> Integer.parseInt(value)).orElse(fail -> INVALID_PAGE_SIZE))
+                           .orElse(DEFAULT_PAGE_SIZE);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException(INVALID_PAGE_SIZE_MESSAGE);
+        }
+        return pageSize;
     }
     
     @Override
@@ -1,17 +1,29 @@
 package no.unit.nva.publication.fetch;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import no.unit.nva.publication.model.PublicationSummary;
 
 public class PublicationsByOwnerResponse {
     
+    public static final String PUBLICATIONS_FIELD = "publications";
+    public static final String NEXT_CURSOR_FIELD = "nextCursor";
     private final List<PublicationSummary> publications;
+    private final String nextCursor;
     
-    public PublicationsByOwnerResponse(List<PublicationSummary> publications) {
+    @JsonCreator
+    public PublicationsByOwnerResponse(@JsonProperty(PUBLICATIONS_FIELD) List<PublicationSummary> publications,
+                                       @JsonProperty(NEXT_CURSOR_FIELD) String nextCursor) {
         this.publications = publications;
+        this.nextCursor = nextCursor;
     }
     
     public List<PublicationSummary> getPublications() {
         return publications;
     }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
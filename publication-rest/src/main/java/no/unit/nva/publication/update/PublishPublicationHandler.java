@@ -10,6 +10,7 @@ import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.RequestUtil;
 import no.unit.nva.publication.model.PublishPublicationStatusResponse;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
@@ -54,13 +55,17 @@ public class PublishPublicationHandler extends ApiGatewayHandler<Void, PublishPu
     @Override
     protected PublishPublicationStatusResponse processInput(Void input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        SortableIdentifier identifier = RequestUtil.getIdentifier(requestInfo);
-        String user = requestInfo.getNvaUsername();
-        URI customerId = requestInfo.getCurrentCustomer();
-        UserInstance userInstance = UserInstance.create(user, customerId);
-        addAdditionalHeaders(() -> Map.of(HttpHeaders.LOCATION, getLocation(identifier).toString()));
+        try {
+            SortableIdentifier identifier = RequestUtil.getIdentifier(requestInfo);
+            String user = requestInfo.getNvaUsername();
+            URI customerId = requestInfo.getCurrentCustomer();
+            UserInstance userInstance = UserInstance.create(user, customerId);
+            addAdditionalHeaders(() -> Map.of(HttpHeaders.LOCATION, getLocation(identifier).toString()));
         
-        return resourceService.publishPublication(userInstance, identifier);
+            return resourceService.publishPublication(userInstance, identifier);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
@@ -10,7 +10,9 @@ import no.unit.nva.model.Publication;
 import no.unit.nva.publication.AccessRight;
 import no.unit.nva.publication.RequestUtil;
 import no.unit.nva.publication.exception.NotAuthorizedException;
+import no.unit.nva.publication.model.business.Resource;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
@@ -53,13 +55,17 @@ public class UpdatePublicationHandler extends ApiGatewayHandler<UpdatePublicatio
     @Override
     protected PublicationResponse processInput(UpdatePublicationRequest input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        
-        SortableIdentifier identifierInPath = RequestUtil.getIdentifier(requestInfo);
-        validateRequest(identifierInPath, input);
-        Publication existingPublication = fetchExistingPublication(requestInfo, identifierInPath);
-        Publication publicationUpdate = input.generatePublicationUpdate(existingPublication);
-        Publication updatedPublication = resourceService.updatePublication(publicationUpdate);
-        return PublicationResponse.fromPublication(updatedPublication);
+        try {
+            SortableIdentifier identifierInPath = RequestUtil.getIdentifier(requestInfo);
+            validateRequest(identifierInPath, input);
+            Resource existingResource = fetchExistingResource(requestInfo, identifierInPath);
+            Publication publicationUpdate = input.generatePublicationUpdate(existingResource.toPublication());
+            Publication updatedPublication =
+                resourceService.updatePublication(publicationUpdate, existingResource.getVersion());
+            return PublicationResponse.fromPublication(updatedPublication);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
@@ -67,13 +73,13 @@ public class UpdatePublicationHandler extends ApiGatewayHandler<UpdatePublicatio
         return HttpStatus.SC_OK;
     }
     
-    private Publication fetchExistingPublication(RequestInfo requestInfo,
-                                                 SortableIdentifier identifierInPath) throws ApiGatewayException {
+    private Resource fetchExistingResource(RequestInfo requestInfo,
+                                           SortableIdentifier identifierInPath) throws ApiGatewayException {
         UserInstance userInstance = extractUserInstance(requestInfo);
         
         return userCanEditOtherPeoplesPublications(requestInfo)
-                   ? fetchPublicationForPrivilegedUser(identifierInPath, userInstance)
-                   : fetchPublicationForPublicationOwner(identifierInPath, userInstance);
+                   ? fetchResourceForPrivilegedUser(identifierInPath, userInstance)
+                   : fetchResourceForPublicationOwner(identifierInPath, userInstance);
     }
     
     private UserInstance extractUserInstance(RequestInfo requestInfo) throws UnauthorizedException {
@@ -82,25 +88,25 @@ public class UpdatePublicationHandler extends ApiGatewayHandler<UpdatePublicatio
                    .orElseThrow(fail -> new UnauthorizedException());
     }
     
-    private Publication fetchPublicationForPublicationOwner(SortableIdentifier identifierInPath,
-                                                            UserInstance userInstance)
+    private Resource fetchResourceForPublicationOwner(SortableIdentifier identifierInPath,
+                                                      UserInstance userInstance)
         throws ApiGatewayException {
-        return resourceService.getPublication(userInstance, identifierInPath);
+        return resourceService.getResource(userInstance, identifierInPath);
     }
     
-    private Publication fetchPublicationForPrivilegedUser(SortableIdentifier identifierInPath,
-                                                          UserInstance userInstance)
+    private Resource fetchResourceForPrivilegedUser(SortableIdentifier identifierInPath,
+                                                    UserInstance userInstance)
         throws NotFoundException, NotAuthorizedException {
-        Publication existingPublication;
-        existingPublication = resourceService.getPublicationByIdentifier(identifierInPath);
-        checkUserIsInSameInstitutionAsThePublication(userInstance, existingPublication);
-        return existingPublication;
+        Resource existingResource;
+        existingResource = resourceService.getResourceByIdentifierBypassingCache(identifierInPath);
+        checkUserIsInSameInstitutionAsThePublication(userInstance, existingResource);
+        return existingResource;
     }
     
     private void checkUserIsInSameInstitutionAsThePublication(UserInstance userInstance,
-                                                              Publication existingPublication)
+                                                              Resource existingResource)
         throws NotAuthorizedException {
-        if (!userInstance.getOrganizationUri().equals(existingPublication.getPublisher().getId())) {
+        if (!userInstance.getOrganizationUri().equals(existingResource.getPublisher().getId())) {
             throw new NotAuthorizedException();
         }
     }
@@ -3,32 +3,51 @@ package no.unit.nva.publication.fetch;
 import static com.google.common.net.HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN;
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
 import static no.unit.nva.model.testing.PublicationGenerator.randomPublication;
+import static no.unit.nva.publication.fetch.PublicationsByOwnerHandler.CURSOR_QUERY_PARAMETER;
+import static no.unit.nva.publication.fetch.PublicationsByOwnerHandler.MAX_PAGE_SIZE;
+import static no.unit.nva.publication.fetch.PublicationsByOwnerHandler.PAGE_SIZE_QUERY_PARAMETER;
 import static no.unit.nva.publication.PublicationRestHandlersTestConfig.restApiMapper;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.collection.IsMapContaining.hasKey;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.List;
-import no.unit.nva.model.Publication;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.publication.model.ListingResult;
+import no.unit.nva.publication.model.PublicationSummary;
 import no.unit.nva.publication.model.business.UserInstance;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.testutils.HandlerRequestBuilder;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.GatewayResponse;
+import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
 public class PublicationsByOwnerHandlerTest {
     
@@ -53,10 +72,10 @@ public class PublicationsByOwnerHandlerTest {
     
     @Test
     @DisplayName("handler Returns Ok Response On Valid Input")
-    void handlerReturnsOkResponseOnValidInput() throws IOException {
-        when(resourceService.getPublicationsByOwner(any(UserInstance.class)))
-            .thenReturn(publicationSummaries());
-    
+    void handlerReturnsOkResponseOnValidInput() throws IOException, BadRequestException {
+        when(resourceService.getPublicationSummariesByOwner(any(UserInstance.class), anyInt(), any()))
+            .thenReturn(new ListingResult<>(publicationSummaries(), null, false));
+        
         InputStream input = new HandlerRequestBuilder<Void>(restApiMapper)
                                 .withNvaUsername(randomString())
                                 .withCustomerId(randomUri())
@@ -77,7 +96,72 @@ public class PublicationsByOwnerHandlerTest {
         assertEquals(HttpURLConnection.HTTP_UNAUTHORIZED, gatewayResponse.getStatusCode());
     }
     
-    private List<Publication> publicationSummaries() {
-        return List.of(randomPublication(), randomPublication(), randomPublication());
+    @Test
+    void shouldReturnCursorOfNextPageAndReadNextPageFromCursor() throws IOException, BadRequestException {
+        var pageSize = 3;
+        var lastEvaluatedKey = Map.of("PK0", new AttributeValue(randomString()),
+            "SK0", new AttributeValue(randomString()));
+        when(resourceService.getPublicationSummariesByOwner(any(UserInstance.class), eq(pageSize), any()))
+            .thenReturn(new ListingResult<>(publicationSummaries(), lastEvaluatedKey, true));
+        
+        var firstPage = sendRequest(Map.of(PAGE_SIZE_QUERY_PARAMETER, String.valueOf(pageSize)));
+        var nextCursor = firstPage.getBodyObject(PublicationsByOwnerResponse.class).getNextCursor();
+        assertThat(nextCursor, is(notNullValue()));
+        
+        output = new ByteArrayOutputStream();
+        sendRequest(Map.of(PAGE_SIZE_QUERY_PARAMETER, String.valueOf(pageSize), CURSOR_QUERY_PARAMETER, nextCursor));
+        verify(resourceService).getPublicationSummariesByOwner(any(UserInstance.class), eq(pageSize),
+            eq(lastEvaluatedKey));
+    }
+    
+    @Test
+    void shouldReturnAllPublicationsWhenNeitherPageSizeNorCursorIsGiven() throws IOException, BadRequestException {
+        var lastEvaluatedKey = Map.of("PK0", new AttributeValue(randomString()),
+            "SK0", new AttributeValue(randomString()));
+        var firstPage = publicationSummaries();
+        var lastPage = publicationSummaries();
+        when(resourceService.getPublicationSummariesByOwner(any(UserInstance.class), eq(MAX_PAGE_SIZE), isNull()))
+            .thenReturn(new ListingResult<>(firstPage, lastEvaluatedKey, true));
+        when(resourceService.getPublicationSummariesByOwner(any(UserInstance.class), eq(MAX_PAGE_SIZE),
+            eq(lastEvaluatedKey)))
+            .thenReturn(new ListingResult<>(lastPage, null, false));
+        
+        var response = sendRequest(Map.of()).getBodyObject(PublicationsByOwnerResponse.class);
+        var expectedPublications = Stream.concat(firstPage.stream(), lastPage.stream())
+                                       .toArray(PublicationSummary[]::new);
+        assertThat(response.getPublications(), contains(expectedPublications));
+        assertThat(response.getNextCursor(), is(nullValue()));
+    }
+    
+    @ParameterizedTest(name = "should return bad request when query parameters are {0}")
+    @MethodSource("invalidQueryParameters")
+    void shouldReturnBadRequestWhenPageSizeOrCursorIsInvalid(Map<String, String> queryParameters)
+        throws IOException {
+        var gatewayResponse = sendRequest(queryParameters);
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, gatewayResponse.getStatusCode());
+    }
+    
+    private static Stream<Map<String, String>> invalidQueryParameters() {
+        return Stream.of(Map.of(PAGE_SIZE_QUERY_PARAMETER, "0"),
+            Map.of(PAGE_SIZE_QUERY_PARAMETER, String.valueOf(MAX_PAGE_SIZE + 1)),
+            Map.of(PAGE_SIZE_QUERY_PARAMETER, randomString()),
+            Map.of(CURSOR_QUERY_PARAMETER, "!" + randomString()));
+    }
+    
+    private GatewayResponse<PublicationsByOwnerResponse> sendRequest(Map<String, String> queryParameters)
+        throws IOException {
+        InputStream input = new HandlerRequestBuilder<Void>(restApiMapper)
+                                .withNvaUsername(randomString())
+                                .withCustomerId(randomUri())
+                                .withQueryParameters(queryParameters)
+                                .build();
+        publicationsByOwnerHandler.handleRequest(input, output, context);
+        return GatewayResponse.fromOutputStream(output, PublicationsByOwnerResponse.class);
+    }
+    
+    private List<PublicationSummary> publicationSummaries() {
+        return Stream.of(randomPublication(), randomPublication(), randomPublication())
+                   .map(PublicationSummary::create)
+                   .collect(Collectors.toList());
     }
 }
@@ -33,6 +33,7 @@ import java.net.HttpURLConnection;
 import java.net.URI;
 import java.time.Clock;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import no.unit.nva.api.PublicationResponse;
 import no.unit.nva.identifiers.SortableIdentifier;
@@ -46,6 +47,7 @@ import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.testutils.HandlerRequestBuilder;
 import nva.commons.apigateway.GatewayResponse;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.Environment;
 import nva.commons.logutils.LogUtils;
 import nva.commons.logutils.TestAppender;
@@ -216,6 +218,20 @@ class UpdatePublicationHandlerTest extends ResourcesLocalTest {
         assertThat(problem.getDetail(), is(equalTo("Unauthorized")));
     }
     
+    @Test
+    void shouldReturnConflictWhenPublicationIsModifiedBetweenReadAndUpdate() throws IOException {
+        publicationService = serviceWherePublicationIsModifiedAfterItIsRead();
+        updatePublicationHandler = new UpdatePublicationHandler(publicationService, environment);
+        Publication savedPublication = createSamplePublication();
+        Publication publicationUpdate = updateTitle(savedPublication);
+        
+        InputStream event = ownerUpdatesOwnPublication(publicationUpdate.getIdentifier(), publicationUpdate);
+        updatePublicationHandler.handleRequest(event, output, context);
+        var response = GatewayResponse.fromOutputStream(output, Problem.class);
+        
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_CONFLICT)));
+    }
+    
     @Test
     void shouldReturnUnauthorizedWhenUserCannotBeIdentified() throws IOException {
         var event = requestWithoutUsername(randomPublication());
@@ -292,12 +308,24 @@ class UpdatePublicationHandlerTest extends ResourcesLocalTest {
     private ResourceService serviceFailsOnModifyRequestWithRuntimeError() {
         return new ResourceService(client, Clock.systemDefaultZone()) {
             @Override
-            public Publication updatePublication(Publication publicationUpdate) {
+            public Publication updatePublication(Publication publicationUpdate, UUID expectedVersion) {
                 throw new RuntimeException(SOME_MESSAGE);
             }
         };
     }
     
+    private ResourceService serviceWherePublicationIsModifiedAfterItIsRead() {
+        return new ResourceService(client, Clock.systemDefaultZone()) {
+            @Override
+            public Resource getResource(UserInstance userInstance, SortableIdentifier identifier)
+                throws NotFoundException {
+                var resource = super.getResource(userInstance, identifier);
+                super.updatePublication(resource.toPublication());
+                return resource;
+            }
+        };
+    }
+    
     private HandlerRequestBuilder<Publication> generateInputStreamMissingPathParameters() throws IOException {
         return new HandlerRequestBuilder<Publication>(restApiMapper)
                    .withBody(createPublication())
@@ -12,9 +12,11 @@ import no.unit.nva.publication.PublicationServiceConfig;
 import no.unit.nva.publication.exception.TransactionFailedException;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.publication.ticket.TicketDto;
+import no.unit.nva.publication.utils.EmbeddedMetrics;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -25,6 +27,7 @@ import nva.commons.core.paths.UriWrapper;
 public class CreateTicketHandler extends ApiGatewayHandler<TicketDto, Void> {
     
     public static final String LOCATION_HEADER = "Location";
+    public static final String CREATE_TICKET_OPERATION = "CreateTicket";
     private final TicketService ticketService;
     private final ResourceService resourceService;
     
@@ -42,15 +45,21 @@ public class CreateTicketHandler extends ApiGatewayHandler<TicketDto, Void> {
     @Override
     protected Void processInput(TicketDto input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        var publicationIdentifier = new SortableIdentifier(requestInfo.getPathParameter("publicationIdentifier"));
-        var user = UserInstance.fromRequestInfo(requestInfo);
-        var publication = fetchPublication(publicationIdentifier, user);
-        var newTicket = TicketEntry.requestNewTicket(publication, input.ticketType());
-        var createdTicket = persistTicket(newTicket);
-        var ticketLocation = createTicketLocation(publicationIdentifier, createdTicket);
-        addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, ticketLocation));
-    
-        return null;
+        try {
+            var start = EmbeddedMetrics.STANDARD_OUTPUT.now();
+            var publicationIdentifier = new SortableIdentifier(requestInfo.getPathParameter("publicationIdentifier"));
+            var user = UserInstance.fromRequestInfo(requestInfo);
+            var publication = fetchPublication(publicationIdentifier, user);
+            var newTicket = TicketEntry.requestNewTicket(publication, input.ticketType());
+            var createdTicket = persistTicket(newTicket);
+            var ticketLocation = createTicketLocation(publicationIdentifier, createdTicket);
+            addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, ticketLocation));
+            EmbeddedMetrics.STANDARD_OUTPUT.putLatencySince(CREATE_TICKET_OPERATION, start);
+        
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
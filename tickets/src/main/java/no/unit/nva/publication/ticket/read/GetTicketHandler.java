@@ -6,6 +6,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.publication.ticket.TicketConfig;
 import no.unit.nva.publication.ticket.TicketDto;
@@ -34,12 +35,16 @@ public class GetTicketHandler extends ApiGatewayHandler<Void, TicketDto> {
     
     @Override
     protected TicketDto processInput(Void input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
-        var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
-        var publicationIdentifier = extractPublicationIdentifierFromPath(requestInfo);
-        var ticket = fetchTicket(ticketIdentifier, requestInfo);
-        validatePathParameters(publicationIdentifier, ticket);
-        var messages = ticket.fetchMessages(ticketService);
-        return TicketDto.fromTicket(ticket, messages);
+        try {
+            var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
+            var publicationIdentifier = extractPublicationIdentifierFromPath(requestInfo);
+            var ticket = fetchTicket(ticketIdentifier, requestInfo);
+            validatePathParameters(publicationIdentifier, ticket);
+            var messages = ticket.fetchMessages(ticketService);
+            return TicketDto.fromTicket(ticket, messages);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
@@ -0,0 +1,119 @@
+package no.unit.nva.publication.ticket.read;
+
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.stream.Collectors;
+import no.unit.nva.publication.model.PageCursor;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
+import no.unit.nva.publication.model.business.PublishingRequestCase;
+import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.model.business.TicketStatus;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
+import no.unit.nva.publication.service.impl.TicketService;
+import no.unit.nva.publication.ticket.DoiRequestDto;
+import no.unit.nva.publication.ticket.GeneralSupportRequestDto;
+import no.unit.nva.publication.ticket.PublishingRequestDto;
+import no.unit.nva.publication.ticket.TicketDto;
+import no.unit.nva.publication.ticket.TicketHandler;
+import nva.commons.apigateway.AccessRight;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.apigateway.exceptions.ForbiddenException;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Lists the tickets of the customer of a curator with a given status, most recent first, one page at a time.
+ */
+public class ListTicketsForCustomerHandler extends TicketHandler<Void, TicketPage> {
+    
+    public static final String STATUS_QUERY_PARAMETER = "status";
+    public static final String TYPE_QUERY_PARAMETER = "type";
+    public static final String PAGE_SIZE_QUERY_PARAMETER = "pageSize";
+    public static final String CURSOR_QUERY_PARAMETER = "cursor";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String INVALID_STATUS_MESSAGE = "Invalid ticket status: ";
+    public static final String INVALID_TYPE_MESSAGE = "Invalid ticket type: ";
+    public static final String INVALID_PAGE_SIZE_MESSAGE =
+        String.format("%s must be a number between 1 and %d", PAGE_SIZE_QUERY_PARAMETER, MAX_PAGE_SIZE);
+    private static final int INVALID_PAGE_SIZE = -1;
+    private static final Map<String, Class<? extends TicketEntry>> TICKET_TYPES = Map.of(
+        DoiRequestDto.TYPE, DoiRequest.class,
+        PublishingRequestDto.TYPE, PublishingRequestCase.class,
+        GeneralSupportRequestDto.TYPE, GeneralSupportRequest.class);
+    
+    private final TicketService ticketService;
+    
+    @JacocoGenerated
+    public ListTicketsForCustomerHandler() {
+        this(TicketService.defaultService());
+    }
+    
+    public ListTicketsForCustomerHandler(TicketService ticketService) {
+        super(Void.class);
+        this.ticketService = ticketService;
+    }
+    
+    @Override
+    protected TicketPage processInput(Void input, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+        try {
+            if (!userIsAuthorizedToViewOtherUsersTickets(requestInfo)) {
+                throw new ForbiddenException();
+            }
+            var customerId = requestInfo.getCurrentCustomer();
+            var status = readStatus(requestInfo);
+            var ticketType = readTicketType(requestInfo);
+            var pageSize = readPageSize(requestInfo);
+            var startMarker = PageCursor.decode(requestInfo.getQueryParameterOpt(CURSOR_QUERY_PARAMETER).orElse(null));
+        
+            var page = ticketService.listTicketsByCustomerAndStatus(customerId, status, ticketType, pageSize,
+                startMarker);
+            var tickets = page.getDatabaseEntries().stream().map(TicketDto::fromTicket).collect(Collectors.toList());
+            return new TicketPage(tickets, PageCursor.encode(page.getStartMarker()));
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
+    }
+    
+    @Override
+    protected Integer getSuccessStatusCode(Void input, TicketPage output) {
+        return HttpURLConnection.HTTP_OK;
+    }
+    
+    private static boolean userIsAuthorizedToViewOtherUsersTickets(RequestInfo requestInfo) {
+        return requestInfo.userIsAuthorized(AccessRight.APPROVE_DOI_REQUEST.toString());
+    }
+    
+    private static TicketStatus readStatus(RequestInfo requestInfo) throws BadRequestException {
+        var status = requestInfo.getQueryParameterOpt(STATUS_QUERY_PARAMETER).orElse(null);
+        return attempt(() -> TicketStatus.parse(status))
+                   .orElseThrow(fail -> new BadRequestException(INVALID_STATUS_MESSAGE + status));
+    }
+    
+    // Returns null when no type is requested, meaning tickets of all types.
+    private static Class<? extends TicketEntry> readTicketType(RequestInfo requestInfo) throws BadRequestException {
+        var type = requestInfo.getQueryParameterOpt(TYPE_QUERY_PARAMETER);
+        if (type.isEmpty()) {
+            return null;
+        }
+        if (!TICKET_TYPES.containsKey(type.get())) {
+            throw new BadRequestException(INVALID_TYPE_MESSAGE + type.get());
+        }
+        return TICKET_TYPES.get(type.get());
+    }
+    
+    private static int readPageSize(RequestInfo requestInfo) throws BadRequestException {
+        var pageSize = requestInfo.getQueryParameterOpt(PAGE_SIZE_QUERY_PARAMETER)
+                           .map(value -> attempt(() -> Integer.parseInt(value)).orElse(fail -> INVALID_PAGE_SIZE))
+                           .orElse(DEFAULT_PAGE_SIZE);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException(INVALID_PAGE_SIZE_MESSAGE);
+        }
+        return pageSize;
+    }
+}
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.ResourceService;
 import no.unit.nva.publication.ticket.TicketDto;
 import no.unit.nva.publication.ticket.TicketHandler;
@@ -34,11 +35,15 @@ public class ListTicketsForPublicationHandler extends TicketHandler<Void, Ticket
     @Override
     protected TicketCollection processInput(Void input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        var publicationIdentifier = extractPublicationIdentifierFromPath(requestInfo);
-        var userInstance = UserInstance.fromRequestInfo(requestInfo);
+        try {
+            var publicationIdentifier = extractPublicationIdentifierFromPath(requestInfo);
+            var userInstance = UserInstance.fromRequestInfo(requestInfo);
         
-        var ticketDtos = fetchTickets(requestInfo, publicationIdentifier, userInstance);
-        return TicketCollection.fromTickets(ticketDtos.collect(Collectors.toList()));
+            var ticketDtos = fetchTickets(requestInfo, publicationIdentifier, userInstance);
+            return TicketCollection.fromTickets(ticketDtos.collect(Collectors.toList()));
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
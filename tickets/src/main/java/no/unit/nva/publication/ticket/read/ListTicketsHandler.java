@@ -5,6 +5,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import java.util.stream.Collectors;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.publication.ticket.TicketDto;
 import nva.commons.apigateway.ApiGatewayHandler;
@@ -30,10 +31,12 @@ public class ListTicketsHandler extends ApiGatewayHandler<Void, TicketCollection
     protected TicketCollection processInput(Void input, RequestInfo requestInfo, Context context)
         throws UnauthorizedException {
         var userInstance = UserInstance.fromRequestInfo(requestInfo);
-        var tickets = ticketService.fetchTicketsForUser(userInstance)
-                          .map(this::createDto)
-                          .collect(Collectors.toList());
-        return TicketCollection.fromTickets(tickets);
+        try (var ticketsOfUser = ticketService.fetchTicketsForUser(userInstance)) {
+            var tickets = ticketsOfUser.map(this::createDto).collect(Collectors.toList());
+            return TicketCollection.fromTickets(tickets);
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
@@ -0,0 +1,34 @@
+package no.unit.nva.publication.ticket.read;
+
+import static java.util.Objects.nonNull;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collections;
+import java.util.List;
+import no.unit.nva.publication.ticket.TicketDto;
+
+public class TicketPage {
+    
+    public static final String TICKETS_FIELD = "tickets";
+    public static final String NEXT_CURSOR_FIELD = "nextCursor";
+    
+    @JsonProperty(TICKETS_FIELD)
+    private final List<TicketDto> tickets;
+    @JsonProperty(NEXT_CURSOR_FIELD)
+    private final String nextCursor;
+    
+    @JsonCreator
+    public TicketPage(@JsonProperty(TICKETS_FIELD) List<TicketDto> tickets,
+                      @JsonProperty(NEXT_CURSOR_FIELD) String nextCursor) {
+        this.tickets = tickets;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<TicketDto> getTickets() {
+        return nonNull(tickets) ? tickets : Collections.emptyList();
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -3,6 +3,7 @@ package no.unit.nva.publication.ticket.update;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.HttpURLConnection;
 import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.publication.ticket.TicketDto;
 import no.unit.nva.publication.ticket.TicketHandler;
@@ -29,14 +30,18 @@ public class UpdateTicketStatusHandler extends TicketHandler<TicketDto, Void> {
     
     @Override
     protected Void processInput(TicketDto input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
-        var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
-        var ticket = ticketService.fetchTicketByIdentifier(ticketIdentifier);
+        try {
+            var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
+            var ticket = ticketService.fetchTicketByIdentifier(ticketIdentifier);
         
-        if (userIsNotAuthorized(requestInfo, ticket)) {
-            throw new ForbiddenException();
+            if (userIsNotAuthorized(requestInfo, ticket)) {
+                throw new ForbiddenException();
+            }
+            ticketService.updateTicketStatus(ticket, input.getStatus());
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
         }
-        ticketService.updateTicketStatus(ticket, input.getStatus());
-        return null;
     }
     
     @Override
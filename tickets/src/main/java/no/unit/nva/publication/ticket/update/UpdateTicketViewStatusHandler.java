@@ -10,6 +10,7 @@ import java.util.Map;
 import no.unit.nva.identifiers.SortableIdentifier;
 import no.unit.nva.publication.model.business.TicketEntry;
 import no.unit.nva.publication.model.business.UserInstance;
+import no.unit.nva.publication.service.impl.InstrumentedDynamoDbClient;
 import no.unit.nva.publication.service.impl.TicketService;
 import no.unit.nva.publication.ticket.TicketHandler;
 import nva.commons.apigateway.AccessRight;
@@ -38,10 +39,14 @@ public class UpdateTicketViewStatusHandler extends TicketHandler<UpdateViewStatu
     @Override
     protected Void processInput(UpdateViewStatusRequest input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
-        var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
-        var oldTicket = markTicket(input, requestInfo, ticketIdentifier);
-        addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, createTicketId(oldTicket).toString()));
-        return null;
+        try {
+            var ticketIdentifier = extractTicketIdentifierFromPath(requestInfo);
+            var oldTicket = markTicket(input, requestInfo, ticketIdentifier);
+            addAdditionalHeaders(() -> Map.of(LOCATION_HEADER, createTicketId(oldTicket).toString()));
+            return null;
+        } finally {
+            InstrumentedDynamoDbClient.flushAll();
+        }
     }
     
     @Override
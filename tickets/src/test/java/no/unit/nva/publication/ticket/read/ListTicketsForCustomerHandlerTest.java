@@ -0,0 +1,149 @@
+package no.unit.nva.publication.ticket.read;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.publication.ticket.read.ListTicketsForCustomerHandler.CURSOR_QUERY_PARAMETER;
+import static no.unit.nva.publication.ticket.read.ListTicketsForCustomerHandler.PAGE_SIZE_QUERY_PARAMETER;
+import static no.unit.nva.publication.ticket.read.ListTicketsForCustomerHandler.STATUS_QUERY_PARAMETER;
+import static no.unit.nva.publication.ticket.read.ListTicketsForCustomerHandler.TYPE_QUERY_PARAMETER;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationStatus;
+import no.unit.nva.publication.model.business.DoiRequest;
+import no.unit.nva.publication.model.business.Entity;
+import no.unit.nva.publication.model.business.GeneralSupportRequest;
+import no.unit.nva.publication.model.business.TicketEntry;
+import no.unit.nva.publication.model.business.TicketStatus;
+import no.unit.nva.publication.ticket.GeneralSupportRequestDto;
+import no.unit.nva.publication.ticket.TicketDto;
+import no.unit.nva.publication.ticket.TicketTestLocal;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.apigateway.AccessRight;
+import nva.commons.apigateway.GatewayResponse;
+import nva.commons.core.attempt.Try;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ListTicketsForCustomerHandlerTest extends TicketTestLocal {
+    
+    private static final int NUMBER_OF_TICKETS = 5;
+    private static final String PAGE_SIZE = "2";
+    private ListTicketsForCustomerHandler handler;
+    
+    @BeforeEach
+    public void setup() {
+        super.init();
+        this.handler = new ListTicketsForCustomerHandler(ticketService);
+    }
+    
+    @Test
+    void shouldReturnTicketsOfCustomerWithRequestedStatusAndTypeMostRecentFirstWhenUserIsCurator()
+        throws IOException {
+        var publication = createAndPersistPublication(PublicationStatus.DRAFT);
+        var expectedIdentifiers = createGeneralSupportRequests(publication)
+                                      .stream()
+                                      .map(TicketEntry::getIdentifier)
+                                      .sorted(Comparator.comparing(SortableIdentifier::toString,
+                                          Comparator.reverseOrder()))
+                                      .collect(Collectors.toList());
+        createPersistedTicket(publication, DoiRequest.class);
+        
+        var actualIdentifiers = new ArrayList<SortableIdentifier>();
+        String cursor = null;
+        do {
+            var page = sendRequest(curatorRequest(publication, listingParameters(cursor)));
+            page.getTickets().stream().map(TicketDto::toTicket).map(Entity::getIdentifier)
+                .forEach(actualIdentifiers::add);
+            cursor = page.getNextCursor();
+        } while (nonNull(cursor));
+        
+        assertThat(actualIdentifiers, is(equalTo(expectedIdentifiers)));
+    }
+    
+    @Test
+    void shouldReturnForbiddenWhenUserIsNotCurator() throws IOException {
+        var publication = createAndPersistPublication(PublicationStatus.DRAFT);
+        var request = new HandlerRequestBuilder<Void>(JsonUtils.dtoObjectMapper)
+                          .withCustomerId(publication.getPublisher().getId())
+                          .withNvaUsername(randomString())
+                          .withQueryParameters(listingParameters(null))
+                          .build();
+        handler.handleRequest(request, output, CONTEXT);
+        var response = GatewayResponse.fromOutputStream(output, TicketPage.class);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_FORBIDDEN)));
+    }
+    
+    @Test
+    void shouldReturnBadRequestWhenStatusIsInvalid() throws IOException {
+        var publication = createAndPersistPublication(PublicationStatus.DRAFT);
+        var request = curatorRequest(publication, Map.of(STATUS_QUERY_PARAMETER, randomString()));
+        handler.handleRequest(request, output, CONTEXT);
+        var response = GatewayResponse.fromOutputStream(output, TicketPage.class);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_BAD_REQUEST)));
+    }
+    
+    @Test
+    void shouldReturnBadRequestWhenTicketTypeIsInvalid() throws IOException {
+        var publication = createAndPersistPublication(PublicationStatus.DRAFT);
+        var request = curatorRequest(publication, Map.of(STATUS_QUERY_PARAMETER, TicketStatus.PENDING.toString(),
+            TYPE_QUERY_PARAMETER, randomString()));
+        handler.handleRequest(request, output, CONTEXT);
+        var response = GatewayResponse.fromOutputStream(output, TicketPage.class);
+        assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_BAD_REQUEST)));
+    }
+    
+    private static Map<String, String> listingParameters(String cursor) {
+        var parameters = new HashMap<String, String>();
+        parameters.put(STATUS_QUERY_PARAMETER, TicketStatus.PENDING.toString());
+        parameters.put(TYPE_QUERY_PARAMETER, GeneralSupportRequestDto.TYPE);
+        parameters.put(PAGE_SIZE_QUERY_PARAMETER, PAGE_SIZE);
+        if (nonNull(cursor)) {
+            parameters.put(CURSOR_QUERY_PARAMETER, cursor);
+        }
+        return parameters;
+    }
+    
+    private static InputStream curatorRequest(Publication publication, Map<String, String> queryParameters)
+        throws IOException {
+        var customerId = publication.getPublisher().getId();
+        return new HandlerRequestBuilder<Void>(JsonUtils.dtoObjectMapper)
+                   .withCustomerId(customerId)
+                   .withNvaUsername(randomString())
+                   .withAccessRights(customerId, AccessRight.APPROVE_DOI_REQUEST.toString())
+                   .withQueryParameters(queryParameters)
+                   .build();
+    }
+    
+    private TicketPage sendRequest(InputStream request) throws IOException {
+        output = new ByteArrayOutputStream();
+        handler.handleRequest(request, output, CONTEXT);
+        var response = GatewayResponse.fromOutputStream(output, TicketPage.class);
+        assertThat(response.getStatusCode(), is(equalTo(HTTP_OK)));
+        return response.getBodyObject(TicketPage.class);
+    }
+    
+    private List<TicketEntry> createGeneralSupportRequests(Publication publication) {
+        return IntStream.range(0, NUMBER_OF_TICKETS)
+                   .boxed()
+                   .map(attempt(ignored -> persistTicket(publication, GeneralSupportRequest.class)))
+                   .map(Try::orElseThrow)
+                   .collect(Collectors.toList());
+    }
+}